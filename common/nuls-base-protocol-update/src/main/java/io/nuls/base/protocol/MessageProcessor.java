@@ -1,5 +1,7 @@
 package io.nuls.base.protocol;
 
+import io.nuls.base.RPCUtil;
+
 public interface MessageProcessor {
 
     /**
@@ -17,4 +19,14 @@ public interface MessageProcessor {
      */
     void process(int chainId, String nodeId, String message);
 
+    /**
+     * Message processing methods, the message body is passed without hex encoding when the network module is in the same process
+     *
+     * @param chainId
+     * @param message Serialized message body
+     */
+    default void process(int chainId, String nodeId, byte[] message) {
+        process(chainId, nodeId, RPCUtil.encode(message));
+    }
+
 }
@@ -71,4 +71,29 @@ public final class MessageDispatcher extends BaseCmd {
         }
         return success();
     }
+
+    /**
+     * Message processing in the same process as the network module, the serialized message body is passed to the processors directly
+     *
+     * @return Is there a processor for the cmd
+     */
+    public boolean dispatch(int chainId, String nodeId, String cmd, byte[] message) {
+        List<MessageProcessor> processorList = processors;
+        if (processorList == null) {
+            return false;
+        }
+        boolean processed = false;
+        for (MessageProcessor processor : processorList) {
+            if (cmd.equals(processor.getCmd())) {
+                long start = System.currentTimeMillis();
+                processor.process(chainId, nodeId, message);
+                long use = System.currentTimeMillis() - start;
+                if (use > 200) {
+                    Log.warn("====={}===user:{}ms", cmd, use);
+                }
+                processed = true;
+            }
+        }
+        return processed;
+    }
 }
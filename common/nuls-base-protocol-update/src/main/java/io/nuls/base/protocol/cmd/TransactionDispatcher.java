@@ -225,26 +225,18 @@ public final class TransactionDispatcher extends BaseCmd {
      * @param params
      * @return
      */
-    @CmdAnnotation(cmd = BaseConstant.TX_COMMIT, version = 1.0, description = "")
+    @CmdAnnotation(cmd = BaseConstant.TX_COMMIT, version = 1.0, localDirect = true, description = "")
     @Parameter(parameterName = "chainId", parameterType = "int")
     @Parameter(parameterName = "txList", parameterType = "List")
     @Parameter(parameterName = "blockHeader", parameterType = "String")
     @Parameter(parameterName = "syncStatus", parameterType = "int")
     public Response txCommit(Map params) {
         ObjectUtils.canNotEmpty(params.get(Constants.CHAIN_ID), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
-        ObjectUtils.canNotEmpty(params.get("txList"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
-        ObjectUtils.canNotEmpty(params.get("blockHeader"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
         ObjectUtils.canNotEmpty(params.get("syncStatus"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
 
         int chainId = Integer.parseInt(params.get(Constants.CHAIN_ID).toString());
-        String blockHeaderStr = (String) params.get("blockHeader");
-        BlockHeader blockHeader = RPCUtil.getInstanceRpcStr(blockHeaderStr, BlockHeader.class);
-        List<String> txList = (List<String>) params.get("txList");
-        List<Transaction> txs = new ArrayList<>();
-        for (String txStr : txList) {
-            Transaction tx = RPCUtil.getInstanceRpcStr(txStr, Transaction.class);
-            txs.add(tx);
-        }
+        BlockHeader blockHeader = getBlockHeader(params);
+        List<Transaction> txs = getTxs(params);
         int syncStatus = (int) params.get("syncStatus");
         commitAdvice.begin(chainId, txs, blockHeader, syncStatus);
         Map<String, Boolean> resultMap = new HashMap<>(2);
@@ -283,23 +275,15 @@ public final class TransactionDispatcher extends BaseCmd {
      * @param params
      * @return
      */
-    @CmdAnnotation(cmd = BaseConstant.TX_ROLLBACK, version = 1.0, description = "")
+    @CmdAnnotation(cmd = BaseConstant.TX_ROLLBACK, version = 1.0, localDirect = true, description = "")
     @Parameter(parameterName = "chainId", parameterType = "int")
     @Parameter(parameterName = "txList", parameterType = "List")
     @Parameter(parameterName = "blockHeader", parameterType = "String")
     public Response txRollback(Map params) {
         ObjectUtils.canNotEmpty(params.get(Constants.CHAIN_ID), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
-        ObjectUtils.canNotEmpty(params.get("txList"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
-        ObjectUtils.canNotEmpty(params.get("blockHeader"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
         int chainId = Integer.parseInt(params.get(Constants.CHAIN_ID).toString());
-        String blockHeaderStr = (String) params.get("blockHeader");
-        BlockHeader blockHeader = RPCUtil.getInstanceRpcStr(blockHeaderStr, BlockHeader.class);
-        List<String> txList = (List<String>) params.get("txList");
-        List<Transaction> txs = new ArrayList<>();
-        for (String txStr : txList) {
-            Transaction tx = RPCUtil.getInstanceRpcStr(txStr, Transaction.class);
-            txs.add(tx);
-        }
+        BlockHeader blockHeader = getBlockHeader(params);
+        List<Transaction> txs = getTxs(params);
         rollbackAdvice.begin(chainId, txs, blockHeader, 0);
         Map<Integer, List<Transaction>> map = new HashMap<>();
         for (TransactionProcessor processor : processors) {
@@ -327,4 +311,34 @@ public final class TransactionDispatcher extends BaseCmd {
         return success(resultMap);
     }
 
+    /**
+     * In-process calls pass parsed transactions, otherwise parse the hex strings
+     * The passed transactions are shared with the transaction module, processors must not modify them
+     */
+    private List<Transaction> getTxs(Map params) {
+        List<Transaction> txObjList = (List<Transaction>) params.get(Constants.TX_OBJ_LIST);
+        if (txObjList != null) {
+            ObjectUtils.canNotEmpty(txObjList, CommonCodeConstanst.PARAMETER_ERROR.getMsg());
+            return txObjList;
+        }
+        ObjectUtils.canNotEmpty(params.get("txList"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
+        List<String> txList = (List<String>) params.get("txList");
+        List<Transaction> txs = new ArrayList<>();
+        for (String txStr : txList) {
+            Transaction tx = RPCUtil.getInstanceRpcStr(txStr, Transaction.class);
+            txs.add(tx);
+        }
+        return txs;
+    }
+
+    private BlockHeader getBlockHeader(Map params) {
+        BlockHeader blockHeader = (BlockHeader) params.get(Constants.BLOCK_HEADER_OBJ);
+        if (blockHeader != null) {
+            return blockHeader;
+        }
+        ObjectUtils.canNotEmpty(params.get("blockHeader"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
+        String blockHeaderStr = (String) params.get("blockHeader");
+        return RPCUtil.getInstanceRpcStr(blockHeaderStr, BlockHeader.class);
+    }
+
 }
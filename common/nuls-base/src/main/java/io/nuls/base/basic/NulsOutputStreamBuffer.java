@@ -62,6 +62,10 @@ public class NulsOutputStreamBuffer {
         out.write(bytes);
     }
 
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+    }
+
     public void write(int val) throws IOException {
         out.write(val);
     }
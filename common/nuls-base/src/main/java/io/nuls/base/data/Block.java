@@ -47,6 +47,10 @@ public class Block extends BaseNulsData implements Cloneable {
      * Which node does this block come from, mainly used for maintaining orphan blocks
      */
     private transient String nodeId;
+    /**
+     * The merkle hash and the header signature have been verified locally, it is never serialized
+     */
+    private transient boolean preVerified;
 
     public String getNodeId() {
         return nodeId;
@@ -56,6 +60,14 @@ public class Block extends BaseNulsData implements Cloneable {
         this.nodeId = nodeId;
     }
 
+    public boolean isPreVerified() {
+        return preVerified;
+    }
+
+    public void setPreVerified(boolean preVerified) {
+        this.preVerified = preVerified;
+    }
+
     @Override
     public int size() {
         int size = header.size();
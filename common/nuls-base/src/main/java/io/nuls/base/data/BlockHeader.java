@@ -64,10 +64,27 @@ public class BlockHeader extends BaseNulsData {
 
     private transient byte[] packingAddress;
 
+    /**
+     * The buffer the header was parsed from, serialization and the hash use its bytes until a setter changes the header
+     * The buffer is shared with the parser, not copied, until {@link #detach()}
+     */
+    private transient byte[] wireBytes;
+    private transient int wireOffset;
+    private transient int wireLength;
+
+    /**
+     * Length of the part of the parsed bytes covered by the hash, all but the block signature
+     */
+    private transient int hashLength;
+
     private synchronized void calcHash() {
         if (null != this.hash) {
             return;
         }
+        if (wireBytes != null) {
+            hash = NulsHash.calcHash(wireBytes, wireOffset, hashLength);
+            return;
+        }
         try {
             hash = NulsHash.calcHash(serializeWithoutSign());
         } catch (Exception e) {
@@ -77,6 +94,9 @@ public class BlockHeader extends BaseNulsData {
 
     @Override
     public int size() {
+        if (wireBytes != null) {
+            return wireLength;
+        }
         int size = 0;
         size += NulsHash.HASH_LENGTH;               //preHash
         size += NulsHash.HASH_LENGTH;               //merkleHash
@@ -90,6 +110,10 @@ public class BlockHeader extends BaseNulsData {
 
     @Override
     protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+        if (wireBytes != null) {
+            stream.write(wireBytes, wireOffset, wireLength);
+            return;
+        }
         stream.write(preHash.getBytes());
         stream.write(merkleHash.getBytes());
         stream.writeUint32(time);
@@ -101,16 +125,35 @@ public class BlockHeader extends BaseNulsData {
 
     @Override
     public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
         this.preHash = byteBuffer.readHash();
         this.merkleHash = byteBuffer.readHash();
         this.time = byteBuffer.readUint32();
         this.height = byteBuffer.readUint32();
         this.txCount = byteBuffer.readInt32();
         this.extend = byteBuffer.readByLengthByte();
+        this.hashLength = byteBuffer.getCursor() - start;
         this.blockSignature = byteBuffer.readNulsData(new BlockSignature());
+        this.wireBytes = byteBuffer.getPayload();
+        this.wireOffset = start;
+        this.wireLength = byteBuffer.getCursor() - start;
+    }
+
+    /**
+     * Copy the parsed bytes of the header out of the buffer it was parsed from,
+     * called before the header is cached so that it does not keep the whole block alive
+     */
+    public void detach() {
+        if (wireBytes != null && (wireOffset != 0 || wireLength != wireBytes.length)) {
+            wireBytes = Arrays.copyOfRange(wireBytes, wireOffset, wireOffset + wireLength);
+            wireOffset = 0;
+        }
     }
 
     public byte[] serializeWithoutSign() {
+        if (wireBytes != null) {
+            return Arrays.copyOfRange(wireBytes, wireOffset, wireOffset + hashLength);
+        }
         int size = size() - SerializeUtils.sizeOfNulsData(blockSignature);
         try (ByteArrayOutputStream bos = new UnsafeByteArrayOutputStream(size)) {
             NulsOutputStreamBuffer buffer = new NulsOutputStreamBuffer(bos);
@@ -154,6 +197,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setPreHash(NulsHash preHash) {
         this.preHash = preHash;
+        this.wireBytes = null;
     }
 
     public NulsHash getMerkleHash() {
@@ -162,6 +206,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setMerkleHash(NulsHash merkleHash) {
         this.merkleHash = merkleHash;
+        this.wireBytes = null;
     }
 
     public long getTime() {
@@ -170,6 +215,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setTime(long time) {
         this.time = time;
+        this.wireBytes = null;
     }
 
     public long getHeight() {
@@ -178,6 +224,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setHeight(long height) {
         this.height = height;
+        this.wireBytes = null;
     }
 
     public int getTxCount() {
@@ -186,6 +233,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setTxCount(int txCount) {
         this.txCount = txCount;
+        this.wireBytes = null;
     }
 
     public BlockSignature getBlockSignature() {
@@ -194,6 +242,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setBlockSignature(BlockSignature scriptSign) {
         this.blockSignature = scriptSign;
+        this.wireBytes = null;
     }
 
     public byte[] getPackingAddress(int chainId) {
@@ -210,6 +259,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setExtend(byte[] extend) {
         this.extend = extend;
+        this.wireBytes = null;
     }
 
     public void setPackingAddress(byte[] packingAddress) {
@@ -0,0 +1,193 @@
+package io.nuls.base.data;
+
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.base.basic.NulsOutputStreamBuffer;
+import io.nuls.core.crypto.Sha256Hash;
+import io.nuls.core.exception.NulsException;
+import io.nuls.core.parse.SerializeUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact block, broadcast to the nodes which support it instead of the small block
+ * Transactions are identified by 6-byte short ids instead of their hash, the short ids are salted with the block hash and a nonce,
+ * so that the short id collisions are different for every block. The transactions the receiver is expected not to have
+ * (the system transactions and the transactions created just before the block) are sent in full together with their index in the block.
+ */
+public class CompactBlock extends BaseNulsData {
+
+    /**
+     * Length of the short id of a transaction
+     */
+    public static final int SHORT_ID_LENGTH = 6;
+
+    private static final long SHORT_ID_MASK = 0xFFFFFFFFFFFFL;
+
+    private BlockHeader header;
+
+    /**
+     * Salt of the short ids, chosen by the sender
+     */
+    private long nonce;
+
+    /**
+     * Short ids of the transactions which are not prefilled, in the order of the block
+     */
+    private List<Long> shortIdList = new ArrayList<>();
+
+    /**
+     * Prefilled transactions by their index in the block, in ascending order of the index
+     */
+    private Map<Integer, Transaction> prefilledTxs = new LinkedHashMap<>();
+
+    public CompactBlock() {
+    }
+
+    public CompactBlock(BlockHeader header, long nonce) {
+        this.header = header;
+        this.nonce = nonce;
+    }
+
+    /**
+     * Key of the short ids of the block: the first 16 bytes of sha256(block hash, nonce)
+     */
+    public static HashFunction shortIdFunction(NulsHash blockHash, long nonce) {
+        byte[] bytes = new byte[NulsHash.HASH_LENGTH + 8];
+        System.arraycopy(blockHash.getBytes(), 0, bytes, 0, NulsHash.HASH_LENGTH);
+        SerializeUtils.uint64ToByteArrayLE(nonce, bytes, NulsHash.HASH_LENGTH);
+        byte[] key = Sha256Hash.hash(bytes);
+        return Hashing.sipHash24(SerializeUtils.readInt64LE(key, 0), SerializeUtils.readInt64LE(key, 8));
+    }
+
+    public static long shortId(HashFunction function, byte[] txHash) {
+        return function.hashBytes(txHash).asLong() & SHORT_ID_MASK;
+    }
+
+    public HashFunction shortIdFunction() {
+        return shortIdFunction(header.getHash(), nonce);
+    }
+
+    /**
+     * Add the next transaction of the block
+     *
+     * @param prefilled whether the transaction is sent in full
+     */
+    public void addTx(HashFunction function, Transaction tx, boolean prefilled) {
+        if (prefilled) {
+            prefilledTxs.put(shortIdList.size() + prefilledTxs.size(), tx);
+        } else {
+            shortIdList.add(shortId(function, tx.getHash().getBytes()));
+        }
+    }
+
+    /**
+     * The small block of the transaction hashes resolved from the short ids, the prefilled transactions are its system transactions
+     *
+     * @param shortIdHashes Transaction hashes by short id
+     * @return null when a short id is not resolved
+     */
+    public SmallBlock toSmallBlock(Map<Long, NulsHash> shortIdHashes) {
+        int txCount = shortIdList.size() + prefilledTxs.size();
+        ArrayList<NulsHash> txHashList = new ArrayList<>(txCount);
+        int shortIdIndex = 0;
+        for (int i = 0; i < txCount; i++) {
+            Transaction tx = prefilledTxs.get(i);
+            if (tx != null) {
+                txHashList.add(tx.getHash());
+                continue;
+            }
+            if (shortIdIndex >= shortIdList.size()) {
+                return null;
+            }
+            NulsHash hash = shortIdHashes.get(shortIdList.get(shortIdIndex++));
+            if (hash == null) {
+                return null;
+            }
+            txHashList.add(hash);
+        }
+        SmallBlock smallBlock = new SmallBlock();
+        smallBlock.setHeader(header);
+        smallBlock.setTxHashList(txHashList);
+        prefilledTxs.values().forEach(smallBlock::addSystemTx);
+        return smallBlock;
+    }
+
+    @Override
+    public int size() {
+        int size = header.size();
+        size += SerializeUtils.sizeOfInt64();
+        size += SerializeUtils.sizeOfVarInt(shortIdList.size());
+        size += shortIdList.size() * SHORT_ID_LENGTH;
+        size += SerializeUtils.sizeOfVarInt(prefilledTxs.size());
+        for (Map.Entry<Integer, Transaction> entry : prefilledTxs.entrySet()) {
+            size += SerializeUtils.sizeOfVarInt(entry.getKey());
+            size += SerializeUtils.sizeOfNulsData(entry.getValue());
+        }
+        return size;
+    }
+
+    @Override
+    protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+        stream.writeNulsData(header);
+        stream.writeInt64(nonce);
+        stream.writeVarInt(shortIdList.size());
+        for (Long shortId : shortIdList) {
+            stream.writeUint48(shortId);
+        }
+        stream.writeVarInt(prefilledTxs.size());
+        for (Map.Entry<Integer, Transaction> entry : prefilledTxs.entrySet()) {
+            stream.writeVarInt(entry.getKey());
+            stream.writeNulsData(entry.getValue());
+        }
+    }
+
+    @Override
+    public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        this.header = byteBuffer.readNulsData(new BlockHeader());
+        this.nonce = byteBuffer.readInt64();
+        this.shortIdList = new ArrayList<>();
+        long shortIdSize = byteBuffer.readVarInt();
+        for (int i = 0; i < shortIdSize; i++) {
+            this.shortIdList.add(byteBuffer.readUint48());
+        }
+        this.prefilledTxs = new LinkedHashMap<>();
+        long prefilledSize = byteBuffer.readVarInt();
+        for (int i = 0; i < prefilledSize; i++) {
+            int index = (int) byteBuffer.readVarInt();
+            Transaction tx = byteBuffer.readTransaction();
+            tx.setBlockHeight(header.getHeight());
+            this.prefilledTxs.put(index, tx);
+        }
+    }
+
+    public BlockHeader getHeader() {
+        return header;
+    }
+
+    public void setHeader(BlockHeader header) {
+        this.header = header;
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public void setNonce(long nonce) {
+        this.nonce = nonce;
+    }
+
+    public List<Long> getShortIdList() {
+        return shortIdList;
+    }
+
+    public Map<Integer, Transaction> getPrefilledTxs() {
+        return prefilledTxs;
+    }
+}
@@ -109,6 +109,12 @@ public class NulsHash {
         return digestData;
     }
 
+    public static NulsHash calcHash(byte[] data, int offset, int length) {
+        NulsHash digestData = new NulsHash();
+        digestData.bytes = Sha256Hash.hashTwice(data, offset, length);
+        return digestData;
+    }
+
     public static NulsHash calcMerkleHash(List<NulsHash> hashList) {
         List<NulsHash> ddList = new ArrayList<>(hashList);
         int levelOffset = 0;
@@ -71,6 +71,19 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     private transient CoinData coinDataInstance;
 
+    /**
+     * The buffer the transaction was parsed from, serialization and the hash use its bytes until a setter changes the transaction
+     * The buffer is shared with the parser, not copied, until {@link #detach()}
+     */
+    private transient byte[] wireBytes;
+    private transient int wireOffset;
+    private transient int wireLength;
+
+    /**
+     * Length of the part of the parsed bytes covered by the hash, all but the signature
+     */
+    private transient int hashLength;
+
     /**
      * Order in blocks, stored inrocksDBThe middle is unordered, assigned values when saving blocks, sorted based on this value after retrieval
      */
@@ -86,6 +99,9 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     @Override
     public int size() {
+        if (wireBytes != null) {
+            return wireLength;
+        }
         int size = 0;
         //type
         size += SerializeUtils.sizeOfUint16();
@@ -100,6 +116,10 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     @Override
     public void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+        if (wireBytes != null) {
+            stream.write(wireBytes, wireOffset, wireLength);
+            return;
+        }
         stream.writeUint16(type);
         stream.writeUint32(time);
         stream.writeBytesWithLength(remark);
@@ -109,6 +129,9 @@ public class Transaction extends BaseNulsData implements Cloneable {
     }
 
     public byte[] serializeForHash() throws IOException {
+        if (wireBytes != null) {
+            return Arrays.copyOfRange(wireBytes, wireOffset, wireOffset + hashLength);
+        }
         ByteArrayOutputStream bos = null;
         try {
             int size = size() - SerializeUtils.sizeOfBytes(transactionSignature);
@@ -133,12 +156,28 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     @Override
     public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
         type = byteBuffer.readUint16();
         time = byteBuffer.readUint32();
         remark = byteBuffer.readByLengthByte();
         txData = byteBuffer.readByLengthByte();
         this.coinData = byteBuffer.readByLengthByte();
+        hashLength = byteBuffer.getCursor() - start;
         transactionSignature = byteBuffer.readByLengthByte();
+        wireBytes = byteBuffer.getPayload();
+        wireOffset = start;
+        wireLength = byteBuffer.getCursor() - start;
+    }
+
+    /**
+     * Copy the parsed bytes of the transaction out of the buffer it was parsed from,
+     * called before the transaction is kept for long so that it does not keep the whole buffer, such as the block, alive
+     */
+    public void detach() {
+        if (wireBytes != null && (wireOffset != 0 || wireLength != wireBytes.length)) {
+            wireBytes = Arrays.copyOfRange(wireBytes, wireOffset, wireOffset + wireLength);
+            wireOffset = 0;
+        }
     }
 
     public byte[] getTxData() {
@@ -151,10 +190,12 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setTime(long time) {
         this.time = time;
+        this.wireBytes = null;
     }
 
     public void setType(int type) {
         this.type = type;
+        this.wireBytes = null;
     }
 
     public int getType() {
@@ -167,10 +208,15 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setRemark(byte[] remark) {
         this.remark = remark;
+        this.wireBytes = null;
     }
 
     public NulsHash getHash() {
         if (hash == null) {
+            if (wireBytes != null) {
+                hash = NulsHash.calcHash(wireBytes, wireOffset, hashLength);
+                return hash;
+            }
             try {
                 hash = NulsHash.calcHash(serializeForHash());
             } catch (IOException e) {
@@ -190,10 +236,12 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setTransactionSignature(byte[] transactionSignature) {
         this.transactionSignature = transactionSignature;
+        this.wireBytes = null;
     }
 
     public void setTxData(byte[] txData) {
         this.txData = txData;
+        this.wireBytes = null;
     }
 
     public long getBlockHeight() {
@@ -237,6 +285,7 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setCoinData(byte[] coinData) {
         this.coinData = coinData;
+        this.wireBytes = null;
     }
 
     public int getSize() {
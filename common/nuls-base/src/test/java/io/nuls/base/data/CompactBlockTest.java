@@ -0,0 +1,79 @@
+package io.nuls.base.data;
+
+import com.google.common.hash.HashFunction;
+import io.nuls.base.basic.NulsByteBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The compact block survives serialization and rebuilds the small block of the transactions it was made of
+ */
+public class CompactBlockTest {
+
+    @Test
+    public void toSmallBlock() throws Exception {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Transaction tx = new Transaction(i % 5 == 0 ? 1 : 2);
+            tx.setTime(1000 + i);
+            tx.setRemark(("tx" + i).getBytes());
+            txs.add(tx);
+        }
+        List<NulsHash> txHashList = new ArrayList<>();
+        txs.forEach(tx -> txHashList.add(tx.getHash()));
+        BlockHeader header = new BlockHeader();
+        header.setPreHash(NulsHash.calcHash(new byte[]{1}));
+        header.setMerkleHash(NulsHash.calcMerkleHash(txHashList));
+        header.setTime(2000);
+        header.setHeight(100);
+        header.setTxCount(txs.size());
+        header.setExtend(new byte[]{1, 2, 3});
+
+        CompactBlock compactBlock = new CompactBlock(header, 42);
+        HashFunction function = compactBlock.shortIdFunction();
+        for (Transaction tx : txs) {
+            compactBlock.addTx(function, tx, tx.getType() == 1);
+        }
+        CompactBlock received = new CompactBlock();
+        received.parse(new NulsByteBuffer(compactBlock.serialize()));
+        assertEquals(compactBlock.size(), received.serialize().length);
+        assertEquals(16, received.getShortIdList().size());
+        assertEquals(4, received.getPrefilledTxs().size());
+
+        //The pool has the transactions which were not prefilled, and one which is not in the block
+        HashFunction receivedFunction = received.shortIdFunction();
+        Map<Long, NulsHash> shortIdHashes = new HashMap<>();
+        for (Transaction tx : txs) {
+            if (tx.getType() != 1) {
+                shortIdHashes.put(CompactBlock.shortId(receivedFunction, tx.getHash().getBytes()), tx.getHash());
+            }
+        }
+        NulsHash other = NulsHash.calcHash(new byte[]{2});
+        shortIdHashes.put(CompactBlock.shortId(receivedFunction, other.getBytes()), other);
+
+        SmallBlock smallBlock = received.toSmallBlock(shortIdHashes);
+        assertEquals(txHashList, smallBlock.getTxHashList());
+        assertEquals(header.getMerkleHash(), NulsHash.calcMerkleHash(smallBlock.getTxHashList()));
+        assertEquals(4, smallBlock.getSystemTxList().size());
+        assertTrue(received.size() < smallBlock.size());
+
+        shortIdHashes.remove(CompactBlock.shortId(receivedFunction, txs.get(1).getHash().getBytes()));
+        assertNull(received.toSmallBlock(shortIdHashes));
+    }
+
+    @Test
+    public void shortIdDependsOnNonce() {
+        NulsHash blockHash = NulsHash.calcHash(new byte[]{3});
+        byte[] txHash = NulsHash.calcHash(new byte[]{4}).getBytes();
+        long shortId = CompactBlock.shortId(CompactBlock.shortIdFunction(blockHash, 1), txHash);
+        assertEquals(shortId, CompactBlock.shortId(CompactBlock.shortIdFunction(blockHash, 1), txHash));
+        assertNotEquals(shortId, CompactBlock.shortId(CompactBlock.shortIdFunction(blockHash, 2), txHash));
+        assertEquals(0, shortId >>> 48);
+    }
+}
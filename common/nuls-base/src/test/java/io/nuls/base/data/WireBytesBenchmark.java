@@ -0,0 +1,224 @@
+package io.nuls.base.data;
+
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.base.basic.NulsOutputStreamBuffer;
+import io.nuls.base.signture.BlockSignature;
+import io.nuls.core.crypto.UnsafeByteArrayOutputStream;
+import io.nuls.core.exception.NulsException;
+import io.nuls.core.parse.SerializeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compare parse, hash and serialize of a block of 5000 transfers:
+ * transactions which serialize from their fields(before) and transactions which keep the parsed bytes(now)
+ * <p>
+ * Bytes allocated and time per block, the block is forwarded once after the hashes are calculated
+ */
+public class WireBytesBenchmark {
+
+    private static final int TXS = 5000;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) throws Exception {
+        byte[] blockBytes = buildBlock(new Random(1));
+        System.out.println("block size " + blockBytes.length + " bytes");
+        for (int i = 0; i < 3; i++) {
+            System.out.println("round " + i);
+            run("before", blockBytes, true);
+            run("now   ", blockBytes, false);
+        }
+    }
+
+    private static void run(String name, byte[] blockBytes, boolean legacy) throws Exception {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = bean.getThreadAllocatedBytes(threadId);
+        long time = System.nanoTime();
+        long check = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            check += legacy ? legacy(blockBytes) : now(blockBytes);
+        }
+        time = System.nanoTime() - time;
+        allocated = bean.getThreadAllocatedBytes(threadId) - allocated;
+        System.out.println(name + " : " + allocated / ROUNDS / 1024 + " KB/block, " + time / ROUNDS / 1000 + " us/block (" + check + ")");
+    }
+
+    private static long now(byte[] blockBytes) throws Exception {
+        NulsByteBuffer buffer = new NulsByteBuffer(blockBytes);
+        BlockHeader header = new BlockHeader();
+        header.parse(buffer);
+        long check = header.getHash().getBytes()[0] + header.serialize().length;
+        for (int i = 0; i < header.getTxCount(); i++) {
+            Transaction tx = new Transaction();
+            tx.parse(buffer);
+            check += tx.getHash().getBytes()[0] + tx.serialize().length;
+        }
+        return check;
+    }
+
+    private static long legacy(byte[] blockBytes) throws Exception {
+        NulsByteBuffer buffer = new NulsByteBuffer(blockBytes);
+        LegacyHeader header = new LegacyHeader();
+        header.parse(buffer);
+        long check = NulsHash.calcHash(header.serializeWithoutSign()).getBytes()[0] + header.serialize().length;
+        for (int i = 0; i < header.txCount; i++) {
+            LegacyTransaction tx = new LegacyTransaction();
+            tx.parse(buffer);
+            check += NulsHash.calcHash(tx.serializeForHash()).getBytes()[0] + tx.serialize().length;
+        }
+        return check;
+    }
+
+    private static byte[] buildBlock(Random random) throws Exception {
+        List<Transaction> txs = new ArrayList<>();
+        List<NulsHash> hashList = new ArrayList<>();
+        for (int i = 0; i < TXS; i++) {
+            Transaction tx = new Transaction(2);
+            tx.setTime(1700000000L + i);
+            CoinData coinData = new CoinData();
+            byte[] nonce = new byte[8];
+            random.nextBytes(nonce);
+            coinData.addFrom(new CoinFrom(bytes(random, 23), 9, 1, BigInteger.valueOf(100100000L), nonce, (byte) 0));
+            coinData.addTo(new CoinTo(bytes(random, 23), 9, 1, BigInteger.valueOf(100000000L)));
+            tx.setCoinData(coinData.serialize());
+            tx.setTransactionSignature(bytes(random, 106));
+            txs.add(tx);
+            hashList.add(tx.getHash());
+        }
+        BlockHeader header = new BlockHeader();
+        header.setPreHash(NulsHash.calcHash(bytes(random, 32)));
+        header.setMerkleHash(NulsHash.calcMerkleHash(hashList));
+        header.setTime(1700000000L);
+        header.setHeight(1000000);
+        header.setTxCount(TXS);
+        header.setExtend(bytes(random, 60));
+        BlockSignature signature = new BlockSignature();
+        signature.parse(new NulsByteBuffer(signature(random)));
+        header.setBlockSignature(signature);
+        Block block = new Block();
+        block.setHeader(header);
+        block.setTxs(txs);
+        return block.serialize();
+    }
+
+    private static byte[] signature(Random random) {
+        byte[] signature = new byte[1 + 33 + 1 + 71];
+        signature[0] = 33;
+        System.arraycopy(bytes(random, 33), 0, signature, 1, 33);
+        signature[34] = 71;
+        System.arraycopy(bytes(random, 71), 0, signature, 35, 71);
+        return signature;
+    }
+
+    private static byte[] bytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * The transaction before it kept the parsed bytes
+     */
+    private static class LegacyTransaction extends BaseNulsData {
+        private int type;
+        private long time;
+        private byte[] remark;
+        private byte[] txData;
+        private byte[] coinData;
+        private byte[] transactionSignature;
+
+        @Override
+        public int size() {
+            return SerializeUtils.sizeOfUint16() + SerializeUtils.sizeOfUint32() + SerializeUtils.sizeOfBytes(remark) +
+                    SerializeUtils.sizeOfBytes(txData) + SerializeUtils.sizeOfBytes(coinData) + SerializeUtils.sizeOfBytes(transactionSignature);
+        }
+
+        @Override
+        protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+            serializeForHash(stream);
+            stream.writeBytesWithLength(transactionSignature);
+        }
+
+        private void serializeForHash(NulsOutputStreamBuffer stream) throws IOException {
+            stream.writeUint16(type);
+            stream.writeUint32(time);
+            stream.writeBytesWithLength(remark);
+            stream.writeBytesWithLength(txData);
+            stream.writeBytesWithLength(coinData);
+        }
+
+        byte[] serializeForHash() throws IOException {
+            ByteArrayOutputStream bos = new UnsafeByteArrayOutputStream(size() - SerializeUtils.sizeOfBytes(transactionSignature));
+            serializeForHash(new NulsOutputStreamBuffer(bos));
+            return bos.toByteArray();
+        }
+
+        @Override
+        public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+            type = byteBuffer.readUint16();
+            time = byteBuffer.readUint32();
+            remark = byteBuffer.readByLengthByte();
+            txData = byteBuffer.readByLengthByte();
+            coinData = byteBuffer.readByLengthByte();
+            transactionSignature = byteBuffer.readByLengthByte();
+        }
+    }
+
+    /**
+     * The block header before it kept the parsed bytes
+     */
+    private static class LegacyHeader extends BaseNulsData {
+        private NulsHash preHash;
+        private NulsHash merkleHash;
+        private long time;
+        private long height;
+        private int txCount;
+        private byte[] extend;
+        private BlockSignature blockSignature;
+
+        @Override
+        public int size() {
+            return NulsHash.HASH_LENGTH * 2 + SerializeUtils.sizeOfUint32() * 3 + SerializeUtils.sizeOfBytes(extend) +
+                    SerializeUtils.sizeOfNulsData(blockSignature);
+        }
+
+        @Override
+        protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+            serializeWithoutSign(stream);
+            stream.writeNulsData(blockSignature);
+        }
+
+        private void serializeWithoutSign(NulsOutputStreamBuffer stream) throws IOException {
+            stream.write(preHash.getBytes());
+            stream.write(merkleHash.getBytes());
+            stream.writeUint32(time);
+            stream.writeUint32(height);
+            stream.writeUint32(txCount);
+            stream.writeBytesWithLength(extend);
+        }
+
+        byte[] serializeWithoutSign() throws IOException {
+            ByteArrayOutputStream bos = new UnsafeByteArrayOutputStream(size() - SerializeUtils.sizeOfNulsData(blockSignature));
+            serializeWithoutSign(new NulsOutputStreamBuffer(bos));
+            return bos.toByteArray();
+        }
+
+        @Override
+        public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+            preHash = byteBuffer.readHash();
+            merkleHash = byteBuffer.readHash();
+            time = byteBuffer.readUint32();
+            height = byteBuffer.readUint32();
+            txCount = byteBuffer.readInt32();
+            extend = byteBuffer.readByLengthByte();
+            blockSignature = byteBuffer.readNulsData(new BlockSignature());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.nuls.base.data;
+
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.core.crypto.HexUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Parsed transactions and headers hash and serialize from the bytes they were parsed from until a setter changes them
+ */
+public class WireBytesTest {
+
+    private static final String BLOCK_HEX = "b062957870d479d0319372c95468d9cce5c766fedf94905239e8e9561ea4e71ddf7068ac4dc95259a699c03934e3402194471283ba760e7339782a4b225d187f14cd0160c19a7a000200000014cb510800180006cd01600800010001003c6400002102f9bdb6bf2d5e39cd826cd0712c861185b75b6028c5276df97adeb80706ef30b24630440220032bb2093823192db29d3bee2c481cc0da8757904f31544fcc9ab5d0bc15558d02207e842a7061b2185192c187eff30a367498e3d377516e64b22ae46b77456a2768010014cd0160000046000117090001789670cfe416d9f6c3c34b15530fc90568d4746209000100a086010000000000000000000000000000000000000000000000000000000000000000000000000000020012cd016000008c0117090001fc0c7e1042f22108c5d570f2caeb63857ebc6bb809000100a0c66452bfc601000000000000000000000000000000000000000000000000000847e6e8f43f6dd038000117090001e7dafba5bc339632753b9f9dd2e89f60c193d8090900010000406352bfc6010000000000000000000000000000000000000000000000000000000000000000006b2103d77af848c812639fe177158083c1df98b7b70c9c0f8023742b0890edaed6c778483046022100d1eb71d7b85ae0ea55b87fa6d2c6ad1d19f98c90773b1980f1607914d1b8c05b022100d9cda63aa266006dac80fdc4e8d753a00f9888bd62ba4353fd9d210378e01e91";
+
+    @Test
+    public void parsedBlock() throws Exception {
+        byte[] bytes = HexUtil.decode(BLOCK_HEX);
+        Block block = new Block();
+        block.parse(new NulsByteBuffer(bytes));
+        assertArrayEquals(bytes, block.serialize());
+
+        BlockHeader header = block.getHeader();
+        BlockHeader copy = new BlockHeader();
+        copy.setPreHash(header.getPreHash());
+        copy.setMerkleHash(header.getMerkleHash());
+        copy.setTime(header.getTime());
+        copy.setHeight(header.getHeight());
+        copy.setTxCount(header.getTxCount());
+        copy.setExtend(header.getExtend());
+        copy.setBlockSignature(header.getBlockSignature());
+        assertEquals(copy.getHash(), header.getHash());
+        assertArrayEquals(copy.serialize(), header.serialize());
+        assertArrayEquals(copy.serializeWithoutSign(), header.serializeWithoutSign());
+
+        for (Transaction tx : block.getTxs()) {
+            Transaction txCopy = new Transaction(tx.getType());
+            txCopy.setTime(tx.getTime());
+            txCopy.setRemark(tx.getRemark());
+            txCopy.setTxData(tx.getTxData());
+            txCopy.setCoinData(tx.getCoinData());
+            txCopy.setTransactionSignature(tx.getTransactionSignature());
+            assertEquals(txCopy.getHash(), tx.getHash());
+            assertArrayEquals(txCopy.serialize(), tx.serialize());
+            assertArrayEquals(txCopy.serializeForHash(), tx.serializeForHash());
+            assertEquals(txCopy.size(), tx.size());
+        }
+    }
+
+    @Test
+    public void detachCopiesParsedBytes() throws Exception {
+        Block block = new Block();
+        block.parse(new NulsByteBuffer(HexUtil.decode(BLOCK_HEX)));
+        BlockHeader header = block.getHeader();
+        byte[] headerBytes = header.serialize();
+        byte[] unsignedBytes = header.serializeWithoutSign();
+        header.detach();
+        assertArrayEquals(headerBytes, header.serialize());
+        assertArrayEquals(unsignedBytes, header.serializeWithoutSign());
+        assertEquals(headerBytes.length, header.size());
+
+        Transaction tx = block.getTxs().get(1);
+        byte[] txBytes = tx.serialize();
+        byte[] hashBytes = tx.serializeForHash();
+        tx.detach();
+        assertArrayEquals(txBytes, tx.serialize());
+        assertArrayEquals(hashBytes, tx.serializeForHash());
+        assertEquals(txBytes.length, tx.size());
+    }
+
+    @Test
+    public void setterDropsParsedBytes() throws Exception {
+        Block block = new Block();
+        block.parse(new NulsByteBuffer(HexUtil.decode(BLOCK_HEX)));
+        Transaction tx = block.getTxs().get(1);
+        tx.setRemark("remark".getBytes());
+        Transaction parsed = Transaction.getInstance(tx.serialize());
+        assertArrayEquals("remark".getBytes(), parsed.getRemark());
+        assertEquals(tx.size(), parsed.size());
+
+        BlockHeader header = block.getHeader();
+        header.setHeight(header.getHeight() + 1);
+        BlockHeader parsedHeader = new BlockHeader();
+        parsedHeader.parse(new NulsByteBuffer(header.serialize()));
+        assertEquals(header.getHeight(), parsedHeader.getHeight());
+    }
+}
@@ -23,11 +23,14 @@ import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.rockdb.constant.DBErrorCode;
 import io.nuls.core.rockdb.model.Entry;
+import io.nuls.core.rockdb.model.EntryVisitor;
+import io.nuls.core.rockdb.model.KeyVisitor;
 import io.nuls.core.rockdb.util.DBUtils;
 import org.rocksdb.*;
 import org.rocksdb.util.SizeUnit;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
@@ -52,6 +55,61 @@ public class RocksDBManager {
      */
     private static final String BASE_DB_NAME = "rocksdb";
 
+    /**
+     * Shared mode: folder name of the database holding all tables of a data directory as column families.
+     */
+    private static final String SHARED_DB_NAME = "rocksdb-shared";
+
+    /**
+     * Shared mode: suffix of the per-table folders that have been migrated into the shared database.
+     */
+    private static final String MIGRATED_SUFFIX = ".migrated";
+
+    /**
+     * Shared mode: number of entries written per batch when migrating a per-table database.
+     */
+    private static final int MIGRATE_BATCH_SIZE = 10000;
+
+    /**
+     * Whether tables are opened as column families of one shared database per data directory(-Drocksdb.shared=true).
+     * Shared mode uses one block cache, one write buffer manager and one background thread pool for all tables.
+     */
+    private static volatile boolean sharedMode = Boolean.getBoolean("rocksdb.shared");
+
+    /**
+     * Shared mode: size of the shared block cache in MB(-Drocksdb.cache.size).
+     */
+    private static final long SHARED_CACHE_SIZE = Long.getLong("rocksdb.cache.size", 1024L) * SizeUnit.MB;
+
+    /**
+     * Shared mode: total memtable size of all tables in MB(-Drocksdb.write.buffer.size), charged to the block cache.
+     */
+    private static final long SHARED_WRITE_BUFFER_SIZE = Long.getLong("rocksdb.write.buffer.size", 256L) * SizeUnit.MB;
+
+    /**
+     * Shared mode: background flush and compaction threads of all tables(-Drocksdb.background.threads).
+     */
+    private static final int SHARED_BACKGROUND_THREADS = Integer.getInteger("rocksdb.background.threads", Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * Shared mode: opened shared databases, the key is the data directory.
+     */
+    private static final ConcurrentHashMap<String, RocksDB> SHARED_DBS = new ConcurrentHashMap<>();
+
+    /**
+     * Shared mode: column family of each table, the key is the table name.
+     */
+    private static final ConcurrentHashMap<String, ColumnFamilyHandle> HANDLES = new ConcurrentHashMap<>();
+
+    private static Cache sharedCache;
+    private static WriteBufferManager sharedWriteBufferManager;
+    private static Filter sharedFilter;
+    /**
+     * Shared mode: options of the shared databases and of all their column families, created once and closed with the databases
+     */
+    private static DBOptions sharedDBOptions;
+    private static ColumnFamilyOptions sharedColumnFamilyOptions;
+
     /**
      * Data operation synchronization lock.
      */
@@ -66,6 +124,19 @@ public class RocksDBManager {
         RocksDBManager.dataPath = dataPath;
     }
 
+    /**
+     * Set the storage mode before {@link #init(String)} is called, the default value comes from -Drocksdb.shared
+     *
+     * @param sharedMode true: tables are column families of a shared database
+     */
+    public static void setSharedMode(boolean sharedMode) {
+        RocksDBManager.sharedMode = sharedMode;
+    }
+
+    public static boolean isSharedMode() {
+        return sharedMode;
+    }
+
     /**
      * Open existing database connections based on the incoming database path and cache themDBconnect.
      * If a data table connection is closed and needs to be reopened, it is also possible to initialize the connection
@@ -76,9 +147,23 @@ public class RocksDBManager {
     public static void init(final String path) throws Exception {
         synchronized (RocksDBManager.class) {
             File dir = DBUtils.loadDataPath(path);
+            File[] tableFiles = dir.listFiles();
+            if (!sharedMode) {
+                for (File tableFile : tableFiles) {
+                    //The tables were moved into the shared database, opening them here would silently start from empty tables,
+                    //the data path is not set so that no table can be created in it either
+                    if (SHARED_DB_NAME.equals(tableFile.getName()) || tableFile.getName().endsWith(MIGRATED_SUFFIX)) {
+                        Log.error("RocksDBManager data path {} is in shared mode, start with -Drocksdb.shared=true", dir.getPath());
+                        throw new Exception("data path is in shared mode: " + dir.getPath());
+                    }
+                }
+            }
             dataPath = dir.getPath();
             Log.info("RocksDBManager dataPath is " + dataPath);
-            File[] tableFiles = dir.listFiles();
+            if (sharedMode) {
+                initShared(dir);
+                return;
+            }
             RocksDB db;
             String dbPath = null;
             for (File tableFile : tableFiles) {
@@ -86,6 +171,9 @@ public class RocksDBManager {
                 if (!tableFile.isDirectory() || TABLES.get(tableFile.getName()) != null) {
                     continue;
                 }
+                if (!DBUtils.checkPathLegal(tableFile.getName())) {
+                    continue;
+                }
                 try {
                     dbPath = tableFile.getPath() + File.separator + BASE_DB_NAME;
                     db = initOpenDB(dbPath);
@@ -153,6 +241,13 @@ public class RocksDBManager {
                 throw new Exception(DBErrorCode.DB_TABLE_CREATE_PATH_ERROR);
             }
             try {
+                if (sharedMode) {
+                    RocksDB db = openSharedDB(new File(dataPath));
+                    ColumnFamilyHandle handle = db.createColumnFamily(new ColumnFamilyDescriptor(tableName.getBytes(StandardCharsets.UTF_8), getSharedColumnFamilyOptions()));
+                    HANDLES.put(tableName, handle);
+                    TABLES.put(tableName, db);
+                    return true;
+                }
                 File dir = new File(dataPath + File.separator + tableName);
                 if (!dir.exists()) {
                     dir.mkdir();
@@ -181,6 +276,23 @@ public class RocksDBManager {
         return TABLES.get(tableName);
     }
 
+    /**
+     * Obtain the column family of the table, in shared mode each table is a column family of the shared database,
+     * otherwise it is the default column family of the table's own database.
+     * Get the column family handle of the table
+     *
+     * @param tableName Database Table Name
+     * @return ColumnFamilyHandle, null if the table does not exist
+     */
+    public static ColumnFamilyHandle getTableHandle(final String tableName) {
+        ColumnFamilyHandle handle = HANDLES.get(tableName);
+        if (handle != null) {
+            return handle;
+        }
+        RocksDB db = TABLES.get(tableName);
+        return db == null ? null : db.getDefaultColumnFamily();
+    }
+
     /**
      * Delete the corresponding database by name.
      * Delete database by name
@@ -197,6 +309,12 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.remove(tableName);
+            ColumnFamilyHandle handle = HANDLES.remove(tableName);
+            if (handle != null) {
+                db.dropColumnFamily(handle);
+                handle.close();
+                return true;
+            }
             db.close();
             File dir = new File(dataPath + File.separator + tableName);
             if (!dir.exists()) {
@@ -231,11 +349,25 @@ public class RocksDBManager {
         for (Map.Entry<String, RocksDB> entry : entries) {
             try {
                 TABLES.remove(entry.getKey());
-                entry.getValue().close();
+                ColumnFamilyHandle handle = HANDLES.remove(entry.getKey());
+                if (handle != null) {
+                    handle.close();
+                } else {
+                    entry.getValue().close();
+                }
             } catch (Exception e) {
                 Log.warn("close rocksdb error", e);
             }
         }
+        for (Map.Entry<String, RocksDB> entry : SHARED_DBS.entrySet()) {
+            try {
+                SHARED_DBS.remove(entry.getKey());
+                entry.getValue().close();
+            } catch (Exception e) {
+                Log.warn("close shared rocksdb error", e);
+            }
+        }
+        closeSharedResources();
     }
 
     /**
@@ -247,6 +379,12 @@ public class RocksDBManager {
     public static void closeTable(final String tableName) {
         try {
             RocksDB db = TABLES.remove(tableName);
+            ColumnFamilyHandle handle = HANDLES.remove(tableName);
+            if (handle != null) {
+                //The shared database stays open for the other tables
+                handle.close();
+                return;
+            }
             db.close();
         } catch (Exception e) {
             Log.warn("close rocksdb tableName error:" + tableName, e);
@@ -306,7 +444,7 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            db.put(key, value);
+            db.put(getTableHandle(table), key, value);
             return true;
         } catch (Exception e) {
             Log.error(e);
@@ -331,7 +469,7 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            db.delete(key);
+            db.delete(getTableHandle(table), key);
             return true;
         } catch (Exception e) {
             Log.error(e);
@@ -356,8 +494,9 @@ public class RocksDBManager {
         }
         try (WriteBatch writeBatch = new WriteBatch()) {
             RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = getTableHandle(table);
             for (Map.Entry<byte[], byte[]> entry : kvs.entrySet()) {
-                writeBatch.put(entry.getKey(), entry.getValue());
+                writeBatch.put(handle, entry.getKey(), entry.getValue());
             }
             db.write(new WriteOptions(), writeBatch);
             return true;
@@ -384,8 +523,9 @@ public class RocksDBManager {
         }
         try (WriteBatch writeBatch = new WriteBatch()) {
             RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = getTableHandle(table);
             for (byte[] key : keys) {
-                writeBatch.delete(key);
+                writeBatch.delete(handle, key);
             }
             db.write(new WriteOptions(), writeBatch);
             return true;
@@ -413,7 +553,7 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            return db.get(key);
+            return db.get(getTableHandle(table), key);
         } catch (Exception e) {
             Log.error("get table={}: error", table);
             Log.error(e);
@@ -439,7 +579,7 @@ public class RocksDBManager {
         try {
             RocksDB db = TABLES.get(table);
             Holder holder = new Holder();
-            boolean rs = db.keyMayExist(key, holder);
+            boolean rs = db.keyMayExist(getTableHandle(table), key, holder);
             return rs && (holder.getValue() != null);
         } catch (Exception e) {
             Log.error("keyMayExist table={}: error", table);
@@ -465,7 +605,7 @@ public class RocksDBManager {
         try {
             RocksDB db = TABLES.get(table);
             //The results obtained by this method include those that cannot be foundkey, Will be replaced withnull Value put into returnedlistin,Therefore, it is necessary to remove the null values.
-            List<byte[]> list = db.multiGetAsList(keys);
+            List<byte[]> list = db.multiGetAsList(tableHandles(table, keys.size()), keys);
             List<byte[]> rs = new ArrayList<>();
             for (byte[] tx : list) {
                 if (null != tx) {
@@ -497,7 +637,7 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            return db.multiGetAsList(keys);
+            return db.multiGetAsList(tableHandles(table, keys.size()), keys);
         } catch (Exception ex) {
             Log.error("multiGetValueList table={}: error", table);
             Log.error(ex);
@@ -524,7 +664,7 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            List<byte[]> resultList = db.multiGetAsList(keys);
+            List<byte[]> resultList = db.multiGetAsList(tableHandles(table, keys.size()), keys);
             for (int i = 0; i < keys.size(); i++) {
                 if (resultList.get(i) != null) {
                     list.add(keys.get(i));
@@ -553,7 +693,7 @@ public class RocksDBManager {
         List<byte[]> list = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            try (RocksIterator iterator = db.newIterator(getTableHandle(table))) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     list.add(iterator.key());
                 }
@@ -581,7 +721,7 @@ public class RocksDBManager {
         List<byte[]> list = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            try (RocksIterator iterator = db.newIterator(getTableHandle(table))) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     list.add(iterator.value());
                 }
@@ -609,7 +749,7 @@ public class RocksDBManager {
         List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            try (RocksIterator iterator = db.newIterator(getTableHandle(table))) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     entryList.add(new Entry(iterator.key(), iterator.value()));
                 }
@@ -622,6 +762,400 @@ public class RocksDBManager {
         }
     }
 
+    /**
+     * Traverse the entries of the table in key order without loading the table into memory.
+     * iterate the entries of the specified table, bounded by [from, to)
+     *
+     * @param table    Database Table Name
+     * @param from     first key(inclusive), null: from the first key
+     * @param to       last key(exclusive), null: to the last key
+     * @param reverse  true: from the last key to the first key
+     * @param snapshot read from the snapshot, null: the iterator reads its own implicit snapshot
+     * @param visitor  return false to stop the traversal
+     * @throws Exception The table does not exist, database exception or visitor exception
+     */
+    public static void iterate(final String table, final byte[] from, final byte[] to, final boolean reverse, final Snapshot snapshot, final EntryVisitor visitor) throws Exception {
+        iterate(table, from, to, reverse, snapshot, false, visitor);
+    }
+
+    /**
+     * Traverse the keys of the table in key order, the values are not read.
+     * iterate the keys of the specified table, bounded by [from, to)
+     *
+     * @param table    Database Table Name
+     * @param from     first key(inclusive), null: from the first key
+     * @param to       last key(exclusive), null: to the last key
+     * @param reverse  true: from the last key to the first key
+     * @param snapshot read from the snapshot, null: the iterator reads its own implicit snapshot
+     * @param visitor  return false to stop the traversal
+     * @throws Exception The table does not exist, database exception or visitor exception
+     */
+    public static void iterateKeys(final String table, final byte[] from, final byte[] to, final boolean reverse, final Snapshot snapshot, final KeyVisitor visitor) throws Exception {
+        iterate(table, from, to, reverse, snapshot, true, (key, value) -> visitor.visit(key));
+    }
+
+    private static void iterate(final String table, final byte[] from, final byte[] to, final boolean reverse, final Snapshot snapshot, final boolean keysOnly, final EntryVisitor visitor) throws Exception {
+        if (!baseCheckTable(table)) {
+            throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
+        }
+        if (visitor == null) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        RocksDB db = TABLES.get(table);
+        //The bounds let RocksDB skip the data outside the range instead of the visitor
+        try (Slice lower = from == null ? null : new Slice(from);
+             Slice upper = to == null ? null : new Slice(to);
+             ReadOptions readOptions = new ReadOptions()) {
+            if (lower != null) {
+                readOptions.setIterateLowerBound(lower);
+            }
+            if (upper != null) {
+                readOptions.setIterateUpperBound(upper);
+            }
+            if (snapshot != null) {
+                readOptions.setSnapshot(snapshot);
+            }
+            //A full traversal should not evict the hot blocks from the block cache
+            readOptions.setFillCache(false);
+            try (RocksIterator iterator = db.newIterator(getTableHandle(table), readOptions)) {
+                if (reverse) {
+                    iterator.seekToLast();
+                } else {
+                    iterator.seekToFirst();
+                }
+                while (iterator.isValid()) {
+                    if (!visitor.visit(iterator.key(), keysOnly ? null : iterator.value())) {
+                        break;
+                    }
+                    if (reverse) {
+                        iterator.prev();
+                    } else {
+                        iterator.next();
+                    }
+                }
+                iterator.status();
+            }
+        }
+    }
+
+    /**
+     * The smallest key greater than all keys starting with the prefix, null if there is none(the prefix is null, empty or all 0xff)
+     *
+     * @param prefix key prefix
+     * @return exclusive upper bound of the prefix
+     */
+    public static byte[] prefixUpperBound(final byte[] prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] upper = Arrays.copyOf(prefix, i + 1);
+                upper[i]++;
+                return upper;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create a consistent read view of the database the table belongs to, it must be released by {@link #releaseSnapshot}
+     * In shared mode the view covers all tables of the same data directory
+     *
+     * @param table Database Table Name
+     * @return Snapshot
+     * @throws Exception The table does not exist
+     */
+    public static Snapshot getSnapshot(final String table) throws Exception {
+        if (!baseCheckTable(table)) {
+            throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
+        }
+        return TABLES.get(table).getSnapshot();
+    }
+
+    /**
+     * Release the snapshot created by {@link #getSnapshot}
+     *
+     * @param table    Database Table Name
+     * @param snapshot Snapshot
+     */
+    public static void releaseSnapshot(final String table, final Snapshot snapshot) {
+        RocksDB db = TABLES.get(table);
+        if (db != null && snapshot != null) {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Query from a snapshot
+     *
+     * @param table    Database Table Name
+     * @param snapshot Snapshot
+     * @param key      key
+     * @return value
+     */
+    public static byte[] get(final String table, final Snapshot snapshot, final byte[] key) {
+        if (!baseCheckTable(table)) {
+            return null;
+        }
+        if (key == null) {
+            return null;
+        }
+        try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+            RocksDB db = TABLES.get(table);
+            return db.get(getTableHandle(table), readOptions, key);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    /**
+     * multiGetRequire a column family for each key
+     */
+    private static List<ColumnFamilyHandle> tableHandles(final String table, int size) {
+        return Collections.nCopies(size, getTableHandle(table));
+    }
+
+    /**
+     * Shared mode: open the shared database of the data directory and register its column families as tables,
+     * the tables still stored in their own folders are migrated into the shared database.
+     * The folder of a table is renamed only after its copy is complete, a table whose folder still exists was interrupted
+     * while migrating, its column family is dropped and the copy is redone.
+     *
+     * @param dir data directory
+     * @throws Exception Database open connection exception
+     */
+    private static void initShared(final File dir) throws Exception {
+        RocksDB db = openSharedDB(dir);
+        File[] tableFiles = dir.listFiles();
+        if (tableFiles == null) {
+            return;
+        }
+        for (File tableFile : tableFiles) {
+            String tableName = tableFile.getName();
+            if (!tableFile.isDirectory() || !DBUtils.checkPathLegal(tableName)) {
+                continue;
+            }
+            RocksDB tableDB = TABLES.get(tableName);
+            if (tableDB != null && tableDB != db) {
+                continue;
+            }
+            String dbPath = tableFile.getPath() + File.separator + BASE_DB_NAME;
+            if (!new File(dbPath + File.separator + "CURRENT").exists()) {
+                continue;
+            }
+            if (tableDB != null) {
+                Log.warn("RocksDBManager table {} was not completely migrated, migrate again", tableName);
+                ColumnFamilyHandle handle = HANDLES.remove(tableName);
+                TABLES.remove(tableName);
+                db.dropColumnFamily(handle);
+                handle.close();
+            }
+            try {
+                migrateTable(db, tableName, dbPath);
+            } catch (Exception e) {
+                Log.warn("migrate table failed, tableName: " + tableName + ", dbPath: " + dbPath, e);
+                throw e;
+            }
+            if (!tableFile.renameTo(new File(tableFile.getPath() + MIGRATED_SUFFIX))) {
+                //The folder marks an unfinished migration, it must not stay next to a table that is being written
+                throw new Exception("rename migrated table folder failed: " + tableFile.getPath());
+            }
+        }
+    }
+
+    /**
+     * Shared mode: open(Create if it does not exist)the shared database of a data directory, all existing column families are registered as tables
+     *
+     * @param dir data directory
+     * @return RocksDB
+     * @throws RocksDBException Database connection exception
+     */
+    private static RocksDB openSharedDB(final File dir) throws RocksDBException {
+        String dbPath = dir.getPath() + File.separator + SHARED_DB_NAME;
+        RocksDB db = SHARED_DBS.get(dbPath);
+        if (db != null) {
+            return db;
+        }
+        synchronized (RocksDBManager.class) {
+            db = SHARED_DBS.get(dbPath);
+            if (db != null) {
+                return db;
+            }
+            ColumnFamilyOptions cfOptions = getSharedColumnFamilyOptions();
+            List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+            if (new File(dbPath + File.separator + "CURRENT").exists()) {
+                try (Options options = new Options()) {
+                    for (byte[] name : RocksDB.listColumnFamilies(options, dbPath)) {
+                        descriptors.add(new ColumnFamilyDescriptor(name, cfOptions));
+                    }
+                }
+            } else {
+                descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, cfOptions));
+            }
+            List<ColumnFamilyHandle> handles = new ArrayList<>();
+            db = RocksDB.open(getSharedDBOptions(), dbPath, descriptors, handles);
+            for (int i = 0; i < descriptors.size(); i++) {
+                String tableName = new String(descriptors.get(i).getName(), StandardCharsets.UTF_8);
+                if (Arrays.equals(RocksDB.DEFAULT_COLUMN_FAMILY, descriptors.get(i).getName())) {
+                    continue;
+                }
+                HANDLES.put(tableName, handles.get(i));
+                TABLES.put(tableName, db);
+            }
+            SHARED_DBS.put(dbPath, db);
+            Log.info("RocksDBManager shared db {} opened, tables: {}", dbPath, descriptors.size() - 1);
+            return db;
+        }
+    }
+
+    /**
+     * Shared mode: copy a per-table database into a new column family of the shared database,
+     * the copy is flushed before returning so that renaming the old folder marks a durable migration
+     */
+    private static void migrateTable(final RocksDB sharedDB, final String tableName, final String dbPath) throws RocksDBException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        ColumnFamilyHandle handle = sharedDB.createColumnFamily(new ColumnFamilyDescriptor(tableName.getBytes(StandardCharsets.UTF_8), getSharedColumnFamilyOptions()));
+        try (Options options = getCommonOptions(false);
+             RocksDB oldDB = RocksDB.openReadOnly(options, dbPath);
+             RocksIterator iterator = oldDB.newIterator();
+             WriteOptions writeOptions = new WriteOptions()) {
+            WriteBatch batch = new WriteBatch();
+            try {
+                for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                    batch.put(handle, iterator.key(), iterator.value());
+                    if (++count % MIGRATE_BATCH_SIZE == 0) {
+                        sharedDB.write(writeOptions, batch);
+                        batch.close();
+                        batch = new WriteBatch();
+                    }
+                }
+                sharedDB.write(writeOptions, batch);
+            } finally {
+                batch.close();
+            }
+            try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+                sharedDB.flush(flushOptions, handle);
+            }
+        } catch (RocksDBException e) {
+            sharedDB.dropColumnFamily(handle);
+            handle.close();
+            throw e;
+        }
+        HANDLES.put(tableName, handle);
+        TABLES.put(tableName, sharedDB);
+        Log.info("RocksDBManager migrated table {} into shared db, entries: {}, use: {}ms", tableName, count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Shared mode: database options, the write buffer manager and the background thread pool are shared by all databases
+     */
+    private static synchronized DBOptions getSharedDBOptions() {
+        initSharedResources();
+        if (sharedDBOptions == null) {
+            DBOptions options = new DBOptions();
+            options.setCreateIfMissing(true);
+            options.setCreateMissingColumnFamilies(true);
+            options.setAllowMmapReads(true);
+            options.setMaxOpenFiles(-1);
+            options.setWriteBufferManager(sharedWriteBufferManager);
+            options.setEnv(Env.getDefault());
+            options.setMaxBackgroundJobs(SHARED_BACKGROUND_THREADS);
+            options.setCompactionReadaheadSize(128 * SizeUnit.KB);
+            sharedDBOptions = options;
+        }
+        return sharedDBOptions;
+    }
+
+    /**
+     * Shared mode: column family options, the block cache is shared by all tables
+     */
+    private static synchronized ColumnFamilyOptions getSharedColumnFamilyOptions() {
+        initSharedResources();
+        if (sharedColumnFamilyOptions == null) {
+            ColumnFamilyOptions options = new ColumnFamilyOptions();
+            options.setCompressionType(CompressionType.LZ4_COMPRESSION);
+            BlockBasedTableConfig tableOption = new BlockBasedTableConfig();
+            tableOption.setBlockCache(sharedCache);
+            tableOption.setNoBlockCache(false);
+            tableOption.setCacheIndexAndFilterBlocks(true);
+            tableOption.setPinL0FilterAndIndexBlocksInCache(true);
+            tableOption.setBlockRestartInterval(16);
+            sharedFilter = new BloomFilter(10, true);
+            tableOption.setFilterPolicy(sharedFilter);
+            options.setTableFormatConfig(tableOption);
+            sharedColumnFamilyOptions = options;
+        }
+        return sharedColumnFamilyOptions;
+    }
+
+    /**
+     * Shared mode: release the options, the block cache and the write buffer manager once all shared databases are closed
+     */
+    private static synchronized void closeSharedResources() {
+        if (!SHARED_DBS.isEmpty()) {
+            return;
+        }
+        if (sharedColumnFamilyOptions != null) {
+            sharedColumnFamilyOptions.close();
+            sharedColumnFamilyOptions = null;
+        }
+        if (sharedFilter != null) {
+            sharedFilter.close();
+            sharedFilter = null;
+        }
+        if (sharedDBOptions != null) {
+            sharedDBOptions.close();
+            sharedDBOptions = null;
+        }
+        if (sharedWriteBufferManager != null) {
+            sharedWriteBufferManager.close();
+            sharedWriteBufferManager = null;
+        }
+        if (sharedCache != null) {
+            sharedCache.close();
+            sharedCache = null;
+        }
+    }
+
+    private static void initSharedResources() {
+        if (sharedCache != null) {
+            return;
+        }
+        sharedCache = new LRUCache(SHARED_CACHE_SIZE);
+        sharedWriteBufferManager = new WriteBufferManager(SHARED_WRITE_BUFFER_SIZE, sharedCache);
+        Env.getDefault().setBackgroundThreads(SHARED_BACKGROUND_THREADS, Priority.LOW);
+        Env.getDefault().setBackgroundThreads(1, Priority.HIGH);
+        Log.info("RocksDBManager shared mode, block cache: {}MB, write buffer: {}MB, background threads: {}",
+                SHARED_CACHE_SIZE / SizeUnit.MB, SHARED_WRITE_BUFFER_SIZE / SizeUnit.MB, SHARED_BACKGROUND_THREADS);
+    }
+
+    /**
+     * Approximate memory usage of all opened databases, grouped by type(memtables, table readers, block cache)
+     * Approximate memory usage of all opened databases
+     *
+     * @return key: memory usage type, value: bytes
+     */
+    public static Map<String, Long> getApproximateMemoryUsage() {
+        Set<RocksDB> dbs = Collections.newSetFromMap(new IdentityHashMap<>());
+        dbs.addAll(TABLES.values());
+        Set<Cache> caches = new HashSet<>();
+        if (sharedCache != null) {
+            caches.add(sharedCache);
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (dbs.isEmpty()) {
+            return result;
+        }
+        Map<MemoryUsageType, Long> usage = MemoryUtil.getApproximateMemoryUsageByType(new ArrayList<>(dbs), caches);
+        for (Map.Entry<MemoryUsageType, Long> entry : usage.entrySet()) {
+            result.put(entry.getKey().name(), entry.getValue());
+        }
+        return result;
+    }
+
     /**
      * Obtain public database connection properties.
      *
@@ -0,0 +1,81 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2019 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.rockdb.service;
+
+import io.nuls.core.rockdb.constant.DBErrorCode;
+import io.nuls.core.rockdb.manager.RocksDBManager;
+import io.nuls.core.rockdb.model.EntryVisitor;
+import io.nuls.core.rockdb.model.KeyVisitor;
+import org.rocksdb.RocksDB;
+import org.rocksdb.Snapshot;
+
+/**
+ * Consistent read view of the database a table belongs to, reads through it do not see later writes.
+ * In shared mode it covers all tables initialized under the same data directory,
+ * reading a table of another database through it throws an exception.
+ */
+public class ReadSnapshot implements AutoCloseable {
+
+    private final RocksDB db;
+    private final Snapshot snapshot;
+
+    ReadSnapshot(String table) throws Exception {
+        this.snapshot = RocksDBManager.getSnapshot(table);
+        this.db = RocksDBManager.getTable(table);
+    }
+
+    public byte[] get(String table, byte[] key) throws Exception {
+        checkTable(table);
+        return RocksDBManager.get(table, snapshot, key);
+    }
+
+    public void iterate(String table, byte[] prefix, EntryVisitor visitor) throws Exception {
+        checkTable(table);
+        RocksDBManager.iterate(table, prefix, RocksDBManager.prefixUpperBound(prefix), false, snapshot, visitor);
+    }
+
+    public void iterate(String table, byte[] from, byte[] to, boolean reverse, EntryVisitor visitor) throws Exception {
+        checkTable(table);
+        RocksDBManager.iterate(table, from, to, reverse, snapshot, visitor);
+    }
+
+    public void iterateKeys(String table, byte[] from, byte[] to, boolean reverse, KeyVisitor visitor) throws Exception {
+        checkTable(table);
+        RocksDBManager.iterateKeys(table, from, to, reverse, snapshot, visitor);
+    }
+
+    /**
+     * The snapshot only exists in the database it was taken from
+     */
+    private void checkTable(String table) throws Exception {
+        if (RocksDBManager.getTable(table) != db) {
+            throw new Exception(DBErrorCode.DB_TABLE_NOT_IN_SNAPSHOT);
+        }
+    }
+
+    @Override
+    public void close() {
+        db.releaseSnapshot(snapshot);
+    }
+}
@@ -22,6 +22,7 @@ package io.nuls.core.rockdb.service;
 import io.nuls.core.rockdb.constant.DBErrorCode;
 import io.nuls.core.rockdb.manager.RocksDBManager;
 import io.nuls.core.log.Log;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
@@ -30,12 +31,14 @@ public class RocksDBBatchOperation implements BatchOperation {
 
     private String table;
     private RocksDB db;
+    private ColumnFamilyHandle handle;
     private WriteBatch batch;
     private volatile boolean isClose = false;
 
     RocksDBBatchOperation(String table) {
         this.table = table;
         db = RocksDBManager.getTable(table);
+        handle = RocksDBManager.getTableHandle(table);
         if (db != null) {
             batch = new WriteBatch();
         }
@@ -56,7 +59,7 @@ public class RocksDBBatchOperation implements BatchOperation {
         if (key == null || value == null) {
             throw new Exception(DBErrorCode.NULL_PARAMETER);
         }
-        batch.put(key, value);
+        batch.put(handle, key, value);
         return true;
     }
 
@@ -65,7 +68,7 @@ public class RocksDBBatchOperation implements BatchOperation {
         if (key == null) {
             throw new Exception(DBErrorCode.NULL_PARAMETER);
         }
-        batch.delete(key);
+        batch.delete(handle, key);
         return true;
     }
 
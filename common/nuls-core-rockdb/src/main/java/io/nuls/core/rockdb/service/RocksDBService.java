@@ -23,6 +23,8 @@ import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.rockdb.manager.RocksDBManager;
 import io.nuls.core.rockdb.model.Entry;
+import io.nuls.core.rockdb.model.EntryVisitor;
+import io.nuls.core.rockdb.model.KeyVisitor;
 
 import java.util.Arrays;
 import java.util.List;
@@ -126,6 +128,49 @@ public class RocksDBService {
         return RocksDBManager.entryList(table);
     }
 
+    /**
+     * Collect writes across tables and commit them together, see {@link UnitOfWork}
+     */
+    public static UnitOfWork createUnitOfWork() {
+        return new RocksDBUnitOfWork();
+    }
+
+    /**
+     * Traverse the whole table without loading it into memory
+     */
+    public static void iterate(String table, EntryVisitor visitor) throws Exception {
+        RocksDBManager.iterate(table, null, null, false, null, visitor);
+    }
+
+    /**
+     * Traverse the entries whose key starts with the prefix
+     */
+    public static void iterate(String table, byte[] prefix, EntryVisitor visitor) throws Exception {
+        RocksDBManager.iterate(table, prefix, RocksDBManager.prefixUpperBound(prefix), false, null, visitor);
+    }
+
+    /**
+     * Traverse the entries whose key is in [from, to), null means unbounded
+     */
+    public static void iterate(String table, byte[] from, byte[] to, boolean reverse, EntryVisitor visitor) throws Exception {
+        RocksDBManager.iterate(table, from, to, reverse, null, visitor);
+    }
+
+    public static void iterateKeys(String table, KeyVisitor visitor) throws Exception {
+        RocksDBManager.iterateKeys(table, null, null, false, null, visitor);
+    }
+
+    public static void iterateKeys(String table, byte[] prefix, KeyVisitor visitor) throws Exception {
+        RocksDBManager.iterateKeys(table, prefix, RocksDBManager.prefixUpperBound(prefix), false, null, visitor);
+    }
+
+    /**
+     * Consistent read view across several reads, see {@link ReadSnapshot}
+     */
+    public static ReadSnapshot createSnapshot(String table) throws Exception {
+        return new ReadSnapshot(table);
+    }
+
     public static BatchOperation createWriteBatch(String table) {
         if (StringUtils.isBlank(table)) {
             return null;
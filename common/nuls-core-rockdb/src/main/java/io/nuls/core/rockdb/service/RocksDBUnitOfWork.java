@@ -0,0 +1,146 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2019 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.rockdb.service;
+
+import io.nuls.core.log.Log;
+import io.nuls.core.rockdb.constant.DBErrorCode;
+import io.nuls.core.rockdb.manager.RocksDBManager;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RocksDBUnitOfWork implements UnitOfWork {
+
+    /**
+     * One write batch per database
+     */
+    private final Map<RocksDB, WriteBatch> batches = new IdentityHashMap<>(4);
+    private int size;
+    private volatile boolean isClose = false;
+
+    RocksDBUnitOfWork() {
+    }
+
+    private WriteBatch batch(String table) throws Exception {
+        if (isClose) {
+            throw new Exception(DBErrorCode.DB_TABLE_FAILED_BATCH_CLOSE);
+        }
+        RocksDB db = RocksDBManager.getTable(table);
+        if (db == null) {
+            throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
+        }
+        return batches.computeIfAbsent(db, k -> new WriteBatch());
+    }
+
+    private ColumnFamilyHandle handle(String table) {
+        return RocksDBManager.getTableHandle(table);
+    }
+
+    @Override
+    public void put(String table, byte[] key, byte[] value) throws Exception {
+        if (key == null || value == null) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        batch(table).put(handle(table), key, value);
+        size++;
+    }
+
+    @Override
+    public void delete(String table, byte[] key) throws Exception {
+        if (key == null) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        batch(table).delete(handle(table), key);
+        size++;
+    }
+
+    @Override
+    public void batchPut(String table, Map<byte[], byte[]> kvs) throws Exception {
+        if (kvs == null || kvs.isEmpty()) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        WriteBatch batch = batch(table);
+        ColumnFamilyHandle handle = handle(table);
+        for (Map.Entry<byte[], byte[]> entry : kvs.entrySet()) {
+            batch.put(handle, entry.getKey(), entry.getValue());
+        }
+        size += kvs.size();
+    }
+
+    @Override
+    public void deleteKeys(String table, List<byte[]> keys) throws Exception {
+        if (keys == null || keys.isEmpty()) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        WriteBatch batch = batch(table);
+        ColumnFamilyHandle handle = handle(table);
+        for (byte[] key : keys) {
+            batch.delete(handle, key);
+        }
+        size += keys.size();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean commit() throws Exception {
+        return commit(false);
+    }
+
+    @Override
+    public boolean commit(boolean sync) throws Exception {
+        if (isClose) {
+            throw new Exception(DBErrorCode.DB_TABLE_FAILED_BATCH_CLOSE);
+        }
+        try (WriteOptions writeOptions = new WriteOptions()) {
+            writeOptions.setSync(sync);
+            for (Map.Entry<RocksDB, WriteBatch> entry : batches.entrySet()) {
+                entry.getKey().write(writeOptions, entry.getValue());
+            }
+        } catch (Exception e) {
+            Log.error(e);
+            throw new Exception(DBErrorCode.DB_UNKOWN_EXCEPTION);
+        } finally {
+            discard();
+        }
+        return true;
+    }
+
+    @Override
+    public void discard() {
+        isClose = true;
+        for (WriteBatch batch : batches.values()) {
+            batch.close();
+        }
+        batches.clear();
+    }
+}
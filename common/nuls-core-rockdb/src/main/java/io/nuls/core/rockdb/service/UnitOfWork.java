@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2019 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.rockdb.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collect the writes of several tables(e.g. all writes of one block)and commit them together.
+ * Tables of the same database(shared mode: tables initialized under the same data directory)are committed as one atomic write,
+ * otherwise each database is written once.
+ */
+public interface UnitOfWork extends AutoCloseable {
+
+    /**
+     * Add or update operations
+     *
+     * @param table Database Table Name
+     * @param key
+     * @param value
+     */
+    void put(String table, byte[] key, byte[] value) throws Exception;
+
+    /**
+     * Delete operation
+     *
+     * @param table Database Table Name
+     * @param key
+     */
+    void delete(String table, byte[] key) throws Exception;
+
+    /**
+     * Batch add or update operations
+     *
+     * @param table Database Table Name
+     * @param kvs
+     */
+    void batchPut(String table, Map<byte[], byte[]> kvs) throws Exception;
+
+    /**
+     * Batch delete operation
+     *
+     * @param table Database Table Name
+     * @param keys
+     */
+    void deleteKeys(String table, List<byte[]> keys) throws Exception;
+
+    /**
+     * Number of collected operations
+     *
+     * @return
+     */
+    int size();
+
+    /**
+     * Commit all collected operations, the write-ahead log is not synced
+     *
+     * @return
+     */
+    boolean commit() throws Exception;
+
+    /**
+     * Commit all collected operations
+     *
+     * @param sync true: sync the write-ahead log before returning
+     * @return
+     */
+    boolean commit(boolean sync) throws Exception;
+
+    /**
+     * Discard all collected operations
+     */
+    void discard();
+
+    /**
+     * Release the write batches, the operations that have not been committed are discarded
+     */
+    @Override
+    default void close() {
+        discard();
+    }
+}
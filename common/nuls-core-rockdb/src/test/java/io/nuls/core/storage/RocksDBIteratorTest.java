@@ -0,0 +1,90 @@
+package io.nuls.core.storage;
+
+import io.nuls.core.rockdb.manager.RocksDBManager;
+import io.nuls.core.rockdb.service.ReadSnapshot;
+import io.nuls.core.rockdb.service.RocksDBService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Prefix, range, reverse and snapshot traversal
+ */
+public class RocksDBIteratorTest {
+
+    private static final String TABLE = "iterate_table";
+
+    @Before
+    public void before() throws Exception {
+        RocksDBService.init(Files.createTempDirectory("rocksdb-iterate").toFile().getPath());
+        RocksDBService.createTable(TABLE);
+        for (String key : new String[]{"a-1", "a-2", "a-3", "b-1", "b-2", "c-1"}) {
+            RocksDBService.put(TABLE, key.getBytes(UTF_8), ("v" + key).getBytes(UTF_8));
+        }
+    }
+
+    @After
+    public void after() {
+        RocksDBManager.close();
+    }
+
+    @Test
+    public void iterate() throws Exception {
+        List<String> keys = new ArrayList<>();
+        RocksDBService.iterate(TABLE, (key, value) -> {
+            Assert.assertEquals("v" + new String(key, UTF_8), new String(value, UTF_8));
+            return keys.add(new String(key, UTF_8));
+        });
+        Assert.assertEquals(6, keys.size());
+
+        keys.clear();
+        RocksDBService.iterate(TABLE, "b-".getBytes(UTF_8), (key, value) -> keys.add(new String(key, UTF_8)));
+        Assert.assertEquals(List.of("b-1", "b-2"), keys);
+
+        keys.clear();
+        RocksDBService.iterate(TABLE, "a-2".getBytes(UTF_8), "b-2".getBytes(UTF_8), true, (key, value) -> keys.add(new String(key, UTF_8)));
+        Assert.assertEquals(List.of("b-1", "a-3", "a-2"), keys);
+
+        keys.clear();
+        RocksDBService.iterateKeys(TABLE, "a".getBytes(UTF_8), key -> {
+            keys.add(new String(key, UTF_8));
+            return keys.size() < 2;
+        });
+        Assert.assertEquals(List.of("a-1", "a-2"), keys);
+
+        Assert.assertNull(RocksDBManager.prefixUpperBound(new byte[]{(byte) 0xff, (byte) 0xff}));
+        Assert.assertArrayEquals(new byte[]{1, 3}, RocksDBManager.prefixUpperBound(new byte[]{1, 2, (byte) 0xff}));
+        Assert.assertNull(RocksDBManager.prefixUpperBound(null));
+        Assert.assertNull(RocksDBManager.prefixUpperBound(new byte[0]));
+    }
+
+    @Test
+    public void snapshot() throws Exception {
+        try (ReadSnapshot snapshot = RocksDBService.createSnapshot(TABLE)) {
+            RocksDBService.put(TABLE, "a-4".getBytes(UTF_8), "va-4".getBytes(UTF_8));
+            RocksDBService.delete(TABLE, "a-1".getBytes(UTF_8));
+            List<String> keys = new ArrayList<>();
+            snapshot.iterate(TABLE, "a-".getBytes(UTF_8), (key, value) -> keys.add(new String(key, UTF_8)));
+            Assert.assertEquals(List.of("a-1", "a-2", "a-3"), keys);
+            Assert.assertNotNull(snapshot.get(TABLE, "a-1".getBytes(UTF_8)));
+            Assert.assertNull(snapshot.get(TABLE, "a-4".getBytes(UTF_8)));
+        }
+        Assert.assertNull(RocksDBService.get(TABLE, "a-1".getBytes(UTF_8)));
+    }
+
+    @Test(expected = Exception.class)
+    public void snapshotRejectsOtherDatabase() throws Exception {
+        // Without shared mode every table has its own database
+        RocksDBService.createTable("other_table");
+        try (ReadSnapshot snapshot = RocksDBService.createSnapshot(TABLE)) {
+            snapshot.get("other_table", "a-1".getBytes(UTF_8));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.nuls.core.storage;
+
+import io.nuls.core.rockdb.manager.RocksDBManager;
+import io.nuls.core.rockdb.service.BatchOperation;
+import io.nuls.core.rockdb.service.RocksDBService;
+
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compare one database per table and tables as column families of a shared database,
+ * the table count is close to the number of tables opened by the nerve-core process
+ */
+public class SharedRocksDBBenchmark {
+
+    private static final int TABLES = 60;
+    private static final int ENTRIES = 20000;
+    private static final int READS = 200000;
+
+    public static void main(String[] args) throws Exception {
+        run(false);
+        run(true);
+    }
+
+    private static void run(boolean shared) throws Exception {
+        RocksDBManager.setSharedMode(shared);
+        String path = Files.createTempDirectory("rocksdb-benchmark").toFile().getPath();
+        RocksDBService.init(path);
+        Random random = new Random(1);
+        byte[] value = new byte[200];
+
+        long time = System.currentTimeMillis();
+        for (int t = 0; t < TABLES; t++) {
+            String table = "table_" + t;
+            RocksDBService.createTable(table);
+            BatchOperation batch = RocksDBService.createWriteBatch(table);
+            for (int i = 0; i < ENTRIES; i++) {
+                random.nextBytes(value);
+                batch.put(key(i), value);
+            }
+            batch.executeBatch();
+        }
+        long writeTime = System.currentTimeMillis() - time;
+
+        time = System.currentTimeMillis();
+        int found = 0;
+        for (int i = 0; i < READS; i++) {
+            if (RocksDBService.get("table_" + random.nextInt(TABLES), key(random.nextInt(ENTRIES * 2))) != null) {
+                found++;
+            }
+        }
+        long readTime = System.currentTimeMillis() - time;
+
+        System.out.println((shared ? "shared" : "legacy") + " tables: " + TABLES + ", write: " + writeTime + "ms, " + READS + " reads: " + readTime + "ms, found: " + found);
+        for (Map.Entry<String, Long> entry : RocksDBManager.getApproximateMemoryUsage().entrySet()) {
+            System.out.println("    " + entry.getKey() + ": " + entry.getValue() / 1024 + " KB");
+        }
+        System.out.println("    threads: " + Thread.activeCount() + ", process threads: " + processThreads());
+        RocksDBManager.close();
+    }
+
+    private static byte[] key(int i) {
+        return ("key-" + i).getBytes();
+    }
+
+    private static long processThreads() {
+        try {
+            return Files.list(java.nio.file.Paths.get("/proc/self/task")).count();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.nuls.core.storage;
+
+import io.nuls.core.rockdb.manager.RocksDBManager;
+import io.nuls.core.rockdb.service.BatchOperation;
+import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rockdb.service.UnitOfWork;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Tables as column families of a shared database, and migration from per-table databases
+ */
+public class SharedRocksDBTest {
+
+    @After
+    public void after() {
+        RocksDBManager.close();
+        RocksDBManager.setSharedMode(false);
+    }
+
+    @Test
+    public void migrateAndOperate() throws Exception {
+        String path = Files.createTempDirectory("shared-rocksdb").toFile().getPath();
+        // Legacy mode: one database per table
+        RocksDBManager.setSharedMode(false);
+        RocksDBService.init(path);
+        RocksDBService.createTable("table_a");
+        RocksDBService.createTable("table_b");
+        for (int i = 0; i < 100; i++) {
+            RocksDBService.put("table_a", ("a" + i).getBytes(UTF_8), ("va" + i).getBytes(UTF_8));
+            RocksDBService.put("table_b", ("b" + i).getBytes(UTF_8), ("vb" + i).getBytes(UTF_8));
+        }
+        RocksDBManager.close();
+
+        // Shared mode: the tables are migrated into column families
+        RocksDBManager.setSharedMode(true);
+        RocksDBService.init(path);
+        Assert.assertTrue(new File(path, "table_a.migrated").exists());
+        Assert.assertEquals(100, RocksDBService.entryList("table_a").size());
+        Assert.assertEquals(100, RocksDBService.keyList("table_b").size());
+        Assert.assertArrayEquals("va7".getBytes(UTF_8), RocksDBService.get("table_a", "a7".getBytes(UTF_8)));
+        Assert.assertNull(RocksDBService.get("table_a", "b7".getBytes(UTF_8)));
+
+        List<byte[]> values = RocksDBService.multiGetValueList("table_b", Arrays.asList("b1".getBytes(UTF_8), "a1".getBytes(UTF_8)));
+        Assert.assertArrayEquals("vb1".getBytes(UTF_8), values.get(0));
+        Assert.assertNull(values.get(1));
+
+        RocksDBService.createTable("table_c");
+        BatchOperation batch = RocksDBService.createWriteBatch("table_c");
+        batch.put("c1".getBytes(UTF_8), "vc1".getBytes(UTF_8));
+        batch.executeBatch();
+        Assert.assertArrayEquals("vc1".getBytes(UTF_8), RocksDBService.get("table_c", "c1".getBytes(UTF_8)));
+        Assert.assertTrue(RocksDBService.keyList("table_a").size() == 100);
+
+        RocksDBService.destroyTable("table_b");
+        Assert.assertFalse(RocksDBService.existTable("table_b"));
+        RocksDBManager.close();
+
+        // Reopen: column families are registered as tables
+        RocksDBService.init(path);
+        Assert.assertTrue(RocksDBService.existTable("table_a"));
+        Assert.assertTrue(RocksDBService.existTable("table_c"));
+        Assert.assertFalse(RocksDBService.existTable("table_b"));
+        Assert.assertArrayEquals("vc1".getBytes(UTF_8), RocksDBService.get("table_c", "c1".getBytes(UTF_8)));
+    }
+
+    @Test
+    public void interruptedMigrationIsRedone() throws Exception {
+        String path = Files.createTempDirectory("shared-rocksdb").toFile().getPath();
+        RocksDBManager.setSharedMode(false);
+        RocksDBService.init(path);
+        RocksDBService.createTable("table_a");
+        for (int i = 0; i < 100; i++) {
+            RocksDBService.put("table_a", ("a" + i).getBytes(UTF_8), ("va" + i).getBytes(UTF_8));
+        }
+        RocksDBManager.close();
+
+        RocksDBManager.setSharedMode(true);
+        RocksDBService.init(path);
+        RocksDBService.put("table_a", "partial".getBytes(UTF_8), "1".getBytes(UTF_8));
+        RocksDBManager.close();
+        // The legacy folder is still present: the column family holds an unfinished copy
+        Assert.assertTrue(new File(path, "table_a.migrated").renameTo(new File(path, "table_a")));
+
+        RocksDBService.init(path);
+        Assert.assertTrue(new File(path, "table_a.migrated").exists());
+        Assert.assertNull(RocksDBService.get("table_a", "partial".getBytes(UTF_8)));
+        Assert.assertEquals(100, RocksDBService.keyList("table_a").size());
+    }
+
+    @Test
+    public void legacyModeRefusesMigratedData() throws Exception {
+        String path = Files.createTempDirectory("shared-rocksdb").toFile().getPath();
+        RocksDBManager.setSharedMode(false);
+        RocksDBService.init(path);
+        RocksDBService.createTable("table_a");
+        RocksDBService.put("table_a", "a".getBytes(UTF_8), "1".getBytes(UTF_8));
+        RocksDBManager.close();
+
+        RocksDBManager.setSharedMode(true);
+        RocksDBService.init(path);
+        RocksDBManager.close();
+
+        RocksDBManager.setSharedMode(false);
+        try {
+            RocksDBManager.init(path);
+            Assert.fail("legacy mode opened a migrated data path");
+        } catch (Exception e) {
+            Assert.assertFalse(RocksDBService.existTable("table_a"));
+        }
+    }
+
+    @Test
+    public void unitOfWork() throws Exception {
+        for (boolean shared : new boolean[]{false, true}) {
+            RocksDBManager.setSharedMode(shared);
+            RocksDBService.init(Files.createTempDirectory("unit-of-work").toFile().getPath());
+            RocksDBService.createTable("state");
+            RocksDBService.createTable("height");
+            RocksDBService.put("state", "old".getBytes(UTF_8), "1".getBytes(UTF_8));
+
+            UnitOfWork unitOfWork = RocksDBService.createUnitOfWork();
+            Map<byte[], byte[]> kvs = new HashMap<>();
+            kvs.put("a".getBytes(UTF_8), "1".getBytes(UTF_8));
+            kvs.put("b".getBytes(UTF_8), "2".getBytes(UTF_8));
+            unitOfWork.batchPut("state", kvs);
+            unitOfWork.delete("state", "old".getBytes(UTF_8));
+            unitOfWork.put("height", "h".getBytes(UTF_8), "10".getBytes(UTF_8));
+            Assert.assertEquals(4, unitOfWork.size());
+            // Nothing is visible before commit
+            Assert.assertNull(RocksDBService.get("height", "h".getBytes(UTF_8)));
+            Assert.assertNotNull(RocksDBService.get("state", "old".getBytes(UTF_8)));
+            Assert.assertTrue(unitOfWork.commit(true));
+
+            Assert.assertArrayEquals("10".getBytes(UTF_8), RocksDBService.get("height", "h".getBytes(UTF_8)));
+            Assert.assertArrayEquals("2".getBytes(UTF_8), RocksDBService.get("state", "b".getBytes(UTF_8)));
+            Assert.assertNull(RocksDBService.get("state", "old".getBytes(UTF_8)));
+            Assert.assertNull(RocksDBService.get("state", "h".getBytes(UTF_8)));
+
+            UnitOfWork discarded = RocksDBService.createUnitOfWork();
+            discarded.put("height", "h".getBytes(UTF_8), "11".getBytes(UTF_8));
+            discarded.discard();
+            Assert.assertArrayEquals("10".getBytes(UTF_8), RocksDBService.get("height", "h".getBytes(UTF_8)));
+            RocksDBManager.close();
+        }
+    }
+}
@@ -89,6 +89,26 @@ public class Constants {
      */
     public static final String CHAIN_ID = "chainId";
 
+    /**
+     * In-process call, the parameter name used to transfer the parsed transaction object list instead of hex strings
+     * When calling an in-process method, the parameter name used to transfer parsed transactions
+     * The list and the transactions are shared with the caller and are read-only for the receiver
+     */
+    public static final String TX_OBJ_LIST = "txObjList";
+
+    /**
+     * In-process call, the parameter name used to transfer the parsed block header object instead of hex string
+     * When calling an in-process method, the parameter name used to transfer the parsed block header
+     * The block header is shared with the caller and is read-only for the receiver
+     */
+    public static final String BLOCK_HEADER_OBJ = "blockHeaderObj";
+
+    /**
+     * In-process call, the parameter name used to transfer the block object instead of hex string
+     * When calling an in-process method, the parameter name used to transfer the block
+     */
+    public static final String BLOCK_OBJ = "blockObj";
+
     /**
      * Used to saveIPThe parameter name of the address
      * The parameter name used to save the IP address
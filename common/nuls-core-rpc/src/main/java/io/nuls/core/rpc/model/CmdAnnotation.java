@@ -89,6 +89,14 @@ public @interface CmdAnnotation {
      * */
     CmdPriority priority() default CmdPriority.DEFAULT;
 
+    /**
+     * Whether in-process calls(Inside the merged core module)Skip the JSON round-trip, parameters are passed by reference and the response is returned directly.
+     * Only enable it when the method neither modifies nor retains the parameter map, and the response only contains JSON native types(String, Boolean, Number, List, Map)
+     *
+     * @return boolean
+     */
+    boolean localDirect() default false;
+
     /**
      * Method description information
      * Description information of method
@@ -34,6 +34,10 @@ import java.lang.reflect.Method;
 public class InvokeBean {
     private BaseCmd baseCmd;
     private Method method;
+    /**
+     * In-process call skips JSON serialization, see {@link CmdAnnotation#localDirect()}
+     */
+    private boolean direct;
 
     public InvokeBean() {
     }
@@ -43,6 +47,12 @@ public class InvokeBean {
         this.method = method;
     }
 
+    public InvokeBean(BaseCmd baseCmd, Method method, boolean direct) {
+        this.baseCmd = baseCmd;
+        this.method = method;
+        this.direct = direct;
+    }
+
     public BaseCmd getBaseCmd() {
         return baseCmd;
     }
@@ -58,4 +68,12 @@ public class InvokeBean {
     public void setMethod(Method method) {
         this.method = method;
     }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public void setDirect(boolean direct) {
+        this.direct = direct;
+    }
 }
@@ -225,6 +225,36 @@ public class ResponseMessageProcessor {
         return receiveResponse(responseContainer, timeOut);
     }
 
+    /**
+     * Is the role merged into the current process
+     * Whether the module of the role runs in the current process
+     *
+     * @param role The role of the module,The role of module
+     * @return boolean
+     */
+    public static boolean isLocalRole(String role) {
+        if (!ModuleE.NC.abbr.equalsIgnoreCase(ConnectManager.LOCAL.getAbbreviation())) {
+            return false;
+        }
+        return ModuleE.NC.abbr.equalsIgnoreCase(ROLE_MAPPING.getOrDefault(role, role));
+    }
+
+    /**
+     * Is the cmd in the current process and called without serialization, see {@link io.nuls.core.rpc.model.CmdAnnotation#localDirect()}
+     * Whether the cmd is invoked in-process by reference, the caller can pass parsed objects instead of hex strings
+     *
+     * @param role The role to which the remote method belongs,The role of remote method
+     * @param cmd  Command for remote methods,Command of the remote method
+     * @return boolean
+     */
+    public static boolean isLocalDirect(String role, String cmd) {
+        if (!ModuleE.NC.abbr.equalsIgnoreCase(ConnectManager.LOCAL.getAbbreviation())) {
+            return false;
+        }
+        InvokeBean invokeBean = INVOKE_BEAN_MAP.get(role + "_" + cmd);
+        return invokeBean != null && invokeBean.isDirect();
+    }
+
     /**
      * sendRequest, and automatically call local methods based on the returned results
      * Send the Request and automatically call the local method based on the return result
@@ -32,12 +32,22 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * Call of the cmd inside the merged core module
+ * In-process invocation of the cmds registered in the merged core module
+ * <p>
+ * By default, the parameters and the response are passed through a JSON round-trip to keep the same semantics as the remote call;
+ * cmds annotated with {@link io.nuls.core.rpc.model.CmdAnnotation#localDirect()} receive the caller's parameter map by reference
+ * and the response is returned directly, the caller must not modify the parameter map after the call.
+ *
  * @author: PierreLuo
  * @date: 2023/7/5
  */
 public class LocalModuleCall {
 
     public static Response requestAndResponse(InvokeBean invokeBean, String role, String cmd, Object params, long timeOut) throws Exception {
+        if (invokeBean.isDirect() && params instanceof Map) {
+            return directRequestAndResponse(invokeBean, cmd, (Map) params);
+        }
         Response response = (Response) invokeBean.getMethod().invoke(invokeBean.getBaseCmd(), JSONUtils.byteArray2pojo(JSONUtils.obj2ByteArray(params), Map.class));
         Map<String, Object> responseData = new HashMap<>(2);
         responseData.put(cmd, response.getResponseData());
@@ -46,7 +56,23 @@ public class LocalModuleCall {
     }
 
     public static String requestOnly(InvokeBean invokeBean, Object params, String role, Request request) throws Exception {
+        if (invokeBean.isDirect() && params instanceof Map) {
+            invokeBean.getMethod().invoke(invokeBean.getBaseCmd(), params);
+            return "1";
+        }
         invokeBean.getMethod().invoke(invokeBean.getBaseCmd(), JSONUtils.byteArray2pojo(JSONUtils.obj2ByteArray(params), Map.class));
         return "1";
     }
+
+    /**
+     * Call the cmd without serialization, the response object returned by the cmd is returned to the caller
+     * Invoke the cmd without serialization
+     */
+    private static Response directRequestAndResponse(InvokeBean invokeBean, String cmd, Map params) throws Exception {
+        Response response = (Response) invokeBean.getMethod().invoke(invokeBean.getBaseCmd(), params);
+        Map<String, Object> responseData = new HashMap<>(2);
+        responseData.put(cmd, response.getResponseData());
+        response.setResponseData(responseData);
+        return response;
+    }
 }
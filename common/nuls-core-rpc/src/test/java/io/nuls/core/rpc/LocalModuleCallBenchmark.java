@@ -0,0 +1,89 @@
+package io.nuls.core.rpc;
+
+import io.nuls.core.crypto.HexUtil;
+import io.nuls.core.rpc.cmd.BaseCmd;
+import io.nuls.core.rpc.model.InvokeBean;
+import io.nuls.core.rpc.model.message.Response;
+import io.nuls.core.rpc.util.LocalModuleCall;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Compare the JSON round-trip and the direct in-process call of {@link LocalModuleCall},
+ * the parameters simulate the block save cmd chain(tx_save -> txCommit -> commitBlockTxs)
+ */
+public class LocalModuleCallBenchmark {
+
+    public static class MockSaveCmd extends BaseCmd {
+        public Response save(Map params) {
+            List<String> txList = (List<String>) params.get("txList");
+            int count = 0;
+            for (String tx : txList) {
+                count += tx.length();
+            }
+            Map<String, Object> resultMap = new HashMap<>(2);
+            resultMap.put("value", count > 0);
+            return success(resultMap);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int txCount = 5000;
+        int rounds = 50;
+        Random random = new Random(1);
+        List<String> txList = new ArrayList<>(txCount);
+        for (int i = 0; i < txCount; i++) {
+            byte[] tx = new byte[300];
+            random.nextBytes(tx);
+            txList.add(HexUtil.encode(tx));
+        }
+        byte[] header = new byte[400];
+        random.nextBytes(header);
+        String blockHeader = HexUtil.encode(header);
+
+        MockSaveCmd cmd = new MockSaveCmd();
+        Method method = MockSaveCmd.class.getMethod("save", Map.class);
+        InvokeBean jsonBean = new InvokeBean(cmd, method, false);
+        InvokeBean directBean = new InvokeBean(cmd, method, true);
+
+        // warm up
+        run(jsonBean, txList, blockHeader, 10);
+        run(directBean, txList, blockHeader, 10);
+
+        System.out.println("txs per block : " + txCount + ", blocks : " + rounds);
+        report("json  ", jsonBean, txList, blockHeader, rounds);
+        report("direct", directBean, txList, blockHeader, rounds);
+    }
+
+    private static void report(String name, InvokeBean bean, List<String> txList, String blockHeader, int rounds) throws Exception {
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = mxBean.getThreadAllocatedBytes(threadId);
+        long time = System.nanoTime();
+        run(bean, txList, blockHeader, rounds);
+        long useTime = System.nanoTime() - time;
+        allocated = mxBean.getThreadAllocatedBytes(threadId) - allocated;
+        System.out.println(name + " use time : " + (useTime / rounds / 1000) + " us/block, allocated : " + (allocated / rounds / 1024) + " KB/block");
+    }
+
+    private static void run(InvokeBean bean, List<String> txList, String blockHeader, int rounds) throws Exception {
+        // One block save passes the tx list through three cmds
+        String[] cmds = new String[]{"tx_save", "txCommit", "commitBlockTxs"};
+        for (int i = 0; i < rounds; i++) {
+            for (String cmd : cmds) {
+                Map<String, Object> params = new HashMap<>(8);
+                params.put("chainId", 9);
+                params.put("txList", txList);
+                params.put("blockHeader", blockHeader);
+                params.put("syncStatus", 1);
+                Response response = LocalModuleCall.requestAndResponse(bean, "nc", cmd, params, 60000);
+                Map data = (Map) ((Map) response.getResponseData()).get(cmd);
+                if (!(Boolean) data.get("value")) {
+                    throw new RuntimeException("call failed");
+                }
+            }
+        }
+    }
+}
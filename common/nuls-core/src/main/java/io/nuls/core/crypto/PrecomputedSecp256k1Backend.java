@@ -0,0 +1,147 @@
+package io.nuls.core.crypto;
+
+import io.nuls.core.model.ByteArrayWrapper;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.nuls.core.crypto.ECKey.CURVE;
+
+/**
+ * Verification with precomputed public key tables
+ * <p>
+ * The decoded public key points are cached, BouncyCastle keeps the wNAF/GLV endomorphism precomputation table on the point,
+ * so a key that signs repeatedly(packers, votes, active accounts)is neither decompressed nor precomputed again.
+ * The verification equation is evaluated directly without the signer objects, and the public key recovery
+ * skips the order check of R, every point of secp256k1 has order n because the cofactor is 1.
+ * Signing is the same as {@link BcSecp256k1Backend}.
+ */
+public class PrecomputedSecp256k1Backend implements Secp256k1Backend {
+    private static final Logger log = LoggerFactory.getLogger(PrecomputedSecp256k1Backend.class);
+
+    private static final int DEFAULT_CACHE_SIZE = 2048;
+
+    private final int cacheSize;
+
+    private final Map<ByteArrayWrapper, ECPoint> pointCache = new ConcurrentHashMap<>();
+
+    private final BcSecp256k1Backend bcBackend = new BcSecp256k1Backend();
+
+    public PrecomputedSecp256k1Backend() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize Maximum number of cached public keys, each key keeps a precomputation table of a few KB
+     */
+    public PrecomputedSecp256k1Backend(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public String getName() {
+        return PRECOMPUTED;
+    }
+
+    @Override
+    public ECKey.ECDSASignature sign(byte[] hash, BigInteger priv) {
+        return bcBackend.sign(hash, priv);
+    }
+
+    @Override
+    public boolean verify(byte[] hash, ECKey.ECDSASignature signature, byte[] pub) {
+        ECPoint q = decodePoint(pub);
+        BigInteger n = CURVE.getN();
+        BigInteger r = signature.r;
+        BigInteger s = signature.s;
+        if (r.signum() < 1 || s.signum() < 1 || r.compareTo(n) >= 0 || s.compareTo(n) >= 0) {
+            return false;
+        }
+        try {
+            BigInteger e = calculateE(n, hash);
+            BigInteger c = s.modInverse(n);
+            BigInteger u1 = e.multiply(c).mod(n);
+            BigInteger u2 = r.multiply(c).mod(n);
+            ECPoint point = ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), u1, q, u2);
+            if (point.isInfinity()) {
+                return false;
+            }
+            // Compare r with the jacobian X coordinate(x * z^2), the point is not normalized
+            ECCurve curve = point.getCurve();
+            ECFieldElement z = point.getZCoord(0);
+            if (z != null && !z.isZero()) {
+                ECFieldElement d = z.square();
+                ECFieldElement x = point.getXCoord();
+                while (curve.isValidFieldElement(r)) {
+                    if (curve.fromBigInteger(r).multiply(d).equals(x)) {
+                        return true;
+                    }
+                    r = r.add(n);
+                }
+                return false;
+            }
+            BigInteger v = point.normalize().getAffineXCoord().toBigInteger().mod(n);
+            return v.equals(signature.r);
+        } catch (NullPointerException e) {
+            log.error("Caught NPE inside bouncy castle", e);
+            return false;
+        }
+    }
+
+    @Override
+    public ECPoint recover(int recId, ECKey.ECDSASignature sig, byte[] hash) {
+        BigInteger n = CURVE.getN();
+        BigInteger x = sig.r.add(BigInteger.valueOf((long) recId / 2).multiply(n));
+        if (x.compareTo(SecP256K1Curve.q) >= 0) {
+            return null;
+        }
+        ECPoint R = ECKey.decompressKey(x, (recId & 1) == 1);
+        BigInteger e = new BigInteger(1, hash);
+        BigInteger eInv = BigInteger.ZERO.subtract(e).mod(n);
+        BigInteger rInv = sig.r.modInverse(n);
+        BigInteger srInv = rInv.multiply(sig.s).mod(n);
+        BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
+        return ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, R, srInv);
+    }
+
+    public int getCachedKeySize() {
+        return pointCache.size();
+    }
+
+    private ECPoint decodePoint(byte[] pub) {
+        ECPoint point = pointCache.get(new ByteArrayWrapper(pub));
+        if (point != null) {
+            return point;
+        }
+        point = CURVE.getCurve().decodePoint(pub);
+        if (point.isInfinity()) {
+            throw new IllegalArgumentException("invalid public key");
+        }
+        if (pointCache.size() >= cacheSize) {
+            pointCache.clear();
+        }
+        pointCache.put(new ByteArrayWrapper(pub.clone()), point);
+        return point;
+    }
+
+    /**
+     * Same as {@link org.bouncycastle.crypto.signers.ECDSASigner}, the hash is truncated to the bit length of n
+     */
+    private static BigInteger calculateE(BigInteger n, byte[] hash) {
+        int log2n = n.bitLength();
+        int messageBitLength = hash.length * 8;
+        BigInteger e = new BigInteger(1, hash);
+        if (log2n < messageBitLength) {
+            e = e.shiftRight(messageBitLength - log2n);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,58 @@
+package io.nuls.core.crypto;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+
+/**
+ * secp256k1 signature operations used by {@link ECKey}
+ * The backend is selected by {@link ECKey#setBackend(Secp256k1Backend)}, all the backends give the same results
+ */
+public interface Secp256k1Backend {
+
+    String BC = "bc";
+
+    String PRECOMPUTED = "precomputed";
+
+    /**
+     * Backend name
+     */
+    String getName();
+
+    /**
+     * Deterministic(RFC 6979)signature of the hash, the signature is not canonicalised
+     *
+     * @param hash Hash of the data to sign
+     * @param priv Private key
+     */
+    ECKey.ECDSASignature sign(byte[] hash, BigInteger priv);
+
+    /**
+     * Verify the signature of the hash
+     *
+     * @param hash      Hash of the data to verify
+     * @param signature signature
+     * @param pub       Encoded public key, compressed or uncompressed
+     */
+    boolean verify(byte[] hash, ECKey.ECDSASignature signature, byte[] pub);
+
+    /**
+     * Recover the public key point from the signature, see {@link ECKey#recoverFromSignature}
+     *
+     * @param recId     Which possible key to recover
+     * @param signature signature
+     * @param hash      Hash of the data that was signed
+     * @return the public key point, or null if recovery wasn't possible
+     */
+    ECPoint recover(int recId, ECKey.ECDSASignature signature, byte[] hash);
+
+    /**
+     * Create the backend by name, unknown names use the BouncyCastle backend
+     */
+    static Secp256k1Backend create(String name) {
+        if (PRECOMPUTED.equalsIgnoreCase(name)) {
+            return new PrecomputedSecp256k1Backend();
+        }
+        return new BcSecp256k1Backend();
+    }
+}
@@ -0,0 +1,81 @@
+package io.nuls.core.log.logback;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Appender of a logger which hands its events to an {@link AsyncLogQueue}, the writing thread of the queue passes them on to the file and console appenders
+ * Asynchronous appender, the events are written to the wrapped appenders by the writing thread of the queue
+ * <p>
+ * The file appenders do not flush every event, they are flushed once per batch
+ */
+public class AsyncLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private final AsyncLogQueue queue;
+    private final List<Appender<ILoggingEvent>> appenders;
+
+    public AsyncLogAppender(AsyncLogQueue queue, List<Appender<ILoggingEvent>> appenders) {
+        this.queue = queue;
+        this.appenders = appenders;
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof OutputStreamAppender) {
+                ((OutputStreamAppender<ILoggingEvent>) appender).setImmediateFlush(false);
+            }
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        //Events which none of the appenders accept are not queued
+        boolean accepted = false;
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender.getFilterChainDecision(event) != FilterReply.DENY) {
+                accepted = true;
+                break;
+            }
+        }
+        if (!accepted) {
+            return;
+        }
+        //The message, thread name and MDC are taken now, the event is written by another thread
+        event.prepareForDeferredProcessing();
+        queue.offer(this, event);
+    }
+
+    void write(ILoggingEvent event) {
+        for (Appender<ILoggingEvent> appender : appenders) {
+            appender.doAppend(event);
+        }
+    }
+
+    void flush() {
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof OutputStreamAppender) {
+                OutputStream out = ((OutputStreamAppender<ILoggingEvent>) appender).getOutputStream();
+                if (out == null) {
+                    continue;
+                }
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    addError("flush failed", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        for (Appender<ILoggingEvent> appender : appenders) {
+            appender.stop();
+        }
+    }
+}
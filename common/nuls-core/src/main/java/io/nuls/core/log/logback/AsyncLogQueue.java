@@ -0,0 +1,186 @@
+package io.nuls.core.log.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.nuls.core.model.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of the log events of the asynchronous appenders, written to the files by one thread in batches
+ * Bounded queue of asynchronous log events, written by a single thread in batches
+ * <p>
+ * When the queue is 80% full DEBUG and INFO events are discarded, WARN events are discarded when it is full,
+ * ERROR events are never discarded, the logging thread waits for room instead
+ */
+public class AsyncLogQueue implements Runnable {
+
+    /**
+     * Queue shared by the loggers of {@link LoggerBuilder}, the capacity is set by the system property log.async.queueSize
+     */
+    public static final AsyncLogQueue DEFAULT = new AsyncLogQueue(
+            StringUtils.isNotBlank(System.getProperty("log.async.queueSize")) ? Integer.parseInt(System.getProperty("log.async.queueSize")) : 16384, 256);
+
+    private final ArrayBlockingQueue<Entry> queue;
+    private final int capacity;
+    private final int discardingThreshold;
+    private final int batchSize;
+
+    private final AtomicLong discardedDebug = new AtomicLong();
+    private final AtomicLong discardedInfo = new AtomicLong();
+    private final AtomicLong discardedWarn = new AtomicLong();
+
+    private volatile Thread worker;
+    private volatile boolean stopped;
+
+    public AsyncLogQueue(int capacity, int batchSize) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.discardingThreshold = capacity / 5 * 4;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Start the writing thread, the queue is drained when the virtual machine shuts down
+     */
+    public synchronized void start() {
+        if (worker != null || stopped) {
+            return;
+        }
+        worker = new Thread(this, "log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "log-writer-shutdown"));
+    }
+
+    /**
+     * Stop the writing thread and write the queued events, the events logged afterwards are written by the logging thread
+     */
+    public synchronized void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        List<Entry> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        write(batch);
+    }
+
+    void offer(AsyncLogAppender appender, ILoggingEvent event) {
+        if (stopped) {
+            appender.write(event);
+            appender.flush();
+            return;
+        }
+        int level = event.getLevel().toInt();
+        if (level <= Level.INFO_INT && queue.size() >= discardingThreshold) {
+            (level == Level.INFO_INT ? discardedInfo : discardedDebug).incrementAndGet();
+            return;
+        }
+        Entry entry = new Entry(appender, event);
+        if (queue.offer(entry)) {
+            return;
+        }
+        if (level < Level.ERROR_INT) {
+            (level == Level.WARN_INT ? discardedWarn : level == Level.INFO_INT ? discardedInfo : discardedDebug).incrementAndGet();
+            return;
+        }
+        if (worker == null) {
+            appender.write(event);
+            appender.flush();
+            return;
+        }
+        try {
+            while (!queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped) {
+                    appender.write(event);
+                    appender.flush();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            appender.write(event);
+            appender.flush();
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (!stopped) {
+            try {
+                //Polled instead of taken so that the thread is never interrupted in the middle of a write when it is stopped
+                Entry entry = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    continue;
+                }
+                batch.add(entry);
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        Set<AsyncLogAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entry entry : batch) {
+            try {
+                entry.appender.write(entry.event);
+            } catch (Throwable e) {
+                entry.appender.addError("write log event failed", e);
+            }
+            appenders.add(entry.appender);
+        }
+        for (AsyncLogAppender appender : appenders) {
+            appender.flush();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of the events of the level discarded because the queue was full, TRACE is counted with DEBUG
+     */
+    public long getDiscardedCount(Level level) {
+        if (level.toInt() >= Level.ERROR_INT) {
+            return 0;
+        }
+        if (level.toInt() == Level.WARN_INT) {
+            return discardedWarn.get();
+        }
+        return level.toInt() == Level.INFO_INT ? discardedInfo.get() : discardedDebug.get();
+    }
+
+    public long getDiscardedCount() {
+        return discardedDebug.get() + discardedInfo.get() + discardedWarn.get();
+    }
+
+    private static class Entry {
+        private final AsyncLogAppender appender;
+        private final ILoggingEvent event;
+
+        private Entry(AsyncLogAppender appender, ILoggingEvent event) {
+            this.appender = appender;
+            this.event = event;
+        }
+    }
+}
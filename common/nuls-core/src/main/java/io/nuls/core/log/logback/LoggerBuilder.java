@@ -10,6 +10,7 @@ import io.nuls.core.model.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,6 +25,10 @@ public class LoggerBuilder {
     private static final Map<String, NulsLogger> CONTAINER = new HashMap<>();
     private static final Level DEFAULT_LEVEL = Level.DEBUG;
     public static long offSetTime = 0;
+    /**
+     * Whether the loggers write through {@link AsyncLogQueue#DEFAULT}, disabled by the system property log.async=false
+     */
+    private static final boolean ASYNC = !"false".equalsIgnoreCase(System.getProperty("log.async"));
 
     static {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -84,11 +89,33 @@ public class LoggerBuilder {
         Logger logger = context.getLogger(fileAppender.getEncoder().toString());
         //Set not to print information to superiors
         logger.setAdditive(false);
-        logger.addAppender(fileAppender);
         //Output to console
         Appender consoleAppender = LogAppender.createConsoleAppender(consoleLevel);
-        logger.addAppender(consoleAppender);
+        if (ASYNC) {
+            AsyncLogQueue.DEFAULT.start();
+            AsyncLogAppender asyncAppender = new AsyncLogAppender(AsyncLogQueue.DEFAULT, List.of(fileAppender, consoleAppender));
+            asyncAppender.setContext(context);
+            asyncAppender.start();
+            logger.addAppender(asyncAppender);
+        } else {
+            logger.addAppender(fileAppender);
+            logger.addAppender(consoleAppender);
+        }
         return new NulsLogger(logger);
     }
 
+    /**
+     * Number of the log events waiting to be written
+     */
+    public static int getAsyncQueueDepth() {
+        return AsyncLogQueue.DEFAULT.getQueueDepth();
+    }
+
+    /**
+     * Number of the log events of the level discarded because the log queue was full
+     */
+    public static long getAsyncDiscardedCount(Level level) {
+        return AsyncLogQueue.DEFAULT.getDiscardedCount(level);
+    }
+
 }
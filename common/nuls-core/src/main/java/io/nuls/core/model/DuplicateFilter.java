@@ -0,0 +1,212 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2019 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe duplicate filter of fixed memory, used to discard repeated network messages and transactions
+ * <p>
+ * The filter is made of two bloom filter generations, each sized for {@code capacity} elements at the given false positive rate.
+ * Elements are inserted into the current generation and looked up in both, when the current generation is full it becomes
+ * the previous one and a new generation is started, so at least the last {@code capacity} elements are always remembered.
+ * A false positive reports a new element as existing, the probability is at most twice the configured rate.
+ * <p>
+ * Insertions of elements in the same lock stripe are serialized, so concurrent insertions of one element return true only once
+ */
+public class DuplicateFilter {
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.000001;
+
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final int bitSize;
+    private final int hashCount;
+    private final Object[] locks = new Object[STRIPES];
+
+    private volatile Generations generations;
+
+    public DuplicateFilter(int capacity) {
+        this(capacity, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public DuplicateFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("capacity: " + capacity + ", falsePositiveRate: " + falsePositiveRate);
+        }
+        this.capacity = capacity;
+        double bits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long words = Math.min((long) Math.ceil(bits / Long.SIZE), Integer.MAX_VALUE / Long.SIZE);
+        this.bitSize = (int) (words * Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.generations = new Generations(new Generation(words), new Generation(words));
+    }
+
+    /**
+     * Insert an element and check for its existence
+     *
+     * @param key
+     * @return existence：false, does not exist：true
+     */
+    public boolean insertAndCheck(byte[] key) {
+        long hash = hash(key);
+        Generation current;
+        synchronized (locks[(int) (hash >>> 58)]) {
+            Generations gens = generations;
+            if (gens.current.mightContain(hash) || gens.previous.mightContain(hash)) {
+                return false;
+            }
+            current = gens.current;
+            current.put(hash);
+        }
+        if (current.count.incrementAndGet() >= capacity) {
+            rotate(current);
+        }
+        return true;
+    }
+
+    public boolean insertAndCheck(String key) {
+        return insertAndCheck(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean contains(byte[] key) {
+        long hash = hash(key);
+        Generations gens = generations;
+        return gens.current.mightContain(hash) || gens.previous.mightContain(hash);
+    }
+
+    public boolean contains(String key) {
+        return contains(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void clear() {
+        long words = bitSize / Long.SIZE;
+        generations = new Generations(new Generation(words), new Generation(words));
+    }
+
+    /**
+     * Number of elements in the current generation
+     */
+    public int currentCount() {
+        return generations.current.count.get();
+    }
+
+    /**
+     * Memory used by the bits of both generations(byte)
+     */
+    public long memorySize() {
+        return 2L * bitSize / Byte.SIZE;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private synchronized void rotate(Generation full) {
+        Generations gens = generations;
+        if (gens.current != full) {
+            return;
+        }
+        generations = new Generations(new Generation(bitSize / Long.SIZE), full);
+    }
+
+    /**
+     * 64 bit hash of the key, the two halves are combined to get the bit positions
+     */
+    private static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private final class Generation {
+        private final AtomicLongArray bits;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Generation(long words) {
+            this.bits = new AtomicLongArray((int) words);
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                int combined = h1 + i * h2;
+                if (combined < 0) {
+                    combined = ~combined;
+                }
+                int index = combined % bitSize;
+                if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                int combined = h1 + i * h2;
+                if (combined < 0) {
+                    combined = ~combined;
+                }
+                int index = combined % bitSize;
+                long mask = 1L << index;
+                int word = index >>> 6;
+                long value;
+                while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                }
+            }
+        }
+    }
+
+    private static final class Generations {
+        private final Generation current;
+        private final Generation previous;
+
+        private Generations(Generation current, Generation previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.nuls.core.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * The BouncyCastle and the precomputed backends agree on signing, verification and public key recovery
+ */
+public class Secp256k1BackendTest {
+
+    private final Secp256k1Backend bc = new BcSecp256k1Backend();
+    private final Secp256k1Backend precomputed = new PrecomputedSecp256k1Backend(64);
+
+    @Test
+    public void differential() {
+        Random random = new Random(1);
+        int keyCount = 100;
+        ECKey[] keys = new ECKey[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            byte[] priv = new byte[32];
+            random.nextBytes(priv);
+            keys[i] = ECKey.fromPrivate(new BigInteger(1, priv).mod(ECKey.CURVE.getN()).max(BigInteger.ONE));
+        }
+        byte[] hash = new byte[32];
+        for (int i = 0; i < 2000; i++) {
+            // Keys repeat, so the precomputed backend verifies with cached points
+            int keyIndex = random.nextInt(keyCount);
+            ECKey key = keys[keyIndex];
+            random.nextBytes(hash);
+            ECKey.ECDSASignature signature = bc.sign(hash, key.getPrivKey());
+            Assert.assertEquals(signature, precomputed.sign(hash, key.getPrivKey()));
+            byte[] pub = i % 2 == 0 ? key.getPubKey() : ECKey.publicKeyFromPrivate(key.getPrivKey(), false);
+
+            assertVerify(true, hash, signature, pub);
+            assertVerify(true, hash, signature.toCanonicalised(), pub);
+            assertVerify(false, hash, new ECKey.ECDSASignature(signature.r, signature.s.add(BigInteger.ONE)), pub);
+            assertVerify(false, hash, new ECKey.ECDSASignature(signature.s, signature.r), pub);
+            assertVerify(false, hash, signature, keys[(keyIndex + 1) % keyCount].getPubKey());
+            byte[] otherHash = hash.clone();
+            otherHash[random.nextInt(32)] ^= 1;
+            assertVerify(false, otherHash, signature, pub);
+
+            for (int recId = 0; recId < 4; recId++) {
+                Assert.assertEquals(bc.recover(recId, signature, hash), precomputed.recover(recId, signature, hash));
+            }
+        }
+        // Out of range components
+        ECKey key = keys[0];
+        random.nextBytes(hash);
+        ECKey.ECDSASignature signature = bc.sign(hash, key.getPrivKey());
+        assertVerify(false, hash, new ECKey.ECDSASignature(BigInteger.ZERO, signature.s), key.getPubKey());
+        assertVerify(false, hash, new ECKey.ECDSASignature(signature.r, ECKey.CURVE.getN()), key.getPubKey());
+        assertVerify(false, hash, new ECKey.ECDSASignature(signature.r.add(ECKey.CURVE.getN()), signature.s), key.getPubKey());
+    }
+
+    @Test
+    public void eckeyBackend() throws Exception {
+        Secp256k1Backend old = ECKey.getBackend();
+        try {
+            ECKey key = ECKey.fromPrivate(BigInteger.valueOf(123456789L));
+            Sha256Hash hash = Sha256Hash.of("backend".getBytes());
+            for (Secp256k1Backend backend : new Secp256k1Backend[]{bc, precomputed}) {
+                ECKey.setBackend(backend);
+                byte[] signature = key.sign(hash);
+                Assert.assertTrue(ECKey.verify(hash.getBytes(), signature, key.getPubKey()));
+                ECKey.ECDSASignature sig = ECKey.ECDSASignature.decodeFromDER(signature);
+                Assert.assertEquals(key.getPublicKeyAsHex(), ECKey.recoverFromSignature(key.findRecoveryId(hash, sig), sig, hash, true).getPublicKeyAsHex());
+            }
+            Assert.assertEquals(Secp256k1Backend.PRECOMPUTED, Secp256k1Backend.create("precomputed").getName());
+            Assert.assertEquals(Secp256k1Backend.BC, Secp256k1Backend.create("other").getName());
+        } finally {
+            ECKey.setBackend(old);
+        }
+    }
+
+    private void assertVerify(boolean expected, byte[] hash, ECKey.ECDSASignature signature, byte[] pub) {
+        Assert.assertEquals(expected, bc.verify(hash, signature, pub));
+        Assert.assertEquals(expected, precomputed.verify(hash, signature, pub));
+    }
+}
@@ -0,0 +1,60 @@
+package io.nuls.core.crypto;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Sign, verify and recover throughput of the signature backends,
+ * the verifications cycle through a set of signers like the packers and active accounts of a block
+ */
+public class Secp256k1Benchmark {
+
+    public static void main(String[] args) {
+        int signers = 200;
+        int count = 20000;
+        Random random = new Random(1);
+        ECKey[] keys = new ECKey[signers];
+        for (int i = 0; i < signers; i++) {
+            keys[i] = ECKey.fromPrivate(BigInteger.valueOf(random.nextLong()).abs().add(BigInteger.ONE));
+        }
+        byte[][] hashes = new byte[count][32];
+        ECKey.ECDSASignature[] signatures = new ECKey.ECDSASignature[count];
+        byte[][] pubs = new byte[count][];
+        BcSecp256k1Backend bc = new BcSecp256k1Backend();
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(hashes[i]);
+            ECKey key = keys[i % signers];
+            signatures[i] = bc.sign(hashes[i], key.getPrivKey()).toCanonicalised();
+            pubs[i] = key.getPubKey();
+        }
+        for (Secp256k1Backend backend : new Secp256k1Backend[]{bc, new PrecomputedSecp256k1Backend(), bc, new PrecomputedSecp256k1Backend()}) {
+            run(backend, keys, hashes, signatures, pubs);
+        }
+    }
+
+    private static void run(Secp256k1Backend backend, ECKey[] keys, byte[][] hashes, ECKey.ECDSASignature[] signatures, byte[][] pubs) {
+        int count = hashes.length;
+        long time = System.nanoTime();
+        for (int i = 0; i < count / 4; i++) {
+            backend.sign(hashes[i], keys[i % keys.length].getPrivKey());
+        }
+        long signTime = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            if (backend.verify(hashes[i], signatures[i], pubs[i])) {
+                valid++;
+            }
+        }
+        long verifyTime = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < count / 4; i++) {
+            backend.recover(i % 4, signatures[i], hashes[i]);
+        }
+        long recoverTime = System.nanoTime() - time;
+        System.out.println(backend.getName() + " sign: " + (count / 4 * 1000_000_000L / signTime) + "/s, verify: " + (count * 1000_000_000L / verifyTime) +
+                "/s, recover: " + (count / 4 * 1000_000_000L / recoverTime) + "/s, valid: " + valid);
+    }
+}
@@ -0,0 +1,101 @@
+package io.nuls.core.log.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The queue discards DEBUG and INFO first, WARN when full, never ERROR, and writes the queued events in order
+ */
+public class AsyncLogQueueTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = context.getLogger("test");
+
+    @Test
+    public void overflow() throws Exception {
+        AsyncLogQueue queue = new AsyncLogQueue(10, 4);
+        ListAppender<ILoggingEvent> list = listAppender();
+        AsyncLogAppender appender = asyncAppender(queue, list);
+        for (int i = 0; i < 8; i++) {
+            appender.doAppend(event(Level.INFO, "info" + i));
+        }
+        appender.doAppend(event(Level.INFO, "info"));
+        appender.doAppend(event(Level.DEBUG, "debug"));
+        appender.doAppend(event(Level.WARN, "warn0"));
+        appender.doAppend(event(Level.WARN, "warn1"));
+        appender.doAppend(event(Level.WARN, "warn"));
+        assertEquals(10, queue.getQueueDepth());
+        assertEquals(1, queue.getDiscardedCount(Level.INFO));
+        assertEquals(1, queue.getDiscardedCount(Level.DEBUG));
+        assertEquals(1, queue.getDiscardedCount(Level.WARN));
+        assertEquals(3, queue.getDiscardedCount());
+
+        //The queue is full and not drained, the error is written by the logging thread
+        appender.doAppend(event(Level.ERROR, "error"));
+        assertEquals(1, list.list.size());
+        assertEquals("error", list.list.get(0).getMessage());
+
+        queue.start();
+        waitFor(list, 11);
+        queue.stop();
+        assertEquals("info0", list.list.get(1).getMessage());
+        assertEquals("warn1", list.list.get(10).getMessage());
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    @Test
+    public void order() throws Exception {
+        AsyncLogQueue queue = new AsyncLogQueue(64, 8);
+        queue.start();
+        ListAppender<ILoggingEvent> list = listAppender();
+        AsyncLogAppender appender = asyncAppender(queue, list);
+        for (int i = 0; i < 1000; i++) {
+            appender.doAppend(event(Level.ERROR, "error" + i));
+        }
+        queue.stop();
+        List<ILoggingEvent> events = list.list;
+        assertEquals(1000, events.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("error" + i, events.get(i).getMessage());
+        }
+
+        //Events logged after the queue stopped are written directly
+        appender.doAppend(event(Level.INFO, "info"));
+        assertEquals(1001, events.size());
+    }
+
+    private ListAppender<ILoggingEvent> listAppender() {
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(context);
+        list.start();
+        return list;
+    }
+
+    private AsyncLogAppender asyncAppender(AsyncLogQueue queue, ListAppender<ILoggingEvent> list) {
+        AsyncLogAppender appender = new AsyncLogAppender(queue, List.of(list));
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+
+    private ILoggingEvent event(Level level, String msg) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, msg, null, null);
+    }
+
+    private static void waitFor(ListAppender<ILoggingEvent> list, int size) throws InterruptedException {
+        for (int i = 0; i < 100 && list.list.size() < size; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(size, list.list.size());
+    }
+}
@@ -0,0 +1,74 @@
+package io.nuls.core.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * Duplicate detection, generation rotation and measured false positive rate of {@link DuplicateFilter}
+ */
+public class DuplicateFilterTest {
+
+    @Test
+    public void insertAndCheck() throws Exception {
+        DuplicateFilter filter = new DuplicateFilter(1000);
+        Assert.assertTrue(filter.insertAndCheck(hash(1)));
+        Assert.assertFalse(filter.insertAndCheck(hash(1)));
+        Assert.assertTrue(filter.contains(hash(1)));
+        Assert.assertTrue(filter.insertAndCheck("key"));
+        Assert.assertTrue(filter.contains("key"));
+        filter.clear();
+        Assert.assertFalse(filter.contains(hash(1)));
+    }
+
+    @Test
+    public void rotate() throws Exception {
+        int capacity = 10000;
+        DuplicateFilter filter = new DuplicateFilter(capacity);
+        for (int i = 0; i < capacity * 3; i++) {
+            filter.insertAndCheck(hash(i));
+        }
+        //The last capacity elements are always remembered
+        for (int i = capacity * 2; i < capacity * 3; i++) {
+            Assert.assertTrue(filter.contains(hash(i)));
+        }
+        Assert.assertTrue(filter.currentCount() < capacity);
+    }
+
+    @Test
+    public void stringKeys() {
+        for (int size : new int[]{100, 1000, 10000, 100000}) {
+            DuplicateFilter filter = new DuplicateFilter(size);
+            for (int i = 0; i < size; i++) {
+                Assert.assertTrue(filter.insertAndCheck("key-" + i));
+                Assert.assertFalse(filter.insertAndCheck("key-" + i));
+            }
+            Assert.assertTrue(filter.contains("key-" + (size - 1)));
+        }
+    }
+
+    @Test
+    public void falsePositiveRate() throws Exception {
+        int capacity = 1000000;
+        double rate = 0.0001;
+        DuplicateFilter filter = new DuplicateFilter(capacity, rate);
+        for (int i = 0; i < capacity; i++) {
+            filter.insertAndCheck(hash(i));
+        }
+        int falsePositives = 0;
+        int checks = 1000000;
+        for (int i = 0; i < checks; i++) {
+            if (filter.contains(hash(capacity * 2 + i))) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / checks;
+        Assert.assertTrue("measured false positive rate: " + measured, measured < rate * 2);
+    }
+
+    private static byte[] hash(int i) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(ByteBuffer.allocate(4).putInt(i).array());
+    }
+}
@@ -15,6 +15,8 @@ import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.core.config.ConfigurationLoader;
 import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.core.crypto.ECKey;
+import io.nuls.core.crypto.Secp256k1Backend;
 import io.nuls.core.log.Log;
 import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.rockdb.service.RocksDBService;
@@ -202,6 +204,7 @@ public class NerveCoreBootstrap extends RpcModule {
              */
             AddressTool.init(addressPrefixDatas);
             AddressTool.addPrefix(config.getChainId(), config.getAddressPrefix());
+            ECKey.setBackend(Secp256k1Backend.create(config.getSignatureBackend()));
 
             // Core modulescmdaggregate
             List<BaseCmd> cmdList = SpringLiteContext.getBeanList(BaseCmd.class);
@@ -224,7 +227,7 @@ public class NerveCoreBootstrap extends RpcModule {
                     //        "moduleName: %s, cmd: %s, class instance: %s, method: %s",
                     //        moduleAbbr, cmdName, cmd.getClass().getName(), method.getName()
                     //));
-                    ResponseMessageProcessor.INVOKE_BEAN_MAP.put(moduleAbbr + "_" + cmdName, new InvokeBean(cmd, method));
+                    ResponseMessageProcessor.INVOKE_BEAN_MAP.put(moduleAbbr + "_" + cmdName, new InvokeBean(cmd, method, annotation.localDirect()));
                 }
             }
             // Before configuring the merge module, the transactions under each module
@@ -67,6 +67,10 @@ public interface CommandConstant {
      * Community block messages
      */
     String SMALL_BLOCK_BZT_MESSAGE = "sBlockBZT";
+    /**
+     * Compact block messages, sent to the nodes which announced the compact block service
+     */
+    String COMPACT_BLOCK_MESSAGE = "cBlock";
     /**
      * Get community block messages
      */
@@ -55,6 +55,23 @@ public interface Constant {
      * Forked chain、Orphan Chain Blockchain Database Prefix
      */
     String CACHED_BLOCK = "cached_block_";
+    /**
+     * Directory of the raw block archive of each chain, under the data directory
+     */
+    String BLOCK_ARCHIVE = "block_archive";
+    /**
+     * Size of a segment file of the raw block archive
+     */
+    int BLOCK_ARCHIVE_SEGMENT_SIZE = 256 * 1024 * 1024;
+    /**
+     * Service flag of the nodes which accept compact blocks, announced in the version message of the network module
+     */
+    long SERVICE_COMPACT_BLOCK = 1L;
+    /**
+     * Transactions created this many seconds before the block time or later are prefilled in the compact block,
+     * they have probably not reached the other nodes yet
+     */
+    int COMPACT_BLOCK_PREFILL_SECONDS = 1;
 
     /**
      * working condition
@@ -24,8 +24,12 @@
  */
 package io.nuls.block.manager;
 
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.base.data.BlockHeader;
+import io.nuls.block.model.ChainContext;
 import io.nuls.block.rpc.call.TransactionCall;
 import io.nuls.block.service.BlockService;
+import io.nuls.block.storage.BlockArchive;
 import io.nuls.block.utils.ConfigLoader;
 import io.nuls.block.utils.LoggerUtil;
 import io.nuls.core.constant.TxType;
@@ -34,8 +38,11 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.log.logback.NulsLogger;
 import io.nuls.core.rockdb.service.RocksDBService;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
+import static io.nuls.block.BlockBootstrap.blockConfig;
 import static io.nuls.block.constant.Constant.*;
 
 /**
@@ -78,10 +85,47 @@ public class ChainManager {
             RunnableManager.startSaver(chainId, service);
             //Service initialization
             service.init(chainId);
+            checkBlockArchive(chainId);
 
         }
     }
 
+    /**
+     * The archive must not serve blocks beyond the latest height, which are left by a shutdown between saving a block and its height,
+     * and its last block must be the block of the master chain at that height, otherwise it is built again from the next block saved
+     *
+     * @param chainId chainID/chain id
+     */
+    private void checkBlockArchive(int chainId) {
+        ChainContext context = ContextManager.getContext(chainId);
+        BlockArchive archive = context.getBlockArchive();
+        if (archive == null) {
+            return;
+        }
+        long latestHeight = context.getLatestHeight();
+        try {
+            archive.remove(latestHeight + 1);
+            long lastHeight = archive.getEndHeight() - 1;
+            if (lastHeight < 0) {
+                return;
+            }
+            BlockHeader header = new BlockHeader();
+            header.parse(new NulsByteBuffer(archive.get(lastHeight)));
+            if (!header.getHash().equals(service.getBlockHash(chainId, lastHeight))) {
+                context.getLogger().warn("block archive does not match the master chain, height-" + lastHeight);
+                archive.remove(0);
+            }
+        } catch (Exception e) {
+            context.setBlockArchive(null);
+            context.getLogger().error("check block archive fail", e);
+            try {
+                archive.destroy();
+            } catch (Exception ex) {
+                context.getLogger().error("delete block archive fail", ex);
+            }
+        }
+    }
+
     /**
      * Stop a chain
      * Delete a chain
@@ -110,6 +154,13 @@ public class ChainManager {
         } catch (Exception e) {
             logger.error(e);
         }
+        try {
+            Path dir = Paths.get(blockConfig.getDataPath(), BLOCK_ARCHIVE, String.valueOf(chainId));
+            ContextManager.getContext(chainId).setBlockArchive(new BlockArchive(dir, BLOCK_ARCHIVE_SEGMENT_SIZE));
+        } catch (Exception e) {
+            //The blocks are served from the block headers and the transactions without the archive
+            logger.error("open block archive fail", e);
+        }
     }
 
 }
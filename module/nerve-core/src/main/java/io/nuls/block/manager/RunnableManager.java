@@ -15,6 +15,11 @@ import java.util.concurrent.LinkedBlockingQueue;
  */
 public class RunnableManager {
 
+    /**
+     * Number of the threads serving the height range requests of each chain
+     */
+    private static final int DOWNLOAD_BLOCKS_THREADS = 4;
+
     private static Map<Integer, BlockSaver> saverMap = new HashMap<>();
     private static Map<Integer, DownloadBlocksProcessor> downloadBlocksProcessorMap = new HashMap<>();
     private static Map<Integer, DownloadBlockByHeightProcessor> downloadBlockProcessorMap = new HashMap<>();
@@ -23,6 +28,7 @@ public class RunnableManager {
     private static Map<Integer, GetSmallBlockProcessor> getSmallBlockProcessorHashMap = new HashMap<>();
     private static Map<Integer, ForwardSmallBlockProcessor> forwardSmallBlockProcessorHashMap = new HashMap<>();
     private static Map<Integer, LinkedBlockingQueue<SmallBlockMessage>> smallBlockQueueMap = new HashMap<>();
+    private static Map<Integer, CompactBlockProcessor> compactBlockProcessorMap = new HashMap<>();
 
     public static void startSaver(int chainId, BlockService blockService) {
         BlockSaver saver = new BlockSaver(blockService);
@@ -31,7 +37,9 @@ public class RunnableManager {
 
         DownloadBlocksProcessor processor = new DownloadBlocksProcessor(blockService);
         downloadBlocksProcessorMap.put(chainId, processor);
-        ThreadUtils.createAndRunThread("getblocks" + chainId, processor);
+        for (int i = 0; i < DOWNLOAD_BLOCKS_THREADS; i++) {
+            ThreadUtils.createAndRunThread("getblocks-" + i + "-" + chainId, processor);
+        }
 
         GetBlockProcessor getBlockProcessor = new GetBlockProcessor(blockService);
         getBlockByHashProcessorMap.put(chainId, getBlockProcessor);
@@ -52,6 +60,9 @@ public class RunnableManager {
         ThreadUtils.createAndRunThread("smBlock-a-" + chainId, smallBlockProcessor1);
         ThreadUtils.createAndRunThread("smBlock-b-" + chainId, smallBlockProcessor2);
 
+        CompactBlockProcessor compactBlockProcessor = new CompactBlockProcessor();
+        compactBlockProcessorMap.put(chainId, compactBlockProcessor);
+        ThreadUtils.createAndRunThread("cBlock" + chainId, compactBlockProcessor);
 
         GetSmallBlockProcessor getSmallBlockProcessor = new GetSmallBlockProcessor();
         getSmallBlockProcessorHashMap.put(chainId, getSmallBlockProcessor);
@@ -103,6 +114,14 @@ public class RunnableManager {
         queue.offer(message);
     }
 
+    public static void offerCompactBlockMsg(CompactBlockMessage message) {
+        if (null == message || message.getChainId() <= 0) {
+            return;
+        }
+        CompactBlockProcessor processor = compactBlockProcessorMap.get(message.getChainId());
+        processor.offer(message);
+    }
+
     public static void offerHashMsg(HashMessage message) {
         if (null == message || message.getChainId() <= 0) {
             return;
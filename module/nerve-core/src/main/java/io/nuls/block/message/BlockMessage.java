@@ -85,6 +85,17 @@ public class BlockMessage extends BaseBusinessMessage {
         this.syn = syn;
     }
 
+    /**
+     * Serialize the message of a block which is already serialized, the same bytes as {@link #serialize()}
+     */
+    public static byte[] serialize(NulsHash requestHash, byte[] block, boolean syn) {
+        byte[] bytes = new byte[NulsHash.HASH_LENGTH + block.length + 1];
+        System.arraycopy(requestHash.getBytes(), 0, bytes, 0, NulsHash.HASH_LENGTH);
+        System.arraycopy(block, 0, bytes, NulsHash.HASH_LENGTH, block.length);
+        bytes[bytes.length - 1] = (byte) (syn ? 1 : 0);
+        return bytes;
+    }
+
     @Override
     public void serializeToStream(NulsOutputStreamBuffer buffer) throws IOException {
         buffer.write(requestHash.getBytes());
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ * Copyright (c) 2017-2019 nuls.io
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.block.message;
+
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.base.basic.NulsOutputStreamBuffer;
+import io.nuls.base.data.BaseBusinessMessage;
+import io.nuls.base.data.CompactBlock;
+import io.nuls.core.exception.NulsException;
+import io.nuls.core.parse.SerializeUtils;
+
+import java.io.IOException;
+
+/**
+ * Broadcast block messages in the compact form
+ * Sent instead of {@link SmallBlockMessage} to the nodes which announced the compact block service in their version message
+ *
+ * @version 1.0
+ */
+public class CompactBlockMessage extends BaseBusinessMessage {
+
+    private CompactBlock compactBlock;
+
+    private byte[] voteResult;
+    private int chainId;
+    private String nodeId;
+
+    public CompactBlockMessage() {
+    }
+
+    public CompactBlock getCompactBlock() {
+        return compactBlock;
+    }
+
+    public void setCompactBlock(CompactBlock compactBlock) {
+        this.compactBlock = compactBlock;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        size += SerializeUtils.sizeOfNulsData(compactBlock);
+        size += SerializeUtils.sizeOfBytes(voteResult);
+        return size;
+    }
+
+    @Override
+    public void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+        stream.writeNulsData(compactBlock);
+        stream.writeBytesWithLength(voteResult);
+    }
+
+    @Override
+    public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        this.compactBlock = byteBuffer.readNulsData(new CompactBlock());
+        this.voteResult = byteBuffer.readByLengthByte();
+    }
+
+    public byte[] getVoteResult() {
+        return voteResult;
+    }
+
+    public void setVoteResult(byte[] voteResult) {
+        this.voteResult = voteResult;
+    }
+
+    public void setChainId(int chainId) {
+        this.chainId = chainId;
+    }
+
+    public int getChainId() {
+        return chainId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
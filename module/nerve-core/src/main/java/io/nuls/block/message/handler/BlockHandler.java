@@ -26,6 +26,7 @@ import io.nuls.base.protocol.MessageProcessor;
 import io.nuls.block.manager.ContextManager;
 import io.nuls.block.message.BlockMessage;
 import io.nuls.block.model.ChainContext;
+import io.nuls.block.thread.BlockSyncPipeline;
 import io.nuls.block.utils.SingleBlockCacher;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.log.logback.NulsLogger;
@@ -50,15 +51,26 @@ public class BlockHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
         ChainContext context = ContextManager.getContext(chainId);
         NulsLogger logger = context.getLogger();
-        BlockMessage message = RPCUtil.getInstanceRpcStr(msgStr, BlockMessage.class);
+        BlockMessage message = RPCUtil.getInstance(msgBytes, BlockMessage.class);
         if (message == null) {
             return;
         }
         Block block = message.getBlock();
         //Received blocks for block synchronization
         if (message.isSyn()) {
+            BlockSyncPipeline pipeline = context.getSyncPipeline();
+            if (pipeline != null) {
+                //Verified by the synchronization pipeline before it is cached
+                pipeline.receive(block, nodeId);
+                return;
+            }
             long height = block.getHeader().getHeight();
             //The received block height is higher than the current latest height, and the block synchronization process is in progress
             boolean b = height > context.getLatestHeight() && context.isNeedSyn();
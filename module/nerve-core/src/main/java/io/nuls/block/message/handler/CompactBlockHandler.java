@@ -0,0 +1,37 @@
+package io.nuls.block.message.handler;
+
+import io.nuls.base.RPCUtil;
+import io.nuls.base.protocol.MessageProcessor;
+import io.nuls.block.manager.RunnableManager;
+import io.nuls.block.message.CompactBlockMessage;
+import io.nuls.core.core.annotation.Component;
+
+import static io.nuls.block.constant.CommandConstant.COMPACT_BLOCK_MESSAGE;
+
+/**
+ * Process received{@link CompactBlockMessage},The block is reconstructed and handled as a small block
+ */
+@Component("CompactBlockHandlerV1")
+public class CompactBlockHandler implements MessageProcessor {
+
+    @Override
+    public String getCmd() {
+        return COMPACT_BLOCK_MESSAGE;
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, String msgStr) {
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
+        CompactBlockMessage message = RPCUtil.getInstance(msgBytes, CompactBlockMessage.class);
+        if (message == null) {
+            return;
+        }
+        message.setChainId(chainId);
+        message.setNodeId(nodeId);
+        RunnableManager.offerCompactBlockMsg(message);
+    }
+}
@@ -45,7 +45,12 @@ public class ForwardSmallBlockHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
-        HashMessage message = RPCUtil.getInstanceRpcStr(msgStr, HashMessage.class);
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
+        HashMessage message = RPCUtil.getInstance(msgBytes, HashMessage.class);
         if (message == null) {
             return;
         }
@@ -45,7 +45,12 @@ public class SmallBlockHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
-        SmallBlockMessage message = RPCUtil.getInstanceRpcStr(msgStr, SmallBlockMessage.class);
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
+        SmallBlockMessage message = RPCUtil.getInstance(msgBytes, SmallBlockMessage.class);
         if (message == null) {
             return;
         }
@@ -62,7 +62,12 @@ public class TxGroupHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
-        TxGroupMessage message = RPCUtil.getInstanceRpcStr(msgStr, TxGroupMessage.class);
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
+        TxGroupMessage message = RPCUtil.getInstance(msgBytes, TxGroupMessage.class);
         if (message == null) {
             return;
         }
@@ -0,0 +1,118 @@
+package io.nuls.block.message.processor;
+
+import com.google.common.hash.HashFunction;
+import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.CompactBlock;
+import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.SmallBlock;
+import io.nuls.block.constant.BlockForwardEnum;
+import io.nuls.block.manager.ContextManager;
+import io.nuls.block.manager.RunnableManager;
+import io.nuls.block.message.CompactBlockMessage;
+import io.nuls.block.message.HashMessage;
+import io.nuls.block.message.SmallBlockMessage;
+import io.nuls.block.model.ChainContext;
+import io.nuls.block.model.CompactBlockStats;
+import io.nuls.block.rpc.call.NetworkCall;
+import io.nuls.block.rpc.call.TransactionCall;
+import io.nuls.block.utils.BlockUtil;
+import io.nuls.block.utils.SmallBlockCacher;
+import io.nuls.core.log.Log;
+import io.nuls.core.log.logback.NulsLogger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static io.nuls.block.constant.BlockForwardEnum.COMPLETE;
+import static io.nuls.block.constant.BlockForwardEnum.ERROR;
+import static io.nuls.block.constant.CommandConstant.GET_SMALL_BLOCK_MESSAGE;
+
+/**
+ * Rebuild the small block of a received compact block from the unconfirmed transactions and hand it to the small block processor,
+ * request the small block from the sender when a short id can not be resolved
+ */
+public class CompactBlockProcessor implements Runnable {
+
+    /**
+     * The counters are logged once every this many compact blocks
+     */
+    private static final int STATS_LOG_INTERVAL = 100;
+
+    private LinkedBlockingQueue<CompactBlockMessage> queue = new LinkedBlockingQueue<>(1024);
+
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                process();
+            } catch (Throwable e) {
+                Log.error(e);
+            }
+        }
+    }
+
+    private void process() throws InterruptedException {
+        CompactBlockMessage message = queue.take();
+        int chainId = message.getChainId();
+        String nodeId = message.getNodeId();
+        ChainContext context = ContextManager.getContext(chainId);
+        NulsLogger logger = context.getLogger();
+        CompactBlock compactBlock = message.getCompactBlock();
+        if (null == compactBlock) {
+            logger.warn("recieved a null compactBlock!");
+            return;
+        }
+        BlockHeader header = compactBlock.getHeader();
+        NulsHash blockHash = header.getHash();
+        if (header.getHeight() <= context.getLatestHeight()) {
+            return;
+        }
+        BlockForwardEnum status = SmallBlockCacher.getStatus(chainId, blockHash);
+        if (COMPLETE.equals(status) || ERROR.equals(status)) {
+            return;
+        }
+        //The short ids are only resolved for a header signed by its packer, a forged compact block does not cost a scan of the unconfirmed pool.
+        //The signature is not covered by the block hash, so the block is not marked as an error and is still accepted from another node
+        if (!BlockUtil.headerVerify(chainId, header) || header.getBlockSignature() == null || header.getBlockSignature().verifySignature(blockHash).isFailed()) {
+            logger.info("recieve error CompactBlockMessage from " + nodeId);
+            return;
+        }
+        CompactBlockStats stats = context.getCompactBlockStats();
+        if (stats.received() % STATS_LOG_INTERVAL == 0) {
+            logger.info("compact block relay: " + stats);
+        }
+
+        SmallBlock smallBlock = null;
+        if (compactBlock.getShortIdList().size() + compactBlock.getPrefilledTxs().size() == header.getTxCount()) {
+            HashFunction function = compactBlock.shortIdFunction();
+            List<NulsHash> hashList = TransactionCall.getUnconfirmedHashes(chainId, blockHash, compactBlock.getNonce(), compactBlock.getShortIdList());
+            Map<Long, NulsHash> shortIdHashes = new HashMap<>(hashList.size() * 2);
+            for (NulsHash hash : hashList) {
+                shortIdHashes.put(CompactBlock.shortId(function, hash.getBytes()), hash);
+            }
+            smallBlock = compactBlock.toSmallBlock(shortIdHashes);
+        }
+        //A short id which collides with a transaction the sender did not pack resolves to the wrong hash, the merkle root tells
+        if (smallBlock == null || !header.getMerkleHash().equals(NulsHash.calcMerkleHash(smallBlock.getTxHashList()))) {
+            stats.fallback();
+            logger.debug("compact block can not be rebuilt, request smallBlock from node-" + nodeId + ", height:" + header.getHeight() + ", hash:" + blockHash);
+            HashMessage request = new HashMessage(blockHash, header.getHeight());
+            NetworkCall.sendToNode(chainId, request, nodeId, GET_SMALL_BLOCK_MESSAGE);
+            return;
+        }
+        stats.reconstructed(compactBlock.size(), smallBlock.size());
+
+        SmallBlockMessage smallBlockMessage = new SmallBlockMessage();
+        smallBlockMessage.setSmallBlock(smallBlock);
+        smallBlockMessage.setVoteResult(message.getVoteResult());
+        smallBlockMessage.setChainId(chainId);
+        smallBlockMessage.setNodeId(nodeId);
+        RunnableManager.offerSmallBlockMsg(smallBlockMessage);
+    }
+
+    public void offer(CompactBlockMessage message) {
+        queue.offer(message);
+    }
+}
@@ -1,6 +1,5 @@
 package io.nuls.block.message.processor;
 
-import io.nuls.base.data.Block;
 import io.nuls.base.data.NulsHash;
 import io.nuls.block.manager.ContextManager;
 import io.nuls.block.message.BlockMessage;
@@ -16,6 +15,10 @@ import java.util.concurrent.LinkedBlockingQueue;
 import static io.nuls.block.constant.CommandConstant.BLOCK_MESSAGE;
 
 /**
+ * Serve the blocks of the height range requested by the nodes
+ * The processor is run by several threads which take the requests from the same queue,
+ * the blocks are sent as they are stored in the block archive
+ *
  * @author Niels
  */
 public class DownloadBlocksProcessor implements Runnable {
@@ -28,9 +31,8 @@ public class DownloadBlocksProcessor implements Runnable {
         this.service = blockService;
     }
 
-    private void sendBlock(int chainId, Block block, String nodeId, NulsHash requestHash) {
-        BlockMessage blockMessage = new BlockMessage(requestHash, block, true);
-        NetworkCall.sendToNode(chainId, blockMessage, nodeId, BLOCK_MESSAGE);
+    private void sendBlock(int chainId, byte[] block, String nodeId, NulsHash requestHash) {
+        NetworkCall.sendToNode(chainId, BlockMessage.serialize(requestHash, block, true), nodeId, BLOCK_MESSAGE);
     }
 
     @Override
@@ -45,7 +47,6 @@ public class DownloadBlocksProcessor implements Runnable {
     }
 
     private void process() throws InterruptedException {
-        Thread.sleep(10L);
         HeightRangeMessage message = queue.take();
         int chainId = message.getChainId();
         String nodeId = message.getNodeId();
@@ -63,9 +64,9 @@ public class DownloadBlocksProcessor implements Runnable {
         NulsHash requestHash;
         try {
             requestHash = NulsHash.calcHash(message.serialize());
-            Block block;
+            byte[] block;
             do {
-                block = service.getBlock(chainId, startHeight++);
+                block = service.getRawBlock(chainId, startHeight++);
                 if (block == null) {
                     NetworkCall.sendFail(chainId, requestHash, nodeId);
                     return;
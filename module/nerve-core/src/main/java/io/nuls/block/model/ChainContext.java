@@ -27,6 +27,8 @@ import io.nuls.base.data.Block;
 import io.nuls.base.data.NulsHash;
 import io.nuls.block.constant.StatusEnum;
 import io.nuls.block.manager.BlockChainManager;
+import io.nuls.block.storage.BlockArchive;
+import io.nuls.block.thread.BlockSyncPipeline;
 import io.nuls.block.thread.monitor.TxGroupRequestor;
 import io.nuls.block.utils.LoggerUtil;
 import io.nuls.block.utils.SingleBlockCacher;
@@ -131,8 +133,20 @@ public class ChainContext {
      */
     private BlockDownloaderParams downloaderParams;
 
+    /**
+     * Verification stage and throughput statistics of a block synchronization process, null when not synchronizing
+     */
+    private volatile BlockSyncPipeline syncPipeline;
+
+    /**
+     * Serialized blocks of the master chain, null when the archive could not be opened
+     */
+    private volatile BlockArchive blockArchive;
+
     private VoteResultCache voteResultCache = new VoteResultCache();
 
+    private CompactBlockStats compactBlockStats = new CompactBlockStats();
+
     /**
      * Synchronize block cache
      */
@@ -212,6 +226,22 @@ public class ChainContext {
         this.downloaderParams = downloaderParams;
     }
 
+    public BlockSyncPipeline getSyncPipeline() {
+        return syncPipeline;
+    }
+
+    public void setSyncPipeline(BlockSyncPipeline syncPipeline) {
+        this.syncPipeline = syncPipeline;
+    }
+
+    public BlockArchive getBlockArchive() {
+        return blockArchive;
+    }
+
+    public void setBlockArchive(BlockArchive blockArchive) {
+        this.blockArchive = blockArchive;
+    }
+
     public AtomicInteger getCachedBlockSize() {
         return cachedBlockSize;
     }
@@ -432,4 +462,8 @@ public class ChainContext {
     public VoteResultCache getVoteResultCache() {
         return voteResultCache;
     }
+
+    public CompactBlockStats getCompactBlockStats() {
+        return compactBlockStats;
+    }
 }
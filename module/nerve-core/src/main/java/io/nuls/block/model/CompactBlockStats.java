@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ * Copyright (c) 2017-2019 nuls.io
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.block.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the compact block relay of a chain
+ */
+public class CompactBlockStats {
+
+    /**
+     * Compact blocks sent, one per node
+     */
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * Received compact blocks rebuilt from the unconfirmed transactions
+     */
+    private final AtomicLong reconstructed = new AtomicLong();
+
+    /**
+     * Received compact blocks which could not be rebuilt, the small block was requested instead
+     */
+    private final AtomicLong fallback = new AtomicLong();
+
+    /**
+     * Bytes of the reconstructed compact blocks, and of the small blocks they replaced
+     */
+    private final AtomicLong compactBytes = new AtomicLong();
+    private final AtomicLong smallBlockBytes = new AtomicLong();
+
+    public void sent(int count) {
+        sent.addAndGet(count);
+    }
+
+    /**
+     * @return Number of the compact blocks received
+     */
+    public long received() {
+        return received.incrementAndGet();
+    }
+
+    public void reconstructed(int compactSize, int smallBlockSize) {
+        reconstructed.incrementAndGet();
+        compactBytes.addAndGet(compactSize);
+        smallBlockBytes.addAndGet(smallBlockSize);
+    }
+
+    public void fallback() {
+        fallback.incrementAndGet();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getReconstructed() {
+        return reconstructed.get();
+    }
+
+    public long getFallback() {
+        return fallback.get();
+    }
+
+    public long getCompactBytes() {
+        return compactBytes.get();
+    }
+
+    public long getSmallBlockBytes() {
+        return smallBlockBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "sent-" + sent + ", received-" + received + ", reconstructed-" + reconstructed + ", fallback-" + fallback +
+                ", compactBytes-" + compactBytes + ", smallBlockBytes-" + smallBlockBytes;
+    }
+}
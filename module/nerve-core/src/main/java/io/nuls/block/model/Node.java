@@ -72,6 +72,19 @@ public class Node {
      */
     private NodeEnum nodeEnum;
 
+    /**
+     * Whether the node accepts compact blocks, announced in its version message
+     */
+    private boolean compactBlock;
+
+    public boolean isCompactBlock() {
+        return compactBlock;
+    }
+
+    public void setCompactBlock(boolean compactBlock) {
+        this.compactBlock = compactBlock;
+    }
+
     public long getStartHeight() {
         return startHeight;
     }
@@ -38,6 +38,7 @@ import io.nuls.core.log.logback.NulsLogger;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.ModuleE;
 import io.nuls.core.rpc.model.message.Response;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.common.NerveCoreResponseMessageProcessor;
 
 import java.util.HashMap;
@@ -70,7 +71,12 @@ public class ConsensusCall {
         try {
             Map<String, Object> params = new HashMap<>(3);
             params.put(Constants.CHAIN_ID, chainId);
-            params.put("block", RPCUtil.encode(block.serialize()));
+            if (ResponseMessageProcessor.isLocalDirect(ModuleE.CS.abbr, "cs_validBlock")) {
+                //The consensus module is in the same process, pass the block directly, the pre-verified flag is kept
+                params.put(Constants.BLOCK_OBJ, block);
+            } else {
+                params.put("block", RPCUtil.encode(block.serialize()));
+            }
             params.put("nodeId", nodeId);
             params.put("download", download);
             params.put("basicVerify", basicVerify);
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 
 import static io.nuls.block.constant.CommandConstant.*;
+import static io.nuls.block.constant.Constant.SERVICE_COMPACT_BLOCK;
 
 
 /**
@@ -85,6 +86,8 @@ public class NetworkCall {
                 }
                 node.setHash(NulsHash.fromHex(blockHash));
                 node.setNodeEnum(NodeEnum.IDLE);
+                Object services = map.get("services");
+                node.setCompactBlock(services != null && (Long.parseLong(services.toString()) & SERVICE_COMPACT_BLOCK) != 0);
                 nodes.add(node);
             }
             return nodes;
@@ -166,13 +169,30 @@ public class NetworkCall {
      * @return
      */
     public static boolean sendToNode(int chainId, BaseBusinessMessage message, String nodeId, String command) {
+        try {
+            return sendToNode(chainId, message.serialize(), nodeId, command);
+        } catch (Exception e) {
+            ContextManager.getContext(chainId).getLogger().error("", e);
+            return false;
+        }
+    }
+
+    /**
+     * Send the serialized message to specified nodes
+     *
+     * @param chainId     chainId/chain id
+     * @param messageBody
+     * @param nodeId
+     * @return
+     */
+    public static boolean sendToNode(int chainId, byte[] messageBody, String nodeId, String command) {
         NulsLogger logger = ContextManager.getContext(chainId).getLogger();
         try {
             Map<String, Object> params = new HashMap<>(5);
             params.put(Constants.VERSION_KEY_STR, "1.0");
             params.put(Constants.CHAIN_ID, chainId);
             params.put("nodes", nodeId);
-            params.put("messageBody", RPCUtil.encode(message.serialize()));
+            params.put("messageBody", RPCUtil.encode(messageBody));
             params.put("command", command);
             boolean success = NerveCoreResponseMessageProcessor.requestAndResponse(ModuleE.NW.abbr, "nw_sendPeersMsg", params).isSuccess();
 //            logger.debug("send " + message.toString() + " to node-" + nodeId + ", success:" + success);
@@ -32,6 +32,7 @@ import io.nuls.core.log.logback.NulsLogger;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.ModuleE;
 import io.nuls.core.rpc.model.message.Response;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.common.NerveCoreResponseMessageProcessor;
 
 import java.io.IOException;
@@ -124,13 +125,19 @@ public class TransactionCall {
             Map<String, Object> params = new HashMap<>(2);
 //            params.put(Constants.VERSION_KEY_STR, "1.0");
             params.put(Constants.CHAIN_ID, chainId);
-            List<String> txList = new ArrayList<>();
-            for (Transaction transaction : txs) {
-                txList.add(RPCUtil.encode(transaction.serialize()));
-            }
             ChainContext context = ContextManager.getContext(chainId);
-            params.put("txList", txList);
-            params.put("blockHeader", RPCUtil.encode(BlockUtil.fromBlockHeaderPo(blockHeaderPo).serialize()));
+            if (ResponseMessageProcessor.isLocalDirect(ModuleE.TX.abbr, "tx_save")) {
+                //The transaction module is in the same process, pass the parsed transactions directly, read-only for the receiver
+                params.put(Constants.TX_OBJ_LIST, Collections.unmodifiableList(txs));
+                params.put(Constants.BLOCK_HEADER_OBJ, BlockUtil.fromBlockHeaderPo(blockHeaderPo));
+            } else {
+                List<String> txList = new ArrayList<>();
+                for (Transaction transaction : txs) {
+                    txList.add(RPCUtil.encode(transaction.serialize()));
+                }
+                params.put("txList", txList);
+                params.put("blockHeader", RPCUtil.encode(BlockUtil.fromBlockHeaderPo(blockHeaderPo).serialize()));
+            }
             params.put("contractList", contractList);
             params.put("syncStatus", context.getSimpleStatus());
             Response response = NerveCoreResponseMessageProcessor.requestAndResponse(ModuleE.TX.abbr, "tx_save", params, 60 * 1000);
@@ -266,6 +273,44 @@ public class TransactionCall {
         return transactions;
     }
 
+    /**
+     * Hashes of the unconfirmed transactions matching the short ids of a compact block
+     *
+     * @param chainId     chainId/chain id
+     * @param blockHash   Hash of the compact block
+     * @param nonce       Salt of the short ids
+     * @param shortIdList
+     * @return
+     */
+    public static List<NulsHash> getUnconfirmedHashes(int chainId, NulsHash blockHash, long nonce, List<Long> shortIdList) {
+        if (shortIdList == null || shortIdList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        NulsLogger logger = ContextManager.getContext(chainId).getLogger();
+        try {
+            Map<String, Object> params = new HashMap<>(4);
+            params.put(Constants.CHAIN_ID, chainId);
+            params.put("blockHash", blockHash.toHex());
+            params.put("nonce", nonce);
+            params.put("shortIdList", shortIdList);
+            Response response = NerveCoreResponseMessageProcessor.requestAndResponse(ModuleE.TX.abbr, "tx_getUnconfirmedHashsByShortIds", params);
+            if (!response.isSuccess()) {
+                return Collections.emptyList();
+            }
+            Map responseData = (Map) response.getResponseData();
+            Map map = (Map) responseData.get("tx_getUnconfirmedHashsByShortIds");
+            List<String> txHashList = (List<String>) map.get("txHashList");
+            List<NulsHash> hashList = new ArrayList<>(txHashList.size());
+            for (String txHash : txHashList) {
+                hashList.add(NulsHash.fromHex(txHash));
+            }
+            return hashList;
+        } catch (Exception e) {
+            logger.error("", e);
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Obtain a single transaction
      *
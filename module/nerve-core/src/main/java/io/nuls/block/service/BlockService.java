@@ -95,6 +95,15 @@ public interface BlockService {
      */
     Block getBlock(int chainId, long height);
 
+    /**
+     * Obtain the serialized block based on block height, read from the block archive when the block is archived
+     *
+     * @param chainId chainId/chain id
+     * @param height  block height
+     * @return null when the block does not exist
+     */
+    byte[] getRawBlock(int chainId, long height);
+
     /**
      * Obtain block heads based on block height intervals
      *
@@ -28,11 +28,13 @@ import io.nuls.block.constant.BlockErrorCode;
 import io.nuls.block.manager.BlockChainManager;
 import io.nuls.block.manager.ContextManager;
 import io.nuls.block.manager.RunnableManager;
+import io.nuls.block.message.CompactBlockMessage;
 import io.nuls.block.message.HashMessage;
 import io.nuls.block.message.SmallBlockMessage;
 import io.nuls.block.model.*;
 import io.nuls.block.rpc.call.*;
 import io.nuls.block.service.BlockService;
+import io.nuls.block.storage.BlockArchive;
 import io.nuls.block.storage.BlockStorageService;
 import io.nuls.block.storage.ChainStorageService;
 import io.nuls.block.thread.BlockSaver;
@@ -256,6 +258,33 @@ public class BlockServiceImpl implements BlockService {
         }
     }
 
+    @Override
+    public byte[] getRawBlock(int chainId, long height) {
+        ChainContext context = ContextManager.getContext(chainId);
+        BlockArchive archive = context.getBlockArchive();
+        //A block beyond the latest height may still be in the archive while it is saved or rolled back
+        if (archive != null && height <= context.getLatestHeight()) {
+            try {
+                byte[] bytes = archive.get(height);
+                if (bytes != null) {
+                    return bytes;
+                }
+            } catch (Exception e) {
+                context.getLogger().error("read block archive fail, height-" + height, e);
+            }
+        }
+        Block block = getBlock(chainId, height);
+        if (block == null) {
+            return null;
+        }
+        try {
+            return block.serialize();
+        } catch (Exception e) {
+            context.getLogger().error("", e);
+            return null;
+        }
+    }
+
     @Override
     public List<Block> getBlock(int chainId, long startHeight, long endHeight) {
         NulsLogger logger = ContextManager.getContext(chainId).getLogger();
@@ -590,6 +619,15 @@ public class BlockServiceImpl implements BlockService {
         while (!blockStorageService.save(chainId, blockHeaderPo)) {
             logger.error("Block save fail, height-" + height);
         }
+        //The archive is only used to serve the blocks, a block which is not archived is read from the transaction module
+        BlockArchive archive = context.getBlockArchive();
+        if (archive != null) {
+            try {
+                archive.save(height, block.serialize());
+            } catch (Exception e) {
+                logger.error("block archive save fail, height-" + height, e);
+            }
+        }
         //7.Notice of height change
         while (!TransactionCall.heightNotice(chainId, height)) {
             logger.error("Transaction height notice fail, height-" + height);
@@ -667,6 +705,21 @@ public class BlockServiceImpl implements BlockService {
                 logger.error("blockStorageService remove fail! height-" + height);
                 return false;
             }
+            BlockArchive archive = context.getBlockArchive();
+            if (archive != null) {
+                try {
+                    archive.remove(height);
+                } catch (Exception e) {
+                    //The archive would serve the block rolled back, it is not used any more and it is deleted so that it is not opened again
+                    context.setBlockArchive(null);
+                    logger.error("block archive remove fail, height-" + height, e);
+                    try {
+                        archive.destroy();
+                    } catch (Exception ex) {
+                        logger.error("block archive delete fail", ex);
+                    }
+                }
+            }
             if (!blockStorageService.setLatestHeight(chainId, height - 1)) {
                 if (!blockStorageService.setLatestHeight(chainId, height)) {
                     throw new NulsRuntimeException(BlockErrorCode.UPDATE_HEIGHT_ERROR);
@@ -741,9 +794,9 @@ public class BlockServiceImpl implements BlockService {
         NulsLogger logger = context.getLogger();
         SmallBlockMessage message = new SmallBlockMessage();
         message.setSmallBlock(BlockUtil.getSmallBlock(chainId, block));
-        String excludeNodes = null;
+        Set<String> excludeNodeSet = new HashSet<>();
         if (SmallBlockCacher.nodeMap.containsKey(block.getHeader().getHash())) {
-            excludeNodes = String.join(",", SmallBlockCacher.nodeMap.get(block.getHeader().getHash()));
+            excludeNodeSet.addAll(SmallBlockCacher.nodeMap.get(block.getHeader().getHash()));
         }
         byte[] voteResult = context.getVoteResultCache().get(block.getHeader().getHash());
         if (null == voteResult) {
@@ -756,8 +809,25 @@ public class BlockServiceImpl implements BlockService {
         if (null == message.getVoteResult()) {
             logger.info("No voting results -" + block.getHeader().getHash());
         }
-        boolean broadcast = NetworkCall.broadcast(chainId, message, excludeNodes, SMALL_BLOCK_MESSAGE);
-        logger.debug("hash-" + block.getHeader().getHash() + ", broadcast-" + broadcast);
+        //The nodes which announced the compact block service get the compact block,the others get the small block
+        List<String> compactNodes = new ArrayList<>();
+        for (Node node : NetworkCall.getAvailableNodes(chainId)) {
+            if (node.isCompactBlock() && !excludeNodeSet.contains(node.getId())) {
+                compactNodes.add(node.getId());
+            }
+        }
+        boolean broadcast = true;
+        if (!compactNodes.isEmpty()) {
+            CompactBlockMessage compactBlockMessage = new CompactBlockMessage();
+            compactBlockMessage.setCompactBlock(BlockUtil.getCompactBlock(chainId, block));
+            compactBlockMessage.setVoteResult(voteResult);
+            broadcast = NetworkCall.sendToNode(chainId, compactBlockMessage, String.join(",", compactNodes), COMPACT_BLOCK_MESSAGE);
+            context.getCompactBlockStats().sent(compactNodes.size());
+            excludeNodeSet.addAll(compactNodes);
+        }
+        String excludeNodes = excludeNodeSet.isEmpty() ? null : String.join(",", excludeNodeSet);
+        broadcast = NetworkCall.broadcast(chainId, message, excludeNodes, SMALL_BLOCK_MESSAGE) && broadcast;
+        logger.debug("hash-" + block.getHeader().getHash() + ", compact-" + compactNodes.size() + ", broadcast-" + broadcast);
         return broadcast;
     }
 
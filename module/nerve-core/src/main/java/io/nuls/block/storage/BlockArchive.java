@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ * Copyright (c) 2017-2019 nuls.io
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.block.storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only archive of the serialized blocks of the master chain, indexed by height
+ * The blocks are written to segment files one after another, the index file keeps the height of the first block
+ * followed by the position and length of each block, so a block is read back with two positional reads.
+ * <p>
+ * The archive holds a continuous range of heights: saving a block below the end removes the blocks from that height first,
+ * saving a block beyond the end starts the archive again from that block. The rollback removes the blocks from its height.
+ * Readers may run concurrently, they are only blocked while the archive is modified
+ *
+ * @version 1.0
+ */
+public class BlockArchive implements Closeable {
+
+    private static final String INDEX_FILE = "index.dat";
+
+    private static final String SEGMENT_FILE = "blocks-%06d.dat";
+
+    /**
+     * Height of the first block
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * Segment, position and length of a block
+     */
+    private static final int ENTRY_SIZE = 12;
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final FileChannel index;
+
+    private final Map<Integer, FileChannel> segments = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long startHeight = -1;
+
+    private long count;
+
+    private int lastSegment;
+
+    private long lastEnd;
+
+    public BlockArchive(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        dir.toFile().mkdirs();
+        this.index = FileChannel.open(dir.resolve(INDEX_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = index.size();
+        if (size >= HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(index, header, 0);
+            startHeight = header.getLong(0);
+            //An entry which was not written completely is dropped
+            count = (size - HEADER_SIZE) / ENTRY_SIZE;
+            index.truncate(HEADER_SIZE + count * ENTRY_SIZE);
+        } else {
+            index.truncate(0);
+        }
+        if (count > 0) {
+            ByteBuffer entry = readEntry(startHeight + count - 1);
+            lastSegment = entry.getInt(0);
+            lastEnd = (long) entry.getInt(4) + entry.getInt(8);
+        }
+    }
+
+    /**
+     * Height of the next block to be saved, -1 when the archive is empty
+     */
+    public long getEndHeight() {
+        lock.readLock().lock();
+        try {
+            return startHeight < 0 ? -1 : startHeight + count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Save the serialized block of the height
+     */
+    public void save(long height, byte[] block) throws IOException {
+        if (block.length > segmentSize) {
+            throw new IOException("block too large for the archive, height-" + height + ", size-" + block.length);
+        }
+        lock.writeLock().lock();
+        try {
+            if (startHeight < 0 || height <= startHeight || height > startHeight + count) {
+                reset(height);
+            } else if (height < startHeight + count) {
+                truncate(height);
+            }
+            int segment = lastSegment;
+            long position = lastEnd;
+            if (position + block.length > segmentSize) {
+                segment++;
+                position = 0;
+            }
+            FileChannel channel = segment(segment);
+            writeFully(channel, ByteBuffer.wrap(block), position);
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            entry.putInt(segment).putInt((int) position).putInt(block.length).flip();
+            writeFully(index, entry, HEADER_SIZE + count * ENTRY_SIZE);
+            count++;
+            lastSegment = segment;
+            lastEnd = position + block.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The serialized block of the height, null when the height is not in the archive
+     */
+    public byte[] get(long height) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (startHeight < 0 || height < startHeight || height >= startHeight + count) {
+                return null;
+            }
+            ByteBuffer entry = readEntry(height);
+            ByteBuffer block = ByteBuffer.allocate(entry.getInt(8));
+            readFully(segment(entry.getInt(0)), block, entry.getInt(4));
+            return block.array();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the blocks from the height to the end of the archive
+     */
+    public void remove(long height) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (startHeight < 0 || height >= startHeight + count) {
+                return;
+            }
+            if (height <= startHeight) {
+                reset(-1);
+            } else {
+                truncate(height);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Close the archive and delete its files, the archive is not used any more
+     */
+    public void destroy() throws IOException {
+        lock.writeLock().lock();
+        try {
+            reset(-1);
+            index.close();
+            File[] files = dir.toFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            dir.toFile().delete();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void truncate(long height) throws IOException {
+        count = height - startHeight;
+        index.truncate(HEADER_SIZE + count * ENTRY_SIZE);
+        ByteBuffer entry = readEntry(height - 1);
+        lastSegment = entry.getInt(0);
+        lastEnd = (long) entry.getInt(4) + entry.getInt(8);
+        //The segments after the last block are not used any more
+        for (int segment = lastSegment + 1; deleteSegment(segment); segment++) {
+        }
+    }
+
+    private void reset(long height) throws IOException {
+        index.truncate(0);
+        for (int i = 0; deleteSegment(i); i++) {
+        }
+        startHeight = height;
+        count = 0;
+        lastSegment = 0;
+        lastEnd = 0;
+        if (height >= 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(height).flip();
+            writeFully(index, header, 0);
+        }
+    }
+
+    private boolean deleteSegment(int segment) throws IOException {
+        synchronized (segments) {
+            FileChannel channel = segments.remove(segment);
+            if (channel != null) {
+                channel.close();
+            }
+        }
+        File file = segmentFile(segment);
+        return file.exists() && file.delete();
+    }
+
+    private File segmentFile(int segment) {
+        return dir.resolve(String.format(SEGMENT_FILE, segment)).toFile();
+    }
+
+    private ByteBuffer readEntry(long height) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+        readFully(index, entry, HEADER_SIZE + (height - startHeight) * ENTRY_SIZE);
+        return entry;
+    }
+
+    private FileChannel segment(int segment) throws IOException {
+        synchronized (segments) {
+            FileChannel channel = segments.get(segment);
+            if (channel == null) {
+                channel = FileChannel.open(segmentFile(segment).toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                segments.put(segment, channel);
+            }
+            return channel;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("unexpected end of the archive");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            synchronized (segments) {
+                for (FileChannel channel : segments.values()) {
+                    channel.close();
+                }
+                segments.clear();
+            }
+            index.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.model.ByteUtils;
 import io.nuls.core.parse.SerializeUtils;
 import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rockdb.service.UnitOfWork;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,11 +53,12 @@ public class BlockStorageServiceImpl implements BlockStorageService {
     @Override
     public boolean save(int chainId, BlockHeaderPo blockHeader) {
         byte[] height = SerializeUtils.uint64ToByteArray(blockHeader.getHeight());
-        try {
+        //The height index and the header are written together
+        try (UnitOfWork unitOfWork = RocksDBService.createUnitOfWork()) {
             byte[] hash = blockHeader.getHash().getBytes();
-            boolean b1 = RocksDBService.put(BLOCK_HEADER_INDEX + chainId, height, hash);
-            boolean b2 = RocksDBService.put(BLOCK_HEADER + chainId, hash, blockHeader.serialize());
-            return b1 && b2;
+            unitOfWork.put(BLOCK_HEADER_INDEX + chainId, height, hash);
+            unitOfWork.put(BLOCK_HEADER + chainId, hash, blockHeader.serialize());
+            return unitOfWork.commit();
         } catch (Exception e) {
             COMMON_LOG.error("", e);
             return false;
@@ -64,6 +64,7 @@ public class BlockConsumer implements Callable<Boolean> {
         long netLatestHeight = params.getNetLatestHeight();
         long pendingHeight = params.getLocalLatestHeight() + 1;
         NulsLogger logger = context.getLogger();
+        BlockSyncPipeline pipeline = context.getSyncPipeline();
         Block block;
         logger.info("BlockConsumer start work");
         try {
@@ -72,6 +73,14 @@ public class BlockConsumer implements Callable<Boolean> {
                 block = context.getBlockMap().remove(pendingHeight);
                 if (block != null) {
                     begin = System.nanoTime();
+                    //The blocks are verified out of order, check that the block is linked to the latest block before saving
+                    if (!isLinked(context, block) && failedTimesMap.merge(pendingHeight, 1, Integer::sum) <= 3) {
+                        logger.warn("sync block is not linked to the latest block, download again, height-" + pendingHeight + ", hash-" + block.getHeader().getHash());
+                        context.getCachedBlockSize().addAndGet(-block.size());
+                        punishNode(pendingHeight, params.getNodes(), context);
+                        retryDownload(pendingHeight, context);
+                        continue;
+                    }
                     boolean saveBlock = blockService.saveBlock(chainId, block, true);
                     if (!saveBlock) {
                         int value = failedTimesMap.compute(block.getHeader().getHeight(), (k, v) -> {
@@ -92,6 +101,10 @@ public class BlockConsumer implements Callable<Boolean> {
                     }
                     pendingHeight++;
                     context.getCachedBlockSize().addAndGet(-block.size());
+                    if (pipeline != null) {
+                        pipeline.saved(block);
+                        pipeline.reportIfDue();
+                    }
                     continue;
                 }
                 Thread.sleep(10);
@@ -113,6 +126,11 @@ public class BlockConsumer implements Callable<Boolean> {
         }
     }
 
+    private boolean isLinked(ChainContext context, Block block) {
+        Block latestBlock = context.getLatestBlock();
+        return latestBlock == null || block.getHeader().getPreHash().equals(latestBlock.getHeader().getHash());
+    }
+
     private void punishNode(long pendingHeight, List<Node> nodes, ChainContext context) {
         for (Node node : nodes) {
             if (node.getStartHeight() <= pendingHeight && pendingHeight <= node.getEndHeight()) {
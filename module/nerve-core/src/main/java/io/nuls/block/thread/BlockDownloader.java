@@ -29,8 +29,10 @@ import io.nuls.block.message.HeightRangeMessage;
 import io.nuls.block.model.BlockDownloaderParams;
 import io.nuls.block.model.ChainContext;
 import io.nuls.common.ConfigBean;
+import io.nuls.common.NerveCoreConfig;
 import io.nuls.block.model.Node;
 import io.nuls.block.rpc.call.NetworkCall;
+import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.exception.NulsRuntimeException;
 import io.nuls.core.log.logback.NulsLogger;
 
@@ -54,8 +56,14 @@ public class BlockDownloader implements Callable<Boolean> {
      */
     private int chainId;
 
+    /**
+     * How many heights the download can be ahead of the local latest height
+     */
+    private int aheadHeight;
+
     BlockDownloader(int chainId) {
         this.chainId = chainId;
+        this.aheadHeight = SpringLiteContext.getBean(NerveCoreConfig.class).getSyncDownloadAheadHeight();
     }
 
     @Override
@@ -79,7 +87,7 @@ public class BlockDownloader implements Callable<Boolean> {
             AtomicInteger cachedBlockSize = context.getCachedBlockSize();
             long limit = context.getParameters().getCachedBlockSizeLimit() * 80 / 100;
             while (startHeight <= netLatestHeight && context.isNeedSyn()) {
-                if (startHeight > context.getLatestHeight() + 2000) {
+                if (startHeight > context.getLatestHeight() + aheadHeight) {
                     Thread.sleep(1000L);
                     continue;
                 }
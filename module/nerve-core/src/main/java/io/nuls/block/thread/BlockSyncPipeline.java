@@ -0,0 +1,241 @@
+/*
+ *
+ *  * MIT License
+ *  * Copyright (c) 2017-2019 nuls.io
+ *  * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ *  * in the Software without restriction, including without limitation the rights
+ *  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  * copies of the Software, and to permit persons to whom the Software is
+ *  * furnished to do so, subject to the following conditions:
+ *  * The above copyright notice and this permission notice shall be included in all
+ *  * copies or substantial portions of the Software.
+ *  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  * SOFTWARE.
+ *
+ */
+package io.nuls.block.thread;
+
+import io.nuls.base.data.Block;
+import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.NulsHash;
+import io.nuls.block.manager.ContextManager;
+import io.nuls.block.model.BlockDownloaderParams;
+import io.nuls.block.model.ChainContext;
+import io.nuls.block.model.Node;
+import io.nuls.block.utils.BlockUtil;
+import io.nuls.common.NerveCoreConfig;
+import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stages of a block synchronization process: download -> parallel verification -> ordered save
+ * The received blocks are verified(basic information, merkle hash, header signature)by the worker threads,
+ * the verified blocks are marked and put into the synchronization cache, and {@link BlockConsumer} saves them in height order,
+ * the consensus module does not verify the merkle hash and the header signature of the marked blocks again.
+ * <p>
+ * The blocks waiting for verification are counted in the cached block size, so the download is limited by the verification and the save
+ */
+public class BlockSyncPipeline {
+
+    private final int chainId;
+    private final ChainContext context;
+    private final ThreadPoolExecutor verifyExecutor;
+    private final long reportInterval;
+    private final long startTime = System.currentTimeMillis();
+    private long lastReportTime = startTime;
+
+    private final StageCounter downloaded = new StageCounter();
+    private final StageCounter verified = new StageCounter();
+    private final StageCounter saved = new StageCounter();
+
+    public BlockSyncPipeline(int chainId) {
+        this.chainId = chainId;
+        this.context = ContextManager.getContext(chainId);
+        NerveCoreConfig config = SpringLiteContext.getBean(NerveCoreConfig.class);
+        this.reportInterval = config.getSyncReportInterval() * 1000L;
+        if (config.isSyncPreVerify()) {
+            int threads = config.getSyncVerifyThreads() > 0 ? config.getSyncVerifyThreads() : Runtime.getRuntime().availableProcessors();
+            verifyExecutor = ThreadUtils.createThreadPool(threads, config.getSyncVerifyQueueSize(), new NulsThreadFactory("sync-block-verify"));
+            //When the queue is full, the receiving thread verifies by itself
+            verifyExecutor.setRejectedExecutionHandler((task, executor) -> {
+                if (executor.isShutdown()) {
+                    release(((VerifyTask) task).block);
+                } else {
+                    task.run();
+                }
+            });
+        } else {
+            verifyExecutor = null;
+        }
+    }
+
+    /**
+     * Received a synchronized block
+     *
+     * @param block  block
+     * @param nodeId Source node
+     */
+    public void receive(Block block, String nodeId) {
+        downloaded.record(block);
+        if (!needCache(block)) {
+            return;
+        }
+        context.getCachedBlockSize().addAndGet(block.size());
+        if (verifyExecutor == null) {
+            cache(block);
+        } else {
+            verifyExecutor.execute(new VerifyTask(block, nodeId));
+        }
+    }
+
+    /**
+     * The block has been saved
+     */
+    public void saved(Block block) {
+        saved.record(block);
+    }
+
+    /**
+     * Called by the save thread, log the throughput when the report interval is reached
+     */
+    public void reportIfDue() {
+        long now = System.currentTimeMillis();
+        if (reportInterval > 0 && now - lastReportTime >= reportInterval) {
+            lastReportTime = now;
+            context.getLogger().info(report());
+        }
+    }
+
+    /**
+     * Average throughput of each stage since the synchronization started
+     */
+    public String report() {
+        long useTime = Math.max(System.currentTimeMillis() - startTime, 1);
+        return "block syn throughput, time:" + useTime + "ms, download:" + downloaded.rate(useTime) +
+                ", verify:" + (verifyExecutor == null ? "off" : verified.rate(useTime)) +
+                ", save:" + saved.rate(useTime) +
+                ", verifying:" + (verifyExecutor == null ? 0 : verifyExecutor.getQueue().size()) +
+                ", cached block:" + context.getBlockMap().size() + ", cached size:" + context.getCachedBlockSize().get();
+    }
+
+    /**
+     * Stop accepting blocks and wait for the blocks being verified, so that the cached block size is settled
+     */
+    public void shutdown() throws InterruptedException {
+        if (verifyExecutor != null) {
+            verifyExecutor.shutdown();
+            verifyExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean needCache(Block block) {
+        return block.getHeader().getHeight() > context.getLatestHeight() && context.isNeedSyn();
+    }
+
+    /**
+     * Put the block into the synchronization cache, the size of a replaced block is released
+     */
+    private void cache(Block block) {
+        if (!needCache(block)) {
+            release(block);
+            return;
+        }
+        Block exist = context.getBlockMap().put(block.getHeader().getHeight(), block);
+        if (exist != null) {
+            release(exist);
+        }
+    }
+
+    private void release(Block block) {
+        context.getCachedBlockSize().addAndGet(-block.size());
+    }
+
+    /**
+     * Verification without the chain state, the fork and the consensus rounds are verified when the block is saved
+     */
+    private boolean verify(Block block) {
+        if (!BlockUtil.basicVerify(chainId, block)) {
+            return false;
+        }
+        BlockHeader header = block.getHeader();
+        if (!header.getMerkleHash().equals(NulsHash.calcMerkleHash(block.getTxHashList()))) {
+            context.getLogger().warn("sync block merkle hash error, height-" + header.getHeight());
+            return false;
+        }
+        if (header.getBlockSignature() == null || header.getBlockSignature().verifySignature(header.getHash()).isFailed()) {
+            context.getLogger().warn("sync block signature error, height-" + header.getHeight());
+            return false;
+        }
+        return true;
+    }
+
+    private void punishNode(String nodeId) {
+        BlockDownloaderParams params = context.getDownloaderParams();
+        if (params == null || nodeId == null) {
+            return;
+        }
+        for (Node node : params.getNodes()) {
+            if (node.getId().equals(nodeId)) {
+                node.adjustCredit(false);
+                return;
+            }
+        }
+    }
+
+    private class VerifyTask implements Runnable {
+
+        private final Block block;
+        private final String nodeId;
+
+        private VerifyTask(Block block, String nodeId) {
+            this.block = block;
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public void run() {
+            boolean success;
+            try {
+                success = verify(block);
+            } catch (Exception e) {
+                context.getLogger().error("sync block verify error, height-" + block.getHeader().getHeight(), e);
+                success = false;
+            }
+            if (!success) {
+                //Discard the block, the save thread downloads it again when it waits timeout
+                release(block);
+                punishNode(nodeId);
+                return;
+            }
+            block.setPreVerified(true);
+            verified.record(block);
+            cache(block);
+        }
+    }
+
+    private static class StageCounter {
+
+        private final AtomicLong blocks = new AtomicLong();
+        private final AtomicLong txs = new AtomicLong();
+
+        private void record(Block block) {
+            blocks.incrementAndGet();
+            txs.addAndGet(block.getHeader().getTxCount());
+        }
+
+        private String rate(long useTime) {
+            return blocks.get() + " blocks(" + blocks.get() * 1000 / useTime + "/s), " + txs.get() + " txs(" + txs.get() * 1000 / useTime + "/s)";
+        }
+    }
+}
@@ -266,14 +266,24 @@ public class BlockSynchronizer implements Runnable {
         long startHeight = downloaderParams.getLocalLatestHeight() + 1;
         long total = netLatestHeight - startHeight + 1;
         long start = System.currentTimeMillis();
-        //5.Enable block downloaderBlockDownloader
-        BlockDownloader downloader = new BlockDownloader(chainId);
-        Future<Boolean> downloadFutrue = ThreadUtils.asynExecuteCallable(downloader);
-        //6.Start block consumption threadBlockConsumer
-        BlockConsumer consumer = new BlockConsumer(chainId);
-        Future<Boolean> consumerFuture = ThreadUtils.asynExecuteCallable(consumer);
-        Boolean downResult = downloadFutrue.get();
-        Boolean storageResult = consumerFuture.get();
+        BlockSyncPipeline pipeline = new BlockSyncPipeline(chainId);
+        context.setSyncPipeline(pipeline);
+        Boolean downResult;
+        Boolean storageResult;
+        try {
+            //5.Enable block downloaderBlockDownloader
+            BlockDownloader downloader = new BlockDownloader(chainId);
+            Future<Boolean> downloadFutrue = ThreadUtils.asynExecuteCallable(downloader);
+            //6.Start block consumption threadBlockConsumer
+            BlockConsumer consumer = new BlockConsumer(chainId);
+            Future<Boolean> consumerFuture = ThreadUtils.asynExecuteCallable(consumer);
+            downResult = downloadFutrue.get();
+            storageResult = consumerFuture.get();
+        } finally {
+            context.setSyncPipeline(null);
+            pipeline.shutdown();
+            logger.info(pipeline.report());
+        }
         boolean success = downResult != null && downResult && storageResult != null && storageResult;
         long end = System.currentTimeMillis();
         if (success) {
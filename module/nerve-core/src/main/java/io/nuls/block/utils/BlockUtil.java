@@ -20,6 +20,7 @@
 
 package io.nuls.block.utils;
 
+import com.google.common.hash.HashFunction;
 import io.nuls.base.data.*;
 import io.nuls.base.data.po.BlockHeaderPo;
 import io.nuls.block.constant.BlockErrorCode;
@@ -48,10 +49,12 @@ import io.nuls.core.model.ByteUtils;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import static io.nuls.block.constant.CommandConstant.GET_BLOCK_BY_HEIGHT_MESSAGE;
 import static io.nuls.block.constant.CommandConstant.GET_BLOCK_MESSAGE;
+import static io.nuls.block.constant.Constant.COMPACT_BLOCK_PREFILL_SECONDS;
 
 /**
  * Block tool class
@@ -350,6 +353,35 @@ public class BlockUtil {
     }
 
     public static SmallBlock getSmallBlock(int chainId, Block block) {
+        List<Integer> transactionType = getSystemTransactionType(chainId);
+        SmallBlock smallBlock = new SmallBlock();
+        smallBlock.setHeader(block.getHeader());
+        smallBlock.setTxHashList((ArrayList<NulsHash>) block.getTxHashList());
+        block.getTxs().stream().filter(e -> transactionType.contains(e.getType())).forEach(smallBlock::addSystemTx);
+        return smallBlock;
+    }
+
+    /**
+     * according toblockgenerate{@link CompactBlock}
+     * System transactions and the transactions created just before the block are prefilled,the other nodes are not expected to have them
+     *
+     * @param chainId chainId/chain id
+     * @param block
+     * @return
+     */
+    public static CompactBlock getCompactBlock(int chainId, Block block) {
+        List<Integer> transactionType = getSystemTransactionType(chainId);
+        BlockHeader header = block.getHeader();
+        long prefillTime = header.getTime() - COMPACT_BLOCK_PREFILL_SECONDS;
+        CompactBlock compactBlock = new CompactBlock(header, ThreadLocalRandom.current().nextLong());
+        HashFunction function = compactBlock.shortIdFunction();
+        for (Transaction tx : block.getTxs()) {
+            compactBlock.addTx(function, tx, transactionType.contains(tx.getType()) || tx.getTime() >= prefillTime);
+        }
+        return compactBlock;
+    }
+
+    private static List<Integer> getSystemTransactionType(int chainId) {
         ChainContext context = ContextManager.getContext(chainId);
         List<Integer> transactionType = context.getSystemTransactionType();
         if (transactionType.isEmpty()) {
@@ -357,11 +389,7 @@ public class BlockUtil {
             transactionType.addAll(sysTxType);
             LoggerUtil.COMMON_LOG.info("Obtain a list of system transaction types:{}", Arrays.toString(sysTxType.toArray(new Integer[sysTxType.size()])));
         }
-        SmallBlock smallBlock = new SmallBlock();
-        smallBlock.setHeader(block.getHeader());
-        smallBlock.setTxHashList((ArrayList<NulsHash>) block.getTxHashList());
-        block.getTxs().stream().filter(e -> transactionType.contains(e.getType())).forEach(smallBlock::addSystemTx);
-        return smallBlock;
+        return transactionType;
     }
 
     /**
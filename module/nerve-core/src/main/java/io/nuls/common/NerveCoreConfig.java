@@ -63,6 +63,18 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
 
     private String blackListPath;
     private String accountBlockManagerPublicKeys;
+    /** Whether the block transactions of different modules are committed concurrently*/
+    private boolean txCommitParallel = false;
+    /** Module commit dependencies when committing concurrently, format: module:dependentModule,... The module is committed after the dependent module*/
+    private String txCommitDependencies = "cv:nc,cv:qu";
+    /** Whether the ledger and the module validators verify the block transactions concurrently*/
+    private boolean txVerifyParallel = true;
+    /** secp256k1 signature backend: bc(BouncyCastle signer), precomputed(cached public key precomputation tables)*/
+    private String signatureBackend = "precomputed";
+    /** Number of transactions whose verified signatures are remembered, 0 disables the cache*/
+    private int txSignatureCacheSize = 100000;
+    /** Verified signature cache hit rate report interval(second)*/
+    private int txSignatureCacheReportInterval = 300;
 
     /*-------------------------[Protocol]-----------------------------*/
 
@@ -105,9 +117,19 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
      * Centralized Network Service Interface
      */
     private String timeServers;
+    /**
+     * Queue length of each message cmd processed in the same process, when it is full the network thread processes the message by itself
+     */
+    private int localMsgQueueSize = 2000;
+    /**
+     * Bytes of block synchronization messages of one peer waiting to be processed in the same process(MB), when it is full the peer's connection stops reading until half of it is processed
+     */
+    private int localMsgPeerQueueSize = 16;
     /*-------------------------[Ledger]-----------------------------*/
     private int unconfirmedTxExpired;
     private int assetRegDestroyAmount = 200;
+    /** Confirmed account state cache limit of each chain(MB)*/
+    private int accountStateCacheSize = 256;
 
     /*-------------------------[CrossChain]-----------------------------*/
 
@@ -179,6 +201,31 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
      * Rollback to specified height
      */
     private int rollbackHeight;
+
+    /**
+     * Whether the synchronized blocks are verified(merkle hash, header signature)by the worker threads before they are saved in order
+     */
+    private boolean syncPreVerify = true;
+
+    /**
+     * Number of synchronized block verification threads, 0 uses the number of processors
+     */
+    private int syncVerifyThreads = 0;
+
+    /**
+     * Number of synchronized blocks waiting for verification, when it is full the receiving thread verifies by itself
+     */
+    private int syncVerifyQueueSize = 1000;
+
+    /**
+     * How many heights the download can be ahead of the local latest height
+     */
+    private int syncDownloadAheadHeight = 2000;
+
+    /**
+     * Synchronization throughput report interval(second)
+     */
+    private int syncReportInterval = 30;
     /*-------------------------[Account]-----------------------------*/
     /**
      * key store Storage folder
@@ -204,6 +251,45 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
     private int maxCoinToOfCoinbase;
     private long minRewardHeight;
 
+    /**
+     * Number of vote signature verification threads, 0 uses the number of processors
+     */
+    private int voteVerifyThreads = 0;
+
+    /**
+     * Maximum number of votes taken out of the vote queue and verified together
+     */
+    private int voteVerifyBatchSize = 200;
+
+    /**
+     * Vote verification throughput report interval(second)
+     */
+    private int voteReportInterval = 60;
+
+    public int getVoteVerifyThreads() {
+        return voteVerifyThreads;
+    }
+
+    public void setVoteVerifyThreads(int voteVerifyThreads) {
+        this.voteVerifyThreads = voteVerifyThreads;
+    }
+
+    public int getVoteVerifyBatchSize() {
+        return voteVerifyBatchSize;
+    }
+
+    public void setVoteVerifyBatchSize(int voteVerifyBatchSize) {
+        this.voteVerifyBatchSize = voteVerifyBatchSize;
+    }
+
+    public int getVoteReportInterval() {
+        return voteReportInterval;
+    }
+
+    public void setVoteReportInterval(int voteReportInterval) {
+        this.voteReportInterval = voteReportInterval;
+    }
+
     public int getMainChainCommissionRatio() {
         return mainChainCommissionRatio;
     }
@@ -312,6 +398,54 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
         return unconfirmedTxExpireSec;
     }
 
+    public boolean isTxVerifyParallel() {
+        return txVerifyParallel;
+    }
+
+    public void setTxVerifyParallel(boolean txVerifyParallel) {
+        this.txVerifyParallel = txVerifyParallel;
+    }
+
+    public boolean isTxCommitParallel() {
+        return txCommitParallel;
+    }
+
+    public void setTxCommitParallel(boolean txCommitParallel) {
+        this.txCommitParallel = txCommitParallel;
+    }
+
+    public String getTxCommitDependencies() {
+        return txCommitDependencies;
+    }
+
+    public int getTxSignatureCacheSize() {
+        return txSignatureCacheSize;
+    }
+
+    public void setTxSignatureCacheSize(int txSignatureCacheSize) {
+        this.txSignatureCacheSize = txSignatureCacheSize;
+    }
+
+    public int getTxSignatureCacheReportInterval() {
+        return txSignatureCacheReportInterval;
+    }
+
+    public void setTxSignatureCacheReportInterval(int txSignatureCacheReportInterval) {
+        this.txSignatureCacheReportInterval = txSignatureCacheReportInterval;
+    }
+
+    public String getSignatureBackend() {
+        return signatureBackend;
+    }
+
+    public void setSignatureBackend(String signatureBackend) {
+        this.signatureBackend = signatureBackend;
+    }
+
+    public void setTxCommitDependencies(String txCommitDependencies) {
+        this.txCommitDependencies = txCommitDependencies;
+    }
+
     public void setUnconfirmedTxExpireSec(long unconfirmedTxExpireSec) {
         this.unconfirmedTxExpireSec = unconfirmedTxExpireSec;
     }
@@ -564,6 +698,14 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
         this.assetRegDestroyAmount = assetRegDestroyAmount;
     }
 
+    public int getAccountStateCacheSize() {
+        return accountStateCacheSize;
+    }
+
+    public void setAccountStateCacheSize(int accountStateCacheSize) {
+        this.accountStateCacheSize = accountStateCacheSize;
+    }
+
     public int getCrossCtxType() {
         return crossCtxType;
     }
@@ -684,6 +826,22 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
         this.testAutoRollbackAmount = testAutoRollbackAmount;
     }
 
+    public int getLocalMsgQueueSize() {
+        return localMsgQueueSize;
+    }
+
+    public void setLocalMsgQueueSize(int localMsgQueueSize) {
+        this.localMsgQueueSize = localMsgQueueSize;
+    }
+
+    public int getLocalMsgPeerQueueSize() {
+        return localMsgPeerQueueSize;
+    }
+
+    public void setLocalMsgPeerQueueSize(int localMsgPeerQueueSize) {
+        this.localMsgPeerQueueSize = localMsgPeerQueueSize;
+    }
+
     public int getRollbackHeight() {
         return rollbackHeight;
     }
@@ -692,6 +850,46 @@ public class NerveCoreConfig extends ConfigBean implements ModuleConfig {
         this.rollbackHeight = rollbackHeight;
     }
 
+    public boolean isSyncPreVerify() {
+        return syncPreVerify;
+    }
+
+    public void setSyncPreVerify(boolean syncPreVerify) {
+        this.syncPreVerify = syncPreVerify;
+    }
+
+    public int getSyncVerifyThreads() {
+        return syncVerifyThreads;
+    }
+
+    public void setSyncVerifyThreads(int syncVerifyThreads) {
+        this.syncVerifyThreads = syncVerifyThreads;
+    }
+
+    public int getSyncVerifyQueueSize() {
+        return syncVerifyQueueSize;
+    }
+
+    public void setSyncVerifyQueueSize(int syncVerifyQueueSize) {
+        this.syncVerifyQueueSize = syncVerifyQueueSize;
+    }
+
+    public int getSyncDownloadAheadHeight() {
+        return syncDownloadAheadHeight;
+    }
+
+    public void setSyncDownloadAheadHeight(int syncDownloadAheadHeight) {
+        this.syncDownloadAheadHeight = syncDownloadAheadHeight;
+    }
+
+    public int getSyncReportInterval() {
+        return syncReportInterval;
+    }
+
+    public void setSyncReportInterval(int syncReportInterval) {
+        this.syncReportInterval = syncReportInterval;
+    }
+
     public String getKeystoreFolder() {
         return keystoreFolder;
     }
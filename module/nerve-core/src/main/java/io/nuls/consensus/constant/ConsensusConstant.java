@@ -107,6 +107,11 @@ public interface ConsensusConstant {
 
     String SEPARATOR = "_";
 
+    /**
+     * False positive rate of the duplicate filters of consensus messages, a false positive drops a new vote
+     */
+    double DUPLICATE_FILTER_FALSE_POSITIVE_RATE = 0.000000001;
+
     String SEED_NODE_SEPARATOR = ",";
 
     /**
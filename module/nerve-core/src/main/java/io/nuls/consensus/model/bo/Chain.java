@@ -72,6 +72,11 @@ public class Chain {
      */
     private List<Deposit> depositList;
 
+    /**
+     * Entrusted information indexed by height, used by the settlement of consensus rewards
+     */
+    private final DepositIndex depositIndex = new DepositIndex();
+
     /**
      * Yellow Card List
      * Yellow punish list
@@ -221,6 +226,10 @@ public class Chain {
         this.depositList = depositList;
     }
 
+    public DepositIndex getDepositIndex() {
+        return depositIndex;
+    }
+
     public List<PunishLogPo> getYellowPunishList() {
         return yellowPunishList;
     }
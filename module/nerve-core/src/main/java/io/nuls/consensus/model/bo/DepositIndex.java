@@ -0,0 +1,94 @@
+package io.nuls.consensus.model.bo;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.consensus.model.po.DepositPo;
+
+import java.util.*;
+
+/**
+ * Entrusted information of the chain indexed by height, the same records as the deposit table
+ * The records are kept as they were saved: deposits which have not exited by their block height,
+ * exited deposits by their exit height, so that a settlement only visits the deposits effective at its height.
+ * <p>
+ * Updated by the deposit manager together with the deposit table
+ */
+public class DepositIndex {
+
+    private final Map<NulsHash, DepositPo> deposits = new HashMap<>();
+
+    /**
+     * Deposits which have not exited, by block height
+     */
+    private final NavigableMap<Long, Map<NulsHash, DepositPo>> activeDeposits = new TreeMap<>();
+
+    /**
+     * Exited deposits, by exit height
+     */
+    private final NavigableMap<Long, Map<NulsHash, DepositPo>> exitedDeposits = new TreeMap<>();
+
+    /**
+     * Add or replace the record of the deposit
+     */
+    public synchronized void put(DepositPo po) {
+        remove(po.getTxHash());
+        deposits.put(po.getTxHash(), po);
+        if (po.getDelHeight() == -1) {
+            activeDeposits.computeIfAbsent(po.getBlockHeight(), k -> new HashMap<>()).put(po.getTxHash(), po);
+        } else {
+            exitedDeposits.computeIfAbsent(po.getDelHeight(), k -> new HashMap<>()).put(po.getTxHash(), po);
+        }
+    }
+
+    public synchronized void remove(NulsHash txHash) {
+        DepositPo po = deposits.remove(txHash);
+        if (po == null) {
+            return;
+        }
+        if (po.getDelHeight() == -1) {
+            remove(activeDeposits, po.getBlockHeight(), txHash);
+        } else {
+            remove(exitedDeposits, po.getDelHeight(), txHash);
+        }
+    }
+
+    private void remove(NavigableMap<Long, Map<NulsHash, DepositPo>> index, long height, NulsHash txHash) {
+        Map<NulsHash, DepositPo> map = index.get(height);
+        if (map != null) {
+            map.remove(txHash);
+            if (map.isEmpty()) {
+                index.remove(height);
+            }
+        }
+    }
+
+    /**
+     * Deposits made at or below the block height which had not exited at the end height
+     *
+     * @param maxBlockHeight Highest block height of the deposits
+     * @param endHeight      The deposits exited at or below this height are excluded
+     */
+    public synchronized List<DepositPo> getEffectiveDeposits(long maxBlockHeight, long endHeight) {
+        List<DepositPo> list = new ArrayList<>();
+        for (Map<NulsHash, DepositPo> map : activeDeposits.headMap(maxBlockHeight, true).values()) {
+            list.addAll(map.values());
+        }
+        for (Map<NulsHash, DepositPo> map : exitedDeposits.tailMap(endHeight, false).values()) {
+            for (DepositPo po : map.values()) {
+                if (po.getBlockHeight() <= maxBlockHeight) {
+                    list.add(po);
+                }
+            }
+        }
+        return list;
+    }
+
+    public synchronized void clear() {
+        deposits.clear();
+        activeDeposits.clear();
+        exitedDeposits.clear();
+    }
+
+    public synchronized int size() {
+        return deposits.size();
+    }
+}
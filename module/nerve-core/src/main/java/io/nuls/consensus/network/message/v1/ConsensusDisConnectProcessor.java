@@ -30,15 +30,13 @@ import io.nuls.consensus.network.service.NetworkService;
 import io.nuls.consensus.utils.manager.ChainManager;
 import io.nuls.consensus.model.bo.Chain;
 import io.nuls.consensus.network.model.message.ConsensusIdentitiesMsg;
+import io.nuls.consensus.constant.ConsensusConstant;
 import io.nuls.base.RPCUtil;
-import io.nuls.base.data.NulsHash;
 import io.nuls.base.protocol.MessageProcessor;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
-import io.nuls.core.crypto.HexUtil;
+import io.nuls.core.model.DuplicateFilter;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -52,10 +50,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ConsensusDisConnectProcessor implements MessageProcessor {
     @Autowired
     private ChainManager chainManager;
-    Map<String, Integer> MSG_HASH_MAP = new ConcurrentHashMap<>();
-    int WARNING_HASH_SIZE = 1000;
-    int MAX_HASH_SIZE = 1200;
-    Map<String, Integer> MSG_HASH_MAP_TEMP = new ConcurrentHashMap<>();
+    private DuplicateFilter duplicateProcessor = new DuplicateFilter(1000, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
     @Autowired
     ConsensusNetService consensusNetService;
     @Autowired
@@ -66,29 +61,8 @@ public class ConsensusDisConnectProcessor implements MessageProcessor {
         return NetworkCmdConstant.POC_DIS_CONN_MESSAGE;
     }
 
-    public String getLast8ByteByNulsHash(NulsHash hash) {
-        byte[] out = new byte[8];
-        byte[] in = hash.getBytes();
-        int copyEnd = in.length;
-        System.arraycopy(in, (copyEnd - 8), out, 0, 8);
-        return HexUtil.encode(out);
-    }
-
     public boolean duplicateMsg(ConsensusIdentitiesMsg message) {
-        String simpleHash = getLast8ByteByNulsHash(message.getMsgHash());
-        if (null != MSG_HASH_MAP.get(simpleHash)) {
-            return true;
-        }
-        if (MSG_HASH_MAP.size() > MAX_HASH_SIZE) {
-            MSG_HASH_MAP.clear();
-            MSG_HASH_MAP.putAll(MSG_HASH_MAP_TEMP);
-            MSG_HASH_MAP_TEMP.clear();
-        }
-        if (MSG_HASH_MAP.size() > WARNING_HASH_SIZE) {
-            MSG_HASH_MAP_TEMP.put(simpleHash, 1);
-        }
-        MSG_HASH_MAP.put(simpleHash, 1);
-        return false;
+        return !duplicateProcessor.insertAndCheck(message.getMsgHash().getBytes());
     }
 
     @Override
@@ -26,15 +26,14 @@ package io.nuls.consensus.network.message.v1;
 
 import io.nuls.consensus.network.constant.NetworkCmdConstant;
 import io.nuls.consensus.utils.manager.ChainManager;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.core.model.DuplicateFilter;
 import io.nuls.consensus.model.bo.Chain;
 import io.nuls.consensus.network.model.message.ConsensusShareMsg;
 import io.nuls.base.RPCUtil;
-import io.nuls.base.data.NulsHash;
 import io.nuls.base.protocol.MessageProcessor;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
-import io.nuls.core.crypto.HexUtil;
 
 
 /**
@@ -49,25 +48,15 @@ public class ConsensusShareProcessor implements MessageProcessor {
     @Autowired
     private ChainManager chainManager;
 
-    private HashSetDuplicateProcessor<String> duplicateProcessor = new HashSetDuplicateProcessor<>(128);
+    private DuplicateFilter duplicateProcessor = new DuplicateFilter(128, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
 
     @Override
     public String getCmd() {
         return NetworkCmdConstant.POC_SHARE_MESSAGE;
     }
 
-    public String getLast8ByteByNulsHash(NulsHash hash) {
-        byte[] out = new byte[8];
-        byte[] in = hash.getBytes();
-        int copyEnd = in.length;
-        System.arraycopy(in, (copyEnd - 8), out, 0, 8);
-        return HexUtil.encode(out);
-    }
-
     public boolean duplicateMsg(ConsensusShareMsg message) {
-        String simpleHash = getLast8ByteByNulsHash(message.getMsgHash());
-
-        return !duplicateProcessor.insertAndCheck(simpleHash);
+        return !duplicateProcessor.insertAndCheck(message.getMsgHash().getBytes());
     }
 
     @Override
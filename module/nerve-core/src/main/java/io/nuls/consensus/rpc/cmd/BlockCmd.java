@@ -45,7 +45,7 @@ public class BlockCmd extends BaseCmd {
     /**
      * Verify block correctness
      * */
-    @CmdAnnotation(cmd = CMD_VALID_BLOCK, priority = CmdPriority.HIGH, version = 1.0, description = "Verify Block/verify block correctness")
+    @CmdAnnotation(cmd = CMD_VALID_BLOCK, priority = CmdPriority.HIGH, version = 1.0, localDirect = true, description = "Verify Block/verify block correctness")
     @Parameter(parameterName = PARAM_CHAIN_ID, requestType = @TypeDescriptor(value = int.class), parameterDes = "chainid")
     @Parameter(parameterName = PARAM_DOWN_LOAD, requestType = @TypeDescriptor(value = int.class), parameterDes = "Block status")
     @Parameter(parameterName = PARAM_BLOCK, parameterType = "String", parameterDes = "Block information")
@@ -25,6 +25,7 @@ import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.rpc.model.message.Response;
 import io.nuls.consensus.constant.CommandConstant;
 import io.nuls.consensus.constant.ConsensusErrorCode;
+import io.nuls.core.rpc.info.Constants;
 import io.nuls.consensus.v1.message.VoteResultMessage;
 import org.bouncycastle.util.encoders.Hex;
 
@@ -155,8 +156,10 @@ public class BlockServiceImpl implements BlockService {
             return Result.getFailed(ConsensusErrorCode.PARAM_ERROR);
         }
 
+        //In-process call, the block object is passed by the block module
+        Block blockObj = (Block) params.remove(Constants.BLOCK_OBJ);
         ValidBlockDTO dto = JSONUtils.map2pojo(params, ValidBlockDTO.class);
-        if (dto.getChainId() <= MIN_VALUE || dto.getBlock() == null) {
+        if (dto.getChainId() <= MIN_VALUE || (dto.getBlock() == null && blockObj == null)) {
             Log.info("Parameter error：param_error");
             return Result.getFailed(ConsensusErrorCode.PARAM_ERROR);
         }
@@ -169,15 +172,17 @@ public class BlockServiceImpl implements BlockService {
         /*
          * 0In block downloading,1Received the latest block
          * */
-        String blockHex = dto.getBlock();
         Map<String, Object> validResult = new HashMap<>(2);
         validResult.put(PARAM_RESULT_VALUE, false);
-        Block block = new Block();
-        try {
-            block.parse(new NulsByteBuffer(RPCUtil.decode(blockHex)));
-        } catch (NulsException e) {
-            chain.getLogger().error(e);
-            return Result.getFailed(e.getErrorCode()).setData(validResult);
+        Block block = blockObj;
+        if (block == null) {
+            block = new Block();
+            try {
+                block.parse(new NulsByteBuffer(RPCUtil.decode(dto.getBlock())));
+            } catch (NulsException e) {
+                chain.getLogger().error(e);
+                return Result.getFailed(e.getErrorCode()).setData(validResult);
+            }
         }
 
 //        chain.getLogger().info("{}-basic:{},pbft:{}", block.getHeader().getHeight(), dto.isBasicVerify(), dto.isByzantineVerify());
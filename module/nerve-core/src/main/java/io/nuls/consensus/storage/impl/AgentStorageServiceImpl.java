@@ -5,7 +5,6 @@ import io.nuls.consensus.constant.ConsensusConstant;
 import io.nuls.consensus.storage.AgentStorageService;
 import io.nuls.base.data.NulsHash;
 import io.nuls.core.core.annotation.Component;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
@@ -75,26 +74,39 @@ public class AgentStorageServiceImpl implements AgentStorageService {
 
     @Override
     public List<AgentPo> getList(int chainID) throws NulsException {
-            List<Entry<byte[], byte[]>> list = RocksDBService.entryList(ConsensusConstant.DB_NAME_AGENT+ConsensusConstant.SEPARATOR +chainID);
+            String table = ConsensusConstant.DB_NAME_AGENT + ConsensusConstant.SEPARATOR + chainID;
             List<AgentPo> agentList = new ArrayList<>();
-            if(list != null && !list.isEmpty()){
-                for (Entry<byte[], byte[]> entry:list) {
+            if (!RocksDBService.existTable(table)) {
+                return agentList;
+            }
+            try {
+                RocksDBService.iterate(table, (key, value) -> {
                     AgentPo po = new AgentPo();
-                    po.parse(entry.getValue(),0);
-                    NulsHash hash = new NulsHash(entry.getKey());
-                    po.setHash(hash);
-                    agentList.add(po);
-                }
+                    po.parse(value, 0);
+                    po.setHash(new NulsHash(key));
+                    return agentList.add(po);
+                });
+            } catch (NulsException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new NulsException(e);
             }
             return  agentList;
     }
 
     @Override
     public int size(int chainID) {
-        List<byte[]> keyList = RocksDBService.keyList(ConsensusConstant.DB_NAME_AGENT+ConsensusConstant.SEPARATOR +chainID);
-        if(keyList != null){
-            return keyList.size();
+        String table = ConsensusConstant.DB_NAME_AGENT + ConsensusConstant.SEPARATOR + chainID;
+        if (!RocksDBService.existTable(table)) {
+            return 0;
+        }
+        int[] size = new int[1];
+        try {
+            RocksDBService.iterateKeys(table, key -> ++size[0] > 0);
+        } catch (Exception e) {
+            Log.error(e);
+            return 0;
         }
-        return 0;
+        return size[0];
     }
 }
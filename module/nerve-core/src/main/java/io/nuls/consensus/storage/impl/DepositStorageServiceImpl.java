@@ -5,7 +5,6 @@ import io.nuls.consensus.model.po.DepositPo;
 import io.nuls.consensus.storage.DepositStorageService;
 import io.nuls.base.data.NulsHash;
 import io.nuls.core.core.annotation.Component;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
@@ -74,26 +73,39 @@ public class DepositStorageServiceImpl implements DepositStorageService {
 
     @Override
     public List<DepositPo> getList(int chainID) throws NulsException {
-        List<Entry<byte[], byte[]>> list = RocksDBService.entryList(ConsensusConstant.DB_NAME_DEPOSIT+ConsensusConstant.SEPARATOR  + chainID);
+        String table = ConsensusConstant.DB_NAME_DEPOSIT + ConsensusConstant.SEPARATOR + chainID;
         List<DepositPo> depositList = new ArrayList<>();
-        if(list != null && !list.isEmpty()){
-            for (Entry<byte[], byte[]> entry : list) {
+        if (!RocksDBService.existTable(table)) {
+            return depositList;
+        }
+        try {
+            RocksDBService.iterate(table, (key, value) -> {
                 DepositPo po = new DepositPo();
-                po.parse(entry.getValue(), 0);
-                NulsHash hash = new NulsHash(entry.getKey());
-                po.setTxHash(hash);
-                depositList.add(po);
-            }
+                po.parse(value, 0);
+                po.setTxHash(new NulsHash(key));
+                return depositList.add(po);
+            });
+        } catch (NulsException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NulsException(e);
         }
         return depositList;
     }
 
     @Override
     public int size(int chainID) {
-        List<byte[]> keyList = RocksDBService.keyList(ConsensusConstant.DB_NAME_DEPOSIT+ConsensusConstant.SEPARATOR  + chainID);
-        if (keyList != null) {
-            return keyList.size();
+        String table = ConsensusConstant.DB_NAME_DEPOSIT + ConsensusConstant.SEPARATOR + chainID;
+        if (!RocksDBService.existTable(table)) {
+            return 0;
+        }
+        int[] size = new int[1];
+        try {
+            RocksDBService.iterateKeys(table, key -> ++size[0] > 0);
+        } catch (Exception e) {
+            Log.error(e);
+            return 0;
         }
-        return 0;
+        return size[0];
     }
 }
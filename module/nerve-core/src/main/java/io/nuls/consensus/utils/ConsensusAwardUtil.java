@@ -86,7 +86,18 @@ public class ConsensusAwardUtil {
         }
         double price = CallMethodUtils.getRealAmount(chainId, stackingAsset.getOracleKey(), date);
         double nervePrice = CallMethodUtils.getRealAmount(chainId, ConsensusConstant.DEFALT_KEY, date);
+        return getRealAmount(amount, stackingAsset, price, nervePrice);
+    }
 
+    /**
+     * Calculate the corresponding quantityNVT with the prices obtained from the pricing system
+     *
+     * @param amount     quantity
+     * @param price      Price of the asset
+     * @param nervePrice Price ofNVT
+     * @return Corresponding quantityNVT
+     */
+    public static BigDecimal getRealAmount(BigDecimal amount, StackingAsset stackingAsset, double price, double nervePrice) {
         BigDecimal realAmount = DoubleUtils.div(amount, Math.pow(10, stackingAsset.getDecimal()));
         BigDecimal nvtVal = DoubleUtils.div(DoubleUtils.mul(realAmount, price), new BigDecimal(nervePrice));
         return DoubleUtils.mul(nvtVal, Math.pow(10, 8));
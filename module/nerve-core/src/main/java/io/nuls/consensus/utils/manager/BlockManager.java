@@ -81,6 +81,7 @@ public class BlockManager {
         roundController.switchPackingIndex(receiveExtendsData.getRoundIndex(), receiveExtendsData.getRoundStartTime(),
                 receiveExtendsData.getPackingIndexOfRound() + 1, blockHeader.getTime() + chain.getConfig().getPackingInterval());
 
+        blockHeader.detach();
         chain.getBlockHeaderList().add(blockHeader);
         chain.setBestHeader(blockHeader);
         chain.getLogger().info("Block save, with a height of：" + blockHeader.getHeight() + " , txCount: " + blockHeader.getTxCount() + ",The latest local block height is：" + chain.getBestHeader().getHeight() + ", Round:" + receiveExtendsData.getRoundIndex() + "\n\n");
@@ -8,6 +8,7 @@ import io.nuls.consensus.model.bo.Chain;
 import io.nuls.consensus.model.bo.StackingAsset;
 import io.nuls.consensus.model.bo.tx.txdata.Deposit;
 import io.nuls.consensus.model.po.DepositPo;
+import io.nuls.consensus.rpc.call.CallMethodUtils;
 import io.nuls.consensus.storage.DepositStorageService;
 import io.nuls.consensus.utils.ConsensusAwardUtil;
 import io.nuls.consensus.utils.compare.DepositComparator;
@@ -19,9 +20,8 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.model.DoubleUtils;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Entrusted information management class, responsible for entrusted information related processing
@@ -56,6 +56,10 @@ public class DepositManager {
         }
         allDepositList.sort(new DepositComparator());
         chain.setDepositList(allDepositList);
+        chain.getDepositIndex().clear();
+        for (DepositPo po : poList) {
+            chain.getDepositIndex().put(po);
+        }
     }
 
     /**
@@ -66,10 +70,12 @@ public class DepositManager {
      * @param deposit deposit info
      */
     public boolean addDeposit(Chain chain, Deposit deposit) {
-        if (!depositStorageService.save(new DepositPo(deposit), chain.getConfig().getChainId())) {
+        DepositPo po = new DepositPo(deposit);
+        if (!depositStorageService.save(po, chain.getConfig().getChainId())) {
             chain.getLogger().error("Data save error!");
             return false;
         }
+        chain.getDepositIndex().put(po);
         chain.getDepositList().add(deposit);
         return true;
     }
@@ -82,10 +88,12 @@ public class DepositManager {
      * @param deposit deposit info
      */
     public boolean updateDeposit(Chain chain, Deposit deposit) {
-        if (!depositStorageService.save(new DepositPo(deposit), chain.getChainId())) {
+        DepositPo po = new DepositPo(deposit);
+        if (!depositStorageService.save(po, chain.getChainId())) {
             chain.getLogger().error("Data save error!");
             return false;
         }
+        chain.getDepositIndex().put(po);
         for (Deposit oldDeposit : chain.getDepositList()) {
             if (oldDeposit.getTxHash().equals(deposit.getTxHash())) {
                 oldDeposit.setDelHeight(deposit.getDelHeight());
@@ -107,6 +115,7 @@ public class DepositManager {
             chain.getLogger().error("Data save error!");
             return false;
         }
+        chain.getDepositIndex().remove(txHash);
         chain.getDepositList().removeIf(s -> s.getTxHash().equals(txHash));
         return true;
     }
@@ -137,63 +146,78 @@ public class DepositManager {
      * @param date        Calculated based on the feeding rate on that day
      */
     public BigDecimal getDepositByHeight(Chain chain, long startHeight, long endHeight, Map<String, BigDecimal> depositMap, BigDecimal totalAmount, String date) throws NulsException {
-        BigDecimal realAmount;
-        String address;
-        List<DepositPo> depositList;
         long depositLockEndTime = Integer.parseInt(date) * ConsensusConstant.ONE_DAY_SECONDS + ConsensusConstant.ONE_DAY_SECONDS + ConsensusConstant.ONE_DAY_SECONDS / 2;
-        try {
-            //There cannot be cached data here, as there may be new data inserted midway
-            depositList = depositStorageService.getList(chain.getConfig().getChainId());
-        } catch (NulsException e) {
-            chain.getLogger().error(e);
-            return totalAmount;
+        //Effective delegation, the delegation height must be smaller than the specified height and the exit delegation height must be greater than the specified height
+        long maxBlockHeight = endHeight;
+        if (endHeight > chain.getConfig().getDepositAwardChangeHeight()) {
+            maxBlockHeight = Math.min(startHeight, endHeight);
         }
-        if (depositList == null || depositList.isEmpty()) {
+        List<DepositPo> depositList = chain.getDepositIndex().getEffectiveDeposits(maxBlockHeight, endHeight);
+        if (depositList.isEmpty()) {
             return totalAmount;
         }
+        Map<String, Double> priceMap = getPrices(chain, depositList, date, endHeight);
+        //The deposits are calculated independently, the sums of the amounts do not depend on the order
+        boolean isLogDebug = chain.getLogger().isDebugEnabled();
+        Map<String, BigDecimal> amountMap = depositList.parallelStream().collect(Collectors.toMap(
+                deposit -> AddressTool.getStringAddressByBytes(deposit.getAddress()),
+                deposit -> {
+                    BigDecimal realAmount = calcDepositBase(chain, deposit, priceMap, depositLockEndTime, endHeight);
+                    if (isLogDebug) {
+                        chain.getLogger().debug("{}-{}-{}-{}-real:{}", AddressTool.getStringAddressByBytes(deposit.getAddress()),
+                                deposit.getAssetChainId(), deposit.getAssetId(), deposit.getDeposit(), realAmount);
+                    }
+                    return realAmount;
+                },
+                BigDecimal::add));
+        for (Map.Entry<String, BigDecimal> entry : amountMap.entrySet()) {
+            totalAmount = totalAmount.add(entry.getValue());
+            depositMap.merge(entry.getKey(), entry.getValue(), (oldValue, value) -> oldValue.add(value));
+        }
+        chain.getLogger().info("Effective deposits: {}, accounts: {}, total: {}", depositList.size(), amountMap.size(), totalAmount.toString());
+        return totalAmount;
+    }
+
+    /**
+     * Obtain the prices of the entrusted assets on the settlement date from the pricing system, each oracle key is queried once
+     *
+     * @param chain       Chain information
+     * @param depositList Effective delegation
+     * @param date        Settlement date
+     * @return oracle key - price
+     */
+    private Map<String, Double> getPrices(Chain chain, List<DepositPo> depositList, String date, long endHeight) throws NulsException {
+        Map<String, Double> priceMap = new HashMap<>(ConsensusConstant.INIT_CAPACITY_16);
+        Set<String> assetSet = new HashSet<>();
         for (DepositPo deposit : depositList) {
-            //Effective delegation, the delegation height must be smaller than the specified height and the exit delegation height must be greater than the specified height
-            if (deposit.getBlockHeight() > endHeight) {
+            if (deposit.getAssetChainId() == chain.getChainId() && deposit.getAssetId() == chain.getAssetId()) {
                 continue;
             }
-            if (deposit.getDelHeight() != -1 && deposit.getDelHeight() <= endHeight) {
+            if (!assetSet.add(deposit.getAssetChainId() + "-" + deposit.getAssetId())) {
                 continue;
             }
-            if (endHeight > chain.getConfig().getDepositAwardChangeHeight() && deposit.getBlockHeight() > startHeight) {
+            StackingAsset stackingAsset = chainManager.getAssetByAsset(deposit.getAssetChainId(), deposit.getAssetId());
+            if (stackingAsset.getStopHeight() != 0 && stackingAsset.getStopHeight() < endHeight) {
                 continue;
             }
-            StringBuilder ss = new StringBuilder();
-            ss.append(AddressTool.getStringAddressByBytes(deposit.getAddress()));
-            ss.append("-");
-            ss.append(deposit.getAssetChainId());
-            ss.append("-");
-            ss.append(deposit.getAssetId());
-            ss.append("-");
-            ss.append(deposit.getDeposit().toString());
-            realAmount = calcDepositBase(chain, deposit, date, depositLockEndTime, endHeight);
-            ss.append("-real:");
-            ss.append(realAmount.toString());
-            totalAmount = totalAmount.add(realAmount);
-
-            ss.append("-total:");
-            ss.append(totalAmount.toString());
-
-            address = AddressTool.getStringAddressByBytes(deposit.getAddress());
-            chain.getLogger().info(ss.toString());
-            depositMap.merge(address, realAmount, (oldValue, value) -> oldValue.add(value));
+            if (!priceMap.containsKey(stackingAsset.getOracleKey())) {
+                priceMap.put(stackingAsset.getOracleKey(), CallMethodUtils.getRealAmount(chain.getChainId(), stackingAsset.getOracleKey(), date));
+            }
+            if (!priceMap.containsKey(ConsensusConstant.DEFALT_KEY)) {
+                priceMap.put(ConsensusConstant.DEFALT_KEY, CallMethodUtils.getRealAmount(chain.getChainId(), ConsensusConstant.DEFALT_KEY, date));
+            }
         }
-        return totalAmount;
+        return priceMap;
     }
 
-
     /**
      * Calculate the actual corresponding commissionNVT
      *
-     * @param chain   Chain information
-     * @param deposit Entrustment information
-     * @@param date        Settlement date
+     * @param chain    Chain information
+     * @param deposit  Entrustment information
+     * @param priceMap Prices of the settlement date
      */
-    private BigDecimal calcDepositBase(Chain chain, DepositPo deposit, String date, long time, long endHeight) throws NulsException {
+    private BigDecimal calcDepositBase(Chain chain, DepositPo deposit, Map<String, Double> priceMap, long time, long endHeight) {
         BigDecimal realDeposit = new BigDecimal(deposit.getDeposit());
         double weightSqrt = 1;
         //If the entrusted asset is the main asset of this chain, multiply it by the corresponding base number
@@ -205,7 +229,7 @@ public class DepositManager {
                 //Expired assets will no longer receive returns
                 return BigDecimal.ZERO;
             } else {
-                realDeposit = ConsensusAwardUtil.getRealAmount(chain.getChainId(), realDeposit, stackingAsset, date);
+                realDeposit = ConsensusAwardUtil.getRealAmount(realDeposit, stackingAsset, priceMap.get(stackingAsset.getOracleKey()), priceMap.get(ConsensusConstant.DEFALT_KEY));
                 weightSqrt = chain.getConfig().getWeight(deposit.getAssetChainId(), deposit.getAssetId());
                 //Liquidity Plan Special Handling Code
 //            if (deposit.getAssetChainId() == chain.getChainId() && (deposit.getAssetId() == 32 || deposit.getAssetId() == 33) && config.getV1_7_0Height() > endHeight && endHeight < config.getV1_7_0Height() + 30 * 43200) {
@@ -50,12 +50,14 @@ public class BlockValidator {
      */
     public void validate(Chain chain, Block block, boolean settleConsensusAward) throws NulsException, IOException {
         BlockHeader blockHeader = block.getHeader();
+        //The merkle hash and the signature of a synchronized block have been verified by the block module in the same process
+        boolean preVerified = block.isPreVerified();
         //Verify Merkle Hash
-        if (!blockHeader.getMerkleHash().equals(NulsHash.calcMerkleHash(block.getTxHashList()))) {
+        if (!preVerified && !blockHeader.getMerkleHash().equals(NulsHash.calcMerkleHash(block.getTxHashList()))) {
             throw new NulsException(ConsensusErrorCode.MERKEL_HASH_ERROR);
         }
         //Block header signature verification
-        if (blockHeader.getBlockSignature().verifySignature(blockHeader.getHash()).isFailed()) {
+        if (!preVerified && blockHeader.getBlockSignature().verifySignature(blockHeader.getHash()).isFailed()) {
             chain.getLogger().error("Block Header Verification Error!");
             throw new NulsException(ConsensusErrorCode.SIGNATURE_ERROR);
         }
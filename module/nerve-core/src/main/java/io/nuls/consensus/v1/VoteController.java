@@ -10,7 +10,7 @@ import io.nuls.consensus.v1.entity.BasicObject;
 import io.nuls.consensus.v1.entity.BestBlocksVotingContainer;
 import io.nuls.consensus.v1.entity.VoteStageResult;
 import io.nuls.consensus.v1.entity.VoteSummaryData;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.core.model.DuplicateFilter;
 import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.exception.NulsException;
 import io.nuls.consensus.constant.CommandConstant;
@@ -74,7 +74,7 @@ public class VoteController extends BasicObject {
         }
     }
 
-    private HashSetDuplicateProcessor<String> duplicateProcessor = new HashSetDuplicateProcessor<>(100);
+    private DuplicateFilter duplicateProcessor = new DuplicateFilter(100, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
 
     /**
      * Broadcast voting messages
@@ -2,7 +2,8 @@ package io.nuls.consensus.v1.cache;
 
 import io.nuls.base.data.NulsHash;
 import io.nuls.consensus.v1.entity.*;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.core.model.DuplicateFilter;
 import io.nuls.consensus.v1.message.VoteResultMessage;
 
 import java.util.*;
@@ -68,9 +69,9 @@ public class ConsensusCache {
     /**
      * Message deduplication
      */
-    private HashSetDuplicateProcessor<String> msgDuplicateProcessor = new HashSetDuplicateProcessor<>(2048);
+    private DuplicateFilter msgDuplicateProcessor = new DuplicateFilter(2048, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
 
-    public HashSetDuplicateProcessor<String> getMsgDuplicateProcessor() {
+    public DuplicateFilter getMsgDuplicateProcessor() {
         return msgDuplicateProcessor;
     }
 
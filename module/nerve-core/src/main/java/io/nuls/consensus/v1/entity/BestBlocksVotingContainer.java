@@ -5,7 +5,8 @@ import io.nuls.base.data.BlockHeader;
 import io.nuls.base.data.NulsHash;
 import io.nuls.consensus.model.bo.Chain;
 import io.nuls.consensus.v1.message.VoteMessage;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.core.model.DuplicateFilter;
 
 import java.util.*;
 import java.util.concurrent.locks.Lock;
@@ -19,11 +20,11 @@ public class BestBlocksVotingContainer {
     /**
      * Voted records
      */
-    private HashSetDuplicateProcessor<String> localStage1VotedRecorder = new HashSetDuplicateProcessor<>(1024);
+    private DuplicateFilter localStage1VotedRecorder = new DuplicateFilter(1024, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
     /**
      * Obtained result record
      */
-    private HashSetDuplicateProcessor<String> stage1ResultRecorder = new HashSetDuplicateProcessor<>(1024);
+    private DuplicateFilter stage1ResultRecorder = new DuplicateFilter(1024, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
 
     private long currentHeight;
     private int currentVoteRoundIndex;
@@ -110,12 +111,12 @@ public class BestBlocksVotingContainer {
         return this.map.containsKey(blockHash);
     }
 
-    public HashSetDuplicateProcessor<String> getLocalStage1VotedRecorder() {
+    public DuplicateFilter getLocalStage1VotedRecorder() {
         return localStage1VotedRecorder;
     }
 
 
-    public HashSetDuplicateProcessor<String> getStage1ResultRecorder() {
+    public DuplicateFilter getStage1ResultRecorder() {
         return stage1ResultRecorder;
     }
 
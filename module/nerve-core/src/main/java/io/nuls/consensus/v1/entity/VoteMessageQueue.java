@@ -3,6 +3,7 @@ package io.nuls.consensus.v1.entity;
 import io.nuls.core.log.Log;
 import io.nuls.consensus.v1.message.VoteMessage;
 
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
@@ -32,6 +33,14 @@ public class VoteMessageQueue {
         return this.voteMessageQueue.take();
     }
 
+    /**
+     * Wait for a vote, then take out the votes in the queue together, at most maxSize votes
+     */
+    public int drainTo(List<VoteMessage> list, int maxSize) throws InterruptedException {
+        list.add(this.voteMessageQueue.take());
+        return 1 + this.voteMessageQueue.drainTo(list, maxSize - 1);
+    }
+
     public int size() {
         return voteMessageQueue.size();
     }
@@ -1,7 +1,8 @@
 package io.nuls.consensus.v1.entity;
 
 import io.nuls.core.log.Log;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.core.model.DuplicateFilter;
 
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -14,7 +15,7 @@ public class VoteResultStageTwoQueue {
     /**
      * Voting result deduplication
      */
-    private HashSetDuplicateProcessor<String> duplicateProcessor = new HashSetDuplicateProcessor<>(1024);
+    private DuplicateFilter duplicateProcessor = new DuplicateFilter(1024, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
     /**
      * All results from the second stage are submitted here
      */
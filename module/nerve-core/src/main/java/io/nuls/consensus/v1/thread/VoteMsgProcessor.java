@@ -2,29 +2,68 @@ package io.nuls.consensus.v1.thread;
 
 import io.nuls.base.basic.AddressTool;
 import io.nuls.base.signture.BlockSignature;
+import io.nuls.common.NerveCoreConfig;
+import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.core.model.ByteArrayWrapper;
 import io.nuls.core.rpc.util.NulsDateUtils;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.consensus.constant.CommandConstant;
 import io.nuls.consensus.model.bo.tx.txdata.Agent;
 import io.nuls.consensus.v1.entity.BasicRunnable;
+import io.nuls.consensus.v1.entity.VoteMessageQueue;
 import io.nuls.consensus.v1.message.VoteMessage;
 import io.nuls.consensus.model.bo.Chain;
 import io.nuls.consensus.utils.ConsensusNetUtil;
 import io.nuls.consensus.v1.VoteController;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Through the processing here, releasevoteHandlerThread occupancy of
+ * The votes are taken out of the queue in batches, the signatures of a batch are verified by the worker threads,
+ * and the verified votes are processed in the order of the queue
  *
  * @author Eva
  */
 public class VoteMsgProcessor extends BasicRunnable {
     private final VoteController controller;
 
+    private final int batchSize;
+    private final int verifyThreads;
+    private final ThreadPoolExecutor verifyExecutor;
+    private final long reportInterval;
+
+    /**
+     * Packing addresses of the valid agents and the seed nodes, rebuilt when the latest block or the agent list changes
+     */
+    private Set<ByteArrayWrapper> packingAddressSet = new HashSet<>();
+    private long packingAddressHeight = -1;
+    private int packingAddressAgentCount = -1;
+
+    private final List<VoteMessage> batch = new ArrayList<>();
+    private final List<VoteMessage> accepted = new ArrayList<>();
+    private final List<BlockSignature> signatures = new ArrayList<>();
+
+    private long verifiedCount;
+    private long discardedCount;
+    private long lastReportTime = System.currentTimeMillis();
 
     public VoteMsgProcessor(Chain chain, VoteController voteController) {
         super(chain);
         this.controller = voteController;
+        NerveCoreConfig config = SpringLiteContext.getBean(NerveCoreConfig.class);
+        this.batchSize = Math.max(config.getVoteVerifyBatchSize(), 1);
+        this.verifyThreads = config.getVoteVerifyThreads() > 0 ? config.getVoteVerifyThreads() : Runtime.getRuntime().availableProcessors();
+        this.verifyExecutor = verifyThreads > 1 ? ThreadUtils.createThreadPool(verifyThreads, verifyThreads, new NulsThreadFactory("vote-verify" + chain.getChainId())) : null;
+        this.reportInterval = config.getVoteReportInterval() * 1000L;
     }
 
 
@@ -37,32 +76,78 @@ public class VoteMsgProcessor extends BasicRunnable {
                 log.error(e);
             }
         }
+        if (verifyExecutor != null) {
+            verifyExecutor.shutdown();
+        }
         chain.getLogger().warn("Voting Stop Processing!!!!");
     }
 
     private void doit() throws Exception {
-        VoteMessage vote = chain.getConsensusCache().getVoteMessageQueue().take();
+        VoteMessageQueue queue = chain.getConsensusCache().getVoteMessageQueue();
+        batch.clear();
+        accepted.clear();
+        signatures.clear();
+        queue.drainTo(batch, batchSize);
+        try {
+            for (VoteMessage vote : batch) {
+                if (!tryPreCheck(vote)) {
+                    discardedCount++;
+                    vote.clear();
+                }
+            }
+            boolean[] results = verify();
+            for (int i = 0; i < accepted.size(); i++) {
+                VoteMessage vote = accepted.get(i);
+                if (results[i]) {
+                    process(vote);
+                } else {
+                    //Incorrect signature
+                    discardedCount++;
+                    log.info("Incorrect signature, discard：" + vote.getHeight() + "={},from:{},val={}", vote.getBlockHash().toHex(), vote.getAddress(chain), signatures.get(i).getSignData().toString());
+                }
+                vote.clear();
+            }
+        } finally {
+            report(queue);
+        }
+    }
+
+    /**
+     * A malformed vote from a peer only discards itself, not the rest of the batch
+     */
+    private boolean tryPreCheck(VoteMessage vote) {
+        try {
+            return preCheck(vote);
+        } catch (Exception e) {
+            chain.getLogger().info("Discard, invalid vote from:{}, {}", vote.getSendNode(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks before the signature verification, they are done in the order of the queue
+     *
+     * @return Whether the vote is waiting for the signature verification
+     */
+    private boolean preCheck(VoteMessage vote) throws Exception {
         if (!chain.isConsonsusNode()) {
             chain.getLogger().info("Discard, local is not a consensus node");
-            vote.clear();
-            return;
+            return false;
         }
         if (vote.getSign() == null) {
             chain.getLogger().info("Discard, no signature");
             //Signature is empty
-            vote.clear();
-            return;
+            return false;
         }
         if (vote.getHeight() <= chain.getBestHeader().getHeight()) {
-            vote.clear();
-            return;
+            return false;
         }
         //Local voting
         if (vote.getSendNode() == null) {
-            this.controller.addVote(vote);
             chain.getConsensusCache().getMsgDuplicateProcessor().insertAndCheck(vote.getMessageKey());
-            vote.clear();
-            return;
+            accepted.add(vote);
+            signatures.add(null);
+            return true;
         }
         BlockSignature signature = new BlockSignature();
         signature.parse(vote.getSign(), 0);
@@ -71,57 +156,113 @@ public class VoteMsgProcessor extends BasicRunnable {
 
         if (!chain.getConsensusCache().getMsgDuplicateProcessor().insertAndCheck(vote.getMessageKey())) {
             //Repeated voting
-//                log.info("Voting duplicate, discard：" + vote.getHeight() + "-{}-{}-{}:{},from:{}", vote.getRoundIndex(),
-//                        vote.getPackingIndexOfRound(), vote.getVoteRoundIndex(), vote.getBlockHash().toHex(), vote.getAddress(chain));
-            vote.clear();
-            return;
+            return false;
         }
 
         if (vote.getRoundIndex() < chain.getConsensusCache().getLastConfirmedRoundIndex() ||
                 (vote.getRoundIndex() == chain.getConsensusCache().getLastConfirmedRoundIndex() && vote.getPackingIndexOfRound() < chain.getConsensusCache().getLastConfirmedRoundPackingIndex())) {
-            vote.clear();
-            return;
+            return false;
         }
 
-        if (!chain.getSeedAddressList().contains(vote.getAddress(chain))) {
-            boolean result = false;
-            for (Agent agent : chain.getAgentList()) {
-                if (agent.getDelHeight() > 0) {
-                    continue;
-                }
-                if (Arrays.equals(agent.getPackingAddress(), addressBytes)) {
-                    result = true;
-                    break;
-                }
-            }
-            if (!result) {
-                //Do not accept voting from non nodes
-                log.info("Voting signature address is not a node, discard：" + vote.getHeight() + "={},from:{}", vote.getBlockHash().toHex(), vote.getAddress(chain));
-                vote.clear();
-                return;
+        if (!getPackingAddressSet().contains(new ByteArrayWrapper(addressBytes))) {
+            //Do not accept voting from non nodes
+            log.info("Voting signature address is not a node, discard：" + vote.getHeight() + "={},from:{}", vote.getBlockHash().toHex(), vote.getAddress(chain));
+            return false;
+        }
+        accepted.add(vote);
+        signatures.add(signature);
+        return true;
+    }
+
+    /**
+     * Verify the signatures of the accepted votes, the votes are split among the worker threads,
+     * the votes of a failed task stay unverified
+     */
+    private boolean[] verify() throws Exception {
+        boolean[] results = new boolean[accepted.size()];
+        int tasks = verifyExecutor == null ? 1 : Math.min(verifyThreads, accepted.size());
+        if (tasks <= 1) {
+            verify(results, 0, 1);
+            return results;
+        }
+        List<Callable<Void>> list = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int start = i;
+            list.add(() -> {
+                verify(results, start, tasks);
+                return null;
+            });
+        }
+        for (Future<Void> future : verifyExecutor.invokeAll(list)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error(e.getCause());
             }
         }
+        return results;
+    }
 
-        boolean result = signature.verifySignature(vote.getHash()).isSuccess();
-        if (!result) {
-            //Incorrect signature
-            log.info("Incorrect signature, discard：" + vote.getHeight() + "={},from:{},val={}", vote.getBlockHash().toHex(), vote.getAddress(chain), signature.getSignData().toString());
-            vote.clear();
-            return;
+    private void verify(boolean[] results, int start, int step) {
+        for (int i = start; i < results.length; i += step) {
+            BlockSignature signature = signatures.get(i);
+            try {
+                //Local votes are not verified
+                results[i] = signature == null || signature.verifySignature(accepted.get(i).getHash()).isSuccess();
+            } catch (Exception e) {
+                results[i] = false;
+            }
         }
+    }
+
+    private void process(VoteMessage vote) {
         //Process voting
         this.controller.addVote(vote);
+        if (vote.getSendNode() == null) {
+            return;
+        }
+        verifiedCount++;
 
         if (vote.getRoundStartTime() + chain.getConfig().getPackingInterval() * vote.getPackingIndexOfRound() < NulsDateUtils.getCurrentTimeSeconds() - 120) {
             chain.getLogger().info("===========Do not forward messages anymore,Current queue：{}", chain.getConsensusCache().getVoteMessageQueue().size());
-            vote.clear();
             return;
         }
 
         //Broadcast received voting information--asynchronous
-//            chain.getLogger().info("===========Passing voting messages to other nodes");
         ConsensusNetUtil.broadcastInConsensusHalf(chain.getChainId(), CommandConstant.MESSAGE_VOTE, vote.getRawData(), vote.getSendNode());
-        vote.clear();
     }
 
+    private Set<ByteArrayWrapper> getPackingAddressSet() {
+        long height = chain.getBestHeader().getHeight();
+        if (height == packingAddressHeight && chain.getAgentList().size() == packingAddressAgentCount) {
+            return packingAddressSet;
+        }
+        List<Agent> agentList = new ArrayList<>(chain.getAgentList());
+        Set<ByteArrayWrapper> set = new HashSet<>();
+        for (Agent agent : agentList) {
+            if (agent.getDelHeight() > 0) {
+                continue;
+            }
+            set.add(new ByteArrayWrapper(agent.getPackingAddress()));
+        }
+        for (String address : chain.getSeedAddressList()) {
+            set.add(new ByteArrayWrapper(AddressTool.getAddress(address)));
+        }
+        this.packingAddressSet = set;
+        this.packingAddressHeight = height;
+        this.packingAddressAgentCount = agentList.size();
+        return set;
+    }
+
+    private void report(VoteMessageQueue queue) {
+        long now = System.currentTimeMillis();
+        long useTime = now - lastReportTime;
+        if (reportInterval <= 0 || useTime < reportInterval) {
+            return;
+        }
+        log.info("Vote verification, queue:{}, verified:{}/s, discarded:{}", queue.size(), verifiedCount * 1000 / useTime, discardedCount);
+        verifiedCount = 0;
+        discardedCount = 0;
+        lastReportTime = now;
+    }
 }
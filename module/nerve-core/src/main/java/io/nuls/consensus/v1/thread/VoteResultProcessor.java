@@ -13,7 +13,7 @@ import io.nuls.consensus.v1.RoundController;
 import io.nuls.consensus.v1.entity.BasicRunnable;
 import io.nuls.consensus.v1.entity.VoteStageResult;
 import io.nuls.consensus.v1.message.VoteResultMessage;
-import io.nuls.consensus.v1.utils.HashSetDuplicateProcessor;
+import io.nuls.core.model.DuplicateFilter;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -25,7 +25,7 @@ public class VoteResultProcessor extends BasicRunnable {
 
     private RoundController roundController;
 
-    private HashSetDuplicateProcessor<NulsHash> duplicateProcessor = new HashSetDuplicateProcessor<>(1024);
+    private DuplicateFilter duplicateProcessor = new DuplicateFilter(1024, ConsensusConstant.DUPLICATE_FILTER_FALSE_POSITIVE_RATE);
 
     public VoteResultProcessor(Chain chain) {
         super(chain);
@@ -90,7 +90,7 @@ public class VoteResultProcessor extends BasicRunnable {
             return;
         }
 
-        if (!duplicateProcessor.insertAndCheck(resultMessage.getBlockHash())) {
+        if (!duplicateProcessor.insertAndCheck(resultMessage.getBlockHash().getBytes())) {
             //Just one processing here is enough
             return;
         }
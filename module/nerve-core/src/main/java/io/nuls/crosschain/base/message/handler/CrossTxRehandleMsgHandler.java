@@ -10,13 +10,13 @@ import io.nuls.base.api.provider.transaction.TransferService;
 import io.nuls.base.api.provider.transaction.facade.GetConfirmedTxByHashReq;
 import io.nuls.base.data.Transaction;
 import io.nuls.base.protocol.MessageProcessor;
-import io.nuls.block.utils.HashSetDuplicateProcessor;
 import io.nuls.core.constant.TxStatusEnum;
 import io.nuls.core.constant.TxType;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.log.Log;
+import io.nuls.core.model.DuplicateFilter;
 import io.nuls.crosschain.base.constant.CommandConstant;
 import io.nuls.crosschain.base.message.CrossTxRehandleMessage;
 import io.nuls.crosschain.model.bo.Chain;
@@ -37,7 +37,7 @@ import java.io.IOException;
 @Component("CrossTxRehandleMsgHandlerV1")
 public class CrossTxRehandleMsgHandler implements MessageProcessor {
 
-    private static HashSetDuplicateProcessor processorOfTx = new HashSetDuplicateProcessor(1000);
+    private static DuplicateFilter processorOfTx = new DuplicateFilter(1000);
 
     @Autowired
     private CtxStatusService ctxStatusService;
@@ -60,9 +60,9 @@ public class CrossTxRehandleMsgHandler implements MessageProcessor {
     }
 
     public void process(int chainId, CrossTxRehandleMessage message){
-        String messageHash;
+        byte[] messageHash;
         try {
-            messageHash = HexUtil.encode(message.serialize());
+            messageHash = message.serialize();
         } catch (IOException e) {
             Log.error("Parsing messagesCrossTxRehandleMessageMessage exception occurred");
             return ;
@@ -92,6 +92,10 @@ public interface CmdConstant {
      * Obtain a set of information containing unconfirmed transactions
      */
     String CMD_GET_BALANCE_LIST = "getBalanceList";
+    /**
+     * Confirmed account state cache statistics
+     */
+    String CMD_GET_ACCOUNT_STATE_CACHE_INFO = "lg_get_account_state_cache_info";
     /**
      * Obtain accountnoncevalue
      */
@@ -47,6 +47,7 @@ import io.nuls.ledger.model.po.sub.FreezeHeightState;
 import io.nuls.ledger.model.po.sub.FreezeLockTimeState;
 import io.nuls.ledger.service.AccountStateService;
 import io.nuls.ledger.service.UnconfirmedStateService;
+import io.nuls.ledger.storage.Repository;
 import io.nuls.ledger.utils.LedgerUtil;
 import io.nuls.ledger.utils.LoggerUtil;
 
@@ -73,6 +74,8 @@ public class AccountStateCmd extends BaseLedgerCmd {
     private AccountStateService accountStateService;
     @Autowired
     private UnconfirmedStateService unconfirmedStateService;
+    @Autowired
+    private Repository repository;
 
     /**
      * Obtain account asset balance
@@ -408,4 +411,27 @@ public class AccountStateCmd extends BaseLedgerCmd {
         return success(res);
     }
 
+    @CmdAnnotation(cmd = CmdConstant.CMD_GET_ACCOUNT_STATE_CACHE_INFO, version = 1.0,
+            description = "Confirmed account state cache statistics")
+    @Parameters(value = {
+            @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterValidRange = "[1-65535]", parameterDes = "Running ChainId,Value range[1-65535]")
+    })
+    @ResponseData(name = "Return value", description = "Return aMapobject",
+            responseType = @TypeDescriptor(value = Map.class, mapKeys = {
+                    @Key(name = "size", valueType = Integer.class, description = "Number of cached account states"),
+                    @Key(name = "weight", valueType = Long.class, description = "Estimated memory of cached account states(byte)"),
+                    @Key(name = "maxWeight", valueType = Long.class, description = "Memory limit of the cache(byte)"),
+                    @Key(name = "hits", valueType = Long.class, description = "Cache hits"),
+                    @Key(name = "misses", valueType = Long.class, description = "Cache misses"),
+                    @Key(name = "evictions", valueType = Long.class, description = "Evicted account states")
+            })
+    )
+    public Response getAccountStateCacheInfo(Map params) {
+        Integer chainId = (Integer) params.get("chainId");
+        if (!chainHanlder(chainId)) {
+            return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
+        }
+        return success(repository.getAccountStateCacheInfo(chainId));
+    }
+
 }
@@ -29,6 +29,7 @@ import io.nuls.core.rpc.model.NerveCoreCmd;
 import io.nuls.base.data.Transaction;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.*;
 import io.nuls.core.rpc.model.message.Response;
 import io.nuls.ledger.constant.CmdConstant;
@@ -176,7 +177,7 @@ public class LedgerTxCmd extends BaseLedgerCmd {
      * @param params
      * @return
      */
-    @CmdAnnotation(cmd = CmdConstant.CMD_COMMIT_BLOCK_TXS, priority = CmdPriority.HIGH, version = 1.0,
+    @CmdAnnotation(cmd = CmdConstant.CMD_COMMIT_BLOCK_TXS, priority = CmdPriority.HIGH, version = 1.0, localDirect = true,
             description = "Submit block")
     @Parameters(value = {
             @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterValidRange = "[1-65535]", parameterDes = "Running ChainId,Value range[1-65535]"),
@@ -196,19 +197,25 @@ public class LedgerTxCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         long blockHeight = Long.valueOf(params.get("blockHeight").toString());
-        List<String> txStrList = (List) params.get("txList");
-        LoggerUtil.logger(chainId).info("commitBlockTxs chainId={},blockHeight={},txs={}", chainId, blockHeight, txStrList.size());
-        if (null == txStrList || 0 == txStrList.size()) {
+        List<Transaction> txList = (List<Transaction>) params.get(Constants.TX_OBJ_LIST);
+        if (null == txList) {
+            List<String> txStrList = (List) params.get("txList");
+            if (null == txStrList || 0 == txStrList.size()) {
+                LoggerUtil.logger(chainId).error("txList is blank");
+                return failed("txList is blank");
+            }
+            txList = new ArrayList<>();
+            Response parseResponse = parseTxs(txStrList, txList, chainId);
+            if (!parseResponse.isSuccess()) {
+                LoggerUtil.logger(chainId).debug("commitBlockTxs response={}", parseResponse);
+                return parseResponse;
+            }
+        } else if (txList.isEmpty()) {
             LoggerUtil.logger(chainId).error("txList is blank");
             return failed("txList is blank");
         }
+        LoggerUtil.logger(chainId).info("commitBlockTxs chainId={},blockHeight={},txs={}", chainId, blockHeight, txList.size());
         boolean value = false;
-        List<Transaction> txList = new ArrayList<>();
-        Response parseResponse = parseTxs(txStrList, txList, chainId);
-        if (!parseResponse.isSuccess()) {
-            LoggerUtil.logger(chainId).debug("commitBlockTxs response={}", parseResponse);
-            return parseResponse;
-        }
         if (transactionService.confirmBlockProcess(chainId, txList, blockHeight)) {
             value = true;
         }
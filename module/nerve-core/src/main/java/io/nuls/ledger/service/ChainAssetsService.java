@@ -25,6 +25,8 @@
  */
 package io.nuls.ledger.service;
 
+import io.nuls.core.rockdb.service.UnitOfWork;
+
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +39,8 @@ public interface ChainAssetsService {
 
     void updateChainAssets(int addressChainid, Map<String, List<String>> assetAddressIndex);
 
+    void updateChainAssets(int addressChainid, Map<String, List<String>> assetAddressIndex, UnitOfWork unitOfWork) throws Exception;
+
 //    List<Map<String, Object>> getAssetsByChainId(int addressChainId);
 
 //    Map<String, Object> getAssetByChainAssetId(int addressChainid, int chainAssetId, int assetId);
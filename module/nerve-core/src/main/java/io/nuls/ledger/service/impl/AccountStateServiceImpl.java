@@ -112,12 +112,12 @@ public class AccountStateServiceImpl implements AccountStateService {
      */
     @Override
     public AccountState getAccountState(String address, int addressChainId, int assetChainId, int assetId) {
-        //Attempting to cache and retrieve
-        AccountState accountState = repository.getAccountStateByMemory(addressChainId, LedgerUtil.getKeyStr(address, assetChainId, assetId));
+        //Attempting to cache and retrieve, the caller only reads the state so the cached object is returned without copying
+        byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
+        AccountState accountState = repository.getSharedAccountStateByMemory(addressChainId, key);
         if (null != accountState) {
             return accountState;
         }
-        byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
         accountState = repository.getAccountState(addressChainId, key);
         if (null == accountState) {
             accountState = new AccountState(LedgerConstant.getInitNonceByte());
@@ -135,11 +135,11 @@ public class AccountStateServiceImpl implements AccountStateService {
     @Override
     public AccountState getAccountStateReCal(String address, int addressChainId, int assetChainId, int assetId) {
         //Attempting to cache and retrieve
-        AccountState accountState = repository.getAccountStateByMemory(addressChainId, LedgerUtil.getKeyStr(address, assetChainId, assetId));
+        byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
+        AccountState accountState = repository.getAccountStateByMemory(addressChainId, key);
 
         if (null == accountState) {
             //Account processing lock
-            byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
             accountState = repository.getAccountState(addressChainId, key);
             if (null == accountState) {
                 accountState = new AccountState(LedgerConstant.getInitNonceByte());
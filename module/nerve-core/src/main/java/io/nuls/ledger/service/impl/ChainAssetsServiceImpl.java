@@ -27,6 +27,7 @@ package io.nuls.ledger.service.impl;
 
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.rockdb.service.UnitOfWork;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.service.AccountStateService;
 import io.nuls.ledger.service.ChainAssetsService;
@@ -83,6 +84,14 @@ public class ChainAssetsServiceImpl implements ChainAssetsService {
         }
     }
 
+    @Override
+    public void updateChainAssets(int addressChainid, Map<String, List<String>> assetAddressIndex, UnitOfWork unitOfWork) throws Exception {
+        for (String assetIndex : assetAddressIndex.keySet()) {
+            byte[] indexBytes = assetIndex.getBytes(LedgerConstant.DEFAULT_ENCODING);
+            accountIndexRepository.updateAssetsIndex(addressChainid, indexBytes, indexBytes, unitOfWork);
+        }
+    }
+
 //    @Override
 //    public List<Map<String, Object>> getAssetsByChainId(int addressChainId) {
 //        List<Map<String, Object>> list = new ArrayList<>();
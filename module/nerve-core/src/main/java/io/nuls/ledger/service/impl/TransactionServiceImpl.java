@@ -29,6 +29,8 @@ import io.nuls.base.data.*;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.crypto.HexUtil;
+import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rockdb.service.UnitOfWork;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.constant.LedgerErrorCode;
@@ -279,28 +281,27 @@ public class TransactionServiceImpl implements TransactionService {
                 cleanBlockCommitTempDatas();
                 return false;
             }
-            //Submit overall data
+            //Submit overall data, the asset index, account states, expired snapshot and height of the block are written in one batch
+            UnitOfWork unitOfWork = RocksDBService.createUnitOfWork();
             try {
                 //Backup History
                 //update by zhoulijun Remove snapshot function
 //                repository.saveBlockSnapshot(addressChainId, blockHeight, blockSnapshotAccounts);
                 //Update off chain asset types and asset address collection data.
-                chainAssetsService.updateChainAssets(addressChainId, assetAddressIndex);
+                chainAssetsService.updateChainAssets(addressChainId, assetAddressIndex, unitOfWork);
                 //Update ledger
                 if (accountStatesMap.size() > 0) {
-                    repository.batchUpdateAccountState(addressChainId, accountStatesMap, updateMemAccounts);
+                    repository.batchUpdateAccountState(addressChainId, accountStatesMap, updateMemAccounts, unitOfWork);
                 }
-                for (Map.Entry<String, Integer> entry : clearUncfs.entrySet()) {
-                    //Perform transactions received from other nodes in the network, refresh local unconfirmed data processing
-                    unconfirmedStateService.clearAccountUnconfirmed(addressChainId, entry.getKey());
-                }
-                //Delete unconfirmed transactions for jumps
-                unconfirmedStateService.batchDeleteUnconfirmedTx(addressChainId, delUncfd2CfdKeys);
                 //Delete expired cache data
                 if (blockHeight > LedgerConstant.CACHE_ACCOUNT_BLOCK) {
-                    repository.delBlockSnapshot(addressChainId, (blockHeight - LedgerConstant.CACHE_ACCOUNT_BLOCK));
+                    repository.delBlockSnapshot(addressChainId, (blockHeight - LedgerConstant.CACHE_ACCOUNT_BLOCK), unitOfWork);
                 }
+                //Fully submit,Store the current height.
+                repository.saveOrUpdateBlockHeight(addressChainId, blockHeight, unitOfWork);
+                unitOfWork.commit();
             } catch (Exception e) {
+                unitOfWork.discard();
                 //Need to roll back data
                 cleanBlockCommitTempDatas();
                 logger(addressChainId).error(e);
@@ -308,8 +309,17 @@ public class TransactionServiceImpl implements TransactionService {
                 rollBackBlock(addressChainId, blockSnapshotAccounts.getAccounts(), blockHeight);
                 return false;
             }
-            //Fully submit,Store the current height.
-            repository.saveOrUpdateBlockHeight(addressChainId, blockHeight);
+            //The block has been stored, cleaning the unconfirmed cache no longer affects the result
+            try {
+                for (Map.Entry<String, Integer> entry : clearUncfs.entrySet()) {
+                    //Perform transactions received from other nodes in the network, refresh local unconfirmed data processing
+                    unconfirmedStateService.clearAccountUnconfirmed(addressChainId, entry.getKey());
+                }
+                //Delete unconfirmed transactions for jumps
+                unconfirmedStateService.batchDeleteUnconfirmedTx(addressChainId, delUncfd2CfdKeys);
+            } catch (Exception e) {
+                logger(addressChainId).error("confirmBlockProcess clear unconfirmed error", e);
+            }
             return true;
         } catch (Exception e) {
             LoggerUtil.logger(addressChainId).error("confirmBlockProcess error", e);
@@ -25,6 +25,8 @@
  */
 package io.nuls.ledger.storage;
 
+import io.nuls.core.rockdb.service.UnitOfWork;
+
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +39,8 @@ public interface AccountIndexRepository {
 
     void updateAssetsIndex(int chainId, byte[] key, byte[] value);
 
+    void updateAssetsIndex(int chainId, byte[] key, byte[] value, UnitOfWork unitOfWork) throws Exception;
+
 //    void updateAssetsAddressIndex(int addressChainId, int assetChainId, int assetId, byte[] addressKey, byte[] value);
 
 //    void updateAssetsAddressIndex(int addressChainId, int assetChainId, int assetId, Map<byte[], byte[]> kvs);
@@ -26,6 +26,7 @@
 package io.nuls.ledger.storage;
 
 import io.nuls.core.exception.NulsException;
+import io.nuls.core.rockdb.service.UnitOfWork;
 import io.nuls.ledger.model.ChainHeight;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.BlockSnapshotAccounts;
@@ -52,13 +53,30 @@ public interface Repository {
     AccountState getAccountState(int chainId, byte[] key);
 
     /**
-     * Memory acquisition account balance object
+     * Memory acquisition account balance object, the returned object is a copy and can be modified
      *
      * @param chainId
-     * @param key
+     * @param key     Account asset key in the database
      * @return
      */
-    AccountState getAccountStateByMemory(int chainId, String key);
+    AccountState getAccountStateByMemory(int chainId, byte[] key);
+
+    /**
+     * Memory acquisition account balance object, the returned object is shared by the cache and must not be modified
+     *
+     * @param chainId
+     * @param key     Account asset key in the database
+     * @return
+     */
+    AccountState getSharedAccountStateByMemory(int chainId, byte[] key);
+
+    /**
+     * Confirmed account state cache statistics
+     *
+     * @param chainId
+     * @return size, weight, maxWeight, hits, misses, evictions
+     */
+    Map<String, Object> getAccountStateCacheInfo(int chainId);
 
     /**
      * Batch update of account ledger information
@@ -69,6 +87,17 @@ public interface Repository {
      * @throws Exception
      */
     void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap,Map<String, AccountState> accountStateMemMap) throws Exception;
+
+    /**
+     * Batch update of account ledger information, written when the unit of work is committed
+     *
+     * @param addressChainId
+     * @param accountStateMap
+     * @param accountStateMemMap
+     * @param unitOfWork
+     * @throws Exception
+     */
+    void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<String, AccountState> accountStateMemMap, UnitOfWork unitOfWork) throws Exception;
     void clearAccountStateMem(int addressChainId, Map<String, AccountState> accountStateMemMap) throws Exception;
 
     /**
@@ -80,6 +109,8 @@ public interface Repository {
      */
     void delBlockSnapshot(int chainId, long height) throws Exception;
 
+    void delBlockSnapshot(int chainId, long height, UnitOfWork unitOfWork) throws Exception;
+
     /**
      * Storage block snapshot
      *
@@ -116,6 +147,8 @@ public interface Repository {
      */
     void saveOrUpdateBlockHeight(int chainId, long height);
 
+    void saveOrUpdateBlockHeight(int chainId, long height, UnitOfWork unitOfWork) throws Exception;
+
     /**
      * Get block height object
      *
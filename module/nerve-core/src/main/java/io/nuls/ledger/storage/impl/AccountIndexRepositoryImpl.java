@@ -33,6 +33,7 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.model.ByteUtils;
 import io.nuls.core.rockdb.manager.RocksDBManager;
 import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rockdb.service.UnitOfWork;
 import io.nuls.core.rpc.model.ModuleE;
 import io.nuls.ledger.storage.AccountIndexRepository;
 import io.nuls.ledger.storage.DataBaseArea;
@@ -96,6 +97,11 @@ public class AccountIndexRepositoryImpl implements AccountIndexRepository, Initi
         }
     }
 
+    @Override
+    public void updateAssetsIndex(int addressChainId, byte[] key, byte[] value, UnitOfWork unitOfWork) throws Exception {
+        unitOfWork.put(initAssetsIndexDb(addressChainId), key, value);
+    }
+
 //      @Override
 //    public void updateAssetsAddressIndex(int addressChainId,int assetChainId,int assetId, byte[] addressKey, byte[] value) {
 //        String table = initLedgerAddressIndexDb(addressChainId,assetChainId,assetId);
@@ -0,0 +1,180 @@
+/*-
+ * ⁣⁣
+ * MIT License
+ * ⁣⁣
+ * Copyright (C) 2017 - 2018 nuls.io
+ * ⁣⁣
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ⁣⁣
+ */
+package io.nuls.ledger.storage.impl;
+
+import io.nuls.core.model.ByteArrayWrapper;
+import io.nuls.ledger.model.po.AccountState;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Confirmed account state cache of one chain, bounded by the estimated memory of the cached states.
+ * The key is the binary key of the account asset in the database(address-assetChainId-assetId),
+ * the least recently used states are evicted when the limit is exceeded, they are read from the database again.
+ * Cached states are shared and must not be modified, writers always put a new state object.
+ */
+public class AccountStateCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    /**
+     * Estimated memory of a cached entry without the freeze lists: map entry, key wrapper, nonce, amounts and lists
+     */
+    private static final int BASE_WEIGHT = 320;
+    private static final int FREEZE_STATE_WEIGHT = 120;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountStateCache(long maxWeight) {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(Math.max(1, maxWeight / SEGMENT_COUNT));
+        }
+    }
+
+    private Segment segment(ByteArrayWrapper key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * @return the shared cached state, null if not cached
+     */
+    public AccountState get(byte[] key) {
+        ByteArrayWrapper wrapper = new ByteArrayWrapper(key);
+        AccountState state = segment(wrapper).get(wrapper);
+        if (state == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return state;
+    }
+
+    public void put(byte[] key, AccountState state) {
+        ByteArrayWrapper wrapper = new ByteArrayWrapper(key);
+        evictions.add(segment(wrapper).put(wrapper, state, weigh(key, state)));
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long weight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.weight;
+        }
+        return weight;
+    }
+
+    public long maxWeight() {
+        return segments[0].maxWeight * SEGMENT_COUNT;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    static int weigh(byte[] key, AccountState state) {
+        int freezeCount = state.getFreezeHeightStates().size() + state.getFreezeLockTimeStates().size() + state.getPermanentLockMap().size();
+        return BASE_WEIGHT + key.length + freezeCount * FREEZE_STATE_WEIGHT;
+    }
+
+    private static class Node {
+        private final AccountState state;
+        private final int weight;
+
+        Node(AccountState state, int weight) {
+            this.state = state;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Access ordered map, the eldest entry is the least recently used
+     */
+    private static class Segment {
+        private final long maxWeight;
+        private final LinkedHashMap<ByteArrayWrapper, Node> map = new LinkedHashMap<>(256, 0.75f, true);
+        private volatile long weight;
+
+        Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        synchronized AccountState get(ByteArrayWrapper key) {
+            Node node = map.get(key);
+            return node == null ? null : node.state;
+        }
+
+        synchronized int put(ByteArrayWrapper key, AccountState state, int stateWeight) {
+            Node old = map.put(key, new Node(state, stateWeight));
+            long newWeight = weight + stateWeight - (old == null ? 0 : old.weight);
+            int evicted = 0;
+            Iterator<Map.Entry<ByteArrayWrapper, Node>> iterator = map.entrySet().iterator();
+            while (newWeight > maxWeight && map.size() > 1 && iterator.hasNext()) {
+                Map.Entry<ByteArrayWrapper, Node> eldest = iterator.next();
+                newWeight -= eldest.getValue().weight;
+                iterator.remove();
+                evicted++;
+            }
+            weight = newWeight;
+            return evicted;
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void clear() {
+            map.clear();
+            weight = 0;
+        }
+    }
+}
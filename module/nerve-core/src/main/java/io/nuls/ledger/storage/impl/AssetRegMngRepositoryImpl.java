@@ -190,14 +190,13 @@ public class AssetRegMngRepositoryImpl implements AssetRegMngRepository, Initial
     @Override
     public List<LedgerAsset> getAllRegLedgerAssets(int chainId) throws Exception {
         String assetRegTable = getLedgerAssetRegMngTableName(chainId);
-        List<byte[]> list = RocksDBService.valueList(assetRegTable);
         List<LedgerAsset> rtList = new ArrayList<>();
-        if (null != list) {
-            for (byte[] assetByte : list) {
+        if (RocksDBService.existTable(assetRegTable)) {
+            RocksDBService.iterate(assetRegTable, (key, value) -> {
                 LedgerAsset ledgerAsset = new LedgerAsset();
-                ledgerAsset.parse(assetByte, 0);
-                rtList.add(ledgerAsset);
-            }
+                ledgerAsset.parse(value, 0);
+                return rtList.add(ledgerAsset);
+            });
         }
         return rtList;
     }
@@ -205,23 +204,21 @@ public class AssetRegMngRepositoryImpl implements AssetRegMngRepository, Initial
     @Override
     public int loadDatas(int chainId) throws Exception {
         String assetTable = getLedgerAssetRegMngTableName(chainId);
-        int assetId = 0;
-        List<byte[]> list1 = RocksDBService.keyList(assetTable);
-        if (list1 != null) {
-            for (byte[] key : list1) {
-                int tempAssetId = ByteUtils.bytesToInt(key);
-                if (tempAssetId > assetId) {
-                    assetId = tempAssetId;
-                }
-            }
+        int[] maxAssetId = new int[1];
+        if (RocksDBService.existTable(assetTable)) {
+            RocksDBService.iterateKeys(assetTable, key -> {
+                maxAssetId[0] = Math.max(maxAssetId[0], ByteUtils.bytesToInt(key));
+                return true;
+            });
         }
+        int assetId = maxAssetId[0];
         String assetContractTable = getLedgerAssetRegContractAddrIndexTableName(chainId);
-        List<byte[]> list2 = RocksDBService.valueList(assetContractTable);
-        if (list2 != null) {
-            for (byte[] value : list2) {
+        if (RocksDBService.existTable(assetContractTable)) {
+            RocksDBService.iterate(assetContractTable, (key, value) -> {
                 int addressAssetId = ByteUtils.bytesToInt(value);
                 DB_CONTRACT_ASSETS_IDS_MAP.put(chainId + LedgerConstant.DOWN_LINE + addressAssetId, 1);
-            }
+                return true;
+            });
         }
         return assetId;
     }
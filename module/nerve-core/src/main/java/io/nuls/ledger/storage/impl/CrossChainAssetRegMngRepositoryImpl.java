@@ -134,14 +134,13 @@ public class CrossChainAssetRegMngRepositoryImpl implements CrossChainAssetRegMn
     @Override
     public List<LedgerAsset> getAllCrossChainAssets(int chainId) throws Exception {
         String assetRegTable = getTableName(chainId);
-        List<byte[]> list = RocksDBService.valueList(assetRegTable);
         List<LedgerAsset> rtList = new ArrayList<>();
-        if (null != list) {
-            for (byte[] assetByte : list) {
+        if (RocksDBService.existTable(assetRegTable)) {
+            RocksDBService.iterate(assetRegTable, (key, value) -> {
                 LedgerAsset ledgerAsset = new LedgerAsset();
-                ledgerAsset.parse(assetByte, 0);
-                rtList.add(ledgerAsset);
-            }
+                ledgerAsset.parse(value, 0);
+                return rtList.add(ledgerAsset);
+            });
         }
         return rtList;
     }
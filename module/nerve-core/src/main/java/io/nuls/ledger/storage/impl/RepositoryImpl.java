@@ -34,9 +34,10 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.ByteUtils;
 import io.nuls.core.rockdb.manager.RocksDBManager;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rockdb.service.UnitOfWork;
 import io.nuls.core.rpc.model.ModuleE;
+import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.model.ChainHeight;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.BlockSnapshotAccounts;
@@ -45,6 +46,7 @@ import io.nuls.ledger.storage.Repository;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,9 +64,9 @@ public class RepositoryImpl implements Repository, InitializingBean {
     @Autowired
     private NerveCoreConfig config;
     /**
-     * key1=chainId,  Map1=Confirm account status, key2= addr+assetkey  value=AccountState
+     * key=chainId,  value=Confirm account status cache of the chain, bounded by accountStateCacheSize
      */
-    Map<String, Map<String, AccountState>> memChainsAccounts = new ConcurrentHashMap<>(16);
+    private final Map<Integer, AccountStateCache> memChainsAccounts = new ConcurrentHashMap<>(16);
 
     public RepositoryImpl() {
 
@@ -72,24 +74,37 @@ public class RepositoryImpl implements Repository, InitializingBean {
 
     @Override
     public void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<String, AccountState> accountStateMemMap) throws Exception {
-        if (null == memChainsAccounts.get(String.valueOf(addressChainId))) {
-            memChainsAccounts.put(String.valueOf(addressChainId), new ConcurrentHashMap<>(1024));
-        }
-        if (null != accountStateMemMap) {
-            memChainsAccounts.get(String.valueOf(addressChainId)).putAll(accountStateMemMap);
-        }
+        putAccountStateMem(addressChainId, accountStateMemMap);
         //update account
         RocksDBService.batchPut(getLedgerAccountTableName(addressChainId), accountStateMap);
 
     }
 
+    @Override
+    public void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<String, AccountState> accountStateMemMap, UnitOfWork unitOfWork) throws Exception {
+        putAccountStateMem(addressChainId, accountStateMemMap);
+        unitOfWork.batchPut(getLedgerAccountTableName(addressChainId), accountStateMap);
+    }
+
     @Override
     public void clearAccountStateMem(int addressChainId, Map<String, AccountState> accountStateMemMap) throws Exception {
-        if (null == memChainsAccounts.get(String.valueOf(addressChainId))) {
-            memChainsAccounts.put(String.valueOf(addressChainId), new ConcurrentHashMap<>(1024));
+        putAccountStateMem(addressChainId, accountStateMemMap);
+    }
+
+    private AccountStateCache getAccountStateCache(int chainId) {
+        return memChainsAccounts.computeIfAbsent(chainId, k -> new AccountStateCache(config.getAccountStateCacheSize() * 1024L * 1024L));
+    }
+
+    /**
+     * The states are cached as they are, they must not be modified after being put into the cache
+     */
+    private void putAccountStateMem(int chainId, Map<String, AccountState> accountStateMemMap) throws Exception {
+        if (null == accountStateMemMap) {
+            return;
         }
-        if (null != accountStateMemMap) {
-            memChainsAccounts.get(String.valueOf(addressChainId)).putAll(accountStateMemMap);
+        AccountStateCache cache = getAccountStateCache(chainId);
+        for (Map.Entry<String, AccountState> entry : accountStateMemMap.entrySet()) {
+            cache.put(entry.getKey().getBytes(LedgerConstant.DEFAULT_ENCODING), entry.getValue());
         }
     }
 
@@ -99,6 +114,11 @@ public class RepositoryImpl implements Repository, InitializingBean {
         RocksDBService.delete(getBlockSnapshotTableName(chainId), ByteUtils.longToBytes(height));
     }
 
+    @Override
+    public void delBlockSnapshot(int chainId, long height, UnitOfWork unitOfWork) throws Exception {
+        unitOfWork.delete(getBlockSnapshotTableName(chainId), ByteUtils.longToBytes(height));
+    }
+
     @Override
     public void saveBlockSnapshot(int chainId, long height, BlockSnapshotAccounts blockSnapshotAccounts) throws Exception {
         RocksDBService.put(getBlockSnapshotTableName(chainId), ByteUtils.longToBytes(height), blockSnapshotAccounts.serialize());
@@ -143,25 +163,45 @@ public class RepositoryImpl implements Repository, InitializingBean {
     }
 
     @Override
-    public AccountState getAccountStateByMemory(int chainId, String key) {
+    public AccountState getAccountStateByMemory(int chainId, byte[] key) {
         //Cache has value,Then directly obtain
-        if (null != memChainsAccounts.get(String.valueOf(chainId))) {
-            AccountState accountStateMem = memChainsAccounts.get(String.valueOf(chainId)).get(key);
-            if (null != accountStateMem) {
-                AccountState accountState = new AccountState();
-                System.arraycopy(accountStateMem.getNonce(), 0, accountState.getNonce(), 0, accountStateMem.getNonce().length);
-                accountState.setTotalFromAmount(accountStateMem.getTotalFromAmount());
-                accountState.setTotalToAmount(accountStateMem.getTotalToAmount());
-                accountState.setLatestUnFreezeTime(accountStateMem.getLatestUnFreezeTime());
-                accountState.getFreezeHeightStates().addAll(accountStateMem.getFreezeHeightStates());
-                accountState.getFreezeLockTimeStates().addAll(accountStateMem.getFreezeLockTimeStates());
-                accountState.getPermanentLockMap().putAll(accountStateMem.getPermanentLockMap());
-                return accountState;
-            }
+        AccountState accountStateMem = getSharedAccountStateByMemory(chainId, key);
+        if (null != accountStateMem) {
+            AccountState accountState = new AccountState();
+            System.arraycopy(accountStateMem.getNonce(), 0, accountState.getNonce(), 0, accountStateMem.getNonce().length);
+            accountState.setTotalFromAmount(accountStateMem.getTotalFromAmount());
+            accountState.setTotalToAmount(accountStateMem.getTotalToAmount());
+            accountState.setLatestUnFreezeTime(accountStateMem.getLatestUnFreezeTime());
+            accountState.getFreezeHeightStates().addAll(accountStateMem.getFreezeHeightStates());
+            accountState.getFreezeLockTimeStates().addAll(accountStateMem.getFreezeLockTimeStates());
+            accountState.getPermanentLockMap().putAll(accountStateMem.getPermanentLockMap());
+            return accountState;
         }
         return null;
     }
 
+    @Override
+    public AccountState getSharedAccountStateByMemory(int chainId, byte[] key) {
+        AccountStateCache cache = memChainsAccounts.get(chainId);
+        if (null == cache) {
+            return null;
+        }
+        return cache.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAccountStateCacheInfo(int chainId) {
+        AccountStateCache cache = getAccountStateCache(chainId);
+        Map<String, Object> info = new HashMap<>(8);
+        info.put("size", cache.size());
+        info.put("weight", cache.weight());
+        info.put("maxWeight", cache.maxWeight());
+        info.put("hits", cache.getHits());
+        info.put("misses", cache.getMisses());
+        info.put("evictions", cache.getEvictions());
+        return info;
+    }
+
     @Override
     public long getBlockHeight(int chainId) {
         byte[] stream = RocksDBService.get(getChainsHeightTableName(), ByteUtils.intToBytes(chainId));
@@ -187,18 +227,30 @@ public class RepositoryImpl implements Repository, InitializingBean {
 
     }
 
+    @Override
+    public void saveOrUpdateBlockHeight(int chainId, long height, UnitOfWork unitOfWork) throws Exception {
+        unitOfWork.put(getChainsHeightTableName(), ByteUtils.intToBytes(chainId), ByteUtils.longToBytes(height));
+    }
+
     @Override
     public List<ChainHeight> getChainsBlockHeight() {
-        List<Entry<byte[], byte[]>> list = RocksDBService.entryList(getChainsHeightTableName());
         List<ChainHeight> rtList = new ArrayList<>();
-        if (null == list || 0 == list.size()) {
+        if (!RocksDBService.existTable(getChainsHeightTableName())) {
+            return null;
+        }
+        try {
+            RocksDBService.iterate(getChainsHeightTableName(), (key, value) -> {
+                ChainHeight chainHeight = new ChainHeight();
+                chainHeight.setChainId(ByteUtils.bytesToInt(key));
+                chainHeight.setBlockHeight(ByteUtils.byteToLong(value));
+                return rtList.add(chainHeight);
+            });
+        } catch (Exception e) {
+            Log.error(e);
             return null;
         }
-        for (Entry<byte[], byte[]> entry : list) {
-            ChainHeight chainHeight = new ChainHeight();
-            chainHeight.setChainId(ByteUtils.bytesToInt(entry.getKey()));
-            chainHeight.setBlockHeight(ByteUtils.byteToLong(entry.getValue()));
-            rtList.add(chainHeight);
+        if (rtList.isEmpty()) {
+            return null;
         }
         return rtList;
     }
@@ -78,6 +78,12 @@ public interface NetworkConstant {
      * MinimalPEERQuantity, less than or equal to this value, proportional broadcasting will be cancelled,according to100%Node broadcasting
      */
     int BROADCAST_MIN_PEER_NUMBER = 7;
+    /**
+     * Services of the node announced in the version message, bit flags
+     * The node accepts compact blocks
+     */
+    long SERVICE_COMPACT_BLOCK = 1L;
+    long LOCAL_SERVICES = SERVICE_COMPACT_BLOCK;
     /**
      * ========================================
      * --------[RPC CMD] -------
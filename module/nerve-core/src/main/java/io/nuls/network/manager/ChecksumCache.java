@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.nuls.network.manager;
+
+import io.nuls.core.model.ByteArrayWrapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checksums of the message bodies received recently
+ * A received message forwarded by the modules(transactions, votes)has the same body, its checksum is not hashed again.
+ * The bodies are compared by content, the total size of the cached bodies is limited
+ */
+class ChecksumCache {
+
+    private final long maxBytes;
+    private final int maxBodySize;
+    private final LinkedHashMap<ByteArrayWrapper, Long> map = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    ChecksumCache(long maxBytes, int maxBodySize) {
+        this.maxBytes = maxBytes;
+        this.maxBodySize = maxBodySize;
+    }
+
+    synchronized Long get(byte[] body) {
+        if (body.length > maxBodySize) {
+            return null;
+        }
+        return map.get(new ByteArrayWrapper(body));
+    }
+
+    synchronized void put(byte[] body, long checksum) {
+        if (body.length > maxBodySize) {
+            return;
+        }
+        if (map.put(new ByteArrayWrapper(body), checksum) == null) {
+            bytes += body.length;
+        }
+        Iterator<Map.Entry<ByteArrayWrapper, Long>> iterator = map.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().getKey().getBytes().length;
+            iterator.remove();
+        }
+    }
+}
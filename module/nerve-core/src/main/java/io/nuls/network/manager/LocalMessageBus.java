@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.nuls.network.manager;
+
+import io.netty.channel.Channel;
+import io.nuls.base.protocol.cmd.MessageDispatcher;
+import io.nuls.common.NerveCoreConfig;
+import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
+import io.nuls.network.utils.LoggerUtil;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Messages of the modules in the same process as the network module
+ * The serialized message body is handed to the message processors without hex encoding and rpc serialization.
+ * Each cmd has its own bounded queue and processing thread, so a slow processor does not delay the messages of other cmds,
+ * when the queue of a cmd is full the network thread processes the message by itself, which slows down the reading of the connection.
+ * Block synchronization messages must be processed in the order a peer sent them(blocks before the complete message),
+ * they share one queue per peer bounded by bytes, when it is full the connection of the peer stops reading until half of it is processed,
+ * the network thread never waits, it serves the other connections of its event loop.
+ */
+public class LocalMessageBus {
+
+    private static final LocalMessageBus INSTANCE = new LocalMessageBus();
+
+    /**
+     * Block synchronization cmds processed in the order of each peer
+     */
+    private static final Set<String> ORDERED_CMDS = Set.of("block", "complete");
+
+    private static final int ORDERED_THREAD_COUNT = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private final Map<String, ThreadPoolExecutor> cmdExecutors = new ConcurrentHashMap<>();
+
+    private final Map<String, PeerQueue> peerQueues = new ConcurrentHashMap<>();
+
+    private volatile ThreadPoolExecutor orderedExecutor;
+
+    private long peerQueueBytes;
+
+    private MessageDispatcher dispatcher;
+
+    private LocalMessageBus() {
+
+    }
+
+    public static LocalMessageBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Put the message into the queue of the cmd, or the queue of the peer for block synchronization messages
+     */
+    public void publish(int chainId, String nodeId, Channel channel, String cmd, byte[] messageBody) {
+        if (ORDERED_CMDS.contains(cmd)) {
+            publishOrdered(new LocalMessage(chainId, nodeId, cmd, messageBody), channel);
+            return;
+        }
+        cmdExecutors.computeIfAbsent(cmd, this::createExecutor).execute(() -> dispatch(chainId, nodeId, cmd, messageBody));
+    }
+
+    /**
+     * Number of messages waiting in the queue of each cmd and of each peer
+     */
+    public Map<String, Integer> getQueueSizes() {
+        Map<String, Integer> sizes = new ConcurrentHashMap<>();
+        cmdExecutors.forEach((cmd, executor) -> sizes.put(cmd, executor.getQueue().size()));
+        peerQueues.forEach((nodeId, queue) -> sizes.put(nodeId, queue.size()));
+        return sizes;
+    }
+
+    private void publishOrdered(LocalMessage message, Channel channel) {
+        //A queue that has just been drained is closed, the message goes to a new queue of the peer
+        while (!peerQueues.computeIfAbsent(message.nodeId, PeerQueue::new).offer(message, channel)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void dispatch(int chainId, String nodeId, String cmd, byte[] messageBody) {
+        try {
+            if (!getDispatcher().dispatch(chainId, nodeId, cmd, messageBody)) {
+                LoggerUtil.logger(chainId).warn("cmd={},no local message processor", cmd);
+            }
+        } catch (Exception e) {
+            LoggerUtil.logger(chainId).error("cmd={},process message error", cmd, e);
+        }
+    }
+
+    private MessageDispatcher getDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = SpringLiteContext.getBean(MessageDispatcher.class);
+        }
+        return dispatcher;
+    }
+
+    private ThreadPoolExecutor getOrderedExecutor() {
+        ThreadPoolExecutor executor = orderedExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (this) {
+            if (orderedExecutor == null) {
+                peerQueueBytes = SpringLiteContext.getBean(NerveCoreConfig.class).getLocalMsgPeerQueueSize() * 1024L * 1024L;
+                //Each peer queue has at most one drain task, the task queue is bounded by the number of peers
+                orderedExecutor = ThreadUtils.createThreadPool(ORDERED_THREAD_COUNT, 0, new NulsThreadFactory("nw-msg-ordered"));
+            }
+            return orderedExecutor;
+        }
+    }
+
+    private ThreadPoolExecutor createExecutor(String cmd) {
+        int queueSize = SpringLiteContext.getBean(NerveCoreConfig.class).getLocalMsgQueueSize();
+        ThreadPoolExecutor executor = ThreadUtils.createThreadPool(1, queueSize, new NulsThreadFactory("nw-msg-" + cmd));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    private static final class LocalMessage {
+        private final int chainId;
+        private final String nodeId;
+        private final String cmd;
+        private final byte[] body;
+
+        private LocalMessage(int chainId, String nodeId, String cmd, byte[] body) {
+            this.chainId = chainId;
+            this.nodeId = nodeId;
+            this.cmd = cmd;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Messages of one peer, drained in order by at most one thread at a time.
+     * The queue closes itself and leaves the map when it becomes empty.
+     */
+    private final class PeerQueue implements Runnable {
+        private final String nodeId;
+        private final ArrayDeque<LocalMessage> messages = new ArrayDeque<>();
+        private long bytes;
+        private boolean running;
+        private boolean closed;
+        /**
+         * The connection of the peer, its reading is paused while the queue is over the byte limit
+         */
+        private Channel channel;
+        private boolean paused;
+
+        private PeerQueue(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        /**
+         * Add the message without waiting, the reading of the connection is paused when the queue goes over the byte limit,
+         * the messages already read from the connection are still accepted
+         *
+         * @return false if the queue has been closed, the message must be put into a new queue
+         */
+        private boolean offer(LocalMessage message, Channel channel) {
+            ThreadPoolExecutor executor = getOrderedExecutor();
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                messages.add(message);
+                bytes += message.body.length;
+                if (channel != null) {
+                    this.channel = channel;
+                }
+                if (!paused && bytes > peerQueueBytes && this.channel != null) {
+                    paused = true;
+                    this.channel.config().setAutoRead(false);
+                    LoggerUtil.logger(message.chainId).info("node={},local message queue is full, stop reading", nodeId);
+                }
+                if (!running) {
+                    running = true;
+                    executor.execute(this);
+                }
+                return true;
+            }
+        }
+
+        private synchronized int size() {
+            return messages.size();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                LocalMessage message;
+                synchronized (this) {
+                    message = messages.poll();
+                    if (message == null) {
+                        running = false;
+                        closed = true;
+                        peerQueues.remove(nodeId, this);
+                        return;
+                    }
+                }
+                dispatch(message.chainId, message.nodeId, message.cmd, message.body);
+                synchronized (this) {
+                    bytes -= message.body.length;
+                    if (paused && bytes <= peerQueueBytes / 2) {
+                        paused = false;
+                        channel.config().setAutoRead(true);
+                    }
+                }
+            }
+        }
+    }
+}
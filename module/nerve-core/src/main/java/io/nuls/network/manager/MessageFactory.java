@@ -126,6 +126,7 @@ public class MessageFactory {
             }
             IpAddress addrMe = new IpAddress(networkConfig.getExternalIp(), localPort);
             versionMessageBody.setAddrMe(addrMe);
+            versionMessageBody.setServices(NetworkConstant.LOCAL_SERVICES);
             return new VersionMessage(nodeGroup.getMagicNumber(), NetworkConstant.CMD_MESSAGE_VERSION, versionMessageBody);
         } catch (UnknownHostException e) {
             LoggerUtil.logger(nodeGroup.getChainId()).error(e.getMessage(), e);
@@ -24,14 +24,14 @@
  */
 package io.nuls.network.manager;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.data.BaseNulsData;
-import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.log.Log;
-import io.nuls.core.model.ByteUtils;
 import io.nuls.network.constant.ManagerStatusEnum;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.constant.NetworkErrorCode;
@@ -72,6 +72,11 @@ public class MessageManager extends BaseManager {
 
     private static MessageManager instance = new MessageManager();
 
+    /**
+     * Checksums of the received message bodies that may be forwarded, at most 8MB bodies, bodies larger than 1MB are not cached
+     */
+    private final ChecksumCache checksumCache = new ChecksumCache(8 * 1024 * 1024, 1024 * 1024);
+
     public static MessageManager getInstance() {
         return instance;
     }
@@ -94,9 +99,29 @@ public class MessageManager extends BaseManager {
      * @return long
      */
     public long getCheckSum(byte[] msgBody) {
-        byte[] bodyHash = Sha256Hash.hashTwice(msgBody);
-        byte[] get4Byte = ByteUtils.subBytes(bodyHash, 0, 4);
-        return ByteUtils.bytesToBigInteger(get4Byte).longValue();
+        Long checksum = checksumCache.get(msgBody);
+        if (checksum != null) {
+            return checksum;
+        }
+        return MessageUtil.checksum(msgBody);
+    }
+
+    /**
+     * Build the frame(header + body)of a message, the header is written into the frame directly
+     *
+     * @param cmd         Message command
+     * @param magicNumber Magic number of the network
+     * @param msgBody     Serialized message body
+     * @return frame
+     */
+    public byte[] buildFrame(String cmd, long magicNumber, byte[] msgBody) {
+        MessageHeader header = new MessageHeader(cmd, magicNumber, getCheckSum(msgBody), msgBody.length);
+        byte[] frame = new byte[header.size() + msgBody.length];
+        ByteBuf buf = Unpooled.wrappedBuffer(frame);
+        buf.writerIndex(0);
+        header.writeTo(buf);
+        buf.writeBytes(msgBody);
+        return frame;
     }
 
     private BaseMessage getMessageInstance(String command) {
@@ -125,47 +150,44 @@ public class MessageManager extends BaseManager {
      * @param data entity
      * @return boolean
      */
-    private boolean validate(byte[] data, long pChecksum) {
-        byte[] bodyHash = Sha256Hash.hashTwice(data);
-        byte[] get4Byte = ByteUtils.subBytes(bodyHash, 0, 4);
-        long checksum = ByteUtils.bytesToBigInteger(get4Byte).longValue();
-        return checksum == pChecksum;
+    private boolean validate(ByteBuf body, long pChecksum) {
+        return MessageUtil.checksum(body.nioBuffer()) == pChecksum;
     }
 
-    public void receiveMessage(NulsByteBuffer byteBuffer, Node node) {
-        //Unified message reception and processing
+    /**
+     * Unified message reception and processing
+     * The header is read from the frame in place and the checksum is computed on the frame buffer,
+     * only the message body is copied out of the frame
+     *
+     * @param frame One frame(header + body)split by the frame decoder, it is released by the caller
+     * @param node  Source node
+     */
+    public void receiveMessage(ByteBuf frame, Node node) {
         try {
-            if (null == byteBuffer) {
-                return;
-            }
             MessageHeader header = new MessageHeader();
-            int headerSize = header.size();
-            byte[] payLoad = byteBuffer.getPayload();
-            byte[] payLoadBody = ByteUtils.subBytes(payLoad, headerSize, payLoad.length - headerSize);
-            byte[] headerByte = ByteUtils.copyOf(payLoad, headerSize);
+            header.parse(frame);
             int chainId = NodeGroupManager.getInstance().getChainIdByMagicNum(header.getMagicNumber());
-            header.parse(headerByte, 0);
-            if (!validate(payLoadBody, header.getChecksum())) {
+            if (!validate(frame, header.getChecksum())) {
                 LoggerUtil.logger(chainId).error("validate  false ======================cmd:{}", header.getCommandStr());
                 return;
             }
+            byte[] payLoadBody = new byte[frame.readableBytes()];
+            frame.readBytes(payLoadBody);
             BaseMessage message = MessageManager.getInstance().getMessageInstance(header.getCommandStr());
-            byteBuffer.setCursor(0);
-            while (!byteBuffer.isFinished()) {
-                NetworkEventResult result = null;
-                if (null != message) {
-                    message = byteBuffer.readNulsData(message);
-                    BaseMeesageHandlerInf handler = MessageHandlerFactory.getInstance().getHandler(header.getCommandStr());
-                    result = handler.recieve(message, node);
-                } else {
-                    //External messages, converting to external interfaces
-                    OtherModuleMessageHandler handler = MessageHandlerFactory.getInstance().getOtherModuleHandler();
-                    result = handler.recieve(header, payLoadBody, node);
-                    byteBuffer.setCursor(payLoad.length);
-                }
-                if (!result.isSuccess()) {
-                    LoggerUtil.logger(chainId).error("receiveMessage deal fail:" + result.getErrorCode().getMsg());
-                }
+            NetworkEventResult result;
+            if (null != message) {
+                message.parse(header, new NulsByteBuffer(payLoadBody));
+                BaseMeesageHandlerInf handler = MessageHandlerFactory.getInstance().getHandler(header.getCommandStr());
+                result = handler.recieve(message, node);
+            } else {
+                //The modules may forward the same message body
+                checksumCache.put(payLoadBody, header.getChecksum());
+                //External messages, converting to external interfaces
+                OtherModuleMessageHandler handler = MessageHandlerFactory.getInstance().getOtherModuleHandler();
+                result = handler.recieve(header, payLoadBody, node);
+            }
+            if (!result.isSuccess()) {
+                LoggerUtil.logger(chainId).error("receiveMessage deal fail:" + result.getErrorCode().getMsg());
             }
         } catch (Exception e) {
             Log.error("node={},{}", node.getId(), e);
@@ -364,6 +386,17 @@ public class MessageManager extends BaseManager {
      * @return
      */
     public NetworkEventResult broadcastToNodes(byte[] message, String cmd, List<Node> nodes, boolean asyn, int percent) {
+        //The frame is written into a pooled direct buffer once and shared by all the nodes
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer(message.length);
+        frame.writeBytes(message);
+        try {
+            return broadcastToNodes(frame, message, cmd, nodes, asyn, percent);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private NetworkEventResult broadcastToNodes(ByteBuf frame, byte[] message, String cmd, List<Node> nodes, boolean asyn, int percent) {
         if (nodes.size() > NetworkConstant.BROADCAST_MIN_PEER_NUMBER && percent < NetworkConstant.FULL_BROADCAST_PERCENT) {
             Collections.shuffle(nodes);
             double d = BigDecimal.valueOf(percent).divide(BigDecimal.valueOf(NetworkConstant.FULL_BROADCAST_PERCENT), 2, RoundingMode.HALF_DOWN).doubleValue();
@@ -385,23 +418,25 @@ public class MessageManager extends BaseManager {
                 boolean failed = false;
 
                 if (asyn) {
+                    ByteBuf nodeFrame = frame.retainedDuplicate();
                     node.getChannel().eventLoop().execute(() -> {
                         Channel channel = node.getChannel();
+                        if (channel != null && channel.isWritable()) {
+                            channel.writeAndFlush(nodeFrame);
+                            return;
+                        }
+                        nodeFrame.release();
                         if (channel != null) {
-                            if (!channel.isWritable()) {
-                                if (!MessageUtil.isLowerLeverCmd(cmd)) {
-                                    LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} add to cache", node.getId(), cmd);
-                                    node.getCacheSendMsgQueue().addLast(new PeerCacheMessage(message));
-                                } else {
-                                    LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} send to peer is drop", node.getId(), cmd);
-                                }
+                            if (!MessageUtil.isLowerLeverCmd(cmd)) {
+                                LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} add to cache", node.getId(), cmd);
+                                node.getCacheSendMsgQueue().addLast(new PeerCacheMessage(message));
                             } else {
-                                channel.writeAndFlush(Unpooled.wrappedBuffer(message));
+                                LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} send to peer is drop", node.getId(), cmd);
                             }
                         }
                     });
                 } else {
-                    ChannelFuture future = node.getChannel().writeAndFlush(Unpooled.wrappedBuffer(message));
+                    ChannelFuture future = node.getChannel().writeAndFlush(frame.retainedDuplicate());
                     future.await(2, TimeUnit.SECONDS);
                     boolean success = future.isSuccess();
                     if (!success) {
@@ -30,8 +30,10 @@ import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.CmdPriority;
 import io.nuls.core.rpc.model.message.MessageUtil;
 import io.nuls.core.rpc.model.message.Request;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.common.NerveCoreResponseMessageProcessor;
 import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.manager.LocalMessageBus;
 import io.nuls.network.manager.NodeGroupManager;
 import io.nuls.network.manager.handler.MessageHandlerFactory;
 import io.nuls.network.manager.handler.base.BaseMessageHandler;
@@ -85,19 +87,32 @@ public class OtherModuleMessageHandler extends BaseMessageHandler {
         long magicNum = header.getMagicNumber();
         int chainId = NodeGroupManager.getInstance().getChainIdByMagicNum(magicNum);
         NodeGroup nodeGroup = NodeGroupManager.getInstance().getNodeGroupByChainId(chainId);
-        Map<String, Object> paramMap = new HashMap<>();
-        paramMap.put("chainId", chainId);
-        paramMap.put("nodeId", node.getId());
         String cmd = header.getCommandStr();
-        paramMap.put("cmd", cmd);
-        String messageBody = RPCUtil.encode(payLoadBody);
-        paramMap.put("messageBody", messageBody);
         Map<String, CmdPriority> protocolRoles = MessageHandlerFactory.getInstance().getProtocolRoleHandlerMap(cmd);
         if (protocolRoles == null || protocolRoles.isEmpty()) {
             LoggerUtil.logger(chainId).error("unknown mssages. cmd={},handler may be unRegistered to network.", cmd);
             return NetworkEventResult.getResultSuccess();
         }
+        boolean localPublished = false;
+        Map<String, Object> paramMap = null;
+        String messageBody = null;
         for (Map.Entry<String, CmdPriority> entry : protocolRoles.entrySet()) {
+            if (ResponseMessageProcessor.isLocalRole(entry.getKey())) {
+                //The modules in this process share one message dispatcher, the message is processed once
+                if (!localPublished) {
+                    LocalMessageBus.getInstance().publish(chainId, node.getId(), node.getChannel(), cmd, payLoadBody);
+                    localPublished = true;
+                }
+                continue;
+            }
+            if (paramMap == null) {
+                messageBody = RPCUtil.encode(payLoadBody);
+                paramMap = new HashMap<>();
+                paramMap.put("chainId", chainId);
+                paramMap.put("nodeId", node.getId());
+                paramMap.put("cmd", cmd);
+                paramMap.put("messageBody", messageBody);
+            }
             try {
                 Request request = MessageUtil.newRequest(BaseConstant.MSG_PROCESS, paramMap, Constants.BOOLEAN_FALSE, Constants.ZERO, Constants.ZERO);
                 String result = NerveCoreResponseMessageProcessor.requestOnly(entry.getKey(), request);
@@ -199,7 +199,7 @@ public class VersionMessageHandler extends BaseMessageHandler {
             BusinessGroupManager.getInstance().removeNode(ip);
         });
         //Store the required information,Protocol version information, remote cross chain port information
-        node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash());
+        node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash(), versionBody.getServices());
         //replyversion
         VersionMessage versionMessage = MessageFactory.getInstance().buildVersionMessage(node, message.getHeader().getMagicNumber());
         LoggerUtil.logger(nodeGroup.getChainId()).info("rec node={} ver msg success.go response versionMessage..cross={}", node.getId(), node.isCrossConnect());
@@ -280,7 +280,7 @@ public class VersionMessageHandler extends BaseMessageHandler {
         //clientissueversionPost acquisitionserverReply, establish handshake
 //       Log.debug("VersionMessageHandler Recieve:Client"+":"+node.getIp()+":"+node.getRemotePort()+"==CMD=" +message.getHeader().getCommandStr());
         //Store the required information
-        node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash());
+        node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash(), versionBody.getServices());
         node.setConnectStatus(NodeConnectStatusEnum.AVAILABLE);
         node.setFailCount(0);
         node.setConnectTime(TimeManager.currentTimeMillis());
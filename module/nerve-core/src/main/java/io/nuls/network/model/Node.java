@@ -82,6 +82,11 @@ public class Node implements Dto {
 
     private long connectTime = 0;
     private long version = 0;
+
+    /**
+     * Services announced by the node in its version message
+     */
+    private long services = 0;
     private long blockHeight = 0;
     private String blockHash = "";
     /**
@@ -313,13 +318,19 @@ public class Node implements Dto {
      * @param version     long
      * @param blockHeight long
      * @param blockHash   String
+     * @param services    long
      */
-    public void setVersionProtocolInfos(long version, long blockHeight, String blockHash) {
+    public void setVersionProtocolInfos(long version, long blockHeight, String blockHash, long services) {
         this.version = version;
+        this.services = services;
         this.blockHash = blockHash;
         this.blockHeight = blockHeight;
     }
 
+    public long getServices() {
+        return services;
+    }
+
     public long getVersion() {
         return version;
     }
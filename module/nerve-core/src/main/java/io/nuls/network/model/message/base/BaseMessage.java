@@ -29,10 +29,9 @@ import io.nuls.base.basic.NulsOutputStreamBuffer;
 import io.nuls.base.data.BaseNulsData;
 import io.nuls.base.data.NulsHash;
 import io.nuls.core.constant.ToolsConstant;
-import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
-import io.nuls.core.model.ByteUtils;
+import io.nuls.network.utils.MessageUtil;
 
 import java.io.IOException;
 
@@ -70,10 +69,10 @@ public abstract class BaseMessage<T extends BaseNulsData> extends BaseNulsData {
      */
     @Override
     protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
-        long checksum = getCheckSum();
-        header.setChecksum(checksum);
+        byte[] body = msgBody.serialize();
+        header.setChecksum(MessageUtil.checksum(body.length == 0 ? ToolsConstant.PLACE_HOLDER : body));
         stream.write(header.serialize());
-        stream.write(msgBody.serialize());
+        stream.write(body);
     }
 
 
@@ -85,10 +84,7 @@ public abstract class BaseMessage<T extends BaseNulsData> extends BaseNulsData {
             data = msgBody.serialize();
         }
 //        Log.info("=================getCheckSum:"+entity.length);
-        byte[] bodyHash = Sha256Hash.hashTwice(data);
-        byte[] get4Byte = ByteUtils.subBytes(bodyHash, 0, 4);
-        long checksum = ByteUtils.bytesToBigInteger(get4Byte).longValue();
-        return checksum;
+        return MessageUtil.checksum(data);
     }
 
     public boolean isCheckSumValid() {
@@ -109,6 +105,14 @@ public abstract class BaseMessage<T extends BaseNulsData> extends BaseNulsData {
         this.msgBody = parseMessageBody(byteBuffer);
     }
 
+    /**
+     * Parse the message whose header has been read from the frame
+     */
+    public void parse(MessageHeader header, NulsByteBuffer bodyBuffer) throws NulsException {
+        this.header = header;
+        this.msgBody = parseMessageBody(bodyBuffer);
+    }
+
     protected abstract T parseMessageBody(NulsByteBuffer byteBuffer) throws NulsException;
 
 
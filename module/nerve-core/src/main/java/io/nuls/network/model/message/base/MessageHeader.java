@@ -25,6 +25,7 @@
 package io.nuls.network.model.message.base;
 
 
+import io.netty.buffer.ByteBuf;
 import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.basic.NulsOutputStreamBuffer;
 import io.nuls.base.data.BaseNulsData;
@@ -138,6 +139,27 @@ public class MessageHeader extends BaseNulsData {
         }
     }
 
+    /**
+     * Read the header from the frame without copying the frame, the reader index is moved to the message body
+     */
+    public void parse(ByteBuf frame) {
+        magicNumber = frame.readUnsignedIntLE();
+        payloadLength = frame.readUnsignedIntLE();
+        command = new byte[12];
+        frame.readBytes(command);
+        checksum = frame.readUnsignedIntLE();
+    }
+
+    /**
+     * Write the header into the frame buffer, same as serialize
+     */
+    public void writeTo(ByteBuf frame) {
+        frame.writeIntLE((int) magicNumber);
+        frame.writeIntLE((int) payloadLength);
+        frame.writeBytes(command);
+        frame.writeIntLE((int) checksum);
+    }
+
     @Override
     public int size() {
         int s = 0;
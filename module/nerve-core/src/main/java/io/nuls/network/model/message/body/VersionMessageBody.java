@@ -47,6 +47,10 @@ public class VersionMessageBody extends BaseNulsData {
     private byte reverseCheck = 0;
     private String blockHash = "";
     private String extend = "";
+    /**
+     * Services of the node, see {@link io.nuls.network.constant.NetworkConstant#SERVICE_COMPACT_BLOCK}, absent from the message of old nodes
+     */
+    private long services = 0;
 
     public VersionMessageBody() {
 
@@ -63,6 +67,7 @@ public class VersionMessageBody extends BaseNulsData {
         s += 1;
         s += SerializeUtils.sizeOfString(blockHash); // blockHash
         s += SerializeUtils.sizeOfString(extend); // extend
+        s += SerializeUtils.sizeOfUint32(); // services
         return s;
     }
 
@@ -78,6 +83,7 @@ public class VersionMessageBody extends BaseNulsData {
         stream.writeString(blockHash);
         stream.writeString(extend);
         stream.write(reverseCheck);
+        stream.writeUint32(services);
     }
 
     @Override
@@ -92,6 +98,9 @@ public class VersionMessageBody extends BaseNulsData {
             if (!buffer.isFinished()) {
                 reverseCheck = buffer.readByte();
             }
+            if (!buffer.isFinished()) {
+                services = buffer.readUint32();
+            }
         } catch (Exception e) {
             throw new NulsException(e);
         }
@@ -146,6 +155,14 @@ public class VersionMessageBody extends BaseNulsData {
         this.blockHash = blockHash;
     }
 
+    public long getServices() {
+        return services;
+    }
+
+    public void setServices(long services) {
+        this.services = services;
+    }
+
     public byte getReverseCheck() {
         return reverseCheck;
     }
@@ -56,6 +56,16 @@ public class NodeVo implements Ivo {
     @ApiModelProperty(description = "Connection time in milliseconds")
     private long time;
 
+    private long services;
+
+    public long getServices() {
+        return services;
+    }
+
+    public void setServices(long services) {
+        this.services = services;
+    }
+
     public int getChainId() {
         return chainId;
     }
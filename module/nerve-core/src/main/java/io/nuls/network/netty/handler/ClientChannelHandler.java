@@ -30,7 +30,6 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
-import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.core.log.Log;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.manager.MessageManager;
@@ -90,15 +89,11 @@ public class ClientChannelHandler extends BaseChannelHandler {
         String remoteIP = socketChannel.remoteAddress().getHostString();
         int port = socketChannel.remoteAddress().getPort();
         ByteBuf buf = (ByteBuf) msg;
-        NulsByteBuffer byteBuffer = null;
-        Node node = null;
         try {
             Attribute<Node> nodeAttribute = ctx.channel().attr(key);
-            node = nodeAttribute.get();
+            Node node = nodeAttribute.get();
             if (node != null) {
-                byte[] bytes = new byte[buf.readableBytes()];
-                buf.readBytes(bytes);
-                byteBuffer = new NulsByteBuffer(bytes);
+                MessageManager.getInstance().receiveMessage(buf, node);
             } else {
                 LoggerUtil.COMMON_LOG.error("-----------------client channelRead  node is null -----------------" + remoteIP + ":" + port);
                 ctx.channel().close();
@@ -109,7 +104,6 @@ public class ClientChannelHandler extends BaseChannelHandler {
         } finally {
             buf.clear();
         }
-        MessageManager.getInstance().receiveMessage(byteBuffer, node);
     }
 
     @Override
@@ -31,7 +31,6 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
-import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.manager.ConnectionManager;
 import io.nuls.network.manager.MessageManager;
@@ -99,16 +98,12 @@ public class ServerChannelHandler extends BaseChannelHandler {
         SocketChannel channel = (SocketChannel) ctx.channel();
         ByteBuf buf = (ByteBuf) msg;
         String remoteIP = channel.remoteAddress().getHostString();
-        NulsByteBuffer byteBuffer = null;
-        Node node = null;
         try {
             String nodeId = IpUtil.getNodeId(channel.remoteAddress());
             Attribute<Node> nodeAttribute = channel.attr(AttributeKey.valueOf("node-" + nodeId));
-            node = nodeAttribute.get();
+            Node node = nodeAttribute.get();
             if (node != null) {
-                byte[] bytes = new byte[buf.readableBytes()];
-                buf.readBytes(bytes);
-                byteBuffer = new NulsByteBuffer(bytes);
+                MessageManager.getInstance().receiveMessage(buf, node);
             } else {
                 LoggerUtil.COMMON_LOG.error("-----------------Server channelRead  node is null -----------------" + remoteIP + ":" + channel.remoteAddress().getPort());
                 ctx.channel().close();
@@ -119,7 +114,6 @@ public class ServerChannelHandler extends BaseChannelHandler {
         } finally {
             buf.clear();
         }
-        MessageManager.getInstance().receiveMessage(byteBuffer, node);
     }
 
     @Override
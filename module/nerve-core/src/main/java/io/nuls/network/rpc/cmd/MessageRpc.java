@@ -42,7 +42,6 @@ import io.nuls.network.manager.handler.MessageHandlerFactory;
 import io.nuls.network.model.NetworkEventResult;
 import io.nuls.network.model.Node;
 import io.nuls.network.model.NodeGroup;
-import io.nuls.network.model.message.base.MessageHeader;
 import io.nuls.network.utils.LoggerUtil;
 
 import java.util.*;
@@ -157,16 +156,11 @@ public class MessageRpc extends BaseCmd {
                 return failed(NetworkErrorCode.PARAMETER_ERROR);
             }
             long magicNumber = nodeGroup.getMagicNumber();
-            long checksum = messageManager.getCheckSum(messageBody);
-            MessageHeader header = new MessageHeader(cmd, magicNumber, checksum, messageBody.length);
-            byte[] headerByte = header.serialize();
-            byte[] message = new byte[headerByte.length + messageBody.length];
+            byte[] message = messageManager.buildFrame(cmd, magicNumber, messageBody);
             boolean isCross = false;
             if (null != params.get("isCross")) {
                 isCross = Boolean.valueOf(params.get("isCross").toString());
             }
-            System.arraycopy(headerByte, 0, message, 0, headerByte.length);
-            System.arraycopy(messageBody, 0, message, headerByte.length, messageBody.length);
             Collection<Node> nodesCollection = nodeGroup.getAvailableNodes(isCross);
             excludeNodes = NetworkConstant.COMMA + excludeNodes + NetworkConstant.COMMA;
             List<Node> nodes = new ArrayList<>();
@@ -267,12 +261,7 @@ public class MessageRpc extends BaseCmd {
                 return failed(NetworkErrorCode.PARAMETER_ERROR);
             }
             long magicNumber = nodeGroup.getMagicNumber();
-            long checksum = messageManager.getCheckSum(messageBody);
-            MessageHeader header = new MessageHeader(cmd, magicNumber, checksum, messageBody.length);
-            byte[] headerByte = header.serialize();
-            byte[] message = new byte[headerByte.length + messageBody.length];
-            System.arraycopy(headerByte, 0, message, 0, headerByte.length);
-            System.arraycopy(messageBody, 0, message, headerByte.length, messageBody.length);
+            byte[] message = messageManager.buildFrame(cmd, magicNumber, messageBody);
             List<Node> nodesCollection = nodeGroup.getAvailableNodes(false);
             List<Node> nodes = new ArrayList<>();
 //            if (ips.size() == 1) {
@@ -351,12 +340,7 @@ public class MessageRpc extends BaseCmd {
             NodeGroupManager nodeGroupManager = NodeGroupManager.getInstance();
             NodeGroup nodeGroup = nodeGroupManager.getNodeGroupByChainId(chainId);
             long magicNumber = nodeGroup.getMagicNumber();
-            long checksum = messageManager.getCheckSum(messageBody);
-            MessageHeader header = new MessageHeader(cmd, magicNumber, checksum, messageBody.length);
-            byte[] headerByte = header.serialize();
-            byte[] message = new byte[headerByte.length + messageBody.length];
-            System.arraycopy(headerByte, 0, message, 0, headerByte.length);
-            System.arraycopy(messageBody, 0, message, headerByte.length, messageBody.length);
+            byte[] message = messageManager.buildFrame(cmd, magicNumber, messageBody);
             String[] nodeIds = nodes.split(",");
             List<Node> nodesList = new ArrayList<>();
             for (String nodeId : nodeIds) {
@@ -437,12 +421,7 @@ public class MessageRpc extends BaseCmd {
                 return failed(NetworkErrorCode.PARAMETER_ERROR);
             }
             long magicNumber = nodeGroup.getMagicNumber();
-            long checksum = messageManager.getCheckSum(messageBody);
-            MessageHeader header = new MessageHeader(cmd, magicNumber, checksum, messageBody.length);
-            byte[] headerByte = header.serialize();
-            byte[] message = new byte[headerByte.length + messageBody.length];
-            System.arraycopy(headerByte, 0, message, 0, headerByte.length);
-            System.arraycopy(messageBody, 0, message, headerByte.length, messageBody.length);
+            byte[] message = messageManager.buildFrame(cmd, magicNumber, messageBody);
             Collection<Node> nodesCollection = nodeGroup.getAvailableNodes(false);
             List<Node> nodes = new ArrayList<>();
             excludeNodes = NetworkConstant.COMMA + excludeNodes + NetworkConstant.COMMA;
@@ -290,6 +290,7 @@ public class NodeRpc extends BaseCmd {
         nodeVo.setMagicNumber(magicNumber);
         nodeVo.setNodeId(node.getId());
         nodeVo.setPort(node.getRemotePort());
+        nodeVo.setServices(node.getServices());
         return nodeVo;
     }
 }
@@ -31,6 +31,7 @@ import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.CmdPriority;
 import io.nuls.core.rpc.model.message.MessageUtil;
 import io.nuls.core.rpc.model.message.Request;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.common.NerveCoreResponseMessageProcessor;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.manager.NodeGroupManager;
@@ -73,6 +74,10 @@ public class RPCCacheMsgSendTask implements Runnable {
                         Map<String, CmdPriority> protocolRoles = MessageHandlerFactory.getInstance().getProtocolRoleHandlerMap(peerMessage.getCmd());
                         boolean fail = false;
                         for (Map.Entry<String, CmdPriority> entry : protocolRoles.entrySet()) {
+                            if (ResponseMessageProcessor.isLocalRole(entry.getKey())) {
+                                //Only the messages of other processes are cached, the modules in this process have received it
+                                continue;
+                            }
                             try {
                                 Request request = MessageUtil.newRequest(BaseConstant.MSG_PROCESS, peerMessage.toMap(chainId), Constants.BOOLEAN_FALSE, Constants.ZERO, Constants.ZERO);
                                 if ("0".equals(NerveCoreResponseMessageProcessor.requestOnly(entry.getKey(), request))) {
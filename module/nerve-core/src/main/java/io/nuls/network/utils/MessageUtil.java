@@ -24,8 +24,11 @@
  */
 package io.nuls.network.utils;
 
+import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.rpc.model.CmdPriority;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -48,10 +51,27 @@ public class MessageUtil {
 
     public static Map<String, Integer> highLeverCmd = new HashMap<>();
 
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(Sha256Hash::newDigest);
+
     public static boolean isLowerLeverCmd(String cmd) {
         return (lowerLeverCmd.get(cmd) != null);
     }
 
+    /**
+     * Message checksum, the first 4 bytes of sha256(sha256(body))
+     * The body is hashed in place, a direct buffer of a received frame is not copied
+     */
+    public static long checksum(ByteBuffer body) {
+        MessageDigest digest = DIGEST.get();
+        digest.update(body);
+        byte[] hash = digest.digest(digest.digest());
+        return ((hash[0] & 0xFFL) << 24) | ((hash[1] & 0xFFL) << 16) | ((hash[2] & 0xFFL) << 8) | (hash[3] & 0xFFL);
+    }
+
+    public static long checksum(byte[] body) {
+        return checksum(ByteBuffer.wrap(body));
+    }
+
     public static void addCmdPriority(String cmd, CmdPriority cmdPriority) {
         switch (cmdPriority) {
             case HIGH:
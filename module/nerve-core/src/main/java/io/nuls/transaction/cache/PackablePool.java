@@ -1,14 +1,10 @@
 package io.nuls.transaction.cache;
 
 import io.nuls.base.data.Transaction;
-import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
-import io.nuls.core.model.ByteArrayWrapper;
 import io.nuls.transaction.model.bo.Chain;
-import io.nuls.transaction.storage.UnconfirmedTxStorageService;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * The transaction has been verified by the transaction management module(Take it from here when packing)
@@ -20,9 +16,6 @@ import java.util.Map;
 @Component
 public class PackablePool {
 
-    @Autowired
-    private UnconfirmedTxStorageService unconfirmedTxStorageService;
-
     /**
      * Add the transaction to the forefront of the queue to be packaged, and retrieve it first during packaging
      * Add the transaction to the front of the queue to be packed, and take it out first when it is packed
@@ -32,32 +25,20 @@ public class PackablePool {
      * @return
      */
     public boolean offerFirst(Chain chain, Transaction tx) {
-        ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash().getBytes());
-        synchronized (hash) {
-            if (chain.getPackableHashQueue().offerFirst(hash)) {
-                chain.getPackableTxMap().put(hash, tx);
-                return true;
-            }
-        }
-        chain.getLogger().error("PackableHashQueue offerFirst false");
-        return false;
+        tx.detach();
+        return chain.getPackableTxQueue().offerFirst(tx);
     }
 
     /**
      * Only returnhash No need to return itmapin
+     * Put the transaction taken out for packing back to the front of the queue,
+     * if it has been confirmed or cleaned in the meantime, it is not put back
      * @param chain
      * @param tx
      * @return
      */
     public boolean offerFirstOnlyHash(Chain chain, Transaction tx) {
-        ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash().getBytes());
-        synchronized (hash) {
-            if (chain.getPackableHashQueue().offerFirst(hash)) {
-                return true;
-            }
-        }
-        chain.getLogger().error("PackableHashQueue offerFirst false");
-        return false;
+        return chain.getPackableTxQueue().requeueFirst(tx.getHash().getBytes());
     }
 
     /**
@@ -69,47 +50,23 @@ public class PackablePool {
      * @return
      */
     public boolean add(Chain chain, Transaction tx) {
-        ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash().getBytes());
-        synchronized (hash) {
-            if (chain.getPackableHashQueue().offer(hash)) {
-                chain.getPackableTxMap().put(hash, tx);
-                return true;
-            }
-        }
-        chain.getLogger().error("PackableHashQueue add false");
-        return false;
+        //A transaction of a rolled back block must not keep the whole block alive while it waits in the pool
+        tx.detach();
+        return chain.getPackableTxQueue().offerLast(tx);
     }
 
     /**
      * Retrieve a transaction from the queue to be packaged
      * Gets a transaction from the queue to be packaged
      * <p>
-     * 1.Remove from queuehashThen go aheadmapObtain transactions in the middle
-     * 2.IfmapThere is no indication that it has been packaged and confirmed, and then the next one will be taken until a transaction is obtained or the queue is empty
-     * <p>
-     * 1.Fetch the hash from the queue, and then fetch the transaction from the map
-     * 2.If the map does not indicate that it has been packaged for confirmation,
-     * then take one down until a transaction is obtained, or if the queue is empty
+     * The transaction stays in the pool until it is confirmed or cleaned
+     * The transaction stays in the pool until it is confirmed or cleaned
      *
      * @param chain
      * @return
      */
     public Transaction poll(Chain chain) {
-        while (true) {
-            ByteArrayWrapper hash = chain.getPackableHashQueue().poll();
-            if (null == hash) {
-                return null;
-            }
-            synchronized (hash) {
-                Transaction tx = chain.getPackableTxMap().get(hash);
-                if (null != tx) {
-                    return tx;
-                } else {
-                    unconfirmedTxStorageService.removeTx(chain.getChainId(), hash.getBytes());
-                }
-            }
-        }
-
+        return chain.getPackableTxQueue().pollFirst();
     }
 
     /**
@@ -123,20 +80,7 @@ public class PackablePool {
      * @return
      */
     public Transaction pollLast(Chain chain) {
-        while (true) {
-            ByteArrayWrapper hash = chain.getPackableHashQueue().pollLast();
-            if (null == hash) {
-                return null;
-            }
-            synchronized (hash) {
-                Transaction tx = chain.getPackableTxMap().get(hash);
-                if (null != tx) {
-                    return tx;
-                } else {
-                    unconfirmedTxStorageService.removeTx(chain.getChainId(), hash.getBytes());
-                }
-            }
-        }
+        return chain.getPackableTxQueue().pollLast();
     }
 
     /**
@@ -145,10 +89,9 @@ public class PackablePool {
      * @param txHashs
      */
     public void clearPackableMapTxs(Chain chain, List<byte[]> txHashs) {
-        Map<ByteArrayWrapper, Transaction> map = chain.getPackableTxMap();
+        PackableTxQueue queue = chain.getPackableTxQueue();
         for (byte[] hash : txHashs) {
-            ByteArrayWrapper wrapper = new ByteArrayWrapper(hash);
-            map.remove(wrapper);
+            queue.remove(hash);
         }
     }
 
@@ -158,35 +101,40 @@ public class PackablePool {
      * @param tx
      */
     public void clearPackableMapTx(Chain chain, Transaction tx) {
-        ByteArrayWrapper wrapper = new ByteArrayWrapper(tx.getHash().getBytes());
-        chain.getPackableTxMap().remove(wrapper);
+        chain.getPackableTxQueue().remove(tx.getHash().getBytes());
     }
 
     /**
-     * Determine whether the transaction is in the queue to be packagedmapIf the transaction exists in the package to be packagedhashIn queue,Not necessarily present inmapin.
-     * Determine if the transaction is in the map to be packaged;
-     * if the transaction exists in the hash queue to be packaged, it does not necessarily exist in the map.
-     *
+     * Determine whether the transaction is waiting in the queue to be packaged
+     * Determine if the transaction is waiting in the queue to be packaged
      *
      * @param chain
      * @param tx
      * @return
      */
     public boolean exist(Chain chain, Transaction tx) {
-        ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash().getBytes());
-        return chain.getPackableHashQueue().contains(hash);
+        return chain.getPackableTxQueue().isQueued(tx.getHash().getBytes());
     }
 
     public int packableHashQueueSize(Chain chain) {
-        return chain.getPackableHashQueue().size();
+        return chain.getPackableTxQueue().queueSize();
     }
 
     public int packableTxMapSize(Chain chain) {
-        return chain.getPackableTxMap().size();
+        return chain.getPackableTxQueue().size();
+    }
+
+    /**
+     * Total serialized size of the transactions in the pool
+     * @param chain
+     * @return
+     */
+    public long packableTxDataSize(Chain chain) {
+        return chain.getPackableTxQueue().dataSize();
     }
 
     public void clear(Chain chain) {
-        chain.getPackableHashQueue().clear();
+        chain.getPackableTxQueue().clearQueue();
     }
 
 }
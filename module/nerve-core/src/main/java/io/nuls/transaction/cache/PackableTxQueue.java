@@ -0,0 +1,254 @@
+package io.nuls.transaction.cache;
+
+import io.nuls.base.data.Transaction;
+import io.nuls.core.model.ByteArrayWrapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Packable transaction queue of a chain
+ * Transactions are indexed by hash, and the queued ones are linked in packing order.
+ * A transaction taken out for packing stays in the index until it is confirmed or cleaned, and can be put back into the queue.
+ * <p>
+ * Index queries(exist, size)do not lock, queue changes are guarded by one lock and are O(1),
+ * the same hash is queued at most once
+ */
+public class PackableTxQueue {
+
+    private final Map<ByteArrayWrapper, Node> index = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Sentinel of the circular queue, head.next is the first transaction to be packed
+     */
+    private final Node head = new Node(null, null, 0);
+
+    private volatile int queueSize;
+
+    /**
+     * Total serialized size of the indexed transactions
+     */
+    private final AtomicLong dataSize = new AtomicLong();
+
+    public PackableTxQueue() {
+        head.prev = head;
+        head.next = head;
+    }
+
+    /**
+     * Add the transaction to the end of the queue, a queued transaction keeps its position
+     */
+    public boolean offerLast(Transaction tx) {
+        Node node = newNode(tx);
+        lock.lock();
+        try {
+            node = indexNode(node);
+            if (!node.queued) {
+                link(head.prev, node);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add the transaction to the front of the queue, a queued transaction is moved to the front
+     */
+    public boolean offerFirst(Transaction tx) {
+        Node node = newNode(tx);
+        lock.lock();
+        try {
+            node = indexNode(node);
+            if (node.queued) {
+                unlink(node);
+            }
+            link(head, node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put the transaction taken out for packing back to the front of the queue,
+     * a transaction that has been confirmed or cleaned in the meantime is not put back
+     */
+    public boolean requeueFirst(byte[] hash) {
+        Node node = index.get(new ByteArrayWrapper(hash));
+        if (null == node) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (index.get(node.hash) != node) {
+                return false;
+            }
+            if (node.queued) {
+                unlink(node);
+            }
+            link(head, node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take out the first transaction of the queue, it stays in the index
+     */
+    public Transaction pollFirst() {
+        lock.lock();
+        try {
+            Node node = head.next;
+            if (node == head) {
+                return null;
+            }
+            unlink(node);
+            return node.tx;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take out the last transaction of the queue, it stays in the index
+     */
+    public Transaction pollLast() {
+        lock.lock();
+        try {
+            Node node = head.prev;
+            if (node == head) {
+                return null;
+            }
+            unlink(node);
+            return node.tx;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove the transaction from the index and the queue
+     */
+    public void remove(byte[] hash) {
+        ByteArrayWrapper key = new ByteArrayWrapper(hash);
+        if (!index.containsKey(key)) {
+            return;
+        }
+        lock.lock();
+        try {
+            Node node = index.remove(key);
+            if (null == node) {
+                return;
+            }
+            if (node.queued) {
+                unlink(node);
+            }
+            dataSize.addAndGet(-node.size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the transaction is waiting in the queue
+     */
+    public boolean isQueued(byte[] hash) {
+        Node node = index.get(new ByteArrayWrapper(hash));
+        return null != node && node.queued;
+    }
+
+    public Transaction get(byte[] hash) {
+        Node node = index.get(new ByteArrayWrapper(hash));
+        return null == node ? null : node.tx;
+    }
+
+    /**
+     * Empty the queue, the transactions stay in the index
+     */
+    public void clearQueue() {
+        lock.lock();
+        try {
+            Node node = head.next;
+            while (node != head) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.queued = false;
+                node = next;
+            }
+            head.prev = head;
+            head.next = head;
+            queueSize = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueSize() {
+        return queueSize;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long dataSize() {
+        return dataSize.get();
+    }
+
+    private Node newNode(Transaction tx) {
+        return new Node(new ByteArrayWrapper(tx.getHash().getBytes()), tx, tx.size());
+    }
+
+    /**
+     * Called with the lock held, returns the node already indexed for the hash
+     */
+    private Node indexNode(Node node) {
+        Node exist = index.putIfAbsent(node.hash, node);
+        if (null != exist) {
+            return exist;
+        }
+        dataSize.addAndGet(node.size);
+        return node;
+    }
+
+    private void link(Node prev, Node node) {
+        Node next = prev.next;
+        node.prev = prev;
+        node.next = next;
+        prev.next = node;
+        next.prev = node;
+        node.queued = true;
+        queueSize++;
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.queued = false;
+        queueSize--;
+    }
+
+    private static final class Node {
+        private final ByteArrayWrapper hash;
+        private final Transaction tx;
+        private final int size;
+        private Node prev;
+        private Node next;
+        private volatile boolean queued;
+
+        private Node(ByteArrayWrapper hash, Transaction tx, int size) {
+            this.hash = hash;
+            this.tx = tx;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.nuls.transaction.cache;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.crypto.Sha256Hash;
+import io.nuls.core.model.ByteArrayWrapper;
+
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactions whose signatures have been verified
+ * A transaction verified when it entered the unconfirmed pool is not verified again in block verification.
+ * <p>
+ * The key is sha256(transaction hash + signature bytes), a transaction with the same hash and a different signature is verified again.
+ * The value is the signature verification version, a transaction verified by the rule of another version is verified again,
+ * and the cache is cleared on protocol upgrade.
+ * <p>
+ * The cache is made of two generations, when the current generation is full it becomes the previous one,
+ * so at least the last {@code capacity} transactions are remembered
+ */
+public class VerifiedSignatureCache {
+
+    /**
+     * Signature verification versions
+     */
+    public static final int VERSION_SIGNATURE = 1;
+    public static final int VERSION_PERSONAL_SIGN = 2;
+
+    private final int capacity;
+
+    private volatile Map<ByteArrayWrapper, Integer> current = new ConcurrentHashMap<>();
+    private volatile Map<ByteArrayWrapper, Integer> previous = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VerifiedSignatureCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Whether the signature of the transaction has been verified by the version
+     */
+    public boolean contains(NulsHash hash, byte[] signature, int version) {
+        ByteArrayWrapper key = key(hash, signature);
+        Integer value = current.get(key);
+        if (null == value) {
+            value = previous.get(key);
+        }
+        if (null != value && value == version) {
+            hits.incrementAndGet();
+            return true;
+        }
+        misses.incrementAndGet();
+        return false;
+    }
+
+    public void add(NulsHash hash, byte[] signature, int version) {
+        if (capacity <= 0) {
+            return;
+        }
+        Map<ByteArrayWrapper, Integer> map = current;
+        map.put(key(hash, signature), version);
+        if (map.size() >= capacity) {
+            synchronized (this) {
+                if (current == map) {
+                    previous = map;
+                    current = new ConcurrentHashMap<>();
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        current = new ConcurrentHashMap<>();
+        previous = new ConcurrentHashMap<>();
+    }
+
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Hit rate since the last report, the counters are reset
+     */
+    public String report() {
+        long hit = hits.getAndSet(0);
+        long miss = misses.getAndSet(0);
+        long total = hit + miss;
+        return "verified signature cache, size:" + size() + ", lookup:" + total + ", hit:" + hit +
+                ", hit rate:" + (total == 0 ? 0 : hit * 100 / total) + "%";
+    }
+
+    private static ByteArrayWrapper key(NulsHash hash, byte[] signature) {
+        MessageDigest digest = Sha256Hash.newDigest();
+        digest.update(hash.getBytes());
+        if (null != signature) {
+            digest.update(signature);
+        }
+        return new ByteArrayWrapper(digest.digest());
+    }
+}
@@ -26,6 +26,10 @@ public interface TxConstant {
     String TX_CLEAN_THREAD = "cleanTxThread";
     /** Verify transaction signature thread */
     String VERIFY_TX_SIGN_THREAD = "verifyTxSignThread";
+    /** Module commit thread of block transactions */
+    String COMMIT_TX_THREAD = "commitTxThread";
+    /** Module verification thread of block transactions */
+    String MODULE_VERIFY_TX_THREAD = "moduleVerifyTxThread";
 
     /** Orphan transaction processingtask, Initial delay value(second) */
     int TX_ORPHAN_TASK_INITIALDELAY = 1;
@@ -79,6 +83,14 @@ public interface TxConstant {
     int BASIC_PACKAGE_VERIFY_COINDATA_BATCH = 800;
     /**rpcReserve time **/
     long BASIC_PACKAGE_RPC_RESERVE_TIME = 20L;
+    /** SWAPThe number of transactions executed with one call*/
+    int SWAP_INVOKE_BATCH_SIZE = 200;
+    /** SWAPBasic timeout of a batch call(ms)*/
+    long SWAP_INVOKE_BATCH_TIMEOUT = 10000L;
+    /** SWAPTimeout added for each transaction of a batch call(ms)*/
+    long SWAP_INVOKE_TX_TIMEOUT = 50L;
+    /** Verify Block, the number of attempts to execute theSWAPtransactions when the call fails*/
+    int SWAP_VERIFY_INVOKE_TIMES = 3;
 
     String BASIC_VERIFY_TX_SIGN_THREAD = "basicVerifyTxSignThread";
 
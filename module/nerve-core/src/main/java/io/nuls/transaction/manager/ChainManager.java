@@ -33,6 +33,7 @@ import io.nuls.core.log.logback.NulsLogger;
 import io.nuls.core.rockdb.constant.DBErrorCode;
 import io.nuls.core.rockdb.service.RocksDBService;
 import io.nuls.core.rpc.model.ModuleE;
+import io.nuls.transaction.cache.VerifiedSignatureCache;
 import io.nuls.transaction.constant.TxDBConstant;
 import io.nuls.transaction.model.bo.Chain;
 import io.nuls.transaction.model.po.TransactionNetPO;
@@ -75,6 +76,7 @@ public class ChainManager {
             Chain chain = new Chain();
             int chainId = entry.getKey();
             chain.setConfig(entry.getValue());
+            chain.setVerifiedSignatureCache(new VerifiedSignatureCache(txConfig.getTxSignatureCacheSize()));
             initLogger(chain);
             initTable(chain);
             chainMap.put(chainId, chain);
@@ -24,7 +24,9 @@
 
 package io.nuls.transaction.manager;
 
+import io.nuls.common.NerveCoreConfig;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.thread.ThreadUtils;
 import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.transaction.constant.TxConstant;
@@ -56,6 +58,12 @@ public class SchedulerManager {
         //Fixed delay time
         unconfirmedTxExecutor.scheduleWithFixedDelay(new ClearUnconfirmedTxProcessTask(chain),
                 TxConstant.TX_CLEAN_TASK_INITIALDELAY, TxConstant.TX_CLEAN_TASK_PERIOD, TimeUnit.SECONDS);
+        //Verified signature cache hit rate
+        int reportInterval = SpringLiteContext.getBean(NerveCoreConfig.class).getTxSignatureCacheReportInterval();
+        if (reportInterval > 0) {
+            unconfirmedTxExecutor.scheduleAtFixedRate(() -> chain.getLogger().info(chain.getVerifiedSignatureCache().report()),
+                    reportInterval, reportInterval, TimeUnit.SECONDS);
+        }
         return true;
     }
 }
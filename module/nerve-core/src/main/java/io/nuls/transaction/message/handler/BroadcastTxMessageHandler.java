@@ -1,6 +1,7 @@
 package io.nuls.transaction.message.handler;
 
 import io.nuls.base.RPCUtil;
+import io.nuls.base.data.NulsHash;
 import io.nuls.base.data.Transaction;
 import io.nuls.base.protocol.MessageProcessor;
 import io.nuls.core.core.annotation.Autowired;
@@ -33,6 +34,11 @@ public class BroadcastTxMessageHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
         Chain chain = null;
         try {
             chain = chainManager.getChain(chainId);
@@ -41,16 +47,16 @@ public class BroadcastTxMessageHandler implements MessageProcessor {
                 return;
             }
             //Analyze new transaction messages
-            BroadcastTxMessage message = RPCUtil.getInstanceRpcStr(msgStr, BroadcastTxMessage.class);
+            BroadcastTxMessage message = RPCUtil.getInstance(msgBytes, BroadcastTxMessage.class);
             if (message == null) {
                 return;
             }
             Transaction transaction = message.getTx();
-            String hash = transaction.getHash().toHex();
+            NulsHash hash = transaction.getHash();
             //Does the transaction already exist in the transaction cachehash
             boolean rs = TxDuplicateRemoval.insertAndCheck(hash);
             //Record other network nodes that send complete transactions to this node and forward themhashTime exclusion
-            TxDuplicateRemoval.putExcludeNode(hash, nodeId);
+            TxDuplicateRemoval.putExcludeNode(hash.toHex(), nodeId);
             if (!rs) {
                 //The complete transaction has been received
                 return;
@@ -35,6 +35,11 @@ public class ForwardTxMessageHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
         Chain chain = null;
         try {
             chain = chainManager.getChain(chainId);
@@ -43,7 +48,7 @@ public class ForwardTxMessageHandler implements MessageProcessor {
                 return;
             }
             //Analyzing Broadcasting Transactionshashnews
-            ForwardTxMessage message = RPCUtil.getInstanceRpcStr(msgStr, ForwardTxMessage.class);
+            ForwardTxMessage message = RPCUtil.getInstance(msgBytes, ForwardTxMessage.class);
             if (message == null) {
                 return;
             }
@@ -51,9 +56,8 @@ public class ForwardTxMessageHandler implements MessageProcessor {
 //            chain.getLoggerMap().get(TxConstant.LOG_TX_MESSAGE).debug(
 //                    "recieve [newHash] message from node-{}, chainId:{}, hash:{}", nodeId, chainId, hash.toHex());
             //Only determine if it exists
-            String hashHex = hash.toHex();
-            if (TxDuplicateRemoval.exist(hashHex)) {
-                TxDuplicateRemoval.putExcludeNode(hashHex, nodeId);
+            if (TxDuplicateRemoval.exist(hash)) {
+                TxDuplicateRemoval.putExcludeNode(hash.toHex(), nodeId);
                 return;
             }
             //Go to this node to query complete transactions
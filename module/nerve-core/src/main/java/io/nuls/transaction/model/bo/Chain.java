@@ -3,10 +3,10 @@ package io.nuls.transaction.model.bo;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.nuls.common.ConfigBean;
 import io.nuls.base.data.NulsHash;
-import io.nuls.base.data.Transaction;
 import io.nuls.core.log.logback.NulsLogger;
-import io.nuls.core.model.ByteArrayWrapper;
 import io.nuls.core.rpc.model.ModuleE;
+import io.nuls.transaction.cache.PackableTxQueue;
+import io.nuls.transaction.cache.VerifiedSignatureCache;
 import io.nuls.transaction.constant.TxConstant;
 import io.nuls.transaction.model.po.TransactionNetPO;
 
@@ -16,7 +16,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,14 +58,14 @@ public class Chain {
     private Map<Integer, TxRegister> txRegisterMap;
 
     /**
-     * Packable transactionshashaggregate, The transaction has been verified by the transaction management module(Take it from here when packing)
+     * Packable transactions, The transaction has been verified by the transaction management module(Take it from here when packing)
      */
-    private BlockingDeque<ByteArrayWrapper> packableHashQueue;
+    private PackableTxQueue packableTxQueue;
 
     /**
-     * Packable transactionshashCorresponding transactionsmap
+     * Transactions whose signatures have been verified
      */
-    private Map<ByteArrayWrapper, Transaction> packableTxMap;
+    private VerifiedSignatureCache verifiedSignatureCache;
 
 
     /**
@@ -125,8 +124,7 @@ public class Chain {
         this.packableState = new AtomicBoolean(true);
         this.processTxStatus = new AtomicBoolean(false);
         this.txRegisterMap = new ConcurrentHashMap<>(TxConstant.INIT_CAPACITY_32);
-        this.packableHashQueue = new LinkedBlockingDeque<>();
-        this.packableTxMap = new ConcurrentHashMap<>();
+        this.packableTxQueue = new PackableTxQueue();
         this.contractTxFail = false;
         this.txPackageOrphanMap = new HashMap<>();
         this.orphanList = new LinkedList<>();
@@ -172,20 +170,20 @@ public class Chain {
         this.txRegisterMap = txRegisterMap;
     }
 
-    public BlockingDeque<ByteArrayWrapper> getPackableHashQueue() {
-        return packableHashQueue;
+    public VerifiedSignatureCache getVerifiedSignatureCache() {
+        return verifiedSignatureCache;
     }
 
-    public void setPackableHashQueue(BlockingDeque<ByteArrayWrapper> packableHashQueue) {
-        this.packableHashQueue = packableHashQueue;
+    public void setVerifiedSignatureCache(VerifiedSignatureCache verifiedSignatureCache) {
+        this.verifiedSignatureCache = verifiedSignatureCache;
     }
 
-    public Map<ByteArrayWrapper, Transaction> getPackableTxMap() {
-        return packableTxMap;
+    public PackableTxQueue getPackableTxQueue() {
+        return packableTxQueue;
     }
 
-    public void setPackableTxMap(Map<ByteArrayWrapper, Transaction> packableTxMap) {
-        this.packableTxMap = packableTxMap;
+    public void setPackableTxQueue(PackableTxQueue packableTxQueue) {
+        this.packableTxQueue = packableTxQueue;
     }
 
     public long getBestBlockHeight() {
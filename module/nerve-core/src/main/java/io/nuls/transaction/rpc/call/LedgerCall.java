@@ -2,6 +2,7 @@ package io.nuls.transaction.rpc.call;
 
 import io.nuls.base.RPCUtil;
 import io.nuls.base.basic.AddressTool;
+import io.nuls.base.data.Transaction;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.model.BigIntegerUtils;
 import io.nuls.core.rpc.info.Constants;
@@ -14,6 +15,7 @@ import io.nuls.transaction.constant.TxErrorCode;
 import io.nuls.transaction.model.bo.Chain;
 import io.nuls.transaction.model.bo.VerifyLedgerResult;
 import io.nuls.transaction.model.po.TransactionNetPO;
+import io.nuls.transaction.utils.TxUtil;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -277,12 +279,12 @@ public class LedgerCall {
      * @param chain
      * @param txList
      */
-    public static boolean commitTxsLedger(Chain chain, List<String> txList, Long blockHeight) throws NulsException {
+    public static boolean commitTxsLedger(Chain chain, List<Transaction> txList, Long blockHeight) throws NulsException {
         try {
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
             params.put(Constants.CHAIN_ID, chain.getChainId());
-            params.put("txList", txList);
+            TxUtil.putTxParams(params, ModuleE.LG.abbr, "commitBlockTxs", txList, null);
             params.put("blockHeight", blockHeight);
             HashMap result = (HashMap) TransactionCall.requestAndResponse(ModuleE.LG.abbr, "commitBlockTxs", params, TxConstant.REQUEST_TIME_OUT);
             Boolean value = (Boolean) result.get("value");
@@ -31,7 +31,9 @@ import io.nuls.transaction.constant.TxConstant;
 import io.nuls.transaction.constant.TxErrorCode;
 import io.nuls.transaction.model.bo.Chain;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -96,6 +98,48 @@ public class SwapCall {
         }
     }
 
+    /**
+     * callSWAPExecute a list of transactions in order, every {@link TxConstant#SWAP_INVOKE_BATCH_SIZE} transactions with one call,
+     * the timeout of a call grows with its number of transactions.
+     * When a call fails the transactions of the earlier calls have been executed, the batch must be started again
+     * @param chain
+     * @param txList Serialized transaction strings, in execution order
+     * @param blockType The processing mode of this call, pack:0, Verify Block:1
+     * @return One result per transaction, in the order of txList: success and txList as returned by sw_invoke, or errorCode when the execution failed
+     * @throws NulsException
+     */
+    public static List<Map<String, Object>> invokeBatch(Chain chain, List<String> txList, long blockHeight, long blockTime, int blockType) throws NulsException {
+        List<Map<String, Object>> results = new ArrayList<>(txList.size());
+        for (int from = 0; from < txList.size(); from += TxConstant.SWAP_INVOKE_BATCH_SIZE) {
+            List<String> subList = txList.subList(from, Math.min(from + TxConstant.SWAP_INVOKE_BATCH_SIZE, txList.size()));
+            results.addAll(invokeSubBatch(chain, subList, blockHeight, blockTime, blockType));
+        }
+        return results;
+    }
+
+    private static List<Map<String, Object>> invokeSubBatch(Chain chain, List<String> txList, long blockHeight, long blockTime, int blockType) throws NulsException {
+        try {
+            Map<String, Object> params = new HashMap(TxConstant.INIT_CAPACITY_8);
+            params.put(Constants.CHAIN_ID, chain.getChainId());
+            params.put("txList", new ArrayList<>(txList));
+            params.put("blockHeight", blockHeight);
+            params.put("blockTime", blockTime);
+            params.put("blockType", blockType);
+            long timeout = TxConstant.SWAP_INVOKE_BATCH_TIMEOUT + TxConstant.SWAP_INVOKE_TX_TIMEOUT * txList.size();
+            Map result = (Map) TransactionCall.requestAndResponse(ModuleE.SW.abbr, "sw_invoke_batch", params, timeout);
+            List<Map<String, Object>> results = null == result ? null : (List<Map<String, Object>>) result.get("results");
+            if (null == results || results.size() != txList.size()) {
+                chain.getLogger().error("call sw_invoke_batch response results do not match the transactions, error:{}",
+                        TxErrorCode.REMOTE_RESPONSE_DATA_NOT_FOUND.getCode());
+                throw new NulsException(TxErrorCode.REMOTE_RESPONSE_DATA_NOT_FOUND);
+            }
+            return results;
+        } catch (RuntimeException e) {
+            chain.getLogger().error(e);
+            throw new NulsException(TxErrorCode.RPC_REQUEST_FAILD);
+        }
+    }
+
     /**
      * Terminate callSWAPTransaction Execution
      * @param chain
@@ -1,5 +1,7 @@
 package io.nuls.transaction.rpc.call;
 
+import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.Transaction;
 import io.nuls.core.constant.BaseConstant;
 import io.nuls.core.constant.ErrorCode;
 import io.nuls.core.exception.NulsException;
@@ -9,6 +11,7 @@ import io.nuls.common.NerveCoreResponseMessageProcessor;
 import io.nuls.transaction.constant.TxConstant;
 import io.nuls.transaction.constant.TxErrorCode;
 import io.nuls.transaction.model.bo.Chain;
+import io.nuls.transaction.utils.TxUtil;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -73,12 +76,16 @@ public class TransactionCall {
      * @param blockHeader Block header information
      * @return
      */
-    public static boolean txRollback(Chain chain, String cmd, String moduleCode, List<String> txList, String blockHeader) {
+    public static boolean txRollback(Chain chain, String cmd, String moduleCode, List<Transaction> txList, BlockHeader blockHeader) {
         //Calling a single transaction validator
         Map<String, Object> params = new HashMap(TxConstant.INIT_CAPACITY_8);
         params.put(Constants.CHAIN_ID, chain.getChainId());
-        params.put("txList", txList);
-        params.put("blockHeader", blockHeader);
+        try {
+            TxUtil.putTxParams(params, moduleCode, cmd, txList, blockHeader);
+        } catch (NulsException e) {
+            chain.getLogger().error(e);
+            return false;
+        }
         return txProcess(chain, cmd, moduleCode, params);
     }
 
@@ -93,12 +100,16 @@ public class TransactionCall {
      * @param syncStatus  0:synchronization 1:normal operation
      * @return
      */
-    public static boolean txCommit(Chain chain, String cmd, String moduleCode, List<String> txList, String blockHeader, Integer syncStatus) {
+    public static boolean txCommit(Chain chain, String cmd, String moduleCode, List<Transaction> txList, BlockHeader blockHeader, Integer syncStatus) {
         //Calling a single transaction validator
         Map<String, Object> params = new HashMap(TxConstant.INIT_CAPACITY_8);
         params.put(Constants.CHAIN_ID, chain.getChainId());
-        params.put("txList", txList);
-        params.put("blockHeader", blockHeader);
+        try {
+            TxUtil.putTxParams(params, moduleCode, cmd, txList, blockHeader);
+        } catch (NulsException e) {
+            chain.getLogger().error(e);
+            return false;
+        }
         params.put("syncStatus", syncStatus);
         return txProcess(chain, cmd, moduleCode, params);
     }
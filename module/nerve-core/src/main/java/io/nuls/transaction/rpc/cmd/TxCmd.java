@@ -5,6 +5,7 @@ import io.nuls.core.constant.TxType;
 import io.nuls.core.rpc.model.NerveCoreCmd;
 import io.nuls.base.RPCUtil;
 import io.nuls.base.basic.AddressTool;
+import io.nuls.base.data.BlockHeader;
 import io.nuls.base.data.NulsHash;
 import io.nuls.base.data.Transaction;
 import io.nuls.base.protocol.TxRegisterDetail;
@@ -19,6 +20,7 @@ import io.nuls.core.model.ObjectUtils;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.rpc.cmd.BaseCmd;
+import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.*;
 import io.nuls.core.rpc.model.message.Response;
 import io.nuls.transaction.cache.PackablePool;
@@ -232,7 +234,7 @@ public class TxCmd extends BaseCmd {
      * @param params Map
      * @return Response
      */
-    @CmdAnnotation(cmd = io.nuls.transaction.constant.TxCmd.TX_SAVE, priority = CmdPriority.HIGH, version = 1.0, description = "Save transactions for new blocks/Save the confirmed transaction")
+    @CmdAnnotation(cmd = io.nuls.transaction.constant.TxCmd.TX_SAVE, priority = CmdPriority.HIGH, version = 1.0, localDirect = true, description = "Save transactions for new blocks/Save the confirmed transaction")
     @Parameters(value = {
             @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterDes = "chainid"),
             @Parameter(parameterName = "txList", requestType = @TypeDescriptor(value = List.class, collectionElement = String.class), parameterDes = "Transaction set to be saved"),
@@ -248,20 +250,25 @@ public class TxCmd extends BaseCmd {
         Chain chain = null;
         try {
             ObjectUtils.canNotEmpty(params.get("chainId"), TxErrorCode.PARAMETER_ERROR.getMsg());
-            ObjectUtils.canNotEmpty(params.get("txList"), TxErrorCode.PARAMETER_ERROR.getMsg());
-            ObjectUtils.canNotEmpty(params.get("blockHeader"), TxErrorCode.PARAMETER_ERROR.getMsg());
             ObjectUtils.canNotEmpty(params.get("syncStatus"), TxErrorCode.PARAMETER_ERROR.getMsg());
 
             chain = chainManager.getChain((Integer) params.get("chainId"));
             if (null == chain) {
                 throw new NulsException(TxErrorCode.CHAIN_NOT_FOUND);
             }
-            List<String> txStrList = (List<String>) params.get("txList");
-            if (null == txStrList) {
-                throw new NulsException(TxErrorCode.PARAMETER_ERROR);
-            }
             int syncStatus = (Integer) params.get("syncStatus");
-            result = confirmedTxService.saveTxList(chain, txStrList, (String) params.get("blockHeader"), syncStatus);
+            List<Transaction> txObjList = (List<Transaction>) params.get(Constants.TX_OBJ_LIST);
+            if (null != txObjList) {
+                //In-process call, the transactions have been parsed by the block module
+                ObjectUtils.canNotEmpty(txObjList, TxErrorCode.PARAMETER_ERROR.getMsg());
+                ObjectUtils.canNotEmpty(params.get(Constants.BLOCK_HEADER_OBJ), TxErrorCode.PARAMETER_ERROR.getMsg());
+                result = confirmedTxService.saveTxList(chain, txObjList, (BlockHeader) params.get(Constants.BLOCK_HEADER_OBJ), syncStatus);
+            } else {
+                ObjectUtils.canNotEmpty(params.get("txList"), TxErrorCode.PARAMETER_ERROR.getMsg());
+                ObjectUtils.canNotEmpty(params.get("blockHeader"), TxErrorCode.PARAMETER_ERROR.getMsg());
+                List<String> txStrList = (List<String>) params.get("txList");
+                result = confirmedTxService.saveTxList(chain, txStrList, (String) params.get("blockHeader"), syncStatus);
+            }
         } catch (NulsException e) {
             errorLogProcess(chain, e);
             return failed(e.getErrorCode());
@@ -571,6 +578,46 @@ public class TxCmd extends BaseCmd {
     }
 
 
+    @CmdAnnotation(cmd = io.nuls.transaction.constant.TxCmd.TX_GET_UNCONFIRMED_HASHS_BY_SHORT_IDS, version = 1.0, description = "Hashes of the unconfirmed transactions matching the short ids of a compact block/Get unconfirmed transaction hashs by short ids")
+    @Parameters(value = {
+            @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterDes = "chainid"),
+            @Parameter(parameterName = "blockHash", requestType = @TypeDescriptor(value = String.class), parameterDes = "Hash of the compact block"),
+            @Parameter(parameterName = "nonce", requestType = @TypeDescriptor(value = long.class), parameterDes = "Salt of the short ids"),
+            @Parameter(parameterName = "shortIdList", requestType = @TypeDescriptor(value = List.class, collectionElement = Long.class), parameterDes = "Short ids to be resolved")
+    })
+    @ResponseData(name = "Return value", description = "Return aMap", responseType = @TypeDescriptor(value = Map.class, mapKeys = {
+            @Key(name = "txHashList", valueType = List.class, valueElement = String.class, description = "Returns the transactionshashaggregate")
+    }))
+    public Response getUnconfirmedHashsByShortIds(Map params) {
+        Chain chain = null;
+        try {
+            ObjectUtils.canNotEmpty(params.get("chainId"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            ObjectUtils.canNotEmpty(params.get("blockHash"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            ObjectUtils.canNotEmpty(params.get("nonce"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            ObjectUtils.canNotEmpty(params.get("shortIdList"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            chain = chainManager.getChain((Integer) params.get("chainId"));
+            if (null == chain) {
+                throw new NulsException(TxErrorCode.CHAIN_NOT_FOUND);
+            }
+            NulsHash blockHash = NulsHash.fromHex((String) params.get("blockHash"));
+            long nonce = Long.parseLong(params.get("nonce").toString());
+            List<Long> shortIdList = new ArrayList<>();
+            for (Object shortId : (List) params.get("shortIdList")) {
+                shortIdList.add(Long.parseLong(shortId.toString()));
+            }
+            List<String> txHashList = confirmedTxService.getUnconfirmedHashListByShortIds(chain, blockHash, nonce, shortIdList);
+            Map<String, List<String>> resultMap = new HashMap<>(TxConstant.INIT_CAPACITY_2);
+            resultMap.put("txHashList", txHashList);
+            return success(resultMap);
+        } catch (NulsException e) {
+            errorLogProcess(chain, e);
+            return failed(e.getErrorCode());
+        } catch (Exception e) {
+            errorLogProcess(chain, e);
+            return failed(TxErrorCode.SYS_UNKOWN_EXCEPTION);
+        }
+    }
+
     @CmdAnnotation(cmd = io.nuls.transaction.constant.TxCmd.TX_GET_NONEXISTENT_UNCONFIRMED_HASHS, version = 1.0, description = "Query incoming transactionshashin,Transactions that are not in the unconfirmed databasehash/Get nonexistent unconfirmed transaction hashs")
     @Parameters(value = {
             @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterDes = "chainid"),
@@ -60,6 +60,8 @@ public class TxVersionChangeInvoker implements VersionChangeInvoker {
         }
 
         LedgerCall.clearUnconfirmTxs(chain);
+        //The signature verification rules may change with the protocol
+        chain.getVerifiedSignatureCache().clear();
         //Processing completed reset flag
         chain.getProtocolUpgrade().set(false);
         chain.getLogger().info("Version Change process, chainId:[{}]", chainId);
@@ -1,6 +1,8 @@
 package io.nuls.transaction.service;
 
+import io.nuls.base.data.BlockHeader;
 import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.Transaction;
 import io.nuls.core.exception.NulsException;
 import io.nuls.transaction.model.bo.Chain;
 import io.nuls.transaction.model.po.TransactionConfirmedPO;
@@ -44,6 +46,16 @@ public interface ConfirmedTxService {
      */
     boolean saveTxList(Chain chain, List<String> txStrList, String blockHeader, int syncStatus) throws NulsException;
 
+    /**
+     * Save confirmed transactions in the block, the transactions have been parsed by the caller(In-process call)
+     * @param chain
+     * @param txList
+     * @param blockHeader
+     * @param syncStatus 0:Synchronization status, 1:normal operation
+     * @return
+     */
+    boolean saveTxList(Chain chain, List<Transaction> txList, BlockHeader blockHeader, int syncStatus) throws NulsException;
+
 
 
     /**
@@ -75,6 +87,17 @@ public interface ConfirmedTxService {
      */
     List<String> getTxListExtend(Chain chain, List<String> hashList, boolean allHits);
 
+    /**
+     * Hashes of the unconfirmed transactions matching the short ids of a compact block
+     * A short id matched by more than one transaction is not resolved
+     * @param chain
+     * @param blockHash Hash of the compact block
+     * @param nonce     Salt of the short ids
+     * @param shortIdList
+     * @return List<String> tx hash list
+     */
+    List<String> getUnconfirmedHashListByShortIds(Chain chain, NulsHash blockHash, long nonce, List<Long> shortIdList);
+
 
     /**
      * Query incoming and outgoing transactionshashin,Transactions that do not exist in the unconfirmed databasehash
@@ -2,7 +2,9 @@ package io.nuls.transaction.service.impl;
 
 import io.nuls.common.NerveCoreConfig;
 import io.nuls.base.RPCUtil;
+import com.google.common.hash.HashFunction;
 import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.CompactBlock;
 import io.nuls.base.data.NulsHash;
 import io.nuls.base.data.Transaction;
 import io.nuls.core.constant.BaseConstant;
@@ -13,6 +15,9 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.logback.NulsLogger;
+import io.nuls.core.model.StringUtils;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.transaction.cache.PackablePool;
 import io.nuls.transaction.constant.TxConstant;
@@ -31,6 +36,8 @@ import io.nuls.transaction.utils.TxUtil;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * @author: Charlie
@@ -57,6 +64,16 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
     @Autowired
     private NerveCoreConfig txConfig;
 
+    /**
+     * Parallel commit thread pool, created on first use when parallel commit is enabled
+     */
+    private volatile ExecutorService commitExecutor;
+
+    /**
+     * Module commit dependencies, key:modulecode value:Modules that must be committed before it
+     */
+    private volatile Map<String, Set<String>> commitDependencies;
+
     @Override
     public TransactionConfirmedPO getConfirmedTransaction(Chain chain, NulsHash hash) {
         if (null == hash) {
@@ -91,29 +108,50 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         }
     }
 
+    @Override
+    public boolean saveTxList(Chain chain, List<Transaction> txList, BlockHeader blockHeader, int syncStatus) throws NulsException {
+        if (null == chain || txList == null || txList.size() == 0 || null == blockHeader) {
+            throw new NulsException(TxErrorCode.PARAMETER_ERROR);
+        }
+        try {
+            return saveBlockTxList(chain, txList, blockHeader, false, syncStatus);
+        } catch (Exception e) {
+            chain.getLogger().error(e);
+            return false;
+        }
+    }
+
     private boolean saveBlockTxList(Chain chain, List<String> txStrList, String blockHeaderStr, boolean gengsis, int syncStatus) {
-        long start = NulsDateUtils.getCurrentTimeMillis();
         List<Transaction> txList = new ArrayList<>();
-        int chainId = chain.getChainId();
-        List<byte[]> txHashs = new ArrayList<>();
-        //Assemble unified validation parameter data,keyUnify validators for each modulecmd
-        Map<String, List<String>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         BlockHeader blockHeader;
-        NulsLogger logger = chain.getLogger();
         try {
             blockHeader = TxUtil.getInstanceRpcStr(blockHeaderStr, BlockHeader.class);
-            logger.debug("[Save Block] start -----height:{} -----quantity:{}", blockHeader.getHeight(), txStrList.size());
             for (String txStr : txStrList) {
-                Transaction tx = TxUtil.getInstanceRpcStr(txStr, Transaction.class);
-                txList.add(tx);
-                tx.setBlockHeight(blockHeader.getHeight());
-                txHashs.add(tx.getHash().getBytes());
-                TxUtil.moduleGroups(chain, moduleVerifyMap, tx.getType(), txStr);
+                txList.add(TxUtil.getInstanceRpcStr(txStr, Transaction.class));
             }
         } catch (Exception e) {
-            logger.error(e);
+            chain.getLogger().error(e);
             return false;
         }
+        return saveBlockTxList(chain, txList, blockHeader, gengsis, syncStatus);
+    }
+
+    private boolean saveBlockTxList(Chain chain, List<Transaction> txList, BlockHeader blockHeader, boolean gengsis, int syncStatus) {
+        long start = NulsDateUtils.getCurrentTimeMillis();
+        int chainId = chain.getChainId();
+        List<byte[]> txHashs = new ArrayList<>();
+        //Assemble unified validation parameter data,keyUnify validators for each modulecmd
+        Map<String, List<Transaction>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+        NulsLogger logger = chain.getLogger();
+        logger.debug("[Save Block] start -----height:{} -----quantity:{}", blockHeader.getHeight(), txList.size());
+        for (Transaction tx : txList) {
+            //In-process calls share the block module's transactions, which already carry the block height
+            if (tx.getBlockHeight() != blockHeader.getHeight()) {
+                tx.setBlockHeight(blockHeader.getHeight());
+            }
+            txHashs.add(tx.getHash().getBytes());
+            TxUtil.moduleTxGroups(chain, moduleVerifyMap, tx);
+        }
         logger.debug("[Save Block] Assembly data execution time:{}", NulsDateUtils.getCurrentTimeMillis() - start);
 
         long dbStart = NulsDateUtils.getCurrentTimeMillis();
@@ -128,7 +166,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         // end code by pierre
         if (!onlyNullCoinBase) {
             long commitStart = NulsDateUtils.getCurrentTimeMillis();
-            if (!commitTxs(chain, moduleVerifyMap, blockHeaderStr, true, syncStatus)) {
+            if (!commitTxs(chain, moduleVerifyMap, blockHeader, true, syncStatus)) {
                 removeTxs(chain, txList, blockHeader.getHeight(), false);
                 return false;
             }
@@ -136,9 +174,9 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         }
 //        if (!onlyNullCoinBase) {
             long ledgerStart = NulsDateUtils.getCurrentTimeMillis();
-            if (!commitLedger(chain, txStrList, blockHeader.getHeight())) {
+            if (!commitLedger(chain, txList, blockHeader.getHeight())) {
                 if (!gengsis) {
-                    rollbackTxs(chain, moduleVerifyMap, blockHeaderStr, false);
+                    rollbackTxs(chain, moduleVerifyMap, blockHeader, false);
                 }
                 removeTxs(chain, txList, blockHeader.getHeight(), false);
                 return false;
@@ -173,13 +211,15 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return rs;
     }
 
-    private boolean commitTxs(Chain chain, Map<String, List<String>> moduleVerifyMap, String blockHeader, boolean atomicity, int syncStatus) {
+    private boolean commitTxs(Chain chain, Map<String, List<Transaction>> moduleVerifyMap, BlockHeader blockHeader, boolean atomicity, int syncStatus) {
+        if (txConfig.isTxCommitParallel() && moduleVerifyMap.size() > 1) {
+            return parallelCommitTxs(chain, moduleVerifyMap, blockHeader, atomicity, syncStatus);
+        }
         //Call the trading module uniformlycommitinterface batch
-        Map<String, List<String>> successed = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+        Map<String, List<Transaction>> successed = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         boolean result = true;
-        for (Map.Entry<String, List<String>> entry : moduleVerifyMap.entrySet()) {
-            boolean rs = TransactionCall.txCommit(chain, BaseConstant.TX_COMMIT,
-                    entry.getKey(), entry.getValue(), blockHeader, syncStatus);
+        for (Map.Entry<String, List<Transaction>> entry : moduleVerifyMap.entrySet()) {
+            boolean rs = commitModuleTxs(chain, entry.getKey(), entry.getValue(), blockHeader, syncStatus);
             if (!rs) {
                 result = false;
                 chain.getLogger().error("save tx failed! commitTxs");
@@ -194,7 +234,105 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return true;
     }
 
-    private boolean commitLedger(Chain chain, List<String> txList, long blockHeight) {
+    /**
+     * Modules are committed in rounds, the modules whose dependencies have been committed are committed concurrently in the same round.
+     * If any module fails, the following rounds are not executed and all successfully committed modules are rolled back
+     */
+    private boolean parallelCommitTxs(Chain chain, Map<String, List<Transaction>> moduleVerifyMap, BlockHeader blockHeader, boolean atomicity, int syncStatus) {
+        Map<String, Set<String>> dependencies = getCommitDependencies();
+        Map<String, List<Transaction>> successed = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+        Set<String> pending = new HashSet<>(moduleVerifyMap.keySet());
+        boolean result = true;
+        while (result && !pending.isEmpty()) {
+            List<String> round = new ArrayList<>();
+            for (String moduleCode : pending) {
+                Set<String> depends = dependencies.get(moduleCode);
+                if (null == depends || Collections.disjoint(depends, pending)) {
+                    round.add(moduleCode);
+                }
+            }
+            if (round.isEmpty()) {
+                //Circular dependency, commit one by one
+                chain.getLogger().warn("circular tx commit dependencies:{}", pending);
+                round.add(pending.iterator().next());
+            }
+            List<Future<Boolean>> futures = new ArrayList<>(round.size());
+            for (int i = 1; i < round.size(); i++) {
+                String moduleCode = round.get(i);
+                futures.add(getCommitExecutor().submit(() -> commitModuleTxs(chain, moduleCode, moduleVerifyMap.get(moduleCode), blockHeader, syncStatus)));
+            }
+            //The first module of the round is committed by the current thread
+            boolean[] rsArray = new boolean[round.size()];
+            rsArray[0] = commitModuleTxs(chain, round.get(0), moduleVerifyMap.get(round.get(0)), blockHeader, syncStatus);
+            for (int i = 1; i < round.size(); i++) {
+                try {
+                    rsArray[i] = futures.get(i - 1).get();
+                } catch (Exception e) {
+                    chain.getLogger().error(e);
+                    rsArray[i] = false;
+                }
+            }
+            for (int i = 0; i < round.size(); i++) {
+                String moduleCode = round.get(i);
+                if (rsArray[i]) {
+                    successed.put(moduleCode, moduleVerifyMap.get(moduleCode));
+                } else {
+                    result = false;
+                    chain.getLogger().error("save tx failed! commitTxs, module:{}", moduleCode);
+                }
+            }
+            pending.removeAll(round);
+        }
+        if (!result && atomicity) {
+            rollbackTxs(chain, successed, blockHeader, false);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean commitModuleTxs(Chain chain, String moduleCode, List<Transaction> txList, BlockHeader blockHeader, int syncStatus) {
+        long start = NulsDateUtils.getCurrentTimeMillis();
+        boolean rs = TransactionCall.txCommit(chain, BaseConstant.TX_COMMIT, moduleCode, txList, blockHeader, syncStatus);
+        chain.getLogger().debug("[Save Block] Module submission execution time:{} - module:{}, - Transaction quantity:{}",
+                NulsDateUtils.getCurrentTimeMillis() - start, moduleCode, txList.size());
+        return rs;
+    }
+
+    private ExecutorService getCommitExecutor() {
+        ExecutorService executor = commitExecutor;
+        if (null != executor) {
+            return executor;
+        }
+        synchronized (this) {
+            if (null == commitExecutor) {
+                commitExecutor = ThreadUtils.createThreadPool(TxConstant.INIT_CAPACITY_8,
+                        TxConstant.INIT_CAPACITY_8, new NulsThreadFactory(TxConstant.COMMIT_TX_THREAD));
+            }
+            return commitExecutor;
+        }
+    }
+
+    private Map<String, Set<String>> getCommitDependencies() {
+        Map<String, Set<String>> dependencies = commitDependencies;
+        if (null != dependencies) {
+            return dependencies;
+        }
+        dependencies = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+        String config = txConfig.getTxCommitDependencies();
+        if (StringUtils.isNotBlank(config)) {
+            for (String item : config.split(",")) {
+                String[] pair = item.trim().split(":");
+                if (pair.length != 2) {
+                    continue;
+                }
+                dependencies.computeIfAbsent(pair[0].trim(), k -> new HashSet<>()).add(pair[1].trim());
+            }
+        }
+        commitDependencies = dependencies;
+        return dependencies;
+    }
+
+    private boolean commitLedger(Chain chain, List<Transaction> txList, long blockHeight) {
         try {
             chain.getPackableState().set(false);
             boolean rs = LedgerCall.commitTxsLedger(chain, txList, blockHeight);
@@ -221,10 +359,10 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return rs;
     }
 
-    private boolean rollbackTxs(Chain chain, Map<String, List<String>> moduleVerifyMap, String blockHeader, boolean atomicity) {
-        Map<String, List<String>> successed = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+    private boolean rollbackTxs(Chain chain, Map<String, List<Transaction>> moduleVerifyMap, BlockHeader blockHeader, boolean atomicity) {
+        Map<String, List<Transaction>> successed = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         boolean result = true;
-        for (Map.Entry<String, List<String>> entry : moduleVerifyMap.entrySet()) {
+        for (Map.Entry<String, List<Transaction>> entry : moduleVerifyMap.entrySet()) {
             boolean rs = TransactionCall.txRollback(chain, BaseConstant.TX_ROLLBACK,
                     entry.getKey(), entry.getValue(), blockHeader);
             if (!rs) {
@@ -274,7 +412,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         List<Transaction> txList = new ArrayList<>();
         List<String> txStrList = new ArrayList<>();
         //Assemble unified validation parameter data,keyUnify validators for each modulecmd
-        Map<String, List<String>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
+        Map<String, List<Transaction>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         try {
             for (NulsHash hash : txHashList) {
                 TransactionConfirmedPO txPO = confirmedTxStorageService.getTx(chainId, hash);
@@ -287,7 +425,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
                 String txStr = RPCUtil.encode(tx.serialize());
                 txStrList.add(txStr);
                 // end code by pierre
-                TxUtil.moduleGroups(chain, moduleVerifyMap, tx);
+                TxUtil.moduleTxGroups(chain, moduleVerifyMap, tx);
             }
         } catch (Exception e) {
             logger.error(e);
@@ -307,8 +445,8 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
 
         // end code by pierre
         long moduleStart = NulsDateUtils.getCurrentTimeMillis();
-        if (!rollbackTxs(chain, moduleVerifyMap, blockHeaderStr, true)) {
-            commitLedger(chain, txStrList, blockHeight);
+        if (!rollbackTxs(chain, moduleVerifyMap, blockHeader, true)) {
+            commitLedger(chain, txList, blockHeight);
             return false;
         }
         logger.debug("[Rolling back blocks] Rollback transaction business data execution time:{}", NulsDateUtils.getCurrentTimeMillis() - moduleStart);
@@ -316,7 +454,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
 
         long dbStart = NulsDateUtils.getCurrentTimeMillis();
         if (!removeTxs(chain, txList, blockHeight, true)) {
-            commitTxs(chain, moduleVerifyMap, blockHeaderStr, false, 0);
+            commitTxs(chain, moduleVerifyMap, blockHeader, false, 0);
             saveTxs(chain, txList, blockHeight, false);
             return false;
         }
@@ -325,9 +463,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         int packableTxMapDataSize = 0;
         if (chain.getPackaging().get()) {
             //It is the packaging node that calculates the current capacity of the queue to be packaged
-            for (Transaction tx : chain.getPackableTxMap().values()) {
-                packableTxMapDataSize += tx.size();
-            }
+            packableTxMapDataSize = (int) packablePool.packableTxDataSize(chain);
         }
         for (int i = txList.size() - 1; i >= 0; i--) {
             Transaction tx = txList.get(i);
@@ -428,6 +564,31 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return txStrList;
     }
 
+    @Override
+    public List<String> getUnconfirmedHashListByShortIds(Chain chain, NulsHash blockHash, long nonce, List<Long> shortIdList) {
+        List<String> txHashList = new ArrayList<>();
+        if (shortIdList == null || shortIdList.isEmpty()) {
+            return txHashList;
+        }
+        Set<Long> shortIds = new HashSet<>(shortIdList);
+        HashFunction function = CompactBlock.shortIdFunction(blockHash, nonce);
+        Map<Long, byte[]> matched = new HashMap<>(shortIds.size() * 2);
+        Set<Long> collisions = new HashSet<>();
+        //The hashes are scanned in memory, the compact block is resolved without reading the unconfirmed table
+        for (NulsHash hash : unconfirmedTxStorageService.getTxHashSet(chain.getChainId())) {
+            byte[] key = hash.getBytes();
+            long shortId = CompactBlock.shortId(function, key);
+            if (shortIds.contains(shortId) && matched.put(shortId, key) != null) {
+                collisions.add(shortId);
+            }
+        }
+        collisions.forEach(matched::remove);
+        for (byte[] key : matched.values()) {
+            txHashList.add(HexUtil.encode(key));
+        }
+        return txHashList;
+    }
+
     @Override
     public List<String> getNonexistentUnconfirmedHashList(Chain chain, List<String> hashList) {
         List<String> txHashList = new ArrayList<>();
@@ -26,8 +26,10 @@ package io.nuls.transaction.service.impl;
 
 import io.nuls.base.RPCUtil;
 import io.nuls.base.data.*;
+import io.nuls.common.NerveCoreConfig;
 import io.nuls.core.basic.Result;
 import io.nuls.core.constant.BaseConstant;
+import io.nuls.core.constant.ErrorCode;
 import io.nuls.core.constant.TxType;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
@@ -57,9 +59,11 @@ import io.nuls.transaction.utils.TxUtil;
 
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import static io.nuls.transaction.constant.TxConstant.CACHED_SIZE;
 import static io.nuls.transaction.constant.TxConstant.VERIFY;
@@ -84,8 +88,13 @@ public class TxPackageServiceImpl implements TxPackageService {
     @Autowired
     private UnconfirmedTxStorageService unconfirmedTxStorageService;
 
+    @Autowired
+    private NerveCoreConfig txConfig;
+
     private ExecutorService verifySignExecutor = ThreadUtils.createThreadPool(Runtime.getRuntime().availableProcessors(),
             CACHED_SIZE, new NulsThreadFactory(TxConstant.BASIC_VERIFY_TX_SIGN_THREAD));
+    private ExecutorService moduleVerifyExecutor = ThreadUtils.createThreadPool(TxConstant.INIT_CAPACITY_8,
+            TxConstant.INIT_CAPACITY_16, new NulsThreadFactory(TxConstant.MODULE_VERIFY_TX_THREAD));
     private String INITIAL_STATE_ROOT = "56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421";
 
     /**
@@ -229,6 +238,11 @@ public class TxPackageServiceImpl implements TxPackageService {
         List<String> swapGenerateTxs = new ArrayList<>();
         // The original transaction corresponding to the system transactionhashaggregate（SWAPSystem transactions generated by modules）
         List<String> swapOriginTxHashList = new ArrayList<>();
+        // SWAPtransactions packed in this block
+        List<TxPackageWrapper> swapPackedTxs = new ArrayList<>();
+        // After a failedSWAPcall no SWAP transaction is packed in this block, they are put back into the packable queue at the end
+        boolean swapAborted = false;
+        List<TxPackageWrapper> swapDeferredTxs = new ArrayList<>();
         String newStateRoot = preStateRoot;
 
         for (int index = 0; ; index++) {
@@ -247,11 +261,13 @@ public class TxPackageServiceImpl implements TxPackageService {
                 log.error("getPackableTxs time out, endtimestamp:{}, current:{}, endtimestamp-current:{}, reserveTime:{}",
                         endtimestamp, currentTimeMillis, currentReserve, TxConstant.BASIC_PACKAGE_RPC_RESERVE_TIME);
                 backTempPackablePool(chain, currentBatchPackableTxs);
+                backTempPackablePool(chain, swapDeferredTxs);
                 throw new NulsException(TxErrorCode.PACKAGE_TIME_OUT);
             }
             if (chain.getProtocolUpgrade().get()) {
                 log.info("Protocol Upgrade Package stop -chain:{} -best block height", chain.getChainId(), chain.getBestBlockHeight());
                 backTempPackablePool(chain, currentBatchPackableTxs);
+                backTempPackablePool(chain, swapDeferredTxs);
                 //Put back packable transactions and orphans
                 txService.putBackPackablePool(chain, packingTxList, orphanTxSet);
                 return Result.getFailed(TxErrorCode.DATA_ERROR);
@@ -345,6 +361,55 @@ public class TxPackageServiceImpl implements TxPackageService {
                 }
                 if (process) {
                     verifyLedgerBasic(chain, batchProcessList, currentBatchPackableTxs, orphanTxSet);
+                    // Execute theSWAPtransactions of this batch with one call
+                    List<String> swapTxList = new ArrayList<>();
+                    List<TxPackageWrapper> swapBatchTxs = new ArrayList<>();
+                    Iterator<TxPackageWrapper> swapIt = currentBatchPackableTxs.iterator();
+                    while (swapIt.hasNext()) {
+                        TxPackageWrapper txPackageWrapper = swapIt.next();
+                        TxRegister txRegister = TxManager.getTxRegister(chain, txPackageWrapper.getTx().getType());
+                        if (!txRegister.getModuleCode().equals(ModuleE.SW.abbr)) {
+                            continue;
+                        }
+                        if (swapAborted) {
+                            swapDeferredTxs.add(txPackageWrapper);
+                            swapIt.remove();
+                        } else {
+                            swapTxList.add(txPackageWrapper.getTxHex());
+                            swapBatchTxs.add(txPackageWrapper);
+                        }
+                    }
+                    List<Map<String, Object>> swapResults = null;
+                    if (!swapTxList.isEmpty()) {
+                        // appearSWAPtransaction,And the notification identifier isfalse,Then call the notification first
+                        if (!swapNotify) {
+                            log.info("[{}]startSwapmodule-pack, {}, {}", blockHeight, blockTime, preStateRoot);
+                            SwapCall.swapBatchBegin(chain, blockHeight, blockTime, preStateRoot, 0);
+                            swapNotify = true;
+                        }
+                        log.info("[{}]handleSwaptransaction-pack, {}, count: {}", blockHeight, blockTime, swapTxList.size());
+                        if (log.isDebugEnabled()) {
+                            log.debug("[{}]Swaptransaction-pack, {}", blockHeight, Arrays.toString(swapTxList.toArray()));
+                        }
+                        try {
+                            swapResults = SwapCall.invokeBatch(chain, swapTxList, blockHeight, blockTime, 0);
+                        } catch (NulsException e) {
+                            // The state of theSWAPbatch is unknown, the transactions are still valid, pack noSWAPtransaction in this block
+                            chain.getLogger().error("[{}]Swapbatch call failed, no Swap transaction is packed in this block", blockHeight);
+                            chain.getLogger().error(e);
+                            swapAborted = true;
+                            swapNotify = false;
+                            currentBatchPackableTxs.removeAll(swapBatchTxs);
+                            packingTxList.removeAll(swapPackedTxs);
+                            swapDeferredTxs.addAll(swapPackedTxs);
+                            swapDeferredTxs.addAll(swapBatchTxs);
+                            swapPackedTxs.clear();
+                            swapGenerateTxs.clear();
+                            swapOriginTxHashList.clear();
+                            totalSize = verifyLedgerAgainBasic(chain, packingTxList, currentBatchPackableTxs, moduleVerifyMap, orphanTxSet);
+                        }
+                    }
+                    int swapIndex = 0;
                     Iterator<TxPackageWrapper> it = currentBatchPackableTxs.iterator();
                     while (it.hasNext()) {
                         TxPackageWrapper txPackageWrapper = it.next();
@@ -353,30 +418,25 @@ public class TxPackageServiceImpl implements TxPackageService {
                         String moduleCode = txRegister.getModuleCode();
                         boolean isSwapTx = moduleCode.equals(ModuleE.SW.abbr);
                         if (isSwapTx) {
-                            // appearSWAPtransaction,And the notification identifier isfalse,Then call the notification first
-                            if (!swapNotify) {
-                                log.info("[{}]startSwapmodule-pack, {}, {}", blockHeight, blockTime, preStateRoot);
-                                SwapCall.swapBatchBegin(chain, blockHeight, blockTime, preStateRoot, 0);
-                                swapNotify = true;
-                            }
-                            try {
-                                // Call ExecutionSWAPtransaction
-                                log.info("[{}]handleSwaptransaction-pack, {}, {}", blockHeight, blockTime, txPackageWrapper.getTxHex());
-                                Map<String, Object> invokeContractRs = SwapCall.invoke(chain, txPackageWrapper.getTxHex(), blockHeight, blockTime, 0);
-                                List<String> txList = (List<String>) invokeContractRs.get("txList");
-                                if (txList != null && !txList.isEmpty()) {
-                                    log.info("[{}]Obtain generated transactions_Swapmodule-pack, {}, {}", blockHeight, blockTime, Arrays.toString(txList.toArray()));
-                                    swapGenerateTxs.addAll(txList);
-                                    String txHash = transaction.getHash().toString();
-                                    for (int i = 0, size = txList.size(); i < size; i++) {
-                                        swapOriginTxHashList.add(txHash);
-                                    }
-                                }
-                            } catch (NulsException e) {
-                                chain.getLogger().error(e);
+                            // SWAPExecution result of the transaction
+                            Map<String, Object> invokeContractRs = swapResults.get(swapIndex);
+                            swapIndex++;
+                            if (invokeContractRs.get("errorCode") != null) {
+                                chain.getLogger().error("[{}]Swaptransaction execution failed, txHash:{}, errorCode:{}", blockHeight,
+                                        transaction.getHash().toHex(), invokeContractRs.get("errorCode"));
                                 txService.clearInvalidTx(chain, transaction);
                                 continue;
                             }
+                            swapPackedTxs.add(txPackageWrapper);
+                            List<String> txList = (List<String>) invokeContractRs.get("txList");
+                            if (txList != null && !txList.isEmpty()) {
+                                log.info("[{}]Obtain generated transactions_Swapmodule-pack, {}, {}", blockHeight, blockTime, Arrays.toString(txList.toArray()));
+                                swapGenerateTxs.addAll(txList);
+                                String txHash = transaction.getHash().toString();
+                                for (int i = 0, size = txList.size(); i < size; i++) {
+                                    swapOriginTxHashList.add(txHash);
+                                }
+                            }
                         }
                         totalSize += transaction.getSize();
                         //Calculate the number of cross chain transactions
@@ -404,6 +464,7 @@ public class TxPackageServiceImpl implements TxPackageService {
                 continue;
             }
         }
+        backTempPackablePool(chain, swapDeferredTxs);
         /** SWAP When the notification identifier istrue, It indicates that there isSWAPTransaction called for execution*/
         if (swapNotify) {
             Log.info("Collect transactions");
@@ -467,6 +528,50 @@ public class TxPackageServiceImpl implements TxPackageService {
         }
     }
 
+    /**
+     * The ledger has accepted the removedSWAPtransactions in its batch state, the transactions after them may spend their outputs or follow their nonce,
+     * so the batch is started again with the packed transactions and the current batch, and the module groups are built again from what is left
+     *
+     * @return Total size of the packed transactions
+     */
+    private long verifyLedgerAgainBasic(Chain chain, List<TxPackageWrapper> packingTxList, List<TxPackageWrapper> currentBatchPackableTxs,
+                                        Map<String, List<String>> moduleVerifyMap, Set<TxPackageWrapper> orphanTxSet) throws NulsException {
+        //Send batch verification to the ledger modulecoinDataIdentification of
+        LedgerCall.coinDataBatchNotify(chain);
+        List<TxPackageWrapper> ledgerTxList = new ArrayList<>();
+        List<String> batchProcessList = new ArrayList<>();
+        for (TxPackageWrapper txPackageWrapper : packingTxList) {
+            //Same as the packing above, the final quotation is not verified by the ledger
+            if (txPackageWrapper.getTx().getType() != TxType.FINAL_QUOTATION) {
+                ledgerTxList.add(txPackageWrapper);
+                batchProcessList.add(txPackageWrapper.getTxHex());
+            }
+        }
+        if (!batchProcessList.isEmpty()) {
+            List<TxPackageWrapper> verifiedTxList = new ArrayList<>(ledgerTxList);
+            verifyLedgerBasic(chain, batchProcessList, verifiedTxList, orphanTxSet);
+            ledgerTxList.removeAll(verifiedTxList);
+            packingTxList.removeAll(ledgerTxList);
+        }
+        if (!currentBatchPackableTxs.isEmpty()) {
+            batchProcessList.clear();
+            for (TxPackageWrapper txPackageWrapper : currentBatchPackableTxs) {
+                batchProcessList.add(txPackageWrapper.getTxHex());
+            }
+            verifyLedgerBasic(chain, batchProcessList, currentBatchPackableTxs, orphanTxSet);
+        }
+        moduleVerifyMap.clear();
+        long totalSize = 0L;
+        for (TxPackageWrapper txPackageWrapper : packingTxList) {
+            Transaction tx = txPackageWrapper.getTx();
+            totalSize += tx.getSize();
+            if (tx.getType() != TxType.FINAL_QUOTATION) {
+                TxUtil.moduleGroups(moduleVerifyMap, TxManager.getTxRegister(chain, tx.getType()), txPackageWrapper.getTxHex());
+            }
+        }
+        return totalSize;
+    }
+
     /**
      * If there is a protocol upgrade during packaging, Put the transaction back into the unprocessed queue,Reprocessing
      */
@@ -496,6 +601,30 @@ public class TxPackageServiceImpl implements TxPackageService {
         }
     }
 
+    /**
+     * Verify Block: execute theSWAPtransactions of the block,
+     * a failed call says nothing about the block, the batch is started again and the transactions are executed again
+     */
+    private List<Map<String, Object>> invokeSwapForVerify(Chain chain, List<String> swapTxList, long blockHeight, long blockTime, String preStateRoot) throws NulsException {
+        NulsLogger log = chain.getLogger();
+        for (int times = 1; ; times++) {
+            // appearSWAPtransaction,Then call the notification first
+            log.info("[{}]startSwapmodule-validate, {}, {}", blockHeight, blockTime, preStateRoot);
+            SwapCall.swapBatchBegin(chain, blockHeight, blockTime, preStateRoot, 1);
+            // Call ExecutionSWAPtransaction
+            log.info("[{}]handleSwaptransaction-validate, {}, count: {}", blockHeight, blockTime, swapTxList.size());
+            try {
+                return SwapCall.invokeBatch(chain, swapTxList, blockHeight, blockTime, 1);
+            } catch (NulsException e) {
+                if (times >= TxConstant.SWAP_VERIFY_INVOKE_TIMES) {
+                    throw e;
+                }
+                log.error("[{}]Swapbatch call failed, execute again, times:{}", blockHeight, times);
+                log.error(e);
+            }
+        }
+    }
+
     /**
      * Only one transaction is allowed in the verification block, and there cannot be multiple transactions
      */
@@ -539,6 +668,8 @@ public class TxPackageServiceImpl implements TxPackageService {
         // SWAPThe system transaction set generated by the module
         List<String> swapGenerateTxs = new ArrayList<>();
         List<String> swapGenerateTxsByVerify = new ArrayList<>();
+        // SWAPtransactions of the block, executed in order with one call
+        List<String> swapTxList = new ArrayList<>();
 
         log.info("Block transaction list-validate: {}", Arrays.toString(txStrList.toArray()));
         for (String txStr : txStrList) {
@@ -547,20 +678,7 @@ public class TxPackageServiceImpl implements TxPackageService {
             TxRegister txRegister = TxManager.getTxRegister(chain, type);
             boolean isUnSystemSwapTx = TxManager.isUnSystemSwap(txRegister);
             if (isUnSystemSwapTx) {
-                // appearSWAPtransaction,And the notification identifier isfalse,Then call the notification first
-                if (!swapNotify) {
-                    log.info("[{}]startSwapmodule-validate, {}, {}", blockHeight, blockTime, preStateRoot);
-                    SwapCall.swapBatchBegin(chain, blockHeight, blockTime, preStateRoot, 1);
-                    swapNotify = true;
-                }
-                // Call ExecutionSWAPtransaction
-                log.info("[{}]handleSwaptransaction-validate, {}, {}", blockHeight, blockTime, txStr);
-                Map<String, Object> invokeContractRs = SwapCall.invoke(chain, txStr, blockHeight, blockTime, 1);
-                List<String> swapTxList = (List<String>) invokeContractRs.get("txList");
-                if (swapTxList != null && !swapTxList.isEmpty()) {
-                    log.info("[{}]Obtain generated transactions_Swapmodule-validate, {}, {}", blockHeight, blockTime, Arrays.toString(swapTxList.toArray()));
-                    swapGenerateTxsByVerify.addAll(swapTxList);
-                }
+                swapTxList.add(txStr);
             } else if (TxManager.isSystemSwap(txRegister)) {
                 // Filter outSWAPSystem transaction set
                 swapGenerateTxs.add(txStr);
@@ -584,6 +702,21 @@ public class TxPackageServiceImpl implements TxPackageService {
             keys.add(tx.getHash().getBytes());
             TxUtil.moduleGroups(moduleVerifyMap, txRegister, txStr);
         }
+        if (!swapTxList.isEmpty()) {
+            swapNotify = true;
+            List<Map<String, Object>> swapResults = invokeSwapForVerify(chain, swapTxList, blockHeight, blockTime, preStateRoot);
+            for (Map<String, Object> invokeContractRs : swapResults) {
+                Object errorCode = invokeContractRs.get("errorCode");
+                if (errorCode != null) {
+                    throw new NulsException(ErrorCode.init(errorCode.toString()));
+                }
+                List<String> generateTxList = (List<String>) invokeContractRs.get("txList");
+                if (generateTxList != null && !generateTxList.isEmpty()) {
+                    log.info("[{}]Obtain generated transactions_Swapmodule-validate, {}, {}", blockHeight, blockTime, Arrays.toString(generateTxList.toArray()));
+                    swapGenerateTxsByVerify.addAll(generateTxList);
+                }
+            }
+        }
         boolean isUncfm = isTxConfirmed(chain, keys);
         if (!isUncfm) {
             throw new NulsException(TxErrorCode.TX_CONFIRMED);
@@ -594,27 +727,9 @@ public class TxPackageServiceImpl implements TxPackageService {
         verifyNonLocalTxs(chain, futures, keys, txList, blockHeight);
         keys = null;
 
-        //Verify ledger
-        long coinDataV = NulsDateUtils.getCurrentTimeMillis();
-        if (!LedgerCall.verifyBlockTxsCoinData(chain, txStrList, blockHeight)) {
-            throw new NulsException(TxErrorCode.TX_LEDGER_VERIFY_FAIL);
-        }
-        if (isLogDebug) {
-            log.debug("[Verify block transactions] coinData -Time from the start of the method:{},-Verification time:{}",
-                    NulsDateUtils.getCurrentTimeMillis() - s1, NulsDateUtils.getCurrentTimeMillis() - coinDataV);
-        }
-        //Module Unified Verifier
+        //Verify ledger and Module Unified Verifier
         long moduleV = NulsDateUtils.getCurrentTimeMillis();
-        Iterator<Map.Entry<String, List<String>>> it = moduleVerifyMap.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<String, List<String>> entry = it.next();
-            List<String> txHashList = TransactionCall.txModuleValidator(chain,
-                    entry.getKey(), entry.getValue(), blockHeaderStr);
-            if (txHashList != null && txHashList.size() > 0) {
-                log.error("batch module verify fail, module-code:{},  return count:{}", entry.getKey(), txHashList.size());
-                throw new NulsException(TxErrorCode.TX_VERIFY_FAIL);
-            }
-        }
+        verifyModules(chain, txStrList, moduleVerifyMap, blockHeaderStr, blockHeight);
 
         // The validation block generated by this nodestateRoot
         String verifyStateRoot = preStateRoot;
@@ -662,6 +777,114 @@ public class TxPackageServiceImpl implements TxPackageService {
         return true;
     }
 
+    /**
+     * The ledger and the unified validator of each module verify the block transactions,
+     * they are executed concurrently when txVerifyParallel is enabled.
+     * All the verifications are finished before the result is checked, the failures are reported in a fixed order(ledger first, then by module code),
+     * and the first one decides the error
+     */
+    private void verifyModules(Chain chain, List<String> txStrList, Map<String, List<String>> moduleVerifyMap,
+                               String blockHeaderStr, long blockHeight) throws NulsException {
+        List<String> moduleCodes = new ArrayList<>(moduleVerifyMap.keySet());
+        Collections.sort(moduleCodes);
+        List<ModuleVerifyResult> results = new ArrayList<>(moduleCodes.size() + 1);
+        List<Callable<ModuleVerifyResult>> tasks = new ArrayList<>(moduleCodes.size() + 1);
+        tasks.add(() -> verifyLedger(chain, txStrList, blockHeight));
+        for (String moduleCode : moduleCodes) {
+            tasks.add(() -> verifyModule(chain, moduleCode, moduleVerifyMap.get(moduleCode), blockHeaderStr));
+        }
+        if (txConfig.isTxVerifyParallel() && tasks.size() > 1) {
+            List<Future<ModuleVerifyResult>> futures = new ArrayList<>(tasks.size());
+            for (int i = 1; i < tasks.size(); i++) {
+                try {
+                    futures.add(moduleVerifyExecutor.submit(tasks.get(i)));
+                } catch (RejectedExecutionException e) {
+                    //The verification threads are busy with other blocks, verify by the current thread
+                    futures.add(CompletableFuture.completedFuture(call(chain, tasks.get(i), moduleCodes.get(i - 1))));
+                }
+            }
+            //The ledger is verified by the current thread
+            results.add(call(chain, tasks.get(0), ModuleE.LG.abbr));
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (Exception e) {
+                    chain.getLogger().error(e);
+                    results.add(new ModuleVerifyResult(moduleCodes.get(i), new NulsException(TxErrorCode.TX_VERIFY_FAIL), 0));
+                }
+            }
+        } else {
+            results.add(call(chain, tasks.get(0), ModuleE.LG.abbr));
+            for (int i = 1; i < tasks.size(); i++) {
+                results.add(call(chain, tasks.get(i), moduleCodes.get(i - 1)));
+            }
+        }
+        NulsException error = null;
+        StringBuilder times = new StringBuilder();
+        for (ModuleVerifyResult result : results) {
+            times.append(result.moduleCode).append(':').append(result.time).append("ms ");
+            if (null != result.error) {
+                chain.getLogger().error("batch module verify fail, module-code:{}, error:{}", result.moduleCode, result.error.format());
+                if (null == error) {
+                    error = result.error;
+                }
+            }
+        }
+        chain.getLogger().info("[Verify block transactions] height:{}, module verification time:{}", blockHeight, times.toString().trim());
+        if (null != error) {
+            throw error;
+        }
+    }
+
+    private ModuleVerifyResult call(Chain chain, Callable<ModuleVerifyResult> task, String moduleCode) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            chain.getLogger().error(e);
+            return new ModuleVerifyResult(moduleCode, new NulsException(TxErrorCode.TX_VERIFY_FAIL), 0);
+        }
+    }
+
+    private ModuleVerifyResult verifyLedger(Chain chain, List<String> txStrList, long blockHeight) {
+        long start = NulsDateUtils.getCurrentTimeMillis();
+        NulsException error = null;
+        try {
+            if (!LedgerCall.verifyBlockTxsCoinData(chain, txStrList, blockHeight)) {
+                error = new NulsException(TxErrorCode.TX_LEDGER_VERIFY_FAIL);
+            }
+        } catch (NulsException e) {
+            error = e;
+        }
+        return new ModuleVerifyResult(ModuleE.LG.abbr, error, NulsDateUtils.getCurrentTimeMillis() - start);
+    }
+
+    private ModuleVerifyResult verifyModule(Chain chain, String moduleCode, List<String> txList, String blockHeaderStr) {
+        long start = NulsDateUtils.getCurrentTimeMillis();
+        NulsException error = null;
+        try {
+            List<String> txHashList = TransactionCall.txModuleValidator(chain, moduleCode, txList, blockHeaderStr);
+            if (txHashList != null && txHashList.size() > 0) {
+                chain.getLogger().error("batch module verify fail, module-code:{},  return count:{}", moduleCode, txHashList.size());
+                error = new NulsException(TxErrorCode.TX_VERIFY_FAIL);
+            }
+        } catch (NulsException e) {
+            error = e;
+        }
+        return new ModuleVerifyResult(moduleCode, error, NulsDateUtils.getCurrentTimeMillis() - start);
+    }
+
+    private static class ModuleVerifyResult {
+        private final String moduleCode;
+        private final NulsException error;
+        private final long time;
+
+        private ModuleVerifyResult(String moduleCode, NulsException error, long time) {
+            this.moduleCode = moduleCode;
+            this.error = error;
+            this.time = time;
+        }
+    }
+
     private boolean swapGenerateTxConsistency(List<String> swapGenerateTxs, List<String> swapGenerateTxsByVerify) {
         if (swapGenerateTxs.size() != swapGenerateTxsByVerify.size()) {
             return false;
@@ -49,6 +49,7 @@ import io.nuls.core.rpc.model.ModuleE;
 import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.core.thread.ThreadUtils;
 import io.nuls.core.thread.commom.NulsThreadFactory;
+import io.nuls.transaction.cache.VerifiedSignatureCache;
 import io.nuls.transaction.cache.PackablePool;
 import io.nuls.transaction.constant.TxConstant;
 import io.nuls.transaction.constant.TxContext;
@@ -213,7 +214,7 @@ public class TxServiceImpl implements TxService {
                 throw new NulsException(TxErrorCode.TX_BROADCAST_FAIL);
             }
             //Add to the set of deduplication filters,Prevent other nodes from forwarding back and processing the transaction again
-            TxDuplicateRemoval.insertAndCheck(hash.toHex());
+            TxDuplicateRemoval.insertAndCheck(hash);
 
         } catch (IOException e) {
             throw new NulsException(TxErrorCode.DESERIALIZE_ERROR);
@@ -441,7 +442,7 @@ public class TxServiceImpl implements TxService {
                 break;
             }
         }
-        if (!SignatureUtil.validateTransactionSignture(chainId, tx)) {
+        if (!verifySignature(chain, tx, false)) {
             throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
         }
     }
@@ -574,7 +575,7 @@ public class TxServiceImpl implements TxService {
                 }
             }
         } while (false);
-        if (!SignatureUtil.validateTransactionSignture(chainId, tx)) {
+        if (!verifySignature(chain, tx, false)) {
             throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
         }
     }
@@ -710,15 +711,28 @@ public class TxServiceImpl implements TxService {
                 }
             }
         } while (false);
-        if (chain.getBestBlockHeight() >= TxContext.PROTOCOL_1_43_0) {
-            if (!SignatureUtil.validateTransactionSigntureForPersonalSign(chainId, tx)) {
-                throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
-            }
-        } else {
-            if (!SignatureUtil.validateTransactionSignture(chainId, tx)) {
-                throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
-            }
+        if (!verifySignature(chain, tx, chain.getBestBlockHeight() >= TxContext.PROTOCOL_1_43_0)) {
+            throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
+        }
+    }
+
+    /**
+     * Verify the signatures of the transaction, a transaction verified before by the same rule is not verified again
+     *
+     * @param personalSign Whether the personal sign signatures are supported
+     */
+    private boolean verifySignature(Chain chain, Transaction tx, boolean personalSign) throws NulsException {
+        VerifiedSignatureCache cache = chain.getVerifiedSignatureCache();
+        int version = personalSign ? VerifiedSignatureCache.VERSION_PERSONAL_SIGN : VerifiedSignatureCache.VERSION_SIGNATURE;
+        if (cache.contains(tx.getHash(), tx.getTransactionSignature(), version)) {
+            return true;
+        }
+        boolean result = personalSign ? SignatureUtil.validateTransactionSigntureForPersonalSign(chain.getChainId(), tx)
+                : SignatureUtil.validateTransactionSignture(chain.getChainId(), tx);
+        if (result) {
+            cache.add(tx.getHash(), tx.getTransactionSignature(), version);
         }
+        return result;
     }
 
     private void validateCoinFromBase(Chain chain, TxRegister txRegister, List<CoinFrom> listFrom) throws NulsException {
@@ -6,6 +6,7 @@ import io.nuls.transaction.model.po.TransactionNetPO;
 import io.nuls.transaction.model.po.TransactionUnconfirmedPO;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Transactions that have been validated but not packaged(Unconfirmed transaction)
@@ -97,6 +98,14 @@ public interface UnconfirmedTxStorageService {
      */
     List<byte[]> getAllTxkeyList(int chainId);
 
+    /**
+     * The hashes of the unconfirmed transactions kept in memory, a live view which is not read from the database
+     *
+     * @param chainId
+     * @return
+     */
+    Set<NulsHash> getTxHashSet(int chainId);
+
     /**
      * Query unconfirmed transaction data, including save time
      *
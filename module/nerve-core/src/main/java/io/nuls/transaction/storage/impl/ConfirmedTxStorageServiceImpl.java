@@ -11,7 +11,6 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.exception.NulsRuntimeException;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.parse.SerializeUtils;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import io.nuls.transaction.constant.TxDBConstant;
 import io.nuls.transaction.constant.TxErrorCode;
@@ -229,23 +228,22 @@ public class ConfirmedTxStorageServiceImpl implements ConfirmedTxStorageService
     @Override
     public List<TransactionConfirmedPO> getAllTxs(int chainId) {
         List<TransactionConfirmedPO> list = new ArrayList<>();
-        List<Entry<byte[], byte[]>> listEntry = RocksDBService.entryList(TxDBConstant.DB_TRANSACTION_CONFIRMED_PREFIX + chainId);
-        if(null == listEntry){
+        String table = TxDBConstant.DB_TRANSACTION_CONFIRMED_PREFIX + chainId;
+        if (!RocksDBService.existTable(table)) {
             return list;
         }
-        for(Entry<byte[], byte[]> entry : listEntry){
-            byte[] txBytes = RocksDBService.get(TxDBConstant.DB_TRANSACTION_CONFIRMED_PREFIX + chainId, entry.getKey());
-            TransactionConfirmedPO tx = null;
-            if (null != txBytes) {
+        try {
+            RocksDBService.iterate(table, (key, value) -> {
                 try {
-                    tx = TxUtil.getInstance(txBytes, TransactionConfirmedPO.class);
+                    list.add(TxUtil.getInstance(value, TransactionConfirmedPO.class));
                 } catch (NulsException e) {
-                    LOG.error("Transaction deserialization failed hash:{}", HexUtil.encode(entry.getKey()));
+                    LOG.error("Transaction deserialization failed hash:{}", HexUtil.encode(key));
                     LOG.error(e);
-                    continue;
                 }
-                list.add(tx);
-            }
+                return true;
+            });
+        } catch (Exception e) {
+            LOG.error(e);
         }
         return list;
     }
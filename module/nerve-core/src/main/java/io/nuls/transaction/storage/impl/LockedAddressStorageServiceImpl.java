@@ -88,12 +88,14 @@ public class LockedAddressStorageServiceImpl implements LockedAddressStorageServ
 
     @Override
     public List<String> findAll(int chainId) {
-        List<byte[]> keys = RocksDBService.keyList(TxDBConstant.DB_LOCKED_ADDRESS + chainId);
         List<String> list = new ArrayList<>();
-        if(null != keys){
-            for(byte[] key : keys){
-                list.add(AddressTool.getStringAddressByBytes(key));
-            }
+        if (!RocksDBService.existTable(TxDBConstant.DB_LOCKED_ADDRESS + chainId)) {
+            return list;
+        }
+        try {
+            RocksDBService.iterateKeys(TxDBConstant.DB_LOCKED_ADDRESS + chainId, key -> list.add(AddressTool.getStringAddressByBytes(key)));
+        } catch (Exception e) {
+            LOG.error(e);
         }
         return list;
     }
@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.nuls.transaction.utils.LoggerUtil.LOG;
 
@@ -33,6 +35,11 @@ import static io.nuls.transaction.utils.LoggerUtil.LOG;
 @Component
 public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageService {
 
+    /**
+     * The hashes of the unconfirmed transactions by chain, loaded from the table once and maintained by every write
+     */
+    private final Map<Integer, Set<NulsHash>> txHashSets = new ConcurrentHashMap<>();
+
     @Override
     public boolean putTx(int chainId, Transaction tx) {
         if (tx == null) {
@@ -44,6 +51,9 @@ public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageServ
         boolean result = false;
         try {
             result = RocksDBService.put(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, txHashBytes, txPO.serialize());
+            if (result) {
+                getTxHashSet(chainId).add(tx.getHash());
+            }
         } catch (Exception e) {
             LOG.error(e);
         }
@@ -63,7 +73,14 @@ public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageServ
                 //Serializing objects asbyteArray storage
                 txPOMap.put(tx.getHash().getBytes(), txPO.serialize());
             }
-            return RocksDBService.batchPut(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, txPOMap);
+            boolean result = RocksDBService.batchPut(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, txPOMap);
+            if (result) {
+                Set<NulsHash> txHashSet = getTxHashSet(chainId);
+                for (TransactionNetPO txNetPO : txNetPOList) {
+                    txHashSet.add(txNetPO.getTx().getHash());
+                }
+            }
+            return result;
         } catch (Exception e) {
             LOG.error(e.getMessage());
             throw new NulsRuntimeException(TxErrorCode.DB_SAVE_BATCH_ERROR);
@@ -125,6 +142,9 @@ public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageServ
         boolean result = false;
         try {
             result = RocksDBService.delete(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, hash);
+            if (result) {
+                getTxHashSet(chainId).remove(new NulsHash(hash));
+            }
         } catch (Exception e) {
             LOG.error(e);
         }
@@ -165,7 +185,14 @@ public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageServ
 
         try {
             //delete transaction
-            return RocksDBService.deleteKeys(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, hashList);
+            boolean result = RocksDBService.deleteKeys(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId, hashList);
+            if (result) {
+                Set<NulsHash> txHashSet = getTxHashSet(chainId);
+                for (byte[] hash : hashList) {
+                    txHashSet.remove(new NulsHash(hash));
+                }
+            }
+            return result;
         } catch (Exception e) {
             LOG.error(e);
         }
@@ -177,6 +204,20 @@ public class UnconfirmedTxStorageServiceImpl implements UnconfirmedTxStorageServ
         return RocksDBService.keyList(TxDBConstant.DB_TRANSACTION_UNCONFIRMED_PREFIX + chainId);
     }
 
+    @Override
+    public Set<NulsHash> getTxHashSet(int chainId) {
+        return txHashSets.computeIfAbsent(chainId, id -> {
+            Set<NulsHash> txHashSet = ConcurrentHashMap.newKeySet();
+            List<byte[]> keyList = getAllTxkeyList(id);
+            if (keyList != null) {
+                for (byte[] key : keyList) {
+                    txHashSet.add(new NulsHash(key));
+                }
+            }
+            return txHashSet;
+        });
+    }
+
     @Override
     public List<TransactionUnconfirmedPO> getTransactionUnconfirmedPOList(int chainId, List<byte[]> hashList) {
         //check params
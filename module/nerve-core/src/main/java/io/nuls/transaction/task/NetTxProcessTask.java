@@ -88,10 +88,7 @@ public class NetTxProcessTask implements Runnable {
                 //grouping Verifier
                 Map<String, List<String>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
                 Iterator<TransactionNetPO> it = txNetList.iterator();
-                int packableTxMapDataSize = 0;
-                for(Transaction tx : chain.getPackableTxMap().values()){
-                    packableTxMapDataSize += tx.size();
-                }
+                int packableTxMapDataSize = (int) packablePool.packableTxDataSize(chain);
                 while (it.hasNext()) {
                     TransactionNetPO txNetPO = it.next();
                     Transaction tx = txNetPO.getTx();
@@ -155,10 +155,7 @@ public class OrphanTxProcessTask implements Runnable {
                 return true;
             }
             //To be packaged queuemapExceeding the predetermined value,We will no longer accept transaction processing,Direct forwarding of complete transactions
-            int packableTxMapDataSize = 0;
-            for(Transaction transaction : chain.getPackableTxMap().values()){
-                packableTxMapDataSize += transaction.size();
-            }
+            int packableTxMapDataSize = (int) packablePool.packableTxDataSize(chain);
             if(TxUtil.discardTx(chain, packableTxMapDataSize, tx)){
                 //To be packaged queuemapExceeding the predetermined value, Do not handle forwarding failures
                 String hash = tx.getHash().toHex();
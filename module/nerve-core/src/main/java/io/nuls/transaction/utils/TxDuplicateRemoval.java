@@ -24,7 +24,9 @@
 
 package io.nuls.transaction.utils;
 
+import io.nuls.base.data.NulsHash;
 import io.nuls.core.crypto.HexUtil;
+import io.nuls.core.model.DuplicateFilter;
 
 import java.util.List;
 import java.util.Map;
@@ -36,10 +38,10 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class TxDuplicateRemoval {
 
-    private static HashSetDuplicateProcessor processorOfTx = new HashSetDuplicateProcessor(1000000);
+    private static DuplicateFilter processorOfTx = new DuplicateFilter(1000000);
 
-    public static boolean exist(String hash) {
-        return processorOfTx.contains(hash);
+    public static boolean exist(NulsHash hash) {
+        return processorOfTx.contains(hash.getBytes());
     }
 
     /**
@@ -47,8 +49,8 @@ public class TxDuplicateRemoval {
      * @param hash
      * @return
      */
-    public static boolean insertAndCheck(String hash) {
-        return processorOfTx.insertAndCheck(hash);
+    public static boolean insertAndCheck(NulsHash hash) {
+        return processorOfTx.insertAndCheck(hash.getBytes());
     }
 
     /**
@@ -32,6 +32,8 @@ import io.nuls.base.data.*;
 import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.exception.NulsException;
+import io.nuls.core.rpc.info.Constants;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
 import io.nuls.transaction.constant.TxConstant;
 import io.nuls.transaction.constant.TxContext;
 import io.nuls.transaction.constant.TxErrorCode;
@@ -225,6 +227,53 @@ public class TxUtil {
         moduleGroups(moduleVerifyMap, txRegister, txStr);
     }
 
+    /**
+     * Grouping transaction objects into modules
+     *
+     * @param chain
+     * @param moduleTxMap
+     * @param tx
+     */
+    public static void moduleTxGroups(Chain chain, Map<String, List<Transaction>> moduleTxMap, Transaction tx) {
+        TxRegister txRegister = TxManager.getTxRegister(chain, tx.getType());
+        List<Transaction> txList = moduleTxMap.computeIfAbsent(txRegister.getModuleCode(), k -> new ArrayList<>());
+        txList.add(tx);
+    }
+
+    /**
+     * Assemble the transaction parameters of the module interface,
+     * When the interface is called in-process without serialization, the parsed objects are passed directly, otherwise they are encoded as hex strings
+     * The passed objects are shared with the receiver, the list is wrapped read-only
+     *
+     * @param params      Interface parameters
+     * @param moduleCode  modulecode
+     * @param cmd         Interface commands
+     * @param txList      transaction list
+     * @param blockHeader Block header, can be null
+     * @throws NulsException
+     */
+    public static void putTxParams(Map<String, Object> params, String moduleCode, String cmd, List<Transaction> txList, BlockHeader blockHeader) throws NulsException {
+        if (ResponseMessageProcessor.isLocalDirect(moduleCode, cmd)) {
+            params.put(Constants.TX_OBJ_LIST, Collections.unmodifiableList(txList));
+            if (null != blockHeader) {
+                params.put(Constants.BLOCK_HEADER_OBJ, blockHeader);
+            }
+            return;
+        }
+        try {
+            List<String> txStrList = new ArrayList<>(txList.size());
+            for (Transaction tx : txList) {
+                txStrList.add(RPCUtil.encode(tx.serialize()));
+            }
+            params.put("txList", txStrList);
+            if (null != blockHeader) {
+                params.put("blockHeader", RPCUtil.encode(blockHeader.serialize()));
+            }
+        } catch (Exception e) {
+            throw new NulsException(e);
+        }
+    }
+
     public static void moduleGroups(Map<String, List<String>> moduleVerifyMap, TxRegister txRegister, String txStr) {
         //According to the unified validator name of the module, group all transactions and prepare for unified verification of each module
         String moduleCode = txRegister.getModuleCode();
@@ -79,6 +79,14 @@ public class MessageTest {
         assertEquals(message1.getMsgHash(), message.getMsgHash());
     }
 
+    @Test
+    public void testRawBlockMessage() throws Exception {
+        Block block = GenesisBlock.getInstance(0, 0);
+        NulsHash requestHash = NulsHash.calcHash(new byte[]{1});
+        BlockMessage message = new BlockMessage(requestHash, block, true);
+        assertEquals(HexUtil.encode(message.serialize()), HexUtil.encode(BlockMessage.serialize(requestHash, block.serialize(), true)));
+    }
+
     @Test
     public void testBlockMessage1() throws Exception {
         BlockMessage message = new BlockMessage();
@@ -0,0 +1,121 @@
+package io.nuls.block.storage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * The archive returns the saved blocks across segments, rollbacks and reopening
+ */
+public class BlockArchiveTest {
+
+    private static final int SEGMENT_SIZE = 1000;
+
+    private Path dir;
+
+    @Before
+    public void before() throws Exception {
+        dir = Files.createTempDirectory("block-archive");
+    }
+
+    @After
+    public void after() throws Exception {
+        Files.walk(dir).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void saveAndGet() throws Exception {
+        Random random = new Random(1);
+        byte[][] blocks = new byte[50][];
+        try (BlockArchive archive = new BlockArchive(dir, SEGMENT_SIZE)) {
+            assertEquals(-1, archive.getEndHeight());
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = block(random);
+                archive.save(100 + i, blocks[i]);
+            }
+            assertEquals(150, archive.getEndHeight());
+            for (int i = 0; i < blocks.length; i++) {
+                assertArrayEquals(blocks[i], archive.get(100 + i));
+            }
+            assertNull(archive.get(99));
+            assertNull(archive.get(150));
+        }
+        try (BlockArchive archive = new BlockArchive(dir, SEGMENT_SIZE)) {
+            assertEquals(150, archive.getEndHeight());
+            for (int i = 0; i < blocks.length; i++) {
+                assertArrayEquals(blocks[i], archive.get(100 + i));
+            }
+        }
+    }
+
+    @Test
+    public void rollback() throws Exception {
+        Random random = new Random(2);
+        try (BlockArchive archive = new BlockArchive(dir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 30; i++) {
+                archive.save(i, block(random));
+            }
+            byte[] kept = archive.get(19);
+            archive.remove(20);
+            assertEquals(20, archive.getEndHeight());
+            assertNull(archive.get(20));
+            assertArrayEquals(kept, archive.get(19));
+
+            //The block of another fork saved at a height which is already archived replaces the blocks from that height
+            byte[] fork = block(random);
+            archive.save(10, fork);
+            assertEquals(11, archive.getEndHeight());
+            assertArrayEquals(fork, archive.get(10));
+            assertNull(archive.get(11));
+
+            byte[] next = block(random);
+            archive.save(11, next);
+            assertArrayEquals(next, archive.get(11));
+        }
+    }
+
+    @Test
+    public void gap() throws Exception {
+        Random random = new Random(3);
+        try (BlockArchive archive = new BlockArchive(dir, SEGMENT_SIZE)) {
+            archive.save(0, block(random));
+            archive.save(1, block(random));
+            byte[] block = block(random);
+            archive.save(5, block);
+            assertNull(archive.get(1));
+            assertArrayEquals(block, archive.get(5));
+            assertEquals(6, archive.getEndHeight());
+            archive.remove(0);
+            assertEquals(-1, archive.getEndHeight());
+        }
+    }
+
+    @Test
+    public void destroy() throws Exception {
+        Random random = new Random(4);
+        Path archiveDir = dir.resolve("archive");
+        BlockArchive archive = new BlockArchive(archiveDir, SEGMENT_SIZE);
+        for (int i = 0; i < 10; i++) {
+            archive.save(i, block(random));
+        }
+        archive.destroy();
+        assertFalse(archiveDir.toFile().exists());
+        try (BlockArchive reopened = new BlockArchive(archiveDir, SEGMENT_SIZE)) {
+            assertEquals(-1, reopened.getEndHeight());
+        }
+    }
+
+    private static byte[] block(Random random) {
+        byte[] bytes = new byte[1 + random.nextInt(400)];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,91 @@
+package io.nuls.consensus.model.bo;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.consensus.model.po.DepositPo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * The index returns the same effective deposits as filtering the deposit table, through deposits, exits and rollbacks
+ */
+public class DepositIndexTest {
+
+    @Test
+    public void sameAsTableFilter() {
+        Random random = new Random(11);
+        DepositIndex index = new DepositIndex();
+        Map<NulsHash, DepositPo> table = new HashMap<>();
+        List<NulsHash> hashes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(4);
+            if (op <= 1 || hashes.isEmpty()) {
+                DepositPo po = newDeposit(i, random.nextInt(1000));
+                hashes.add(po.getTxHash());
+                table.put(po.getTxHash(), po);
+                index.put(po);
+            } else if (op == 2) {
+                //Exit, or the rollback of the exit
+                DepositPo old = table.get(hashes.get(random.nextInt(hashes.size())));
+                if (old == null) {
+                    continue;
+                }
+                DepositPo po = copy(old);
+                po.setDelHeight(old.getDelHeight() == -1 ? old.getBlockHeight() + random.nextInt(200) : -1);
+                table.put(po.getTxHash(), po);
+                index.put(po);
+            } else {
+                //Rollback of the deposit
+                NulsHash hash = hashes.get(random.nextInt(hashes.size()));
+                table.remove(hash);
+                index.remove(hash);
+            }
+            long endHeight = random.nextInt(1200);
+            long maxBlockHeight = random.nextBoolean() ? endHeight : random.nextInt((int) endHeight + 1);
+            Assert.assertEquals(filter(table.values(), maxBlockHeight, endHeight), hashesOf(index.getEffectiveDeposits(maxBlockHeight, endHeight)));
+        }
+        Assert.assertEquals(table.size(), index.size());
+    }
+
+    private static Set<NulsHash> filter(Collection<DepositPo> table, long maxBlockHeight, long endHeight) {
+        Set<NulsHash> set = new HashSet<>();
+        for (DepositPo po : table) {
+            if (po.getBlockHeight() > maxBlockHeight) {
+                continue;
+            }
+            if (po.getDelHeight() != -1 && po.getDelHeight() <= endHeight) {
+                continue;
+            }
+            set.add(po.getTxHash());
+        }
+        return set;
+    }
+
+    private static Set<NulsHash> hashesOf(List<DepositPo> list) {
+        Set<NulsHash> set = new HashSet<>();
+        for (DepositPo po : list) {
+            Assert.assertTrue(set.add(po.getTxHash()));
+        }
+        return set;
+    }
+
+    private static DepositPo newDeposit(int index, long blockHeight) {
+        DepositPo po = new DepositPo();
+        po.setTxHash(NulsHash.calcHash(("deposit" + index).getBytes()));
+        po.setDeposit(BigInteger.valueOf(index + 1));
+        po.setBlockHeight(blockHeight);
+        po.setDelHeight(-1);
+        return po;
+    }
+
+    private static DepositPo copy(DepositPo old) {
+        DepositPo po = new DepositPo();
+        po.setTxHash(old.getTxHash());
+        po.setDeposit(old.getDeposit());
+        po.setBlockHeight(old.getBlockHeight());
+        po.setDelHeight(old.getDelHeight());
+        return po;
+    }
+}
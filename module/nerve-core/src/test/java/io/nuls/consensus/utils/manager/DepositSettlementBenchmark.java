@@ -0,0 +1,117 @@
+package io.nuls.consensus.utils.manager;
+
+import io.nuls.base.basic.AddressTool;
+import io.nuls.base.data.NulsHash;
+import io.nuls.common.ConfigBean;
+import io.nuls.consensus.model.bo.Chain;
+import io.nuls.consensus.model.po.DepositPo;
+import io.nuls.consensus.utils.enumeration.DepositTimeType;
+import io.nuls.consensus.utils.enumeration.DepositType;
+import io.nuls.core.log.logback.LoggerBuilder;
+import io.nuls.core.model.DoubleUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Compare the deposit weights of one settlement at 100k deposits of the main asset:
+ * the filter of the whole deposit table with one log line per deposit(before) and the height index with the parallel sum(now)
+ * <p>
+ * The deposit table is read from memory for both, the table read of the settlement before is not measured
+ */
+public class DepositSettlementBenchmark {
+
+    private static final int DEPOSITS = 100_000;
+    private static final int ACCOUNTS = 30_000;
+    private static final long END_HEIGHT = 1_000_000;
+    private static final String DATE = "19000";
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(3);
+        ConfigBean config = new ConfigBean();
+        config.setChainId(9);
+        config.setAssetId(1);
+        config.setLocalAssertBase(2);
+        config.setDepositAwardChangeHeight(Long.MAX_VALUE);
+        Chain chain = new Chain();
+        chain.setConfig(config);
+        System.setProperty("log.level", "INFO");
+        chain.setLogger(LoggerBuilder.getLogger("settlement"));
+
+        List<DepositPo> table = new ArrayList<>(DEPOSITS);
+        for (int i = 0; i < DEPOSITS; i++) {
+            DepositPo po = new DepositPo();
+            po.setTxHash(NulsHash.calcHash(("deposit" + i).getBytes()));
+            po.setAddress(AddressTool.getAddress(NulsHash.calcHash(("account" + random.nextInt(ACCOUNTS)).getBytes()).getBytes(), 9));
+            po.setAssetChainId(9);
+            po.setAssetId(1);
+            po.setDeposit(BigInteger.valueOf(200_000_000_000L + random.nextInt(1_000_000_000)));
+            po.setBlockHeight(random.nextInt((int) END_HEIGHT + 10_000));
+            po.setDelHeight(random.nextInt(5) == 0 ? po.getBlockHeight() + random.nextInt(20_000) : -1);
+            po.setDepositType(random.nextBoolean() ? DepositType.REGULAR.getCode() : DepositType.CURRENT.getCode());
+            po.setTimeType(DepositTimeType.values()[random.nextInt(DepositTimeType.values().length)].getType());
+            po.setTime(random.nextInt(2_000_000_000));
+            table.add(po);
+            chain.getDepositIndex().put(po);
+        }
+        DepositManager depositManager = new DepositManager();
+
+        for (int round = 0; round < 3; round++) {
+            Map<String, BigDecimal> before = new HashMap<>();
+            long time = System.nanoTime();
+            BigDecimal beforeTotal = legacy(chain, table, before);
+            long legacy = System.nanoTime() - time;
+
+            Map<String, BigDecimal> now = new HashMap<>();
+            time = System.nanoTime();
+            BigDecimal nowTotal = depositManager.getDepositByHeight(chain, END_HEIGHT - 43200, END_HEIGHT, now, BigDecimal.ZERO, DATE);
+            long indexed = System.nanoTime() - time;
+
+            if (beforeTotal.compareTo(nowTotal) != 0 || !before.equals(now)) {
+                throw new IllegalStateException("different results");
+            }
+            System.out.println("round " + round + " : before " + legacy / 1_000_000 + "ms, now " + indexed / 1_000_000 + "ms");
+        }
+    }
+
+    /**
+     * The settlement of the deposits of the main asset before the height index
+     */
+    private static BigDecimal legacy(Chain chain, List<DepositPo> depositList, Map<String, BigDecimal> depositMap) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long time = Integer.parseInt(DATE) * 86400L + 86400L + 43200L;
+        for (DepositPo deposit : depositList) {
+            if (deposit.getBlockHeight() > END_HEIGHT) {
+                continue;
+            }
+            if (deposit.getDelHeight() != -1 && deposit.getDelHeight() <= END_HEIGHT) {
+                continue;
+            }
+            StringBuilder ss = new StringBuilder();
+            ss.append(AddressTool.getStringAddressByBytes(deposit.getAddress()));
+            ss.append("-");
+            ss.append(deposit.getAssetChainId());
+            ss.append("-");
+            ss.append(deposit.getAssetId());
+            ss.append("-");
+            ss.append(deposit.getDeposit().toString());
+            double weightSqrt = chain.getConfig().getLocalAssertBase();
+            if (deposit.getDepositType() == DepositType.REGULAR.getCode()) {
+                DepositTimeType depositTimeType = DepositTimeType.getValue(deposit.getTimeType());
+                if (depositTimeType != null && deposit.getTime() + depositTimeType.getTime() >= time) {
+                    weightSqrt = weightSqrt * depositTimeType.getWeight();
+                }
+            }
+            BigDecimal realAmount = DoubleUtils.mul(new BigDecimal(deposit.getDeposit()), new BigDecimal(Math.sqrt(weightSqrt)).setScale(4, BigDecimal.ROUND_HALF_UP));
+            ss.append("-real:");
+            ss.append(realAmount.toString());
+            totalAmount = totalAmount.add(realAmount);
+            ss.append("-total:");
+            ss.append(totalAmount.toString());
+            chain.getLogger().info(ss.toString());
+            depositMap.merge(AddressTool.getStringAddressByBytes(deposit.getAddress()), realAmount, (oldValue, value) -> oldValue.add(value));
+        }
+        return totalAmount;
+    }
+}
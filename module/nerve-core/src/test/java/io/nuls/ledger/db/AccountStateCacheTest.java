@@ -0,0 +1,39 @@
+package io.nuls.ledger.db;
+
+import io.nuls.ledger.model.po.AccountState;
+import io.nuls.ledger.storage.impl.AccountStateCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The confirmed account state cache stays within its memory limit
+ */
+public class AccountStateCacheTest {
+
+    @Test
+    public void evict() {
+        AccountStateCache cache = new AccountStateCache(64 * 1024);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(key(i), new AccountState());
+        }
+        Assert.assertTrue(cache.weight() <= cache.maxWeight());
+        Assert.assertTrue(cache.getEvictions() > 0);
+        Assert.assertNotNull(cache.get(key(9999)));
+        Assert.assertNull(cache.get(key(0)));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+
+        AccountState state = new AccountState();
+        cache.put(key(9999), state);
+        Assert.assertSame(state, cache.get(key(9999)));
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.weight());
+    }
+
+    private static byte[] key(int i) {
+        return ("NERVEepb6" + i + "-9-1").getBytes(StandardCharsets.UTF_8);
+    }
+}
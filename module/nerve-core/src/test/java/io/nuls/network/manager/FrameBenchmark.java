@@ -0,0 +1,99 @@
+package io.nuls.network.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.nuls.core.crypto.Sha256Hash;
+import io.nuls.core.model.ByteUtils;
+import io.nuls.network.model.message.base.MessageHeader;
+import io.nuls.network.netty.codec.NulsLengthFieldBasedFrameDecoder;
+import io.nuls.network.utils.MessageUtil;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Compare the inbound frame handling: the frame copied into an array, the header and body copied out of it and hashed(before),
+ * and the header read in place with the checksum computed on the pooled frame buffer, only the body copied(now)
+ */
+public class FrameBenchmark {
+
+    private static final int MAX_FRAME_LENGTH = 10 * 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int frames = 200000;
+        Random random = new Random(1);
+        byte[] body = new byte[500];
+        random.nextBytes(body);
+        byte[] frame = MessageManager.getInstance().buildFrame("newTx", 123456789L, body);
+
+        // warm up
+        run(false, frame, 20000);
+        run(true, frame, 20000);
+
+        System.out.println("frames : " + frames + ", frame size : " + frame.length + " B");
+        report("copy    ", false, frame, frames);
+        report("in place", true, frame, frames);
+    }
+
+    private static void report(String name, boolean inPlace, byte[] frame, int frames) {
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = mxBean.getThreadAllocatedBytes(threadId);
+        long time = System.nanoTime();
+        long valid = run(inPlace, frame, frames);
+        long useTime = System.nanoTime() - time;
+        allocated = mxBean.getThreadAllocatedBytes(threadId) - allocated;
+        System.out.println(name + " : " + (frames * 1000_000_000L / useTime) + " frames/s, allocated : " + (allocated / frames) + " B/frame, valid : " + valid);
+    }
+
+    private static long run(boolean inPlace, byte[] frame, int frames) {
+        EmbeddedChannel channel = new EmbeddedChannel(new NulsLengthFieldBasedFrameDecoder(ByteOrder.LITTLE_ENDIAN, MAX_FRAME_LENGTH, 4, 4, 16, 0, true));
+        long valid = 0;
+        for (int i = 0; i < frames; i++) {
+            ByteBuf in = PooledByteBufAllocator.DEFAULT.directBuffer(frame.length);
+            in.writeBytes(frame);
+            channel.writeInbound(in);
+            ByteBuf decoded = channel.readInbound();
+            try {
+                valid += inPlace ? inPlace(decoded) : copy(decoded);
+            } finally {
+                decoded.release();
+            }
+        }
+        channel.finishAndReleaseAll();
+        return valid;
+    }
+
+    /**
+     * The handling before: ChannelHandler copy, MessageManager subBytes/copyOf and hashTwice
+     */
+    private static int copy(ByteBuf buf) {
+        byte[] payLoad = new byte[buf.readableBytes()];
+        buf.readBytes(payLoad);
+        MessageHeader header = new MessageHeader();
+        int headerSize = header.size();
+        byte[] payLoadBody = ByteUtils.subBytes(payLoad, headerSize, payLoad.length - headerSize);
+        byte[] headerByte = ByteUtils.copyOf(payLoad, headerSize);
+        try {
+            header.parse(headerByte, 0);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        byte[] bodyHash = Sha256Hash.hashTwice(payLoadBody);
+        long checksum = ByteUtils.bytesToBigInteger(ByteUtils.subBytes(bodyHash, 0, 4)).longValue();
+        return checksum == header.getChecksum() ? 1 : 0;
+    }
+
+    private static int inPlace(ByteBuf frame) {
+        MessageHeader header = new MessageHeader();
+        header.parse(frame);
+        if (MessageUtil.checksum(frame.nioBuffer()) != header.getChecksum()) {
+            return 0;
+        }
+        byte[] payLoadBody = new byte[frame.readableBytes()];
+        frame.readBytes(payLoadBody);
+        return payLoadBody.length > 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,114 @@
+package io.nuls.network.manager;
+
+import io.nuls.base.RPCUtil;
+import io.nuls.base.data.Transaction;
+import io.nuls.base.protocol.MessageProcessor;
+import io.nuls.base.protocol.cmd.MessageDispatcher;
+import io.nuls.core.constant.BaseConstant;
+import io.nuls.core.rpc.info.Constants;
+import io.nuls.core.rpc.model.InvokeBean;
+import io.nuls.core.rpc.model.message.MessageUtil;
+import io.nuls.core.rpc.model.message.Request;
+import io.nuls.core.rpc.util.LocalModuleCall;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compare the message dispatch of the modules in the same process as the network module:
+ * hex body through the rpc request(before), and the serialized body handed to the processor({@link LocalMessageBus})
+ */
+public class LocalMessageBenchmark {
+
+    private static final String CMD = "newTx";
+
+    public static class TxProcessor implements MessageProcessor {
+        private long count;
+
+        @Override
+        public String getCmd() {
+            return CMD;
+        }
+
+        @Override
+        public void process(int chainId, String nodeId, String message) {
+            process(chainId, nodeId, RPCUtil.decode(message));
+        }
+
+        @Override
+        public void process(int chainId, String nodeId, byte[] message) {
+            Transaction tx = RPCUtil.getInstance(message, Transaction.class);
+            count += tx.getRemark().length;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int messages = 200000;
+        Transaction tx = new Transaction(2);
+        tx.setTime(System.currentTimeMillis() / 1000);
+        byte[] remark = new byte[300];
+        new Random(1).nextBytes(remark);
+        tx.setRemark(remark);
+        byte[] body = tx.serialize();
+
+        MessageDispatcher dispatcher = new MessageDispatcher();
+        dispatcher.setProcessors(List.of(new TxProcessor()));
+        Method method = MessageDispatcher.class.getMethod("msgProcess", Map.class);
+        InvokeBean invokeBean = new InvokeBean(dispatcher, method, false);
+
+        // warm up
+        rpc(invokeBean, body, messages / 10);
+        direct(dispatcher, body, messages / 10);
+
+        System.out.println("message body : " + body.length + " bytes, messages : " + messages);
+        report("rpc   ", () -> rpc(invokeBean, body, messages), messages);
+        report("direct", () -> direct(dispatcher, body, messages), messages);
+    }
+
+    private static void rpc(InvokeBean invokeBean, byte[] body, int messages) throws Exception {
+        for (int i = 0; i < messages; i++) {
+            Map<String, Object> paramMap = new HashMap<>();
+            paramMap.put("chainId", 9);
+            paramMap.put("nodeId", "192.168.1.1:17001");
+            paramMap.put("cmd", CMD);
+            paramMap.put("messageBody", RPCUtil.encode(body));
+            Request request = MessageUtil.newRequest(BaseConstant.MSG_PROCESS, paramMap, Constants.BOOLEAN_FALSE, Constants.ZERO, Constants.ZERO);
+            LocalModuleCall.requestOnly(invokeBean, request.getRequestMethods().get(BaseConstant.MSG_PROCESS), "nc", request);
+        }
+    }
+
+    private static void direct(MessageDispatcher dispatcher, byte[] body, int messages) {
+        for (int i = 0; i < messages; i++) {
+            dispatcher.dispatch(9, "192.168.1.1:17001", CMD, body);
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void report(String name, Task task, int messages) throws Exception {
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long gcCount = gcCount();
+        long allocated = mxBean.getThreadAllocatedBytes(threadId);
+        long time = System.nanoTime();
+        task.run();
+        long useTime = System.nanoTime() - time;
+        allocated = mxBean.getThreadAllocatedBytes(threadId) - allocated;
+        System.out.println(name + " : " + (messages * 1000_000_000L / useTime) + " msg/s, allocated : " + (allocated / messages) + " bytes/msg, gc : " + (gcCount() - gcCount));
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+}
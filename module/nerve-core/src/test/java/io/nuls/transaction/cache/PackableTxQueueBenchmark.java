@@ -0,0 +1,97 @@
+package io.nuls.transaction.cache;
+
+import io.nuls.base.data.Transaction;
+import io.nuls.core.model.ByteArrayWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Compare the hash deque plus map used before and {@link PackableTxQueue} for offer/poll/exist/clear
+ */
+public class PackableTxQueueBenchmark {
+
+    private static final int EXIST_CHECKS = 1000;
+
+    public static void main(String[] args) {
+        for (int count : new int[]{100000, 1000000}) {
+            List<Transaction> txs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Transaction tx = PackableTxQueueTest.newTx(i);
+                tx.getHash();
+                txs.add(tx);
+            }
+            System.out.println("pending txs: " + count);
+            deque(txs);
+            queue(txs);
+        }
+    }
+
+    private static void deque(List<Transaction> txs) {
+        BlockingDeque<ByteArrayWrapper> hashQueue = new LinkedBlockingDeque<>();
+        Map<ByteArrayWrapper, Transaction> txMap = new ConcurrentHashMap<>();
+        long time = System.nanoTime();
+        for (Transaction tx : txs) {
+            ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash().getBytes());
+            hashQueue.offer(hash);
+            txMap.put(hash, tx);
+        }
+        long offer = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < EXIST_CHECKS; i++) {
+            hashQueue.contains(new ByteArrayWrapper(txs.get(txs.size() - 1 - i).getHash().getBytes()));
+        }
+        long exist = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < txs.size() / 2; i++) {
+            txMap.remove(new ByteArrayWrapper(txs.get(i * 2).getHash().getBytes()));
+        }
+        long clear = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        ByteArrayWrapper hash;
+        while ((hash = hashQueue.poll()) != null) {
+            txMap.get(hash);
+        }
+        long poll = System.nanoTime() - time;
+        report("deque+map", offer, poll, exist, clear, txs.size());
+    }
+
+    private static void queue(List<Transaction> txs) {
+        PackableTxQueue queue = new PackableTxQueue();
+        long time = System.nanoTime();
+        for (Transaction tx : txs) {
+            queue.offerLast(tx);
+        }
+        long offer = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < EXIST_CHECKS; i++) {
+            queue.isQueued(txs.get(txs.size() - 1 - i).getHash().getBytes());
+        }
+        long exist = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < txs.size() / 2; i++) {
+            queue.remove(txs.get(i * 2).getHash().getBytes());
+        }
+        long clear = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        while (queue.pollFirst() != null) {
+        }
+        long poll = System.nanoTime() - time;
+        report("queue    ", offer, poll, exist, clear, txs.size());
+    }
+
+    private static void report(String name, long offer, long poll, long exist, long clear, int count) {
+        System.out.println("    " + name + " offer: " + offer / count + " ns/tx, poll: " + poll / count + " ns/tx, exist: "
+                + exist / EXIST_CHECKS + " ns/op, clear: " + clear / (count / 2) + " ns/tx");
+    }
+}
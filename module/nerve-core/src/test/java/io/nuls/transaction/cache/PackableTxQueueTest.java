@@ -0,0 +1,61 @@
+package io.nuls.transaction.cache;
+
+import io.nuls.base.data.Transaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packing order, requeue and removal of the packable transaction queue
+ */
+public class PackableTxQueueTest {
+
+    @Test
+    public void queue() {
+        PackableTxQueue queue = new PackableTxQueue();
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Transaction tx = newTx(i);
+            txs.add(tx);
+            Assert.assertTrue(queue.offerLast(tx));
+        }
+        //The same transaction is queued only once
+        queue.offerLast(txs.get(2));
+        Assert.assertEquals(5, queue.queueSize());
+        Assert.assertEquals(txs.get(0).size() * 5L, queue.dataSize());
+
+        Transaction first = queue.pollFirst();
+        Assert.assertSame(txs.get(0), first);
+        Assert.assertFalse(queue.isQueued(first.getHash().getBytes()));
+        //Taken out for packing but not confirmed
+        Assert.assertEquals(5, queue.size());
+        Assert.assertTrue(queue.requeueFirst(first.getHash().getBytes()));
+        Assert.assertSame(first, queue.pollFirst());
+
+        queue.offerFirst(txs.get(4));
+        queue.remove(txs.get(1).getHash().getBytes());
+        queue.remove(first.getHash().getBytes());
+        Assert.assertFalse(queue.requeueFirst(first.getHash().getBytes()));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertSame(txs.get(4), queue.pollFirst());
+        Assert.assertSame(txs.get(3), queue.pollLast());
+        Assert.assertSame(txs.get(2), queue.pollFirst());
+        Assert.assertNull(queue.pollFirst());
+        Assert.assertEquals(0, queue.queueSize());
+
+        queue.offerLast(txs.get(1));
+        queue.clearQueue();
+        Assert.assertEquals(0, queue.queueSize());
+        Assert.assertEquals(4, queue.size());
+        Assert.assertNotNull(queue.get(txs.get(1).getHash().getBytes()));
+    }
+
+    static Transaction newTx(int i) {
+        Transaction tx = new Transaction(2);
+        tx.setTime(1600000000L + i);
+        tx.setRemark(("packable-" + i).getBytes());
+        return tx;
+    }
+}
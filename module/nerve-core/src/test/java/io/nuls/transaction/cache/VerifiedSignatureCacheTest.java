@@ -0,0 +1,53 @@
+package io.nuls.transaction.cache;
+
+import io.nuls.base.data.NulsHash;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static io.nuls.transaction.cache.VerifiedSignatureCache.VERSION_PERSONAL_SIGN;
+import static io.nuls.transaction.cache.VerifiedSignatureCache.VERSION_SIGNATURE;
+
+/**
+ * Lookup by hash, signature and version, generation rotation and clearing of the verified signature cache
+ */
+public class VerifiedSignatureCacheTest {
+
+    @Test
+    public void lookup() {
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(100);
+        NulsHash hash = NulsHash.calcHash(new byte[]{1});
+        byte[] signature = new byte[]{1, 2, 3};
+        Assert.assertFalse(cache.contains(hash, signature, VERSION_SIGNATURE));
+        cache.add(hash, signature, VERSION_SIGNATURE);
+        Assert.assertTrue(cache.contains(hash, signature, VERSION_SIGNATURE));
+        //Another signature of the same transaction
+        Assert.assertFalse(cache.contains(hash, new byte[]{1, 2, 4}, VERSION_SIGNATURE));
+        //Verified by the rule of another version
+        Assert.assertFalse(cache.contains(hash, signature, VERSION_PERSONAL_SIGN));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(3, cache.getMisses());
+
+        cache.clear();
+        Assert.assertFalse(cache.contains(hash, signature, VERSION_SIGNATURE));
+    }
+
+    @Test
+    public void rotate() {
+        int capacity = 1000;
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(capacity);
+        byte[] signature = new byte[]{1};
+        for (int i = 0; i < capacity * 3; i++) {
+            cache.add(hash(i), signature, VERSION_SIGNATURE);
+            Assert.assertTrue(cache.size() <= capacity * 2);
+        }
+        //The last capacity transactions are remembered
+        for (int i = capacity * 2; i < capacity * 3; i++) {
+            Assert.assertTrue(cache.contains(hash(i), signature, VERSION_SIGNATURE));
+        }
+        Assert.assertFalse(cache.contains(hash(0), signature, VERSION_SIGNATURE));
+    }
+
+    private static NulsHash hash(int i) {
+        return NulsHash.calcHash(new byte[]{(byte) i, (byte) (i >> 8), (byte) (i >> 16)});
+    }
+}
@@ -42,8 +42,10 @@ public class UnconfirmedTxStorageServiceTest {
 
         Transaction txResult = unconfirmedTxStorageService.getTx(chainId, tx.getHash()).getTx();
         Assert.assertEquals(tx.getHash(), txResult.getHash());
+        Assert.assertTrue(unconfirmedTxStorageService.getTxHashSet(chainId).contains(tx.getHash()));
 
         unconfirmedTxStorageService.removeTx(chainId, txResult.getHash());
+        Assert.assertFalse(unconfirmedTxStorageService.getTxHashSet(chainId).contains(tx.getHash()));
 
         txResult = unconfirmedTxStorageService.getTx(chainId, tx.getHash()).getTx();
         Assert.assertNull(txResult);
@@ -62,6 +64,7 @@ public class UnconfirmedTxStorageServiceTest {
 
         result = unconfirmedTxStorageService.removeTxList(chainId, hashList);
         Assert.assertTrue(result);
+        Assert.assertFalse(unconfirmedTxStorageService.getTxHashSet(chainId).contains(tx.getHash()));
 
         txList = unconfirmedTxStorageService.getTxList(chainId, hashList);
         Assert.assertTrue(txList.size() == 0);
@@ -336,7 +336,7 @@ public class HtgMultiSignAddressHistoryStorageServiceImpl implements HtgMultiSig
 
     @Override
     public List<byte[]> getNerveHashListByLockedUTXO(List<UTXOData> utxoList) throws Exception {
-        return RocksDBManager.getTable(baseArea()).multiGetAsList(utxoList.stream().map(u -> stringToBytes(WITHDRAWL_UTXO_LOCKED_PREFIX + u.getTxid() + "-" + u.getVout())).collect(Collectors.toList()));
+        return RocksDBManager.multiGetValueList(baseArea(), utxoList.stream().map(u -> stringToBytes(WITHDRAWL_UTXO_LOCKED_PREFIX + u.getTxid() + "-" + u.getVout())).collect(Collectors.toList()));
     }
 
     @Override
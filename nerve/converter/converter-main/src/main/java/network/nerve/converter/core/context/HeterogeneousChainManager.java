@@ -211,7 +211,7 @@ public class HeterogeneousChainManager {
                     }
                     byte[] prefix = ConverterDBUtil.stringToBytes(chainId + "_");
                     //This chainDBExecute merge
-                    RocksIterator iterator = table.newIterator();
+                    RocksIterator iterator = table.newIterator(RocksDBManager.getTableHandle(dbName));
                     int count = 0;
                     for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                         RocksDBManager.put(ConverterDBConstant.DB_HETEROGENEOUS_CHAIN, ArraysTool.concatenate(prefix, iterator.key()), iterator.value());
@@ -26,7 +26,6 @@ package network.nerve.converter.storage.impl;
 
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.model.StringUtils;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import network.nerve.converter.constant.ConverterDBConstant;
 import network.nerve.converter.model.bo.Chain;
@@ -35,7 +34,6 @@ import network.nerve.converter.storage.CfmChangeBankStorageService;
 import network.nerve.converter.utils.ConverterDBUtil;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static network.nerve.converter.utils.ConverterDBUtil.stringToBytes;
@@ -83,14 +81,19 @@ public class CfmChangeBankStorageServiceImpl implements CfmChangeBankStorageServ
 
     @Override
     public Map<String, ConfirmedChangeVirtualBankPO> findAll(Chain chain) {
-        List<Entry<byte[], byte[]>> listEntry = RocksDBService.entryList(ConverterDBConstant.DB_CFM_VIRTUAL_BANK_PREFIX + chain.getChainId());
-        if(null == listEntry){
+        if (!RocksDBService.existTable(ConverterDBConstant.DB_CFM_VIRTUAL_BANK_PREFIX + chain.getChainId())) {
             return null;
         }
         Map<String, ConfirmedChangeVirtualBankPO> map = new HashMap<>();
-        for(Entry<byte[], byte[]> entry : listEntry){
-            ConfirmedChangeVirtualBankPO po = ConverterDBUtil.getModel(entry.getValue(), ConfirmedChangeVirtualBankPO.class);
-            map.put(po.getChangeVirtualBankTxHash().toHex(), po);
+        try {
+            RocksDBService.iterate(ConverterDBConstant.DB_CFM_VIRTUAL_BANK_PREFIX + chain.getChainId(), (key, value) -> {
+                ConfirmedChangeVirtualBankPO po = ConverterDBUtil.getModel(value, ConfirmedChangeVirtualBankPO.class);
+                map.put(po.getChangeVirtualBankTxHash().toHex(), po);
+                return true;
+            });
+        } catch (Exception e) {
+            chain.getLogger().error(e);
+            return null;
         }
         return map;
     }
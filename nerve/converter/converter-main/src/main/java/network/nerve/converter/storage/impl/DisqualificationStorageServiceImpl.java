@@ -72,12 +72,14 @@ public class DisqualificationStorageServiceImpl implements DisqualificationStora
 
     @Override
     public List<String> findAll(Chain chain) {
-        List<byte[]> keys = RocksDBService.keyList(ConverterDBConstant.DB_DISQUALIFICATION_PREFIX + chain.getChainId());
         List<String> list = new ArrayList<>();
-        if(null != keys){
-            for(byte[] key : keys){
-                list.add(AddressTool.getStringAddressByBytes(key));
-            }
+        if (!RocksDBService.existTable(ConverterDBConstant.DB_DISQUALIFICATION_PREFIX + chain.getChainId())) {
+            return list;
+        }
+        try {
+            RocksDBService.iterateKeys(ConverterDBConstant.DB_DISQUALIFICATION_PREFIX + chain.getChainId(), key -> list.add(AddressTool.getStringAddressByBytes(key)));
+        } catch (Exception e) {
+            chain.getLogger().error(e);
         }
         return list;
     }
@@ -27,7 +27,6 @@ package network.nerve.converter.storage.impl;
 import io.nuls.base.data.NulsHash;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import network.nerve.converter.constant.ConverterDBConstant;
 import network.nerve.converter.model.bo.Chain;
@@ -36,7 +35,6 @@ import network.nerve.converter.storage.ProposalVotingStorageService;
 import network.nerve.converter.utils.ConverterUtil;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -94,17 +92,17 @@ public class ProposalVotingStorageServiceImpl implements ProposalVotingStorageSe
 
     @Override
     public Map<NulsHash, ProposalPO> findAll(Chain chain) {
-        List<Entry<byte[], byte[]>> listEntry = RocksDBService.entryList(ConverterDBConstant.DB_PROPOSAL_VOTING_PREFIX + chain.getChainId());
-        if(null == listEntry){
+        if (!RocksDBService.existTable(ConverterDBConstant.DB_PROPOSAL_VOTING_PREFIX + chain.getChainId())) {
             return null;
         }
         Map<NulsHash, ProposalPO> map = new HashMap<>();
         try {
-            for(Entry<byte[], byte[]> entry : listEntry){
-                ProposalPO vbd = ConverterUtil.getInstance(entry.getValue(), ProposalPO.class);
+            RocksDBService.iterate(ConverterDBConstant.DB_PROPOSAL_VOTING_PREFIX + chain.getChainId(), (key, value) -> {
+                ProposalPO vbd = ConverterUtil.getInstance(value, ProposalPO.class);
                 map.put(vbd.getHash(), vbd);
-            }
-        } catch (NulsException e) {
+                return true;
+            });
+        } catch (Exception e) {
             chain.getLogger().error(e);
         }
         return map;
@@ -26,7 +26,6 @@ package network.nerve.converter.storage.impl;
 
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.model.StringUtils;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import network.nerve.converter.constant.ConverterDBConstant;
 import network.nerve.converter.model.bo.Chain;
@@ -35,7 +34,6 @@ import network.nerve.converter.storage.VirtualBankStorageService;
 import network.nerve.converter.utils.ConverterDBUtil;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static network.nerve.converter.utils.ConverterDBUtil.stringToBytes;
@@ -96,14 +94,19 @@ public class VirtualBankStorageServiceImpl implements VirtualBankStorageService
 
     @Override
     public Map<String, VirtualBankDirector> findAll(Chain chain) {
-        List<Entry<byte[], byte[]>> listEntry = RocksDBService.entryList(ConverterDBConstant.DB_VIRTUAL_BANK_PREFIX + chain.getChainId());
-        if (null == listEntry) {
+        if (!RocksDBService.existTable(ConverterDBConstant.DB_VIRTUAL_BANK_PREFIX + chain.getChainId())) {
             return null;
         }
         Map<String, VirtualBankDirector> map = new HashMap<>();
-        for (Entry<byte[], byte[]> entry : listEntry) {
-            VirtualBankDirector vbd = ConverterDBUtil.getModel(entry.getValue(), VirtualBankDirector.class);
-            map.put(vbd.getSignAddress(), vbd);
+        try {
+            RocksDBService.iterate(ConverterDBConstant.DB_VIRTUAL_BANK_PREFIX + chain.getChainId(), (key, value) -> {
+                VirtualBankDirector vbd = ConverterDBUtil.getModel(value, VirtualBankDirector.class);
+                map.put(vbd.getSignAddress(), vbd);
+                return true;
+            });
+        } catch (Exception e) {
+            chain.getLogger().error(e);
+            return null;
         }
         return map;
     }
@@ -111,7 +111,7 @@ public class DexManager {
         if (container == null) {
             return;
         }
-        if (!container.getBuyOrderList().isEmpty() || !container.getSellOrderList().isEmpty()) {
+        if (!container.getBuyOrders().isEmpty() || !container.getSellOrders().isEmpty()) {
             throw new NulsException(DexErrorCode.TRADING_MORE_ORDER_EXIST);
         }
         tradingKeyMap.remove(DexUtil.getCoinTradingKey1(tradingPo));
@@ -173,11 +173,9 @@ public class DexManager {
      */
     public void init() throws NulsException {
         //Query all transaction pair information and create corresponding positions
-        List<CoinTradingPo> tradingList = tradingStorageService.queryAll();
-        for (CoinTradingPo tradingPo : tradingList) {
-            this.addCoinTrading(tradingPo);
-        }
+        tradingStorageService.queryAll(this::addCoinTrading);
         //Query all order information and cache it to the disk port
+        //The orders are added in the order they were placed, which the table does not keep, so they are all loaded and sorted first
         List<TradingOrderPo> orderList = orderStorageService.queryAll();
         Collections.sort(orderList);
         for (TradingOrderPo orderPo : orderList) {
@@ -48,11 +48,18 @@ public class DexService {
     //Store successfully matched pending transactions for each packaged block
     private Map<String, TradingOrderPo> tempOrderPoMap = new HashMap<>();
     //During each packaging process, the temporary cache needs to cancel the delegation of pending ordersorderHash
-    private Set<String> tempCancelOrderSet = new HashSet<>();
+    private Set<NulsHash> tempCancelOrderSet = new HashSet<>();
 
 
     private ReentrantLock lock = new ReentrantLock();
 
+    /**
+     * The packaging snapshots read the committed containers, the block commit and rollback hold this lock while they change them
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
     /**
      * Node packagingdexModule transaction logic：
      * notes： Due to the limited packaging time of a block, the maximum limit for generating transactional transactions in a block is（tempCacheSize）
@@ -76,10 +83,9 @@ public class DexService {
 
 //            long time0, time1, time2;
 //            time0 = System.currentTimeMillis();
-            //First, copy all transaction pairs into the temporary opening
+            //First, take a snapshot of all transaction pairs into the temporary opening, the orders are copied when they are matched
             for (TradingContainer container : dexManager.getAllContainer().values()) {
-                TradingContainer copy = container.copy(dexPackingSize);
-                tempDexManager.addContainer(copy);
+                tempDexManager.addContainer(container.snapshot(dexPackingSize));
             }
 //            time1 = System.currentTimeMillis();
 //            if (time1 - time0 > 50) {
@@ -121,7 +127,7 @@ public class DexService {
                     //Record the cancellation of pending orders during this packaging processorderHashRevoking the order will no longer result in price matching transactions
                     orderCancel = new TradingOrderCancel();
                     orderCancel.parse(new NulsByteBuffer(tx.getTxData()));
-                    tempCancelOrderSet.add(HexUtil.encode(orderCancel.getOrderHash()));
+                    tempCancelOrderSet.add(new NulsHash(orderCancel.getOrderHash()));
 
                     String orderKey = HexUtil.encode(orderCancel.getOrderHash());
                     TradingOrderPo orderPo = tempOrderPoMap.get(orderKey);
@@ -317,8 +323,8 @@ public class DexService {
             if (dealTxList.size() >= dexPackingSize) {
                 return;
             }
-            sellOrder = getFirstSellOrder(container.getSellOrderList());
-            buyOrder = getFirstBuyOrder(container.getBuyOrderList());
+            sellOrder = container.getFirstSellOrder(tempCancelOrderSet);
+            buyOrder = container.getFirstBuyOrder(tempCancelOrderSet);
 
             if (buyOrder == null || sellOrder == null) {
                 //Indicating that there are no pending orders to match the buying or selling orders
@@ -328,6 +334,8 @@ public class DexService {
                 b = false;
             } else {
                 //Successfully matched orders generate transaction transactions
+                buyOrder = container.getWritableOrder(buyOrder);
+                sellOrder = container.getWritableOrder(sellOrder);
                 //If taking the initiative to buy, use the selling price as the transaction price, and vice versa, use the buying price as the transaction price
                 if (buyOrder.compareTo(sellOrder) > 0) {
                     createDealTx(container, buyOrder, sellOrder, DexConstant.BUY_TAKER, blockTime);
@@ -415,50 +423,6 @@ public class DexService {
         sellOrder.setOver(isSellOver);
     }
 
-    /**
-     * Buying is sorted by price from high to low, and each time a match is made by taking out the highest priced item starting from the first item
-     * If the purchase order has been cancelled, continue to retrieve the next item for matching verification
-     *
-     * @param buyOrderList
-     * @return
-     */
-    private TradingOrderPo getFirstBuyOrder(NavigableMap<BigInteger, Map<String, TradingOrderPo>> buyOrderList) {
-        if (buyOrderList.isEmpty()) {
-            return null;
-        }
-        for (Map.Entry<BigInteger, Map<String, TradingOrderPo>> entry : buyOrderList.entrySet()) {
-            Map<String, TradingOrderPo> map = entry.getValue();
-            for (TradingOrderPo buyOrder : map.values()) {
-                if (!buyOrder.isOver() && !tempCancelOrderSet.contains(buyOrder.getOrderHash().toHex())) {
-                    return buyOrder;
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Selling orders are sorted in descending order of price, and each time they are matched by starting from the lowest selling order price
-     * If the sales order has been revoked, continue to retrieve the next one for matching verification
-     *
-     * @param sellOrderList
-     * @return
-     */
-    private TradingOrderPo getFirstSellOrder(NavigableMap<BigInteger, Map<String, TradingOrderPo>> sellOrderList) {
-        if (sellOrderList.isEmpty()) {
-            return null;
-        }
-        for (Map.Entry<BigInteger, Map<String, TradingOrderPo>> entry : sellOrderList.entrySet()) {
-            Map<String, TradingOrderPo> map = entry.getValue();
-            for (TradingOrderPo buyOrder : map.values()) {
-                if (!buyOrder.isOver() && !tempCancelOrderSet.contains(buyOrder.getOrderHash().toHex())) {
-                    return buyOrder;
-                }
-            }
-        }
-        return null;
-    }
-
     private Map<String, List<Transaction>> returnTxMap() {
         Map<String, List<Transaction>> resultMap = new HashMap<>();
 //        dealTxList.forEach(tx -> {
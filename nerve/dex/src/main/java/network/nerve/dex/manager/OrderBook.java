@@ -0,0 +1,184 @@
+package network.nerve.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import network.nerve.dex.model.po.TradingOrderPo;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Purchase or sales orders of a coin pair, in price and time priority
+ * The price levels are sorted by the comparator of the side, the orders of a price level are kept in a linked queue
+ * in the order they were added, and every order is indexed by its hash,
+ * so finding, updating and removing an order does not search the price levels.
+ * <p>
+ * Single writer: the book is only modified by its container, under the lock of the container.
+ * Reading threads never fail, but they see a consistent book only while no block is being committed
+ */
+public class OrderBook {
+
+    private final ConcurrentSkipListMap<BigInteger, PriceLevel> levels;
+
+    private final Map<NulsHash, Node> index = new ConcurrentHashMap<>();
+
+    public OrderBook(Comparator<? super BigInteger> comparator) {
+        this.levels = new ConcurrentSkipListMap<>(comparator);
+    }
+
+    /**
+     * Add the order to the end of its price level, an order already in the book is replaced and keeps its place
+     */
+    public void add(TradingOrderPo po) {
+        Node node = index.get(po.getOrderHash());
+        if (node != null) {
+            if (node.level.price.equals(po.getPrice())) {
+                node.order = po;
+                return;
+            }
+            unlink(node);
+        }
+        PriceLevel level = levels.get(po.getPrice());
+        if (level == null) {
+            level = new PriceLevel(po.getPrice());
+            levels.put(po.getPrice(), level);
+        }
+        node = new Node(po, level);
+        level.append(node);
+        index.put(po.getOrderHash(), node);
+    }
+
+    public TradingOrderPo get(NulsHash orderHash) {
+        Node node = index.get(orderHash);
+        return node == null ? null : node.order;
+    }
+
+    public TradingOrderPo remove(NulsHash orderHash) {
+        Node node = index.remove(orderHash);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.order;
+    }
+
+    private void unlink(Node node) {
+        PriceLevel level = node.level;
+        level.unlink(node);
+        if (level.size == 0) {
+            levels.remove(level.price, level);
+        }
+    }
+
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Comparator<? super BigInteger> comparator() {
+        return levels.comparator();
+    }
+
+    /**
+     * Price levels in matching order
+     */
+    public Collection<PriceLevel> levels() {
+        return Collections.unmodifiableCollection(levels.values());
+    }
+
+    public PriceLevel getLevel(BigInteger price) {
+        return levels.get(price);
+    }
+
+    /**
+     * Orders of one price, in the order they were added
+     */
+    public static class PriceLevel implements Iterable<TradingOrderPo> {
+
+        private final BigInteger price;
+
+        private Node head;
+
+        private Node tail;
+
+        private int size;
+
+        private PriceLevel(BigInteger price) {
+            this.price = price;
+        }
+
+        private void append(Node node) {
+            node.prev = tail;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        /**
+         * The next link of the removed node is kept, so that a reader standing on it can go on
+         */
+        private void unlink(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            size--;
+        }
+
+        public BigInteger getPrice() {
+            return price;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<TradingOrderPo> iterator() {
+            return new Iterator<>() {
+                private Node next = head;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public TradingOrderPo next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    TradingOrderPo po = next.order;
+                    next = next.next;
+                    return po;
+                }
+            };
+        }
+    }
+
+    private static class Node {
+        private TradingOrderPo order;
+        private final PriceLevel level;
+        private Node prev;
+        private Node next;
+
+        private Node(TradingOrderPo order, PriceLevel level) {
+            this.order = order;
+            this.level = level;
+        }
+    }
+}
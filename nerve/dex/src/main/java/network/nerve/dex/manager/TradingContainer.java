@@ -1,33 +1,34 @@
 package network.nerve.dex.manager;
 
+import io.nuls.base.data.NulsHash;
 import io.nuls.core.exception.NulsException;
 import network.nerve.dex.context.DexConstant;
 import network.nerve.dex.context.DexErrorCode;
 import network.nerve.dex.model.po.CoinTradingPo;
 import network.nerve.dex.model.po.TradingOrderPo;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.*;
-import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Coin to disk management container
  * Purchase and sale orders for storing currency pairs
+ * <p>
+ * The orders are modified by the block commit and rollback of the dex transactions, one at a time under the lock of the container,
+ * see {@link OrderBook} for the reading threads
  */
 public class TradingContainer {
 
     private CoinTradingPo coinTrading;
 
-    private NavigableMap<BigInteger, Map<String, TradingOrderPo>> sellOrderList;
+    private final OrderBook sellOrders;
 
-    private NavigableMap<BigInteger, Map<String, TradingOrderPo>> buyOrderList;
+    private final OrderBook buyOrders;
 
     public TradingContainer() {
         //Sell orders in positive order of price
-        sellOrderList = new ConcurrentSkipListMap<>(Comparator.naturalOrder());
+        sellOrders = new OrderBook(Comparator.naturalOrder());
         //Purchase orders are arranged in reverse order of price
-        buyOrderList = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        buyOrders = new OrderBook(Comparator.reverseOrder());
     }
 
     public TradingContainer(CoinTradingPo coinTrading) {
@@ -35,6 +36,24 @@ public class TradingContainer {
         this.coinTrading = coinTrading;
     }
 
+    /**
+     * Used by the snapshot, which keeps its orders itself
+     */
+    protected TradingContainer(CoinTradingPo coinTrading, boolean createOrderBook) {
+        this.coinTrading = coinTrading;
+        if (createOrderBook) {
+            sellOrders = new OrderBook(Comparator.naturalOrder());
+            buyOrders = new OrderBook(Comparator.reverseOrder());
+        } else {
+            sellOrders = null;
+            buyOrders = null;
+        }
+    }
+
+    private OrderBook orderBook(TradingOrderPo po) {
+        return po.getType() == DexConstant.TRADING_ORDER_BUY_TYPE ? buyOrders : sellOrders;
+    }
+
     /**
      * Add delegated order placement
      * Cache the corresponding inventory based on the purchase and sale orders separately
@@ -56,25 +75,8 @@ public class TradingContainer {
      *
      * @param po
      */
-    public void addTradingOrder(TradingOrderPo po) {
-        if (po.getType() == DexConstant.TRADING_ORDER_BUY_TYPE) {
-            addToTradingOrder(buyOrderList, po);
-        } else {
-            addToTradingOrder(sellOrderList, po);
-        }
-    }
-
-    private void addToTradingOrder(NavigableMap<BigInteger, Map<String, TradingOrderPo>> orderList, TradingOrderPo o1) {
-        String lock = coinTrading.getHash().toHex() + o1.getPrice();
-        orderList.compute(o1.getPrice(), (key, list) -> {
-            synchronized (lock) {
-                if (list == null) {
-                    list = new LinkedHashMap<>();
-                }
-                list.put(o1.getOrderHash().toHex(), o1);
-            }
-            return list;
-        });
+    public synchronized void addTradingOrder(TradingOrderPo po) {
+        orderBook(po).add(po);
     }
 
     /**
@@ -82,38 +84,12 @@ public class TradingContainer {
      *
      * @param o1
      */
-    public void updateTradingOrder(TradingOrderPo o1) throws NulsException {
-        TradingOrderPo oldOrder;
-        if (o1.getType() == DexConstant.TRADING_ORDER_BUY_TYPE) {
-            if (buyOrderList.isEmpty()) {
-                throw new NulsException(DexErrorCode.DATA_NOT_FOUND, "tradingOrder not found");
-            }
-            oldOrder = getTradingOrder(buyOrderList, o1.getPrice(), o1.getOrderHash().toHex());
-            if (oldOrder == null) {
-                throw new NulsException(DexErrorCode.DATA_NOT_FOUND, "tradingOrder not found");
-            }
-            oldOrder.copyFrom(o1);
-        } else {
-            if (sellOrderList.isEmpty()) {
-                throw new NulsException(DexErrorCode.DATA_NOT_FOUND, "tradingOrder not found");
-            }
-            oldOrder = getTradingOrder(sellOrderList, o1.getPrice(), o1.getOrderHash().toHex());
-            if (oldOrder == null) {
-                throw new NulsException(DexErrorCode.DATA_NOT_FOUND, "tradingOrder not found");
-            }
-            oldOrder.copyFrom(o1);
-        }
-    }
-
-    private TradingOrderPo getTradingOrder(NavigableMap<BigInteger, Map<String, TradingOrderPo>> orderList, BigInteger price, String hash) {
-        String lock = coinTrading.getHash().toHex() + price;
-        synchronized (lock) {
-            Map<String, TradingOrderPo> list = orderList.get(price);
-            if (list == null) {
-                return null;
-            }
-            return list.get(hash);
+    public synchronized void updateTradingOrder(TradingOrderPo o1) throws NulsException {
+        TradingOrderPo oldOrder = orderBook(o1).get(o1.getOrderHash());
+        if (oldOrder == null) {
+            throw new NulsException(DexErrorCode.DATA_NOT_FOUND, "tradingOrder not found");
         }
+        oldOrder.copyFrom(o1);
     }
 
     /**
@@ -121,80 +97,88 @@ public class TradingContainer {
      *
      * @param o1
      */
+    public synchronized void removeTradingOrder(TradingOrderPo o1) {
+        orderBook(o1).remove(o1.getOrderHash());
+    }
 
-    public void removeTradingOrder(TradingOrderPo o1) {
-        if (o1.getType() == DexConstant.TRADING_ORDER_BUY_TYPE) {
-            removeTradingOrder(buyOrderList, o1);
-        } else {
-            removeTradingOrder(sellOrderList, o1);
-        }
+    /**
+     * The first purchase order to be matched, the order which has been completed or is in the excluded set is skipped
+     *
+     * @param excludedOrders orderHash of the orders revoked during the packaging
+     */
+    public TradingOrderPo getFirstBuyOrder(Set<NulsHash> excludedOrders) {
+        return getFirstOrder(buyOrders, excludedOrders);
     }
 
-    private TradingOrderPo removeTradingOrder(NavigableMap<BigInteger, Map<String, TradingOrderPo>> orderList, TradingOrderPo o1) {
-        String lock = coinTrading.getHash().toHex() + o1.getPrice();
-        synchronized (lock) {
-            Map<String, TradingOrderPo> list = orderList.get(o1.getPrice());
-            if (list == null) {
-                return null;
-            }
-            list.remove(o1.getOrderHash().toHex());
-            if (list.isEmpty()) {
-                orderList.remove(o1.getPrice());
+    /**
+     * The first sales order to be matched, the order which has been completed or is in the excluded set is skipped
+     *
+     * @param excludedOrders orderHash of the orders revoked during the packaging
+     */
+    public TradingOrderPo getFirstSellOrder(Set<NulsHash> excludedOrders) {
+        return getFirstOrder(sellOrders, excludedOrders);
+    }
+
+    private TradingOrderPo getFirstOrder(OrderBook orderBook, Set<NulsHash> excludedOrders) {
+        for (OrderBook.PriceLevel level : orderBook.levels()) {
+            for (TradingOrderPo orderPo : level) {
+                if (!orderPo.isOver() && !excludedOrders.contains(orderPo.getOrderHash())) {
+                    return orderPo;
+                }
             }
-            return o1;
         }
+        return null;
     }
 
-    public CoinTradingPo getCoinTrading() {
-        return coinTrading;
+    /**
+     * The order instance that can be modified, the orders of the container are returned as they are
+     */
+    public TradingOrderPo getWritableOrder(TradingOrderPo po) {
+        return po;
     }
 
-    public void setCoinTrading(CoinTradingPo coinTrading) {
-        this.coinTrading = coinTrading;
+    /**
+     * Snapshot of the front orderSize orders of the purchase and sales orders, the orders are copied when they are modified
+     */
+    public TradingContainer snapshot(int orderSize) {
+        return new TradingSnapshot(this, orderSize);
     }
 
-    public NavigableMap<BigInteger, Map<String, TradingOrderPo>> getSellOrderList() {
-        return sellOrderList;
+    public CoinTradingPo getCoinTrading() {
+        return coinTrading;
     }
 
-    public void setSellOrderList(NavigableMap<BigInteger, Map<String, TradingOrderPo>> sellOrderList) {
-        this.sellOrderList = sellOrderList;
+    public void setCoinTrading(CoinTradingPo coinTrading) {
+        this.coinTrading = coinTrading;
     }
 
-    public NavigableMap<BigInteger, Map<String, TradingOrderPo>> getBuyOrderList() {
-        return buyOrderList;
+    public OrderBook getSellOrders() {
+        return sellOrders;
     }
 
-    public void setBuyOrderList(NavigableMap<BigInteger, Map<String, TradingOrderPo>> buyOrderList) {
-        this.buyOrderList = buyOrderList;
+    public OrderBook getBuyOrders() {
+        return buyOrders;
     }
 
     public TradingContainer copy(int orderSize) {
         TradingContainer copy = new TradingContainer();
         copy.setCoinTrading(this.coinTrading.copy());
         //Copy the front of the purchase order for the openingorderSizestrip
-        int count = 0;
-
-        for (Map.Entry<BigInteger, Map<String, TradingOrderPo>> entry : this.getBuyOrderList().entrySet()) {
-            if (count > orderSize) break;
-            Map<String, TradingOrderPo> map = entry.getValue();
-            for (TradingOrderPo orderPo : map.values()) {
-                copy.addTradingOrder(orderPo.copy());
-                count++;
-                if (count > orderSize) break;
-            }
-        }
+        copyOrders(this.getBuyOrders(), copy, orderSize);
         //Copy the front of the inventory sales orderorderSizestrip
-        count = 0;
-        for (Map.Entry<BigInteger, Map<String, TradingOrderPo>> entry : this.getSellOrderList().entrySet()) {
+        copyOrders(this.getSellOrders(), copy, orderSize);
+        return copy;
+    }
+
+    private void copyOrders(OrderBook orderBook, TradingContainer copy, int orderSize) {
+        int count = 0;
+        for (OrderBook.PriceLevel level : orderBook.levels()) {
             if (count > orderSize) break;
-            Map<String, TradingOrderPo> map = entry.getValue();
-            for (TradingOrderPo orderPo : map.values()) {
+            for (TradingOrderPo orderPo : level) {
                 copy.addTradingOrder(orderPo.copy());
                 count++;
                 if (count > orderSize) break;
             }
         }
-        return copy;
     }
 }
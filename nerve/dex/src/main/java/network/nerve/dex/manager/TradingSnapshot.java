@@ -0,0 +1,283 @@
+package network.nerve.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import network.nerve.dex.context.DexConstant;
+import network.nerve.dex.model.po.CoinTradingPo;
+import network.nerve.dex.model.po.TradingOrderPo;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Snapshot of a coin to disk container used during packaging
+ * It sees the same orders as {@link TradingContainer#copy(int)}: the front orderSize orders of the purchase and sales orders,
+ * plus the orders added to the snapshot, but the orders are not copied when the snapshot is created.
+ * <p>
+ * The orders are read from the committed container, a price level is copied into the snapshot the first time
+ * one of its orders is modified or an order is added to it, later reads of that price level use the copy.
+ * The committed container must not change while the snapshot is in use,
+ * the block commit and rollback hold the packaging lock of {@link DexService} while they change the containers.
+ * A snapshot of a snapshot reads the orders of its parent that are not over, the parent is not modified by it.
+ */
+public class TradingSnapshot extends TradingContainer {
+
+    private final OrderSide buySide;
+
+    private final OrderSide sellSide;
+
+    public TradingSnapshot(TradingContainer container, int orderSize) {
+        this(container.getCoinTrading(), container.getBuyOrders(), container.getSellOrders(), orderSize);
+    }
+
+    private TradingSnapshot(CoinTradingPo coinTrading, OrderBook buyOrders, OrderBook sellOrders, int orderSize) {
+        super(coinTrading.copy(), false);
+        this.buySide = new OrderSide(buyOrders, orderSize + 1);
+        this.sellSide = new OrderSide(sellOrders, orderSize + 1);
+    }
+
+    private OrderSide side(TradingOrderPo po) {
+        return po.getType() == DexConstant.TRADING_ORDER_BUY_TYPE ? buySide : sellSide;
+    }
+
+    @Override
+    public void addTradingOrder(TradingOrderPo po) {
+        side(po).level(po.getPrice()).put(po.getOrderHash(), po);
+    }
+
+    @Override
+    public void updateTradingOrder(TradingOrderPo po) {
+        TradingOrderPo order = getWritableOrder(po);
+        if (order != null) {
+            order.copyFrom(po);
+        }
+    }
+
+    @Override
+    public void removeTradingOrder(TradingOrderPo po) {
+        side(po).level(po.getPrice()).remove(po.getOrderHash());
+    }
+
+    @Override
+    public TradingOrderPo getFirstBuyOrder(Set<NulsHash> excludedOrders) {
+        return buySide.getFirstOrder(excludedOrders);
+    }
+
+    @Override
+    public TradingOrderPo getFirstSellOrder(Set<NulsHash> excludedOrders) {
+        return sellSide.getFirstOrder(excludedOrders);
+    }
+
+    /**
+     * Copy the price level of the order into the snapshot, and return the copy of the order
+     */
+    @Override
+    public TradingOrderPo getWritableOrder(TradingOrderPo po) {
+        return side(po).level(po.getPrice()).get(po.getOrderHash());
+    }
+
+    /**
+     * Snapshot over the orders of this snapshot that are not over
+     */
+    @Override
+    public TradingContainer snapshot(int orderSize) {
+        return new TradingSnapshot(getCoinTrading(), buySide.toOrderBook(false), sellSide.toOrderBook(false), orderSize);
+    }
+
+    /**
+     * All the orders seen by the snapshot, the book is created on each call
+     */
+    @Override
+    public OrderBook getSellOrders() {
+        return sellSide.toOrderBook(true);
+    }
+
+    /**
+     * All the orders seen by the snapshot, the book is created on each call
+     */
+    @Override
+    public OrderBook getBuyOrders() {
+        return buySide.toOrderBook(true);
+    }
+
+    /**
+     * One side of the snapshot: the committed orders and the price levels copied into the snapshot
+     */
+    private static class OrderSide {
+
+        private final OrderBook committed;
+
+        private final Comparator<? super BigInteger> comparator;
+
+        /**
+         * Number of committed orders seen by the snapshot
+         */
+        private final int limit;
+
+        /**
+         * Price levels copied into the snapshot, created on first use
+         */
+        private TreeMap<BigInteger, Map<NulsHash, TradingOrderPo>> levels;
+
+        private boolean bounded;
+
+        /**
+         * The last committed price level seen by the snapshot and the number of its orders seen,
+         * null when all the committed orders are seen
+         */
+        private BigInteger lastPrice;
+
+        private int lastCount;
+
+        private OrderSide(OrderBook committed, int limit) {
+            this.committed = committed;
+            this.comparator = committed.comparator();
+            this.limit = limit;
+        }
+
+        private void bound() {
+            if (bounded) {
+                return;
+            }
+            bounded = true;
+            int count = 0;
+            for (OrderBook.PriceLevel level : committed.levels()) {
+                int size = level.size();
+                if (count + size >= limit) {
+                    lastPrice = level.getPrice();
+                    lastCount = limit - count;
+                    return;
+                }
+                count += size;
+            }
+        }
+
+        /**
+         * Number of the committed orders of the price level seen by the snapshot
+         */
+        private int visibleCount(BigInteger price) {
+            bound();
+            if (lastPrice == null) {
+                return Integer.MAX_VALUE;
+            }
+            int compare = comparator.compare(price, lastPrice);
+            if (compare < 0) {
+                return Integer.MAX_VALUE;
+            }
+            return compare == 0 ? lastCount : 0;
+        }
+
+        /**
+         * The price level copied into the snapshot, the committed orders of the level are copied on first use
+         */
+        private Map<NulsHash, TradingOrderPo> level(BigInteger price) {
+            if (levels == null) {
+                levels = new TreeMap<>(comparator);
+            }
+            Map<NulsHash, TradingOrderPo> level = levels.get(price);
+            if (level != null) {
+                return level;
+            }
+            level = new LinkedHashMap<>();
+            OrderBook.PriceLevel committedLevel = committed.getLevel(price);
+            if (committedLevel != null) {
+                int count = visibleCount(price);
+                for (TradingOrderPo po : committedLevel) {
+                    if (count-- <= 0) {
+                        break;
+                    }
+                    level.put(po.getOrderHash(), po.copy());
+                }
+            }
+            levels.put(price, level);
+            return level;
+        }
+
+        /**
+         * Walk the price levels in order, the copied levels replace the committed ones
+         * The committed orders are read as copies of them would be, their completion state is not used
+         */
+        private TradingOrderPo getFirstOrder(Set<NulsHash> excludedOrders) {
+            bound();
+            Iterator<Map.Entry<BigInteger, Map<NulsHash, TradingOrderPo>>> own = levels == null ? Collections.emptyIterator() : levels.entrySet().iterator();
+            Map.Entry<BigInteger, Map<NulsHash, TradingOrderPo>> ownEntry = own.hasNext() ? own.next() : null;
+            TradingOrderPo po;
+            for (OrderBook.PriceLevel level : committed.levels()) {
+                BigInteger price = level.getPrice();
+                int compare = 0;
+                while (ownEntry != null && (compare = comparator.compare(ownEntry.getKey(), price)) < 0) {
+                    po = getFirstOrder(ownEntry.getValue().values(), excludedOrders, Integer.MAX_VALUE, true);
+                    if (po != null) {
+                        return po;
+                    }
+                    ownEntry = own.hasNext() ? own.next() : null;
+                }
+                if (ownEntry != null && compare == 0) {
+                    po = getFirstOrder(ownEntry.getValue().values(), excludedOrders, Integer.MAX_VALUE, true);
+                    ownEntry = own.hasNext() ? own.next() : null;
+                } else {
+                    po = getFirstOrder(level, excludedOrders, visibleCount(price), false);
+                }
+                if (po != null) {
+                    return po;
+                }
+                if (lastPrice != null && comparator.compare(price, lastPrice) == 0) {
+                    break;
+                }
+            }
+            while (ownEntry != null) {
+                po = getFirstOrder(ownEntry.getValue().values(), excludedOrders, Integer.MAX_VALUE, true);
+                if (po != null) {
+                    return po;
+                }
+                ownEntry = own.hasNext() ? own.next() : null;
+            }
+            return null;
+        }
+
+        private TradingOrderPo getFirstOrder(Iterable<TradingOrderPo> level, Set<NulsHash> excludedOrders, int count, boolean checkOver) {
+            for (TradingOrderPo po : level) {
+                if (count-- <= 0) {
+                    return null;
+                }
+                if ((!checkOver || !po.isOver()) && !excludedOrders.contains(po.getOrderHash())) {
+                    return po;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @param withOver whether the orders of the copied price levels that are over are included
+         */
+        private OrderBook toOrderBook(boolean withOver) {
+            bound();
+            OrderBook orderBook = new OrderBook(comparator);
+            for (OrderBook.PriceLevel level : committed.levels()) {
+                BigInteger price = level.getPrice();
+                int count = visibleCount(price);
+                if (count <= 0) {
+                    break;
+                }
+                if (levels != null && levels.containsKey(price)) {
+                    continue;
+                }
+                for (TradingOrderPo po : level) {
+                    if (count-- <= 0) {
+                        break;
+                    }
+                    orderBook.add(po);
+                }
+            }
+            if (levels != null) {
+                for (Map<NulsHash, TradingOrderPo> level : levels.values()) {
+                    for (TradingOrderPo po : level.values()) {
+                        if (withOver || !po.isOver()) {
+                            orderBook.add(po);
+                        }
+                    }
+                }
+            }
+            return orderBook;
+        }
+    }
+}
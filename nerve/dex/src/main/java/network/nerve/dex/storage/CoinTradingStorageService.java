@@ -5,7 +5,7 @@ import io.nuls.core.exception.NulsException;
 import network.nerve.dex.model.po.CoinTradingEditInfoPo;
 import network.nerve.dex.model.po.CoinTradingPo;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Coin to coin storage services
@@ -37,11 +37,11 @@ public interface CoinTradingStorageService {
     CoinTradingPo query(String coinTradingKey);
 
     /**
-     * Query all currency pair information
+     * Query all currency pair information, each one is handed to the consumer while the table is traversed
      *
-     * @return
+     * @param consumer
      */
-    List<CoinTradingPo> queryAll() throws NulsException;
+    void queryAll(Consumer<CoinTradingPo> consumer) throws NulsException;
 
 
     void delete(CoinTradingPo tradingPo) throws Exception;
@@ -4,7 +4,6 @@ import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.data.NulsHash;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import network.nerve.dex.context.DexDBConstant;
 import network.nerve.dex.model.po.CoinTradingEditInfoPo;
@@ -12,8 +11,7 @@ import network.nerve.dex.model.po.CoinTradingPo;
 import network.nerve.dex.storage.CoinTradingStorageService;
 import network.nerve.dex.util.LoggerUtil;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 public class CoinTradingStorageServiceImpl implements CoinTradingStorageService {
@@ -55,19 +53,23 @@ public class CoinTradingStorageServiceImpl implements CoinTradingStorageService
     }
 
     @Override
-    public List<CoinTradingPo> queryAll() throws NulsException {
-        List<CoinTradingPo> tradingPoList = new ArrayList<>();
-        List<Entry<byte[], byte[]>> list = RocksDBService.entryList(DexDBConstant.DB_NAME_COIN_TRADING);
-        if (list != null && !list.isEmpty()) {
-            for (Entry<byte[], byte[]> entry : list) {
+    public void queryAll(Consumer<CoinTradingPo> consumer) throws NulsException {
+        if (!RocksDBService.existTable(DexDBConstant.DB_NAME_COIN_TRADING)) {
+            return;
+        }
+        try {
+            RocksDBService.iterate(DexDBConstant.DB_NAME_COIN_TRADING, (key, value) -> {
                 CoinTradingPo tradingPo = new CoinTradingPo();
-                tradingPo.parse(new NulsByteBuffer(entry.getValue()));
-                NulsHash hash = new NulsHash(entry.getKey());
-                tradingPo.setHash(hash);
-                tradingPoList.add(tradingPo);
-            }
+                tradingPo.parse(new NulsByteBuffer(value));
+                tradingPo.setHash(new NulsHash(key));
+                consumer.accept(tradingPo);
+                return true;
+            });
+        } catch (NulsException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NulsException(e);
         }
-        return tradingPoList;
     }
 
     @Override
@@ -6,7 +6,6 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.exception.NulsRuntimeException;
 import io.nuls.core.parse.SerializeUtils;
-import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
 import network.nerve.dex.context.DexDBConstant;
 import network.nerve.dex.model.po.TradingOrderPo;
@@ -90,15 +89,21 @@ public class TradingOrderStorageServiceImpl implements TradingOrderStorageServic
     @Override
     public List<TradingOrderPo> queryAll() throws NulsException {
         List<TradingOrderPo> orderPoList = new ArrayList<>();
-        List<Entry<byte[], byte[]>> list = RocksDBService.entryList(DexDBConstant.DB_NAME_TRADING_ORDER);
-        if (list != null && !list.isEmpty()) {
-            for (Entry<byte[], byte[]> entry : list) {
+        if (!RocksDBService.existTable(DexDBConstant.DB_NAME_TRADING_ORDER)) {
+            return orderPoList;
+        }
+        try {
+            //Parse while traversing, the raw entries of the whole table are not held in memory
+            RocksDBService.iterate(DexDBConstant.DB_NAME_TRADING_ORDER, (key, value) -> {
                 TradingOrderPo orderPo = new TradingOrderPo();
-                orderPo.parse(new NulsByteBuffer(entry.getValue()));
-                NulsHash hash = new NulsHash(entry.getKey());
-                orderPo.setOrderHash(hash);
-                orderPoList.add(orderPo);
-            }
+                orderPo.parse(new NulsByteBuffer(value));
+                orderPo.setOrderHash(new NulsHash(key));
+                return orderPoList.add(orderPo);
+            });
+        } catch (NulsException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NulsException(e);
         }
         return orderPoList;
     }
@@ -8,6 +8,7 @@ import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import network.nerve.dex.context.DexConfig;
 import network.nerve.dex.manager.DexManager;
+import network.nerve.dex.manager.DexService;
 import network.nerve.dex.storage.CoinTradingStorageService;
 import network.nerve.dex.storage.TradingDealStorageService;
 import network.nerve.dex.storage.TradingOrderStorageService;
@@ -24,6 +25,8 @@ public class DexTxCommitAdvice implements CommonAdvice {
     @Autowired
     private DexManager dexManager;
     @Autowired
+    private DexService dexService;
+    @Autowired
     private CoinTradingStorageService coinTradingStorageService;
     @Autowired
     private TradingOrderStorageService tradingOrderStorageService;
@@ -50,22 +53,28 @@ public class DexTxCommitAdvice implements CommonAdvice {
 //        long time1, time2;
 //        time1 = System.currentTimeMillis();
 
-        Transaction tx;
-        for (int i = 0; i < txList.size(); i++) {
-            tx = txList.get(i);
-            tx.setBlockHeight(blockHeader.getHeight());
+        //The packaging snapshots read the containers changed here
+        dexService.getLock().lock();
+        try {
+            Transaction tx;
+            for (int i = 0; i < txList.size(); i++) {
+                tx = txList.get(i);
+                tx.setBlockHeight(blockHeader.getHeight());
 
-            if (tx.getType() == TxType.COIN_TRADING) {
-                coinTradingProcessor.coinTradingCommit(tx);
-            } else if (tx.getType() == TxType.TRADING_ORDER) {
-                tradingOrderProcessor.tradingOrderCommit(tx, i);
-            } else if (tx.getType() == TxType.TRADING_DEAL) {
-                tradingDealProcessor.tradingDealCommit(tx);
-            } else if (tx.getType() == TxType.EDIT_COIN_TRADING) {
-                editCoinTradingProcessor.editCoinTradingCommit(tx);
-            } else if (tx.getType() == TxType.ORDER_CANCEL_CONFIRM) {
-                orderCancelConfirmProcessor.txCommit(tx, blockHeader.getHeight());
+                if (tx.getType() == TxType.COIN_TRADING) {
+                    coinTradingProcessor.coinTradingCommit(tx);
+                } else if (tx.getType() == TxType.TRADING_ORDER) {
+                    tradingOrderProcessor.tradingOrderCommit(tx, i);
+                } else if (tx.getType() == TxType.TRADING_DEAL) {
+                    tradingDealProcessor.tradingDealCommit(tx);
+                } else if (tx.getType() == TxType.EDIT_COIN_TRADING) {
+                    editCoinTradingProcessor.editCoinTradingCommit(tx);
+                } else if (tx.getType() == TxType.ORDER_CANCEL_CONFIRM) {
+                    orderCancelConfirmProcessor.txCommit(tx, blockHeader.getHeight());
+                }
             }
+        } finally {
+            dexService.getLock().unlock();
         }
         tradingOrderStorageService.saveHeight(blockHeader.getHeight());
 //        time2 = System.currentTimeMillis();
@@ -8,6 +8,7 @@ import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import network.nerve.dex.context.DexConfig;
 import network.nerve.dex.manager.DexManager;
+import network.nerve.dex.manager.DexService;
 import network.nerve.dex.storage.CoinTradingStorageService;
 import network.nerve.dex.storage.TradingDealStorageService;
 import network.nerve.dex.storage.TradingOrderStorageService;
@@ -23,6 +24,8 @@ public class DexTxRollbackAdvice implements CommonAdvice {
     @Autowired
     private DexManager dexManager;
     @Autowired
+    private DexService dexService;
+    @Autowired
     private CoinTradingStorageService coinTradingStorageService;
     @Autowired
     private TradingOrderStorageService tradingOrderStorageService;
@@ -46,21 +49,27 @@ public class DexTxRollbackAdvice implements CommonAdvice {
         if (txList.isEmpty()) {
             return;
         }
-        Transaction tx;
-        for (int i = txList.size() - 1; i >= 0; i--) {
-            tx = txList.get(i);
-            tx.setBlockHeight(blockHeader.getHeight());
-            if (tx.getType() == TxType.COIN_TRADING) {
-                coinTradingProcessor.coinTradingRollback(tx);
-            } else if (tx.getType() == TxType.TRADING_ORDER) {
-                tradingOrderProcessor.tradingOrderRollback(tx, i);
-            } else if (tx.getType() == TxType.TRADING_DEAL) {
-                tradingDealProcessor.tradingDealRollback(tx);
-            } else if (tx.getType() == TxType.EDIT_COIN_TRADING) {
-                editCoinTradingProcessor.editCoinTradingRollback(tx);
-            } else if (tx.getType() == TxType.ORDER_CANCEL_CONFIRM) {
-                orderCancelConfirmProcessor.txRollback(tx);
+        //The packaging snapshots read the containers changed here
+        dexService.getLock().lock();
+        try {
+            Transaction tx;
+            for (int i = txList.size() - 1; i >= 0; i--) {
+                tx = txList.get(i);
+                tx.setBlockHeight(blockHeader.getHeight());
+                if (tx.getType() == TxType.COIN_TRADING) {
+                    coinTradingProcessor.coinTradingRollback(tx);
+                } else if (tx.getType() == TxType.TRADING_ORDER) {
+                    tradingOrderProcessor.tradingOrderRollback(tx, i);
+                } else if (tx.getType() == TxType.TRADING_DEAL) {
+                    tradingDealProcessor.tradingDealRollback(tx);
+                } else if (tx.getType() == TxType.EDIT_COIN_TRADING) {
+                    editCoinTradingProcessor.editCoinTradingRollback(tx);
+                } else if (tx.getType() == TxType.ORDER_CANCEL_CONFIRM) {
+                    orderCancelConfirmProcessor.txRollback(tx);
+                }
             }
+        } finally {
+            dexService.getLock().unlock();
         }
     }
 }
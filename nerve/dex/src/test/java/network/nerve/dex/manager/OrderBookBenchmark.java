@@ -0,0 +1,161 @@
+package network.nerve.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import network.nerve.dex.context.DexConstant;
+import network.nerve.dex.model.po.CoinTradingPo;
+import network.nerve.dex.model.po.TradingOrderPo;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Compare the order book of the coin to disk container at 1M resting orders:
+ * price levels of hex keyed maps(before) and the hash indexed order book(now)
+ * <p>
+ * place: orders/s added, cancel: orders/s removed by hash, match: orders/s taken from the top of the book and removed
+ */
+public class OrderBookBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int CANCELS = 200_000;
+    private static final int MATCHES = 200_000;
+    private static final int PRICE_LEVELS = 10_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        NulsHash tradingHash = NulsHash.calcHash(new byte[]{1});
+        List<TradingOrderPo> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            TradingOrderPo po = new TradingOrderPo();
+            po.setOrderHash(NulsHash.calcHash(("order" + i).getBytes()));
+            po.setTradingHash(tradingHash);
+            po.setType(DexConstant.TRADING_ORDER_BUY_TYPE);
+            po.setPrice(BigInteger.valueOf(1_000_000_000L + random.nextInt(PRICE_LEVELS)));
+            orders.add(po);
+        }
+        List<TradingOrderPo> cancels = new ArrayList<>(orders);
+        Collections.shuffle(cancels, random);
+        cancels = cancels.subList(0, CANCELS);
+        CoinTradingPo tradingPo = new CoinTradingPo();
+        tradingPo.setHash(tradingHash);
+
+        for (int i = 0; i < 2; i++) {
+            System.out.println("round " + i);
+            run("before", new LegacyBook(tradingPo), orders, cancels);
+            run("now   ", new Book(new TradingContainer(tradingPo)), orders, cancels);
+        }
+    }
+
+    private static void run(String name, OrderBookOps book, List<TradingOrderPo> orders, List<TradingOrderPo> cancels) {
+        long time = System.nanoTime();
+        for (TradingOrderPo po : orders) {
+            book.add(po);
+        }
+        long place = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (TradingOrderPo po : cancels) {
+            book.remove(po);
+        }
+        long cancel = System.nanoTime() - time;
+
+        time = System.nanoTime();
+        for (int i = 0; i < MATCHES; i++) {
+            book.remove(book.first());
+        }
+        long match = System.nanoTime() - time;
+
+        System.out.println(name + " : place " + rate(orders.size(), place) + " orders/s, cancel " + rate(cancels.size(), cancel) +
+                " orders/s, match " + rate(MATCHES, match) + " orders/s");
+    }
+
+    private static long rate(int count, long nanos) {
+        return count * 1_000_000_000L / nanos;
+    }
+
+    private interface OrderBookOps {
+        void add(TradingOrderPo po);
+
+        void remove(TradingOrderPo po);
+
+        TradingOrderPo first();
+    }
+
+    private static class Book implements OrderBookOps {
+        private final TradingContainer container;
+        private final Set<NulsHash> excluded = Collections.emptySet();
+
+        private Book(TradingContainer container) {
+            this.container = container;
+        }
+
+        @Override
+        public void add(TradingOrderPo po) {
+            container.addTradingOrder(po);
+        }
+
+        @Override
+        public void remove(TradingOrderPo po) {
+            container.removeTradingOrder(po);
+        }
+
+        @Override
+        public TradingOrderPo first() {
+            return container.getFirstBuyOrder(excluded);
+        }
+    }
+
+    /**
+     * The purchase orders of the container before the order book
+     */
+    private static class LegacyBook implements OrderBookOps {
+        private final CoinTradingPo coinTrading;
+        private final NavigableMap<BigInteger, Map<String, TradingOrderPo>> buyOrderList = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+        private LegacyBook(CoinTradingPo coinTrading) {
+            this.coinTrading = coinTrading;
+        }
+
+        @Override
+        public void add(TradingOrderPo o1) {
+            String lock = coinTrading.getHash().toHex() + o1.getPrice();
+            buyOrderList.compute(o1.getPrice(), (key, list) -> {
+                synchronized (lock) {
+                    if (list == null) {
+                        list = new LinkedHashMap<>();
+                    }
+                    list.put(o1.getOrderHash().toHex(), o1);
+                }
+                return list;
+            });
+        }
+
+        @Override
+        public void remove(TradingOrderPo o1) {
+            String lock = coinTrading.getHash().toHex() + o1.getPrice();
+            synchronized (lock) {
+                Map<String, TradingOrderPo> list = buyOrderList.get(o1.getPrice());
+                if (list == null) {
+                    return;
+                }
+                list.remove(o1.getOrderHash().toHex());
+                if (list.isEmpty()) {
+                    buyOrderList.remove(o1.getPrice());
+                }
+            }
+        }
+
+        @Override
+        public TradingOrderPo first() {
+            for (Map.Entry<BigInteger, Map<String, TradingOrderPo>> entry : buyOrderList.entrySet()) {
+                for (TradingOrderPo po : entry.getValue().values()) {
+                    if (!po.isOver()) {
+                        return po;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package network.nerve.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import network.nerve.dex.model.po.TradingOrderPo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Price and time priority, replacement and removal of the order book
+ */
+public class OrderBookTest {
+
+    @Test
+    public void priority() {
+        OrderBook orderBook = new OrderBook(Comparator.reverseOrder());
+        TradingOrderPo a = newOrder(1, 100);
+        TradingOrderPo b = newOrder(2, 101);
+        TradingOrderPo c = newOrder(3, 100);
+        TradingOrderPo d = newOrder(4, 100);
+        orderBook.add(a);
+        orderBook.add(b);
+        orderBook.add(c);
+        orderBook.add(d);
+        Assert.assertEquals(List.of("101:2", "100:1", "100:3", "100:4"), describe(orderBook));
+
+        //An order added again keeps its place
+        TradingOrderPo a2 = newOrder(1, 100);
+        orderBook.add(a2);
+        Assert.assertSame(a2, orderBook.get(a.getOrderHash()));
+        Assert.assertEquals(List.of("101:2", "100:1", "100:3", "100:4"), describe(orderBook));
+
+        //An order removed and added again goes to the end of its price level
+        Assert.assertSame(c, orderBook.remove(c.getOrderHash()));
+        Assert.assertNull(orderBook.remove(c.getOrderHash()));
+        orderBook.add(c);
+        Assert.assertEquals(List.of("101:2", "100:1", "100:4", "100:3"), describe(orderBook));
+
+        //The empty price level is removed
+        orderBook.remove(b.getOrderHash());
+        Assert.assertNull(orderBook.getLevel(BigInteger.valueOf(101)));
+        Assert.assertEquals(3, orderBook.size());
+        orderBook.remove(a.getOrderHash());
+        orderBook.remove(c.getOrderHash());
+        orderBook.remove(d.getOrderHash());
+        Assert.assertTrue(orderBook.isEmpty());
+        Assert.assertTrue(orderBook.levels().isEmpty());
+    }
+
+    private static List<String> describe(OrderBook orderBook) {
+        List<String> list = new ArrayList<>();
+        for (OrderBook.PriceLevel level : orderBook.levels()) {
+            for (TradingOrderPo po : level) {
+                list.add(level.getPrice() + ":" + po.getIndex());
+            }
+        }
+        return list;
+    }
+
+    private static TradingOrderPo newOrder(int index, int price) {
+        TradingOrderPo po = new TradingOrderPo();
+        po.setOrderHash(NulsHash.calcHash(new byte[]{(byte) index}));
+        po.setIndex(index);
+        po.setPrice(BigInteger.valueOf(price));
+        return po;
+    }
+}
@@ -0,0 +1,149 @@
+package network.nerve.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import network.nerve.dex.context.DexConstant;
+import network.nerve.dex.model.po.CoinTradingPo;
+import network.nerve.dex.model.po.TradingOrderPo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * The snapshot sees and matches the same orders as the full copy, without modifying the committed container
+ */
+public class TradingSnapshotTest {
+
+    private static final int ORDER_SIZE = 20;
+
+    @Test
+    public void sameAsCopy() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            TradingContainer container = newContainer();
+            int orders = random.nextInt(80);
+            for (int i = 0; i < orders; i++) {
+                container.addTradingOrder(newOrder(random, i));
+            }
+            Map<String, BigInteger> committed = dealAmounts(container);
+
+            TradingContainer copy = container.copy(ORDER_SIZE);
+            TradingContainer snapshot = container.snapshot(ORDER_SIZE);
+            assertSame(copy, snapshot);
+
+            Set<NulsHash> excluded = new HashSet<>();
+            for (int i = 0; i < 30; i++) {
+                int op = random.nextInt(3);
+                if (op == 0) {
+                    TradingOrderPo po = newOrder(random, 1000 + i);
+                    copy.addTradingOrder(po);
+                    snapshot.addTradingOrder(po.copy());
+                } else if (op == 1) {
+                    TradingOrderPo first = random.nextBoolean() ? copy.getFirstBuyOrder(excluded) : copy.getFirstSellOrder(excluded);
+                    if (first != null) {
+                        excluded.add(first.getOrderHash());
+                    }
+                }
+                Assert.assertEquals(match(copy, excluded), match(snapshot, excluded));
+                assertSame(copy, snapshot);
+            }
+            Assert.assertEquals(committed, dealAmounts(container));
+        }
+    }
+
+    @Test
+    public void snapshotOfSnapshot() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            TradingContainer container = newContainer();
+            int orders = random.nextInt(80);
+            for (int i = 0; i < orders; i++) {
+                container.addTradingOrder(newOrder(random, i));
+            }
+            TradingContainer snapshot = container.snapshot(ORDER_SIZE);
+            Set<NulsHash> excluded = new HashSet<>();
+            match(snapshot, excluded);
+            snapshot.addTradingOrder(newOrder(random, 1000));
+            List<String> buyOrders = describe(snapshot.getBuyOrders());
+            List<String> sellOrders = describe(snapshot.getSellOrders());
+
+            //The nested snapshot sees all the orders of its parent, and leaves the parent unchanged
+            TradingContainer nested = snapshot.snapshot(orders + 1);
+            List<String> deals = match(nested, excluded);
+            Assert.assertEquals(buyOrders, describe(snapshot.getBuyOrders()));
+            Assert.assertEquals(sellOrders, describe(snapshot.getSellOrders()));
+            Assert.assertEquals(match(snapshot, excluded), deals);
+        }
+    }
+
+    private static List<String> match(TradingContainer container, Set<NulsHash> excluded) {
+        List<String> deals = new ArrayList<>();
+        while (true) {
+            TradingOrderPo sell = container.getFirstSellOrder(excluded);
+            TradingOrderPo buy = container.getFirstBuyOrder(excluded);
+            if (sell == null || buy == null || buy.getPrice().compareTo(sell.getPrice()) < 0) {
+                return deals;
+            }
+            buy = container.getWritableOrder(buy);
+            sell = container.getWritableOrder(sell);
+            BigInteger amount = buy.getLeftAmount().min(sell.getLeftAmount());
+            buy.setDealAmount(buy.getDealAmount().add(amount));
+            sell.setDealAmount(sell.getDealAmount().add(amount));
+            buy.setOver(buy.getLeftAmount().signum() == 0);
+            sell.setOver(sell.getLeftAmount().signum() == 0);
+            deals.add(buy.getOrderHash().toHex() + "-" + sell.getOrderHash().toHex() + ":" + amount);
+        }
+    }
+
+    private static void assertSame(TradingContainer copy, TradingContainer snapshot) {
+        Assert.assertEquals(describe(copy.getBuyOrders()), describe(snapshot.getBuyOrders()));
+        Assert.assertEquals(describe(copy.getSellOrders()), describe(snapshot.getSellOrders()));
+    }
+
+    private static List<String> describe(OrderBook orderBook) {
+        List<String> list = new ArrayList<>();
+        for (OrderBook.PriceLevel level : orderBook.levels()) {
+            for (TradingOrderPo po : level) {
+                list.add(level.getPrice() + ":" + po.getOrderHash().toHex() + ":" + po.getDealAmount());
+            }
+        }
+        return list;
+    }
+
+    private static Map<String, BigInteger> dealAmounts(TradingContainer container) {
+        Map<String, BigInteger> map = new HashMap<>();
+        for (OrderBook orderBook : new OrderBook[]{container.getBuyOrders(), container.getSellOrders()}) {
+            for (OrderBook.PriceLevel level : orderBook.levels()) {
+                for (TradingOrderPo po : level) {
+                    map.put(po.getOrderHash().toHex(), po.getDealAmount());
+                }
+            }
+        }
+        return map;
+    }
+
+    private static TradingContainer newContainer() {
+        CoinTradingPo tradingPo = new CoinTradingPo();
+        tradingPo.setHash(NulsHash.calcHash(new byte[]{1}));
+        tradingPo.setMinBaseAmount(BigInteger.ONE);
+        tradingPo.setMinQuoteAmount(BigInteger.ONE);
+        return new TradingContainer(tradingPo);
+    }
+
+    private static TradingOrderPo newOrder(Random random, int index) {
+        TradingOrderPo po = new TradingOrderPo();
+        po.setOrderHash(NulsHash.calcHash(("order" + index + random.nextInt()).getBytes()));
+        po.setTradingHash(NulsHash.calcHash(new byte[]{1}));
+        po.setType(random.nextBoolean() ? DexConstant.TRADING_ORDER_BUY_TYPE : DexConstant.TRADING_ORDER_SELL_TYPE);
+        //Buy prices are a little lower than sell prices on average, so that only part of the book crosses
+        int price = 90 + random.nextInt(20) + (po.getType() == DexConstant.TRADING_ORDER_BUY_TYPE ? -5 : 5);
+        po.setPrice(BigInteger.valueOf(price));
+        po.setAmount(BigInteger.valueOf(1 + random.nextInt(100)));
+        po.setDealAmount(BigInteger.ZERO);
+        po.setLeftQuoteAmount(BigInteger.ZERO);
+        po.setBlockHeight(index);
+        po.setIndex(index);
+        return po;
+    }
+}
@@ -1,6 +1,7 @@
 package network.nerve.swap.cache;
 
 import network.nerve.swap.model.NerveToken;
+import network.nerve.swap.model.bo.SwapPairGraph;
 import network.nerve.swap.model.dto.SwapPairDTO;
 
 import java.util.Collection;
@@ -20,6 +21,11 @@ public interface SwapPairCache {
 
     Collection<SwapPairDTO> getList();
 
+    /**
+     * Token graph of the cached transaction pairs, in the order of {@link #getList()}
+     */
+    SwapPairGraph getGraph();
+
     boolean isExist(String pairAddress);
 
     String getPairAddressByTokenLP(int chainId, NerveToken tokenLP);
@@ -7,6 +7,7 @@ import io.nuls.core.model.StringUtils;
 import network.nerve.swap.cache.SwapPairCache;
 import network.nerve.swap.manager.ChainManager;
 import network.nerve.swap.model.NerveToken;
+import network.nerve.swap.model.bo.SwapPairGraph;
 import network.nerve.swap.model.dto.SwapPairDTO;
 import network.nerve.swap.model.dto.stable.StableSwapPairDTO;
 import network.nerve.swap.model.po.SwapPairPO;
@@ -17,6 +18,7 @@ import network.nerve.swap.storage.SwapPairStorageService;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Niels
@@ -34,6 +36,15 @@ public class SwapPairCacheImpl implements SwapPairCache {
     //Different chain addresses will not be the same, so chains will no longer be distinguished
     private Map<String, SwapPairDTO> CACHE_MAP = new HashMap<>();
     private Map<String, String> LP_CACHE_MAP = new HashMap<>();
+    /**
+     * Incremented whenever the cached pairs change, after the change
+     */
+    private final AtomicLong version = new AtomicLong();
+    /**
+     * Built on first use, only served while the pairs have not changed since its build started,
+     * a graph published by a build that raced with a change is never served
+     */
+    private volatile VersionedGraph graph;
 
     @Override
     public SwapPairDTO get(String address) {
@@ -55,18 +66,22 @@ public class SwapPairCacheImpl implements SwapPairCache {
             dto.setBlockTimeLast(reservesPO.getBlockTimeLast());
             dto.setBlockHeightLast(reservesPO.getBlockHeightLast());
             CACHE_MAP.put(address, dto);
+            version.incrementAndGet();
         }
         return dto;
     }
 
     @Override
     public SwapPairDTO put(String address, SwapPairDTO dto) {
-        return CACHE_MAP.put(address, dto);
+        SwapPairDTO old = CACHE_MAP.put(address, dto);
+        version.incrementAndGet();
+        return old;
     }
 
     @Override
     public SwapPairDTO reload(String address) {
         CACHE_MAP.remove(address);
+        version.incrementAndGet();
         SwapPairDTO dto = this.get(address);
         return dto;
     }
@@ -74,6 +89,7 @@ public class SwapPairCacheImpl implements SwapPairCache {
     @Override
     public SwapPairDTO remove(String address) {
         SwapPairDTO remove = CACHE_MAP.remove(address);
+        version.incrementAndGet();
         if (remove != null) {
             LP_CACHE_MAP.remove(remove.getPo().getTokenLP().str());
         }
@@ -85,6 +101,17 @@ public class SwapPairCacheImpl implements SwapPairCache {
         return CACHE_MAP.values();
     }
 
+    @Override
+    public SwapPairGraph getGraph() {
+        long currentVersion = version.get();
+        VersionedGraph graph = this.graph;
+        if (graph == null || graph.version != currentVersion) {
+            graph = new VersionedGraph(currentVersion, new SwapPairGraph(CACHE_MAP.values()));
+            this.graph = graph;
+        }
+        return graph.graph;
+    }
+
     @Override
     public boolean isExist(String pairAddress) {
         return this.get(pairAddress) != null;
@@ -103,4 +130,14 @@ public class SwapPairCacheImpl implements SwapPairCache {
         }
         return pairAddress;
     }
+
+    private static class VersionedGraph {
+        private final long version;
+        private final SwapPairGraph graph;
+
+        VersionedGraph(long version, SwapPairGraph graph) {
+            this.version = version;
+            this.graph = graph;
+        }
+    }
 }
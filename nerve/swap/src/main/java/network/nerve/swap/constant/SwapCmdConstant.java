@@ -30,6 +30,7 @@ package network.nerve.swap.constant;
 public interface SwapCmdConstant {
     String BATCH_BEGIN = "sw_batch_begin";
     String INVOKE = "sw_invoke";
+    String INVOKE_BATCH = "sw_invoke_batch";
     String BATCH_END = "sw_batch_end";
     String SWAP_RESULT_INFO = "sw_swap_result_info";
 
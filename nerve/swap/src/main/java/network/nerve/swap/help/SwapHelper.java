@@ -34,16 +34,14 @@ import network.nerve.swap.context.SwapContext;
 import network.nerve.swap.model.Chain;
 import network.nerve.swap.model.NerveToken;
 import network.nerve.swap.model.TokenAmount;
+import network.nerve.swap.model.bo.SwapPairGraph;
 import network.nerve.swap.model.dto.SwapPairDTO;
 import network.nerve.swap.model.po.SwapPairPO;
 import network.nerve.swap.model.vo.RouteVO;
-import network.nerve.swap.model.vo.SwapPairVO;
 import network.nerve.swap.storage.SwapPairStorageService;
 import network.nerve.swap.utils.SwapUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -67,28 +65,29 @@ public class SwapHelper {
         this.nerveChain = nerveChain;
     }
 
-    public List<RouteVO> bestTradeExactIn(int chainId, List<String> pairs, TokenAmount tokenAmountIn, NerveToken out, int maxPairSize, String resultRule) throws NulsException {
+    /**
+     * @return The best trading path, null when there is none
+     */
+    public RouteVO bestTradeExactIn(int chainId, List<String> pairs, TokenAmount tokenAmountIn, NerveToken out, int maxPairSize, String resultRule) throws NulsException {
         if (ledgerAssetCache.getLedgerAsset(chainId, tokenAmountIn.getToken()) == null || ledgerAssetCache.getLedgerAsset(chainId, out) == null) {
             throw new NulsException(SwapErrorCode.LEDGER_ASSET_NOT_EXIST);
         }
-        List<SwapPairVO> swapPairs = new ArrayList<>();
+        SwapPairGraph graph;
         // pairsUse all addresses when empty
         if (pairs == null || pairs.isEmpty()) {
-            Collection<SwapPairDTO> list = swapPairCache.getList();
-            for (SwapPairDTO pairDTO : list) {
-                swapPairs.add(new SwapPairVO(pairDTO));
-            }
+            graph = swapPairCache.getGraph();
         } else {
+            List<SwapPairDTO> swapPairs = new ArrayList<>();
             for (String pairAddress : pairs) {
                 SwapPairDTO pairDTO = swapPairCache.get(pairAddress);
                 if (pairDTO == null) {
                     throw new NulsException(SwapErrorCode.PAIR_NOT_EXIST);
                 }
-                swapPairs.add(new SwapPairVO(pairDTO));
+                swapPairs.add(pairDTO);
             }
+            graph = new SwapPairGraph(swapPairs);
         }
-        List<RouteVO> routes = SwapUtils.bestTradeExactIn(chainId, iPairFactory, swapPairs, tokenAmountIn, out, new LinkedHashSet<>(), new ArrayList<>(), tokenAmountIn, maxPairSize, resultRule);
-        return routes;
+        return SwapUtils.bestTradeExactIn(iPairFactory, graph, tokenAmountIn, out, maxPairSize, resultRule);
     }
 
     public boolean isSupportProtocol15() {
@@ -69,11 +69,29 @@ public class BatchInfo {
      * Transaction execution results
      */
     private Map<String, SwapResult> swapResultMap = new HashMap<>();
+    /**
+     * Number of transactions executed and the time spent executing them, in nanoseconds
+     */
+    private int invokeCount;
+    private long invokeTime;
 
     public Map<String, SwapResult> getSwapResultMap() {
         return swapResultMap;
     }
 
+    public void addInvokeTime(long nanos) {
+        this.invokeCount++;
+        this.invokeTime += nanos;
+    }
+
+    public int getInvokeCount() {
+        return invokeCount;
+    }
+
+    public long getInvokeTime() {
+        return invokeTime;
+    }
+
     public LedgerTempBalanceManager getLedgerTempBalanceManager() {
         return ledgerTempBalanceManager;
     }
@@ -0,0 +1,135 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package network.nerve.swap.model.bo;
+
+import io.nuls.base.basic.AddressTool;
+import network.nerve.swap.model.NerveToken;
+import network.nerve.swap.model.dto.SwapPairDTO;
+import network.nerve.swap.model.vo.SwapPairVO;
+
+import java.util.*;
+
+/**
+ * Token adjacency graph of the transaction pairs, used to search trading paths
+ * The pairs keep the order they were given in, and the pairs of a token are listed in the same order,
+ * so a search over the graph finds the paths in the same order as a search over the pair list.
+ * <p>
+ * The graph does not change once built
+ */
+public class SwapPairGraph {
+
+    private final List<NerveToken> tokens = new ArrayList<>();
+    private final Map<NerveToken, Integer> tokenIndexMap = new HashMap<>();
+    private final List<SwapPairVO> pairs = new ArrayList<>();
+    private final List<String> addresses = new ArrayList<>();
+    private final int[] token0;
+    private final int[] token1;
+    /**
+     * Pairs of each token, in pair order
+     */
+    private final int[][] tokenPairs;
+
+    public SwapPairGraph(Collection<SwapPairDTO> pairList) {
+        int size = pairList.size();
+        this.token0 = new int[size];
+        this.token1 = new int[size];
+        List<List<Integer>> tokenPairList = new ArrayList<>();
+        int index = 0;
+        for (SwapPairDTO dto : pairList) {
+            SwapPairVO pair = new SwapPairVO(dto);
+            pairs.add(pair);
+            addresses.add(AddressTool.getStringAddressByBytes(dto.getPo().getAddress()));
+            token0[index] = indexOf(pair.getToken0(), tokenPairList);
+            token1[index] = indexOf(pair.getToken1(), tokenPairList);
+            tokenPairList.get(token0[index]).add(index);
+            tokenPairList.get(token1[index]).add(index);
+            index++;
+        }
+        this.tokenPairs = new int[tokens.size()][];
+        for (int i = 0; i < tokenPairs.length; i++) {
+            List<Integer> list = tokenPairList.get(i);
+            tokenPairs[i] = new int[list.size()];
+            for (int j = 0; j < list.size(); j++) {
+                tokenPairs[i][j] = list.get(j);
+            }
+        }
+    }
+
+    private int indexOf(NerveToken token, List<List<Integer>> tokenPairList) {
+        Integer index = tokenIndexMap.get(token);
+        if (index == null) {
+            index = tokens.size();
+            tokens.add(token);
+            tokenIndexMap.put(token, index);
+            tokenPairList.add(new ArrayList<>());
+        }
+        return index;
+    }
+
+    /**
+     * @return The index of the token, -1 when no pair has the token
+     */
+    public int getTokenIndex(NerveToken token) {
+        Integer index = tokenIndexMap.get(token);
+        return index == null ? -1 : index;
+    }
+
+    public NerveToken getToken(int tokenIndex) {
+        return tokens.get(tokenIndex);
+    }
+
+    public int getTokenCount() {
+        return tokens.size();
+    }
+
+    public int getPairCount() {
+        return pairs.size();
+    }
+
+    public SwapPairVO getPair(int pairIndex) {
+        return pairs.get(pairIndex);
+    }
+
+    public String getPairAddress(int pairIndex) {
+        return addresses.get(pairIndex);
+    }
+
+    /**
+     * Pairs of the token, in pair order
+     */
+    public int[] getTokenPairs(int tokenIndex) {
+        return tokenPairs[tokenIndex];
+    }
+
+    /**
+     * The other token of the pair
+     */
+    public int getOtherToken(int pairIndex, int tokenIndex) {
+        return token0[pairIndex] == tokenIndex ? token1[pairIndex] : token0[pairIndex];
+    }
+
+    public boolean isToken0(int pairIndex, int tokenIndex) {
+        return token0[pairIndex] == tokenIndex;
+    }
+}
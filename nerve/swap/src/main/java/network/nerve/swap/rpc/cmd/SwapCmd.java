@@ -162,6 +162,42 @@ public class SwapCmd extends BaseCmd {
         }
     }
 
+    @CmdAnnotation(cmd = INVOKE_BATCH, version = 1.0, description = "After the batch notification starts, execute a list of transactions in order/invoke batch")
+    @Parameters(value = {
+            @Parameter(parameterName = "chainId", parameterType = "int", parameterDes = "chainid"),
+            @Parameter(parameterName = "blockType", parameterType = "int", parameterDes = "Block processing mode, Packaging blocks - 0, Verify Block - 1"),
+            @Parameter(parameterName = "blockHeight", parameterType = "long", parameterDes = "The height of the currently packaged blocks"),
+            @Parameter(parameterName = "blockTime", parameterType = "long", parameterDes = "The current packaged block time"),
+            @Parameter(parameterName = "txList", parameterType = "List", parameterDes = "Serialized transaction strings, in execution order")
+    })
+    @ResponseData(name = "Return value", description = "Return aMapObject", responseType = @TypeDescriptor(value = Map.class, mapKeys = {
+            @Key(name = "results", valueType = List.class, valueElement = Map.class, description = "One result per transaction, in the order of txList: success and txList as returned by sw_invoke, or errorCode when the execution failed")
+    }))
+    public Response invokeBatch(Map<String, Object> params) {
+        try {
+            Integer chainId = (Integer) params.get("chainId");
+            Integer blockType = (Integer) params.get("blockType");
+            ChainManager.chainHandle(chainId, blockType);
+            Long blockHeight = Long.parseLong(params.get("blockHeight").toString());
+            Long blockTime = Long.parseLong(params.get("blockTime").toString());
+            List<String> txDataList = (List<String>) params.get("txList");
+            logger().info("[{}]Swapmodule[{}]handle, chainId: {}, blockTime: {}, txCount: {}",
+                    blockHeight, BlockType.getType(blockType).name(), chainId, blockTime, txDataList.size());
+            // Each transaction is parsed when it is executed, a transaction which cannot be parsed only fails itself
+            Result<List<Map<String, Object>>> result = swapService.invokeBatch(chainId, blockHeight, blockTime, txDataList);
+            if (result.isFailed()) {
+                logger().error("Processing failed: {}", result.toString());
+                return wrapperFailed(result);
+            }
+            Map<String, Object> resultData = new HashMap<>();
+            resultData.put("results", result.getData());
+            return success(resultData);
+        } catch (Exception e) {
+            logger().error(e);
+            return failed(e.getMessage());
+        }
+    }
+
     @CmdAnnotation(cmd = BATCH_END, version = 1.0, description = "Notify the end of the current batch and return the result/batch end")
     @Parameters(value = {
             @Parameter(parameterName = "chainId", parameterType = "int", parameterDes = "chainid"),
@@ -503,11 +539,11 @@ public class SwapCmd extends BaseCmd {
             List<String> pairsList = (List<String>) params.get("pairs");
             TokenAmount tokenAmountIn = new TokenAmount(SwapUtils.parseTokenStr(tokenInStr), tokenInAmount);
             NerveToken tokenOut = SwapUtils.parseTokenStr(tokenOutStr);
-            List<RouteVO> bestTrades = swapHelper.bestTradeExactIn(chainId, pairsList, tokenAmountIn, tokenOut, maxPairSize, resultRule);
-            if (bestTrades == null || bestTrades.isEmpty()) {
+            RouteVO bestTrade = swapHelper.bestTradeExactIn(chainId, pairsList, tokenAmountIn, tokenOut, maxPairSize, resultRule);
+            if (bestTrade == null) {
                 return failed(SwapErrorCode.DATA_NOT_FOUND);
             }
-            Map<String, Object> resultData = this.makeBestTradeExactIn(bestTrades.get(0));
+            Map<String, Object> resultData = this.makeBestTradeExactIn(bestTrade);
             return success(resultData);
         } catch (Exception e) {
             logger().error(e);
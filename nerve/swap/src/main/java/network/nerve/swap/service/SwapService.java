@@ -27,6 +27,8 @@ import io.nuls.base.data.Transaction;
 import io.nuls.core.basic.Result;
 
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author: PierreLuo
@@ -38,6 +40,14 @@ public interface SwapService {
 
     Result invokeOneByOne(int chainId, long blockHeight, long blockTime, Transaction tx);
 
+    /**
+     * Parse and execute the transactions in order, a transaction which cannot be parsed or fails does not stop the following ones
+     *
+     * @param txDataList Serialized transaction strings
+     * @return One result per transaction, the same data as {@link #invokeOneByOne}, or the error code of the failed execution
+     */
+    Result<List<Map<String, Object>>> invokeBatch(int chainId, long blockHeight, long blockTime, List<String> txDataList);
+
     Result end(int chainId, long blockHeight);
 
     /**
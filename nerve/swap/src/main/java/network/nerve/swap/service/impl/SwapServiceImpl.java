@@ -23,6 +23,7 @@
  */
 package network.nerve.swap.service.impl;
 
+import io.nuls.base.RPCUtil;
 import io.nuls.base.basic.AddressTool;
 import io.nuls.base.data.BlockHeader;
 import io.nuls.base.data.CoinData;
@@ -72,10 +73,7 @@ import network.nerve.swap.utils.SwapUtils;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import static network.nerve.swap.constant.SwapConstant.INITIAL_STATE_ROOT;
 import static network.nerve.swap.constant.SwapErrorCode.INVALID_PATH;
@@ -138,7 +136,7 @@ public class SwapServiceImpl implements SwapService {
     @Override
     public Result invokeOneByOne(int chainId, long blockHeight, long blockTime, Transaction tx) {
         try {
-            SwapResult swapResult = swapInvoker.invoke(chainId, tx, blockHeight, blockTime);
+            SwapResult swapResult = this.invoke(chainId, blockHeight, blockTime, tx);
             SwapContext.logger.info("[{}]Call result: {}", blockHeight, swapResult.toString());
             Map<String, Object> _result = new HashMap<>();
             _result.put("success", swapResult.isSuccess());
@@ -152,6 +150,58 @@ public class SwapServiceImpl implements SwapService {
         }
     }
 
+    @Override
+    public Result<List<Map<String, Object>>> invokeBatch(int chainId, long blockHeight, long blockTime, List<String> txDataList) {
+        List<Map<String, Object>> resultList = new ArrayList<>(txDataList.size());
+        int failed = 0;
+        for (String txData : txDataList) {
+            Map<String, Object> _result = new HashMap<>();
+            Transaction tx = new Transaction();
+            try {
+                tx.parse(RPCUtil.decode(txData), 0);
+            } catch (Exception e) {
+                SwapContext.logger.error("[{}]Transaction parse failed, {}", blockHeight, e.getMessage());
+                _result.put("errorCode", SwapErrorCode.DATA_PARSE_ERROR.getCode());
+                resultList.add(_result);
+                failed++;
+                continue;
+            }
+            try {
+                SwapResult swapResult = this.invoke(chainId, blockHeight, blockTime, tx);
+                if (SwapContext.logger.isDebugEnabled()) {
+                    SwapContext.logger.debug("[{}]Call result: {}", blockHeight, swapResult.toString());
+                }
+                _result.put("success", swapResult.isSuccess());
+                _result.put("txList", null == swapResult.getSubTxStr() ? List.of() : List.of(swapResult.getSubTxStr()));
+            } catch (NulsException e) {
+                SwapContext.logger.error("[{}]Processing failed, txHash: {}, {}", blockHeight, tx.getHash().toHex(), e.format());
+                _result.put("errorCode", e.getErrorCode().getCode());
+                failed++;
+            } catch (Exception e) {
+                //Only this transaction fails, the other transactions of the batch are still executed
+                SwapContext.logger.error("[{}]Processing failed, txHash: {}", blockHeight, tx.getHash().toHex());
+                SwapContext.logger.error(e);
+                _result.put("errorCode", SwapErrorCode.SYS_UNKOWN_EXCEPTION.getCode());
+                failed++;
+            }
+            resultList.add(_result);
+        }
+        SwapContext.logger.info("[{}]Batch call, txCount: {}, failed: {}", blockHeight, txDataList.size(), failed);
+        return Result.getSuccess(resultList);
+    }
+
+    private SwapResult invoke(int chainId, long blockHeight, long blockTime, Transaction tx) throws NulsException {
+        long start = System.nanoTime();
+        try {
+            return swapInvoker.invoke(chainId, tx, blockHeight, blockTime);
+        } finally {
+            BatchInfo batchInfo = chainManager.getChain(chainId).getBatchInfo();
+            if (batchInfo != null) {
+                batchInfo.addInvokeTime(System.nanoTime() - start);
+            }
+        }
+    }
+
     @Override
     public Result end(int chainId, long blockHeight) {
         BatchInfo batchInfo = chainManager.getChain(chainId).getBatchInfo();
@@ -174,6 +224,7 @@ public class SwapServiceImpl implements SwapService {
         System.arraycopy(HexUtil.decode(preStateRoot), 0, bytes, i * 32, 32);
         Map<String, Object> result = new HashMap<>();
         result.put("stateRoot", HexUtil.encode(Sha256Hash.hash(bytes)));
+        SwapContext.logger.info("[{}]Swap execution, txCount: {}, cost: {}ms", blockHeight, batchInfo.getInvokeCount(), batchInfo.getInvokeTime() / 1_000_000);
         return Result.getSuccess(result);
     }
 
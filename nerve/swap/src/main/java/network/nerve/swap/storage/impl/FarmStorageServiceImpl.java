@@ -45,13 +45,15 @@ public class FarmStorageServiceImpl implements FarmStorageService {
     @Override
     public List<FarmPoolPO> getList(int chainId) {
 
-        List<byte[]> list = RocksDBService.valueList(SwapDBConstant.DB_NAME_FARM + chainId);
         List<FarmPoolPO> farmList = new ArrayList<>();
-        if (list != null && !list.isEmpty()) {
-            for (byte[] value : list) {
-                FarmPoolPO po = SwapDBUtil.getModel(value, FarmPoolPO.class);
-                farmList.add(po);
-            }
+        if (!RocksDBService.existTable(SwapDBConstant.DB_NAME_FARM + chainId)) {
+            return farmList;
+        }
+        try {
+            RocksDBService.iterate(SwapDBConstant.DB_NAME_FARM + chainId, (key, value) -> farmList.add(SwapDBUtil.getModel(value, FarmPoolPO.class)));
+        } catch (Exception e) {
+            Log.error(e.getMessage());
+            throw new NulsRuntimeException(SwapErrorCode.DB_QUERY_ERROR);
         }
         return farmList;
     }
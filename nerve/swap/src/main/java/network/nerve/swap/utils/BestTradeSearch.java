@@ -0,0 +1,210 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package network.nerve.swap.utils;
+
+import network.nerve.swap.help.IPair;
+import network.nerve.swap.help.IPairFactory;
+import network.nerve.swap.model.NerveToken;
+import network.nerve.swap.model.TokenAmount;
+import network.nerve.swap.model.bo.SwapPairGraph;
+import network.nerve.swap.model.vo.RouteVO;
+import network.nerve.swap.model.vo.SwapPairVO;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static network.nerve.swap.constant.SwapConstant.BEST_PRICE;
+
+/**
+ * Search of the best trading path over the token graph
+ * The paths are visited in the same order as {@link SwapUtils#bestTradeExactIn(int, IPairFactory, List, TokenAmount, NerveToken, java.util.LinkedHashSet, List, TokenAmount, int, String)},
+ * and the result is the route that search puts first:
+ * the route with the most output(the earliest one for the same output) for the optimal price rule, the first route found otherwise.
+ * <p>
+ * Instead of trying every pair at every depth, only the pairs of the current token are tried,
+ * tokens which cannot reach the target within the remaining depth are skipped,
+ * and at the last depth only the pairs with the target token are tried.
+ * The reserves of each pair are read once per search
+ */
+class BestTradeSearch {
+
+    private final IPairFactory iPairFactory;
+    private final SwapPairGraph graph;
+    private final TokenAmount orginTokenAmountIn;
+    private final int outIndex;
+    private final int maxPairSize;
+    private final boolean bestPrice;
+
+    /**
+     * Reserves of the pairs read during the search: reserve0, reserve1, feeRate
+     */
+    private final BigInteger[][] reserves;
+    /**
+     * Pairs needed from each token to the target, Integer.MAX_VALUE when it cannot be reached
+     */
+    private int[] distance;
+    private final boolean[] visited;
+    private final ArrayDeque<Integer> path = new ArrayDeque<>();
+
+    private int directPair = -1;
+    /**
+     * Number of pairs the path list search starts with, the direct pair excluded
+     */
+    private int pairSize;
+
+    private RouteVO best;
+    private boolean finished;
+
+    BestTradeSearch(IPairFactory iPairFactory, SwapPairGraph graph, TokenAmount tokenAmountIn, NerveToken out, int maxPairSize, String resultRule) {
+        this.iPairFactory = iPairFactory;
+        this.graph = graph;
+        this.orginTokenAmountIn = tokenAmountIn;
+        this.outIndex = graph.getTokenIndex(out);
+        this.maxPairSize = maxPairSize;
+        this.bestPrice = BEST_PRICE.equals(resultRule);
+        this.reserves = new BigInteger[graph.getPairCount()][];
+        this.visited = new boolean[graph.getTokenCount()];
+    }
+
+    RouteVO search() {
+        int inIndex = graph.getTokenIndex(orginTokenAmountIn.getToken());
+        if (inIndex == -1 || outIndex == -1) {
+            return null;
+        }
+        pairSize = graph.getPairCount();
+        // Directly interchangeable transaction pair
+        for (int pair : graph.getTokenPairs(inIndex)) {
+            if (graph.getOtherToken(pair, inIndex) == outIndex) {
+                directPair = pair;
+                pairSize--;
+                BigInteger[] r = getReserves(pair, inIndex);
+                BigInteger amountOut = SwapUtils.getAmountOutForBestTrade(orginTokenAmountIn.getAmount(), r[0], r[1], r[2]);
+                path.addLast(pair);
+                addRoute(amountOut);
+                path.removeLast();
+                break;
+            }
+        }
+        if (finished) {
+            return best;
+        }
+        distance = distanceToOut();
+        visited[inIndex] = true;
+        search(inIndex, orginTokenAmountIn.getAmount(), 0);
+        return best;
+    }
+
+    private void search(int tokenIn, BigInteger amountIn, int depth) {
+        boolean lastDepth = !(depth < (maxPairSize - 1) && pairSize - depth > 1);
+        for (int pair : graph.getTokenPairs(tokenIn)) {
+            if (pair == directPair) {
+                continue;
+            }
+            int tokenOut = graph.getOtherToken(pair, tokenIn);
+            if (visited[tokenOut]) {
+                continue;
+            }
+            if (tokenOut != outIndex && (lastDepth || distance[tokenOut] > maxPairSize - depth - 1)) {
+                // The target cannot be reached through this token
+                continue;
+            }
+            BigInteger[] r = getReserves(pair, tokenIn);
+            if (BigInteger.ZERO.compareTo(r[0]) == 0 || BigInteger.ZERO.compareTo(r[1]) == 0) {
+                continue;
+            }
+            BigInteger amountOut = SwapUtils.getAmountOutForBestTrade(amountIn, r[0], r[1], r[2]);
+            path.addLast(pair);
+            if (tokenOut == outIndex) {
+                addRoute(amountOut);
+            } else {
+                visited[tokenOut] = true;
+                search(tokenOut, amountOut, depth + 1);
+                visited[tokenOut] = false;
+            }
+            path.removeLast();
+            if (finished) {
+                return;
+            }
+        }
+    }
+
+    private void addRoute(BigInteger amountOut) {
+        if (best != null && (!bestPrice || amountOut.compareTo(best.getTokenAmountOut().getAmount()) <= 0)) {
+            return;
+        }
+        List<SwapPairVO> pairs = new ArrayList<>(path.size());
+        for (int pair : path) {
+            pairs.add(graph.getPair(pair));
+        }
+        best = new RouteVO(pairs, orginTokenAmountIn, new TokenAmount(graph.getToken(outIndex), amountOut));
+        // Without the optimal price rule the first route is the result
+        finished = !bestPrice;
+    }
+
+    /**
+     * Reserves of the pair from the token: reserveIn, reserveOut, feeRate
+     */
+    private BigInteger[] getReserves(int pair, int tokenIn) {
+        BigInteger[] r = reserves[pair];
+        if (r == null) {
+            IPair iPair = iPairFactory.getPair(graph.getPairAddress(pair));
+            BigInteger[] pairReserves = iPair.getReserves();
+            BigInteger feeRate = BigInteger.valueOf(iPair.getPair().getFeeRate().intValue());
+            r = new BigInteger[]{pairReserves[0], pairReserves[1], feeRate};
+            reserves[pair] = r;
+        }
+        NerveToken token = graph.getToken(tokenIn);
+        NerveToken token0 = SwapUtils.tokenSort(token, graph.getToken(graph.getOtherToken(pair, tokenIn)))[0];
+        return token.equals(token0) ? r : new BigInteger[]{r[1], r[0], r[2]};
+    }
+
+    /**
+     * Breadth first from the target token
+     */
+    private int[] distanceToOut() {
+        int[] result = new int[graph.getTokenCount()];
+        Arrays.fill(result, Integer.MAX_VALUE);
+        result[outIndex] = 0;
+        int[] queue = new int[graph.getTokenCount()];
+        int head = 0, tail = 0;
+        queue[tail++] = outIndex;
+        while (head < tail) {
+            int token = queue[head++];
+            if (result[token] >= maxPairSize) {
+                continue;
+            }
+            for (int pair : graph.getTokenPairs(token)) {
+                int other = graph.getOtherToken(pair, token);
+                if (result[other] == Integer.MAX_VALUE) {
+                    result[other] = result[token] + 1;
+                    queue[tail++] = other;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -35,6 +35,7 @@ import network.nerve.swap.help.SwapHelper;
 import network.nerve.swap.model.NerveToken;
 import network.nerve.swap.model.TokenAmount;
 import network.nerve.swap.model.bo.StableCoinGroup;
+import network.nerve.swap.model.bo.SwapPairGraph;
 import network.nerve.swap.model.business.RemoveLiquidityBus;
 import network.nerve.swap.model.business.stable.StableAddLiquidityBus;
 import network.nerve.swap.model.business.stable.StableRemoveLiquidityBus;
@@ -1058,7 +1059,7 @@ public class SwapUtils {
         return bus;
     }
 
-    private static BigInteger getAmountOutForBestTrade(BigInteger amountIn, BigInteger reserveIn, BigInteger reserveOut, BigInteger feeRate) {
+    static BigInteger getAmountOutForBestTrade(BigInteger amountIn, BigInteger reserveIn, BigInteger reserveOut, BigInteger feeRate) {
         if (amountIn.compareTo(BigInteger.ZERO) <= 0) {
             return BigInteger.ZERO;
         }
@@ -1074,6 +1075,16 @@ public class SwapUtils {
         return amountOut;
     }
 
+    /**
+     * The best trading path over the token graph of the transaction pairs, the same route as the first one of the list search below
+     *
+     * @return null when no path is found
+     */
+    public static RouteVO bestTradeExactIn(IPairFactory iPairFactory, SwapPairGraph graph, TokenAmount tokenAmountIn,
+                                           NerveToken out, int maxPairSize, String resultRule) {
+        return new BestTradeSearch(iPairFactory, graph, tokenAmountIn, out, maxPairSize, resultRule).search();
+    }
+
     public static List<RouteVO> bestTradeExactIn(int chainId, IPairFactory iPairFactory, List<SwapPairVO> pairs, TokenAmount tokenAmountIn,
                                                  NerveToken out, LinkedHashSet<SwapPairVO> currentPath,
                                                  List<RouteVO> bestTrade, TokenAmount orginTokenAmountIn, int maxPairSize, String resultRule) {
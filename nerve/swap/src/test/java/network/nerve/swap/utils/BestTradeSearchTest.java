@@ -0,0 +1,202 @@
+package network.nerve.swap.utils;
+
+import io.nuls.base.basic.AddressTool;
+import network.nerve.swap.help.IPair;
+import network.nerve.swap.help.IPairFactory;
+import network.nerve.swap.help.IStablePair;
+import network.nerve.swap.model.NerveToken;
+import network.nerve.swap.model.TokenAmount;
+import network.nerve.swap.model.bo.SwapPairGraph;
+import network.nerve.swap.model.dto.SwapPairDTO;
+import network.nerve.swap.model.po.SwapPairPO;
+import network.nerve.swap.model.vo.RouteVO;
+import network.nerve.swap.model.vo.SwapPairVO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static network.nerve.swap.constant.SwapConstant.BEST_PRICE;
+import static network.nerve.swap.constant.SwapConstant.IMPACT_PRICE;
+
+/**
+ * The graph search returns the first route of the pair list search, for both result rules
+ */
+public class BestTradeSearchTest {
+
+    private static final int CHAIN_ID = 9;
+
+    @Test
+    public void sameAsListSearch() {
+        Random random = new Random(3);
+        for (int round = 0; round < 300; round++) {
+            Universe universe = new Universe(random, 4 + random.nextInt(8), 5 + random.nextInt(20));
+            for (int i = 0; i < 10; i++) {
+                NerveToken in = universe.randomToken(random);
+                NerveToken out = universe.randomToken(random);
+                if (in.equals(out)) {
+                    continue;
+                }
+                TokenAmount amountIn = new TokenAmount(in, BigInteger.valueOf(1 + random.nextInt(1_000_000)));
+                int maxPairSize = 1 + random.nextInt(4);
+                for (String rule : new String[]{BEST_PRICE, IMPACT_PRICE}) {
+                    Assert.assertEquals(describe(universe.listSearch(amountIn, out, maxPairSize, rule)),
+                            describe(universe.graphSearch(amountIn, out, maxPairSize, rule)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Requests/s of both searches over a universe of 5000 pairs, the graph is built once as the pair cache does
+     */
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        Universe universe = new Universe(random, 1500, 5000);
+        int requests = 20;
+        List<NerveToken[]> pairsOfTokens = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            pairsOfTokens.add(new NerveToken[]{universe.randomToken(random), universe.randomToken(random)});
+        }
+        SwapPairGraph graph = new SwapPairGraph(universe.pairs);
+        for (int round = 0; round < 2; round++) {
+            for (int maxPairSize = 2; maxPairSize <= 3; maxPairSize++) {
+                long time = System.nanoTime();
+                for (NerveToken[] tokens : pairsOfTokens) {
+                    universe.listSearch(new TokenAmount(tokens[0], BigInteger.TEN.pow(8)), tokens[1], maxPairSize, BEST_PRICE);
+                }
+                long list = System.nanoTime() - time;
+                time = System.nanoTime();
+                for (NerveToken[] tokens : pairsOfTokens) {
+                    SwapUtils.bestTradeExactIn(universe, graph, new TokenAmount(tokens[0], BigInteger.TEN.pow(8)), tokens[1], maxPairSize, BEST_PRICE);
+                }
+                long now = System.nanoTime() - time;
+                System.out.println("maxPairSize " + maxPairSize + " : before " + requests * 1_000_000_000L / list + " requests/s, now " + requests * 1_000_000_000L / now + " requests/s");
+            }
+        }
+    }
+
+    private static String describe(RouteVO route) {
+        if (route == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (SwapPairVO pair : route.getPath()) {
+            sb.append(pair.getToken0().str()).append('-').append(pair.getToken1().str()).append(',');
+        }
+        return sb.append(route.getTokenAmountOut().getAmount()).toString();
+    }
+
+    /**
+     * Random transaction pairs and their reserves, some of the pools are empty
+     */
+    private static class Universe implements IPairFactory {
+        private final List<NerveToken> tokens = new ArrayList<>();
+        private final List<SwapPairDTO> pairs = new ArrayList<>();
+        private final Map<String, IPair> pairMap = new HashMap<>();
+
+        private Universe(Random random, int tokenCount, int pairCount) {
+            for (int i = 0; i < tokenCount; i++) {
+                tokens.add(new NerveToken(CHAIN_ID, i + 1));
+            }
+            Set<String> addresses = new HashSet<>();
+            for (int i = 0; i < pairCount; i++) {
+                NerveToken token0 = randomToken(random);
+                NerveToken token1 = randomToken(random);
+                if (token0.equals(token1)) {
+                    continue;
+                }
+                NerveToken[] sorted = SwapUtils.tokenSort(token0, token1);
+                byte[] address = SwapUtils.getPairAddress(CHAIN_ID, sorted[0], sorted[1]);
+                String addressStr = AddressTool.getStringAddressByBytes(address);
+                if (!addresses.add(addressStr)) {
+                    continue;
+                }
+                SwapPairPO po = new SwapPairPO(address);
+                po.setToken0(sorted[0]);
+                po.setToken1(sorted[1]);
+                po.setFeeRate(random.nextInt(4) == 0 ? 1 : 3);
+                boolean empty = random.nextInt(8) == 0;
+                BigInteger reserve0 = empty ? BigInteger.ZERO : BigInteger.valueOf(1_000 + random.nextInt(100_000_000));
+                BigInteger reserve1 = empty ? BigInteger.ZERO : BigInteger.valueOf(1_000 + random.nextInt(100_000_000));
+                SwapPairDTO dto = new SwapPairDTO();
+                dto.setPo(po);
+                dto.setReserve0(reserve0);
+                dto.setReserve1(reserve1);
+                pairs.add(dto);
+                pairMap.put(addressStr, new Pair(po, reserve0, reserve1));
+            }
+        }
+
+        private NerveToken randomToken(Random random) {
+            return tokens.get(random.nextInt(tokens.size()));
+        }
+
+        private RouteVO listSearch(TokenAmount amountIn, NerveToken out, int maxPairSize, String rule) {
+            List<SwapPairVO> list = new ArrayList<>();
+            for (SwapPairDTO dto : pairs) {
+                list.add(new SwapPairVO(dto));
+            }
+            List<RouteVO> routes = SwapUtils.bestTradeExactIn(CHAIN_ID, this, list, amountIn, out, new LinkedHashSet<>(), new ArrayList<>(), amountIn, maxPairSize, rule);
+            return routes.isEmpty() ? null : routes.get(0);
+        }
+
+        private RouteVO graphSearch(TokenAmount amountIn, NerveToken out, int maxPairSize, String rule) {
+            return SwapUtils.bestTradeExactIn(this, new SwapPairGraph(pairs), amountIn, out, maxPairSize, rule);
+        }
+
+        @Override
+        public IPair getPair(String pairAddress) {
+            return pairMap.get(pairAddress);
+        }
+
+        @Override
+        public IStablePair getStablePair(String pairAddress) {
+            return null;
+        }
+    }
+
+    private static class Pair implements IPair {
+        private final SwapPairPO po;
+        private final BigInteger[] reserves;
+
+        private Pair(SwapPairPO po, BigInteger reserve0, BigInteger reserve1) {
+            this.po = po;
+            this.reserves = new BigInteger[]{reserve0, reserve1};
+        }
+
+        @Override
+        public SwapPairPO getPair() {
+            return po;
+        }
+
+        @Override
+        public BigInteger[] getReserves() {
+            return reserves;
+        }
+
+        @Override
+        public BigInteger totalSupply() {
+            return BigInteger.ZERO;
+        }
+
+        @Override
+        public long getBlockTimeLast() {
+            return 0;
+        }
+
+        @Override
+        public long getBlockHeightLast() {
+            return 0;
+        }
+
+        @Override
+        public void update(BigInteger liquidityChange, BigInteger balance0, BigInteger balance1, BigInteger reserve0, BigInteger reserve1, long blockHeight, long blockTime) {
+        }
+
+        @Override
+        public void rollback(BigInteger liquidityChange, BigInteger reserve0, BigInteger reserve1, long blockHeight, long blockTime) {
+        }
+    }
+}